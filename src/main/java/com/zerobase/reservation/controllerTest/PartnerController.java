@@ -0,0 +1,32 @@
+package com.zerobase.reservation.controllerTest;
+
+import com.zerobase.reservation.dto.response.PartnerDashboardResponse;
+import com.zerobase.reservation.serviceTest.PartnerDashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 파트너(매장 점장) 전용 API 엔드포인트를 제공하는 컨트롤러입니다.
+ */
+@RestController
+@RequestMapping("/api/partners")
+@RequiredArgsConstructor
+public class PartnerController {
+
+    private final PartnerDashboardService partnerDashboardService;
+
+    /**
+     * 파트너 대시보드 API
+     *
+     * 파트너가 소유한 매장별 응답 대기/승인/방문 완료 예약 수와 리뷰 수, 평균 평점을 합계와 함께 조회합니다.
+     * 값은 예약/리뷰 변경 시 갱신되는 카운터에서 읽으므로 매장 수만큼의 비용으로 응답합니다.
+     *
+     * @param partnerId: 조회할 파트너 회원의 ID (경로 변수)
+     * @return 매장별 현황과 전체 합계
+     */
+    @GetMapping("/{partnerId}/dashboard")
+    public ResponseEntity<PartnerDashboardResponse> getDashboard(@PathVariable Long partnerId) {
+        return ResponseEntity.ok(partnerDashboardService.getDashboard(partnerId));
+    }
+}
@@ -1,14 +1,21 @@
 package com.zerobase.reservation.controllerTest;
 
 import com.zerobase.reservation.domain.Reservation;
+import com.zerobase.reservation.dto.request.ReservationBatchRequest;
+import com.zerobase.reservation.dto.request.ReservationBulkRequest;
 import com.zerobase.reservation.dto.request.ReservationRequest;
+import com.zerobase.reservation.dto.response.ReservationBatchResponse;
+import com.zerobase.reservation.dto.response.ReservationBulkResponse;
 import com.zerobase.reservation.dto.response.ReservationResponse;
+import com.zerobase.reservation.serviceTest.IdempotencyService;
 import com.zerobase.reservation.serviceTest.ReservationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
+import java.util.List;
+
 /**
  * 예약(Reservation) 관련 API 엔드포인트를 제공하는 컨트롤러입니다.
  * 이 컨트롤러는 예약 생성, 승인, 거절, 도착 확인 기능을 제공합니다.
@@ -19,24 +26,79 @@ import jakarta.validation.Valid;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final IdempotencyService idempotencyService;
 
     /**
      * 예약 생성 API
 
      * 사용자가 예약 요청 정보를 전달하면, 해당 예약을 생성하여 예약 상세 정보를 반환합니다.
      * 예약 요청에는 예약 일시 등의 정보가 포함되며, 예약 생성 후 예약 상태는 'REQUESTED'로 설정됩니다.
+     * Idempotency-Key 헤더를 보내면 같은 키로 재시도한 요청은 예약을 다시 만들지 않고 최초 응답을 반환합니다.
      *
      * @param request: 예약 요청 정보 (예약 일시, 매장 정보 등)
      * @param memberId: 예약을 요청하는 사용자 ID (요청 파라미터)
+     * @param idempotencyKey: 재시도 식별용 키 (선택 헤더)
      * @return 생성된 예약의 상세 정보가 포함된 응답 객체
      */
     @PostMapping
     public ResponseEntity<ReservationResponse> createReservation(@RequestBody @Valid ReservationRequest request,
-                                                                 @RequestParam Long memberId) {
-        Reservation reservation = reservationService.createReservation(request, memberId);
+                                                                 @RequestParam Long memberId,
+                                                                 @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        ReservationResponse response = idempotencyService.execute("reservation", memberId, idempotencyKey, request,
+                ReservationResponse.class,
+                () -> new ReservationResponse(reservationService.createReservation(request, memberId)));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 예약 일괄 생성 API
+     *
+     * 단체 예약이나 제휴사 데이터 이관 시 여러 건의 예약을 한 번에 생성할 때 사용됩니다.
+     * 일부 항목이 실패하더라도 나머지 항목은 생성되며, 항목별 결과가 요청 순서대로 반환됩니다.
+     *
+     * @param request: 예약 요청 목록 (최대 500건)
+     * @param memberId: 예약을 요청하는 사용자 ID (요청 파라미터)
+     * @return 항목별 처리 결과(ACCEPTED/FAILED, 예약 ID, 실패 사유) 목록
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<ReservationBatchResponse>> createReservations(@RequestBody @Valid ReservationBatchRequest request,
+                                                                             @RequestParam Long memberId) {
+        return ResponseEntity.ok(reservationService.createReservations(request.getReservations(), memberId));
+    }
+
+    /**
+     * 예약 대기 등록 API
+     *
+     * 정원이 찬 시간대에 대기 예약을 등록합니다. 대기 예약의 상태는 'WAITLISTED'이며,
+     * 같은 시간대의 예약이 거절되거나 응답 기한이 지나 자리가 나면 먼저 대기한 순서대로 'REQUESTED'로 승격됩니다.
+     *
+     * @param request: 예약 요청 정보 (예약 일시, 매장 정보 등)
+     * @param memberId: 대기 등록하는 사용자 ID (요청 파라미터)
+     * @return 등록된 대기 예약의 상세 정보가 포함된 응답 객체
+     */
+    @PostMapping("/waitlist")
+    public ResponseEntity<ReservationResponse> joinWaitlist(@RequestBody @Valid ReservationRequest request,
+                                                            @RequestParam Long memberId) {
+        Reservation reservation = reservationService.joinWaitlist(request, memberId);
         return ResponseEntity.ok(new ReservationResponse(reservation));
     }
 
+    /**
+     * 예약 대기 취소 API
+     *
+     * 대기 등록한 사용자가 대기를 취소할 때 사용됩니다. 이미 승격된 예약은 취소할 수 없습니다.
+     *
+     * @param reservationId: 취소할 대기 예약의 ID (경로 변수)
+     * @param memberId: 대기 취소를 요청하는 사용자 ID (요청 파라미터)
+     * @return 취소 성공 메시지
+     */
+    @DeleteMapping("/{reservationId}/waitlist")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable Long reservationId,
+                                           @RequestParam Long memberId) {
+        reservationService.leaveWaitlist(reservationId, memberId);
+        return ResponseEntity.ok("예약 대기가 취소되었습니다.");
+    }
+
     /**
      * 예약 승인 API
      * 매장 점장(파트너)이 특정 예약을 승인할 때 호출됩니다.
@@ -70,6 +132,38 @@ public class ReservationController {
         return ResponseEntity.ok(new ReservationResponse(reservation));
     }
 
+    /**
+     * 예약 일괄 승인 API
+     *
+     * 매장 점장(파트너)이 여러 건의 예약 요청을 한 번에 승인할 때 호출됩니다.
+     * 파트너 소유 매장의 'REQUESTED' 예약만 'APPROVED'로 변경되며, 변경된 예약 ID 목록이 반환됩니다.
+     *
+     * @param request: 승인할 예약 ID 목록
+     * @param partnerId: 승인 요청을 하는 파트너(점장)의 ID (요청 파라미터)
+     * @return 변경된 예약 ID와 변경되지 않은 예약 ID 목록
+     */
+    @PostMapping("/approve")
+    public ResponseEntity<ReservationBulkResponse> approveReservations(@RequestBody @Valid ReservationBulkRequest request,
+                                                                       @RequestParam Long partnerId) {
+        return ResponseEntity.ok(reservationService.approveReservations(request.getReservationIds(), partnerId));
+    }
+
+    /**
+     * 예약 일괄 거절 API
+     *
+     * 매장 점장(파트너)이 여러 건의 예약을 한 번에 거절할 때 호출됩니다.
+     * 파트너 소유 매장의 'REQUESTED' 또는 'APPROVED' 예약만 'REJECTED'로 변경되며, 변경된 예약 ID 목록이 반환됩니다.
+     *
+     * @param request: 거절할 예약 ID 목록
+     * @param partnerId: 거절 요청을 하는 파트너(점장)의 ID (요청 파라미터)
+     * @return 변경된 예약 ID와 변경되지 않은 예약 ID 목록
+     */
+    @PostMapping("/decline")
+    public ResponseEntity<ReservationBulkResponse> declineReservations(@RequestBody @Valid ReservationBulkRequest request,
+                                                                       @RequestParam Long partnerId) {
+        return ResponseEntity.ok(reservationService.declineReservations(request.getReservationIds(), partnerId));
+    }
+
     /**
      * 도착 확인 API
      *
@@ -3,6 +3,7 @@ package com.zerobase.reservation.controllerTest;
 import com.zerobase.reservation.domain.Review;
 import com.zerobase.reservation.dto.request.ReviewRequest;
 import com.zerobase.reservation.dto.response.ReviewResponse;
+import com.zerobase.reservation.serviceTest.IdempotencyService;
 import com.zerobase.reservation.serviceTest.ReviewService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -19,22 +20,33 @@ import jakarta.validation.Valid;
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final IdempotencyService idempotencyService;
 
     /**
      * 리뷰 작성 API
      *
      * 예약 완료한 사용자가 매장 이용 후 리뷰를 작성할 때 사용됩니다.
      * 리뷰 요청 정보에는 매장 ID, 평점, 리뷰 내용 등이 포함됩니다.
+     * Idempotency-Key 헤더를 보내면 같은 키로 재시도한 요청은 리뷰를 다시 만들지 않고 최초 응답을 반환합니다.
+     * write-behind 모드에서는 리뷰가 로컬 로그에 기록되면 ID 없이 202로 응답하고, DB 저장은 잠시 후 반영됩니다.
      *
      * @param request: 리뷰 작성 정보 (매장 ID, 평점, 내용 등)
      * @param memberId : 리뷰를 작성하는 사용자의 ID (요청 파라미터)
+     * @param idempotencyKey: 재시도 식별용 키 (선택 헤더)
      * @return 작성된 리뷰의 상세 정보가 포함된 응답 객체
      */
     @PostMapping
     public ResponseEntity<ReviewResponse> createReview(@RequestBody @Valid ReviewRequest request,
-                                                       @RequestParam Long memberId) {
-        Review review = reviewService.createReview(request, memberId);
-        return ResponseEntity.ok(new ReviewResponse(review));
+                                                       @RequestParam Long memberId,
+                                                       @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        ReviewResponse response = idempotencyService.execute("review", memberId, idempotencyKey, request,
+                ReviewResponse.class,
+                () -> new ReviewResponse(reviewService.createReview(request, memberId)));
+        // write-behind 모드에서는 DB 저장 전(ID 없음)에 응답하므로 202 Accepted로 알립니다.
+        if (response.getId() == null) {
+            return ResponseEntity.accepted().body(response);
+        }
+        return ResponseEntity.ok(response);
     }
 
     /**
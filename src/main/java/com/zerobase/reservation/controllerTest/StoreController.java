@@ -1,14 +1,57 @@
 package com.zerobase.reservation.controllerTest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.zerobase.reservation.domain.Store;
 import com.zerobase.reservation.dto.request.StoreRequest;
+import com.zerobase.reservation.dto.response.CursorPageResponse;
+import com.zerobase.reservation.dto.response.StoreImportProgress;
+import com.zerobase.reservation.dto.response.NearbyStoreResponse;
+import com.zerobase.reservation.dto.response.ReservationResponse;
+import com.zerobase.reservation.dto.response.ReviewResponse;
+import com.zerobase.reservation.dto.response.ReviewSummaryResponse;
+import com.zerobase.reservation.dto.response.StoreAvailabilityResponse;
 import com.zerobase.reservation.dto.response.StoreResponse;
+import com.zerobase.reservation.dto.response.StoreSearchResponse;
+import com.zerobase.reservation.enums.ReservationStatus;
+import com.zerobase.reservation.serviceTest.ReservationService;
+import com.zerobase.reservation.serviceTest.ReviewService;
+import com.zerobase.reservation.serviceTest.ReviewSummaryService;
+import com.zerobase.reservation.serviceTest.ReviewVersions;
+import com.zerobase.reservation.serviceTest.StoreDetailsCache;
+import com.zerobase.reservation.serviceTest.StoreImportService;
 import com.zerobase.reservation.serviceTest.StoreService;
+import com.zerobase.reservation.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * 매장(Store) 관련 API 엔드포인트를 제공하는 컨트롤러입니다.
  * 이 컨트롤러는 매장 등록, 수정, 삭제, 상세 조회 기능을 제공합니다.
@@ -18,7 +61,14 @@ import jakarta.validation.Valid;
 @RequiredArgsConstructor
 public class StoreController {
 
+    private static final String EXPORT_TIMEOUT_KEY = StoreController.class.getName() + ".exportTimeout";
+
     private final StoreService storeService;
+    private final ReservationService reservationService;
+    private final ReviewService reviewService;
+    private final ReviewSummaryService reviewSummaryService;
+    private final StoreImportService storeImportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * 매장 등록 API
@@ -37,6 +87,45 @@ public class StoreController {
         return ResponseEntity.ok(new StoreResponse(store));
     }
 
+    /**
+     * 매장 일괄 가져오기 API
+     *
+     * 파트너 회원이 입점 시 여러 매장을 파일 하나로 등록할 때 사용됩니다.
+     * 본문은 NDJSON(application/x-ndjson, 한 줄에 매장 등록 요청 JSON 하나) 또는 CSV(text/csv, 첫 줄은 열 이름)이며,
+     * 본문을 모두 받기 전에 읽는 대로 저장합니다. 파트너 확인에 실패하면 본문을 읽지 않고 오류를 반환합니다.
+     * 응답은 NDJSON으로 실패한 행(ERROR), 묶음 저장마다 누적 건수(PROGRESS), 마지막에 최종 건수(DONE)를 차례로 내보냅니다.
+     * 처리 시간은 spring.mvc.async.request-timeout(10분)으로 제한되며, 넘기면 응답이 끊기고 이미 저장된 묶음까지만 반영됩니다.
+     *
+     * @param partnerId: 매장을 등록하는 파트너 회원의 ID (요청 파라미터)
+     * @param contentType: 본문 형식 (charset을 지정하지 않으면 UTF-8)
+     * @param body: 매장 목록 본문
+     * @return 진행 상황을 한 줄씩 내보내는 응답 본문
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"}, produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importStores(@RequestParam Long partnerId,
+                                                              @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                              InputStream body) {
+        StoreImportService.Format format = StoreImportService.Format.of(contentType);
+        storeImportService.validatePartner(partnerId);
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        StreamingResponseBody stream = out -> storeImportService.importStores(
+                new InputStreamReader(body, charset), format, partnerId, progress -> write(out, progress));
+        return ResponseEntity.ok().contentType(StoreImportService.NDJSON).body(stream);
+    }
+
+    // 진행 상황을 한 줄로 쓰고, 오류 행이 아니면 바로 내보냅니다. 쓰기에 실패하면(연결 끊김) 가져오기를 중단합니다.
+    private void write(OutputStream out, StoreImportProgress progress) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(progress));
+            out.write('\n');
+            if (!"ERROR".equals(progress.getType())) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * 매장 수정 API
      *
@@ -53,7 +142,7 @@ public class StoreController {
                                                      @RequestBody @Valid StoreRequest request,
                                                      @RequestParam Long partnerId) {
         Store updatedStore = storeService.updateStore(storeId, request, partnerId);
-        return ResponseEntity.ok(new StoreResponse(updatedStore));
+        return ResponseEntity.ok(storeService.withRating(new StoreResponse(updatedStore)));
     }
 
     /**
@@ -78,13 +167,233 @@ public class StoreController {
      *
      * 사용자가 특정 매장의 상세 정보를 조회할 때 호출되는 API입니다.
      * 매장 ID를 통해 매장의 상세 정보(매장명, 위치, 설명, 소유자 등)를 반환합니다.
+     * 응답 본문은 캐시된 JSON 바이트를 그대로 내보냅니다.
+     * 응답에는 강한 ETag와 Last-Modified가 포함되며, If-None-Match/If-Modified-Since로 보낸 값과 같으면 304를 반환합니다.
      *
      * @param storeId: 상세 정보를 조회할 매장의 ID (경로 변수)
-     * @return 매장의 상세 정보가 포함된 응답 객체
+     * @return 매장의 상세 정보(JSON)가 포함된 응답 객체
      */
     @GetMapping("/{storeId}")
-    public ResponseEntity<StoreResponse> getStoreDetails(@PathVariable Long storeId) {
-        Store store = storeService.getStoreDetails(storeId);
-        return ResponseEntity.ok(new StoreResponse(store));
+    public ResponseEntity<byte[]> getStoreDetails(@PathVariable Long storeId, WebRequest webRequest) {
+        StoreDetailsCache.CachedDetails details = storeService.getCachedStoreDetails(storeId);
+        boolean notModified = webRequest.checkNotModified(details.eTag(), details.lastModified());
+        ResponseEntity.BodyBuilder response = notModified
+                ? ResponseEntity.status(HttpStatus.NOT_MODIFIED) : ResponseEntity.ok();
+        response.eTag(details.eTag()).cacheControl(CacheControl.noCache());
+        if (details.lastModified() >= 0) {
+            response.lastModified(details.lastModified());
+        }
+        if (notModified) {
+            return response.build();
+        }
+        return response.contentType(MediaType.APPLICATION_JSON).body(details.body());
+    }
+
+    /**
+     * 매장 검색 API
+     *
+     * 사용자가 매장명, 위치, 설명의 일부로 매장을 검색할 때 사용됩니다.
+     * 띄어쓰기나 조사가 달라도 글자 단위로 일치하는 매장을 관련도 순으로 반환합니다.
+     *
+     * @param q: 검색어 (최대 50자까지 사용)
+     * @param page: 페이지 번호 (기본값 0)
+     * @param size: 페이지 크기 (기본값 20, 최대 100)
+     * @return 전체 일치 건수와 해당 페이지의 매장 목록이 포함된 응답 객체
+     */
+    @GetMapping("/search")
+    public ResponseEntity<StoreSearchResponse> searchStores(@RequestParam String q,
+                                                            @RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(storeService.searchStores(q, page, size));
+    }
+
+    /**
+     * 매장명 자동완성 API
+     *
+     * 검색창에 입력하는 동안 키 입력마다 호출되어, 매장명(단어 단위)이 입력값으로 시작하는 매장을 반환합니다.
+     * 조합 중인 한글("강", "가ㄴ")도 일치하며, 최근 예약이 많은 매장부터 반환합니다.
+     *
+     * @param q: 입력 중인 검색어 (비어 있으면 빈 목록)
+     * @param k: 반환할 최대 매장 수 (기본값 10, 최대 20)
+     * @return 인기도 순으로 정렬된 매장 목록
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<StoreResponse>> autocompleteStores(@RequestParam(defaultValue = "") String q,
+                                                                  @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(storeService.autocompleteStores(q, k));
+    }
+
+    /**
+     * 주변 매장 조회 API
+     *
+     * 사용자가 현재 위치 등 기준 지점에서 가까운 매장을 찾을 때 사용됩니다.
+     * 검색 반경 안에서 가장 가까운 매장부터 최대 k개를 거리(m)와 함께 반환합니다.
+     *
+     * @param lat: 기준 위도
+     * @param lng: 기준 경도
+     * @param k: 반환할 최대 매장 수 (기본값 10, 최대 100)
+     * @param radiusKm: 검색 반경(km, 기본값 3, 최대 50)
+     * @return 거리순으로 정렬된 매장과 거리 목록
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyStoreResponse>> findNearbyStores(@RequestParam double lat,
+                                                                      @RequestParam double lng,
+                                                                      @RequestParam(defaultValue = "10") int k,
+                                                                      @RequestParam(defaultValue = "3") double radiusKm) {
+        return ResponseEntity.ok(storeService.findNearbyStores(lat, lng, k, radiusKm));
+    }
+
+    /**
+     * 매장 예약 목록 조회 API
+     *
+     * 매장 점장(파트너)이 자신의 매장에 들어온 예약을 상태와 기간으로 조회할 때 사용됩니다.
+     * 예약 일시 순으로 정렬되며, 응답의 nextCursor를 after 파라미터로 전달하여 다음 페이지를 조회합니다.
+     *
+     * @param storeId: 예약 목록을 조회할 매장의 ID (경로 변수)
+     * @param partnerId: 조회를 요청하는 파트너 회원의 ID (요청 파라미터)
+     * @param status: 조회할 예약 상태 (기본값 REQUESTED)
+     * @param from: 조회 시작 일시 (ISO-8601, 기본값 오늘 0시)
+     * @param to: 조회 종료 일시 (ISO-8601, 미포함)
+     * @param after: 다음 페이지 커서
+     * @param size: 페이지 크기 (기본값 20, 최대 100)
+     * @return 예약 목록과 다음 페이지 커서가 포함된 응답 객체
+     */
+    @GetMapping("/{storeId}/reservations")
+    public ResponseEntity<CursorPageResponse<ReservationResponse>> getStoreReservations(
+            @PathVariable Long storeId,
+            @RequestParam Long partnerId,
+            @RequestParam(defaultValue = "REQUESTED") ReservationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reservationService.getStoreReservations(storeId, partnerId, status, from, to, after, size));
+    }
+
+    /**
+     * 매장 리뷰 요약 조회 API
+     *
+     * 매장의 리뷰 수와 평균 평점을 조회할 때 사용됩니다. 리뷰가 없으면 리뷰 수 0, 평균 평점 null을 반환합니다.
+     * 매장이 없으면 조건부 요청이어도 오류를 반환합니다.
+     * 응답에는 매장 리뷰 버전으로 만든 약한 ETag와 Last-Modified가 포함되며, 리뷰가 바뀌지 않았으면 304를 반환합니다.
+     *
+     * @param storeId: 조회할 매장의 ID (경로 변수)
+     * @return 리뷰 수와 평균 평점이 포함된 응답 객체
+     */
+    @GetMapping("/{storeId}/reviews/summary")
+    public ResponseEntity<ReviewSummaryResponse> getReviewSummary(@PathVariable Long storeId, WebRequest webRequest) {
+        // 없는(삭제된) 매장에 304를 반환하지 않도록 조건부 요청 확인 전에 매장을 확인합니다.
+        reviewService.validateStore(storeId);
+        ReviewVersions.Stamp stamp = reviewSummaryService.getReviewStamp(storeId);
+        String eTag = stamp.eTag("summary");
+        if (webRequest.checkNotModified(eTag, stamp.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).lastModified(stamp.lastModified())
+                    .cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).lastModified(stamp.lastModified()).cacheControl(CacheControl.noCache())
+                .body(reviewSummaryService.getSummary(storeId));
+    }
+
+    /**
+     * 매장 리뷰 목록 조회 API
+     *
+     * 매장의 리뷰를 최신순으로 조회할 때 사용됩니다. 응답의 nextCursor를 after 파라미터로 전달하여 다음 페이지를 조회합니다.
+     * 응답에는 매장 리뷰 버전으로 만든 약한 ETag와 Last-Modified가 포함되며, 리뷰가 바뀌지 않았으면 304를 반환합니다.
+     *
+     * @param storeId: 리뷰를 조회할 매장의 ID (경로 변수)
+     * @param after: 다음 페이지 커서
+     * @param size: 페이지 크기 (기본값 20, 최대 100)
+     * @return 리뷰 목록과 다음 페이지 커서가 포함된 응답 객체
+     */
+    @GetMapping("/{storeId}/reviews")
+    public ResponseEntity<CursorPageResponse<ReviewResponse>> getStoreReviews(
+            @PathVariable Long storeId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        reviewService.validateStore(storeId);
+        ReviewVersions.Stamp stamp = reviewSummaryService.getReviewStamp(storeId);
+        // 커서를 다시 인코딩하여 ETag에 요청 값을 그대로 넣지 않습니다.
+        String eTag = stamp.eTag("list-" + size + "-" + (after != null ? KeysetCursor.decode(after).encode() : ""));
+        if (webRequest.checkNotModified(eTag, stamp.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).lastModified(stamp.lastModified())
+                    .cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).lastModified(stamp.lastModified()).cacheControl(CacheControl.noCache())
+                .body(reviewService.getStoreReviews(storeId, after, size));
+    }
+
+    /**
+     * 매장 리뷰 내보내기 API
+     *
+     * 매장의 전체 리뷰를 최신순 JSON 배열로 내려받을 때 사용됩니다.
+     * DB에서 한 행씩 읽는 대로 응답에 쓰므로, 리뷰 수와 관계없이 서버 메모리 사용량이 일정합니다.
+     * 매장이 없으면 본문을 쓰기 전에 오류를 반환합니다.
+     * 처리 시간은 spring.mvc.async.request-timeout(10분)으로 제한되며, 넘기면 읽기를 멈추고 DB 커넥션을 반환합니다.
+     *
+     * @param storeId: 리뷰를 내보낼 매장의 ID (경로 변수)
+     * @return 리뷰 배열을 차례로 쓰는 응답 본문
+     */
+    @GetMapping(value = "/{storeId}/reviews/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportStoreReviews(@PathVariable Long storeId, WebRequest webRequest) {
+        reviewService.validateStore(storeId);
+        // 시간이 초과되면 응답은 끝나지만 작업 스레드는 계속 읽으므로, 다음 행에서 중단하여 결과 집합과 커넥션을 바로 반환합니다.
+        AtomicBoolean timedOut = new AtomicBoolean();
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(EXPORT_TIMEOUT_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+                        timedOut.set(true);
+                        return RESULT_NONE;
+                    }
+                });
+        // 한 건마다 응답을 내보내지 않고, 버퍼가 찰 때 내보내도록 합니다.
+        ObjectWriter writer = objectMapper.writerFor(ReviewResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody stream = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                reviewService.exportStoreReviews(storeId, review -> {
+                    if (timedOut.get()) {
+                        throw new RuntimeException("리뷰 내보내기 시간이 초과되었습니다.");
+                    }
+                    try {
+                        writer.writeValue(json, review);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(stream);
+    }
+
+    /**
+     * 매장 예약 가능 시간 조회 API
+     *
+     * 사용자가 예약 전에 기간 내 예약 가능한 시간대와 남은 자리 수를 조회할 때 사용됩니다.
+     * 응답에는 강한 ETag가 포함되며, If-None-Match로 같은 ETag를 보내면 재고가 바뀌지 않은 경우 304를 반환합니다.
+     *
+     * @param storeId: 조회할 매장의 ID (경로 변수)
+     * @param from: 조회 시작 날짜 (ISO-8601, 기본값 오늘)
+     * @param to: 조회 종료 날짜 (ISO-8601, 포함, 기본값 시작 날짜 + 6일, 최대 31일)
+     * @return 날짜별 예약 가능 시간과 남은 자리 수가 포함된 응답 객체
+     */
+    @GetMapping("/{storeId}/availability")
+    public ResponseEntity<StoreAvailabilityResponse> getAvailability(
+            @PathVariable Long storeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest webRequest) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(6);
+        // 없는(삭제된) 매장에 빈 재고나 304를 반환하지 않도록 조건부 요청 확인 전에 매장을 확인합니다.
+        storeService.validateStore(storeId);
+        String eTag = storeService.getAvailabilityETag(storeId, start, end);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(storeService.getAvailability(storeId, start, end));
     }
 }
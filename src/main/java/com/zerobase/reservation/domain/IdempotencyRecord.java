@@ -0,0 +1,37 @@
+package com.zerobase.reservation.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 처리된 Idempotency-Key와 그 응답을 보관하는 엔티티입니다.
+ * ID는 "범위:회원 ID:키" 형식이며, 같은 키의 재요청에 저장된 응답을 그대로 돌려주는 데 사용됩니다.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    @Column(length = 191)
+    private String id;
+
+    // 요청 본문의 SHA-256 해시 (같은 키로 다른 요청을 보냈는지 확인)
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    // 최초 처리 결과의 JSON 응답 본문
+    @Column(name = "response_body", columnDefinition = "TEXT", nullable = false)
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -7,7 +7,12 @@ import org.hibernate.annotations.Fetch;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_store_created", columnList = "store_id, created_at, id")
+}, uniqueConstraints = {
+        // 예약 한 건에 리뷰 한 건 (예약 없이 작성된 기존 리뷰는 NULL이므로 제약에 걸리지 않음)
+        @UniqueConstraint(name = Review.UNIQUE_RESERVATION, columnNames = "reservation_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,8 +20,11 @@ import java.time.LocalDateTime;
 @Builder
 public class Review {
 
+    public static final String UNIQUE_RESERVATION = "uk_reviews_reservation";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+    @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -27,6 +35,10 @@ public class Review {
     @JoinColumn(name = "member_id")
     private Member member;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reservation_id")
+    private Reservation reservation;
+
     private int rating;
     private String content;
 
@@ -2,11 +2,15 @@ package com.zerobase.reservation.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
+// 삭제된 매장(deleted_at이 있는 행)은 엔티티 조회, JPQL 조회, 연관 조인에서 모두 제외됩니다.
+// 삭제된 매장을 다뤄야 하는 정리 작업은 네이티브 쿼리를 사용합니다.
 @Entity
 @Table(name = "stores")
+@SQLRestriction("deleted_at is null")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +19,8 @@ import java.time.LocalDateTime;
 public class Store {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stores_seq")
+    @SequenceGenerator(name = "stores_seq", sequenceName = "stores_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "store_name")
@@ -24,6 +29,10 @@ public class Store {
     private String description;
     private String location;
 
+    // 위경도 좌표 (WGS84), 주변 매장 조회에 사용하며 입력하지 않으면 null
+    private Double latitude;
+    private Double longitude;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
     private Member owner;
@@ -33,4 +42,8 @@ public class Store {
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // 삭제 요청 시각, 값이 있으면 조회에서 제외되고 정리 작업이 예약/리뷰와 함께 실제로 삭제합니다.
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 }
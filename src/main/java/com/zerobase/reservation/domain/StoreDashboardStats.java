@@ -0,0 +1,37 @@
+package com.zerobase.reservation.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파트너 대시보드용 매장별 집계 카운터의 저장본입니다.
+ * 메모리 카운터(StoreDashboardCounters)가 주기적으로 일괄 UPSERT하며, 기동 시 카운터를 복원하는 데 사용됩니다.
+ */
+@Entity
+@Table(name = "store_dashboard_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoreDashboardStats {
+
+    @Id
+    @Column(name = "store_id")
+    private Long storeId;
+
+    // 응답 대기(REQUESTED) 예약 수
+    @Column(name = "pending_count", nullable = false)
+    private long pendingCount;
+
+    @Column(name = "approved_count", nullable = false)
+    private long approvedCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
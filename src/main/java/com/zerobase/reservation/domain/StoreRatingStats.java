@@ -0,0 +1,49 @@
+package com.zerobase.reservation.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 매장별 평점 집계(리뷰 수, 평점 합계, 1~5점 분포)의 저장본입니다.
+ * 메모리 집계(StoreRatingAggregates)가 주기적으로 일괄 UPSERT하며, 기동 시 집계를 복원하는 데 사용됩니다.
+ */
+@Entity
+@Table(name = "store_rating_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoreRatingStats {
+
+    @Id
+    @Column(name = "store_id")
+    private Long storeId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    // 평균 평점 = rating_sum / review_count
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "star1_count", nullable = false)
+    private long star1Count;
+
+    @Column(name = "star2_count", nullable = false)
+    private long star2Count;
+
+    @Column(name = "star3_count", nullable = false)
+    private long star3Count;
+
+    @Column(name = "star4_count", nullable = false)
+    private long star4Count;
+
+    @Column(name = "star5_count", nullable = false)
+    private long star5Count;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
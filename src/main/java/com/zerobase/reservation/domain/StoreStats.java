@@ -0,0 +1,35 @@
+package com.zerobase.reservation.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 매장별 누적 조회 수와 방문 수입니다.
+ * 메모리 카운터(StoreStatsCounters)가 마지막 저장 이후 늘어난 만큼만 주기적으로 더해 저장합니다.
+ */
+@Entity
+@Table(name = "store_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoreStats {
+
+    @Id
+    @Column(name = "store_id")
+    private Long storeId;
+
+    // 매장 상세 조회 수
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    // 방문 확인(COMPLETED) 수
+    @Column(name = "visit_count", nullable = false)
+    private long visitCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,22 @@
+/**
+ * 예약 일괄 생성 요청 시 사용하는 DTO
+ * 단체 예약이나 제휴사 데이터 이관 시 여러 건의 예약 요청을 한 번에 전달받으며, 각 항목도 개별 검증합니다.
+ */
+
+package com.zerobase.reservation.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class ReservationBatchRequest {
+    @NotEmpty(message = "예약 요청 목록은 필수 입력 값입니다.")
+    @Size(max = 500, message = "한 번에 최대 500건까지 예약할 수 있습니다.")
+    private List<@Valid ReservationRequest> reservations;
+}
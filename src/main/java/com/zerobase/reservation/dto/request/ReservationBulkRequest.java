@@ -0,0 +1,22 @@
+/**
+ * 예약 일괄 승인/거절 요청 시 사용하는 DTO
+ * 파트너가 처리할 예약 ID 목록을 전달받으며, 빈 목록이 아닌지 검증합니다.
+ */
+
+package com.zerobase.reservation.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class ReservationBulkRequest {
+    @NotEmpty(message = "예약 ID 목록은 필수 입력 값입니다.")
+    @Size(max = 1000, message = "한 번에 최대 1000건까지 처리할 수 있습니다.")
+    private List<@NotNull Long> reservationIds;
+}
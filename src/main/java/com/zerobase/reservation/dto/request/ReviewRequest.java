@@ -1,10 +1,13 @@
 /**
  * 리뷰 요청 시 사용하는 DTO
  * 사용자가 리뷰를 작성할 때 매장 ID, 평점, 그리고 리뷰 내용을 전달받으며, 각각 null 및 길이 제한 검증을 수행합니다.
+ * 리뷰 작성 시에는 리뷰 대상 예약 ID도 함께 전달받습니다. (수정 시에는 사용하지 않습니다.)
  */
 
 package com.zerobase.reservation.dto.request;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
@@ -16,7 +19,11 @@ public class ReviewRequest {
     @NotNull(message = "매장 ID는 필수 입력 값입니다.")
     private Long storeId;
 
+    private Long reservationId;
+
     @NotNull(message = "평점은 필수 입력 값입니다.")
+    @Min(value = 1, message = "평점은 1 이상 5 이하여야 합니다.")
+    @Max(value = 5, message = "평점은 1 이상 5 이하여야 합니다.")
     private int rating;
 
     @NotNull(message = "리뷰 내용은 필수 입력 값입니다.")
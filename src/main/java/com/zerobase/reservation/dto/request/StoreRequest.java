@@ -1,10 +1,12 @@
 /**
  * 매장 요청 시 사용하는 DTO
- * 매장을 등록 또는 수정할 때 매장 이름, 위치는 필수이고, 설명은 선택적으로 전달받습니다.
+ * 매장을 등록 또는 수정할 때 매장 이름, 위치는 필수이고, 설명과 위경도 좌표는 선택적으로 전달받습니다.
  */
 
 package com.zerobase.reservation.dto.request;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,4 +21,12 @@ public class StoreRequest {
     private String location;
 
     private String description;
+
+    @DecimalMin(value = "-90.0", message = "위도는 -90 이상 90 이하여야 합니다.")
+    @DecimalMax(value = "90.0", message = "위도는 -90 이상 90 이하여야 합니다.")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "경도는 -180 이상 180 이하여야 합니다.")
+    @DecimalMax(value = "180.0", message = "경도는 -180 이상 180 이하여야 합니다.")
+    private Double longitude;
 }
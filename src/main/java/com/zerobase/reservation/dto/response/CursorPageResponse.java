@@ -0,0 +1,17 @@
+package com.zerobase.reservation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 키셋 페이지네이션 목록 조회 API의 응답 DTO입니다.
+ * nextCursor를 다음 요청의 after 파라미터로 전달하면 이어지는 페이지를 조회할 수 있으며, 마지막 페이지이면 null입니다.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+}
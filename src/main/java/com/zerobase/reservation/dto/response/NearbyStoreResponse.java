@@ -0,0 +1,15 @@
+package com.zerobase.reservation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 주변 매장 조회 API의 응답 항목 DTO입니다.
+ * 매장 정보와 기준 지점으로부터의 거리(m)를 담습니다.
+ */
+@Getter
+@AllArgsConstructor
+public class NearbyStoreResponse {
+    private StoreResponse store;
+    private long distanceMeters;
+}
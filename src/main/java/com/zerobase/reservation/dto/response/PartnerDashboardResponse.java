@@ -0,0 +1,23 @@
+package com.zerobase.reservation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 파트너 대시보드 API의 응답 DTO입니다.
+ * 파트너가 소유한 모든 매장의 합계와, 매장별 현황을 매장 ID 순으로 담습니다.
+ */
+@Getter
+@AllArgsConstructor
+public class PartnerDashboardResponse {
+    private Long partnerId;
+    private int storeCount;
+    private long pendingCount;
+    private long approvedCount;
+    private long completedCount;
+    private long reviewCount;
+    private Double averageRating;
+    private List<StoreDashboardResponse> stores;
+}
@@ -0,0 +1,25 @@
+package com.zerobase.reservation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 예약 일괄 생성 API에서 요청 항목별 처리 결과를 전달하는 응답 DTO입니다.
+ * 요청 순서(index)대로 반환되며, 실패한 항목은 실패 사유를 포함합니다.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationBatchResponse {
+    private int index;
+    private String result;
+    private Long reservationId;
+    private String reason;
+
+    public static ReservationBatchResponse accepted(int index, Long reservationId) {
+        return new ReservationBatchResponse(index, "ACCEPTED", reservationId, null);
+    }
+
+    public static ReservationBatchResponse failed(int index, String reason) {
+        return new ReservationBatchResponse(index, "FAILED", null, reason);
+    }
+}
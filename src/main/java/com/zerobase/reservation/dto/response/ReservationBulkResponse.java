@@ -0,0 +1,18 @@
+package com.zerobase.reservation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 예약 일괄 승인/거절 API 호출 후 클라이언트에 전달할 처리 결과 응답 DTO입니다.
+ * changedIds: 상태가 변경된 예약 ID, unchangedIds: 권한이 없거나 처리할 수 없는 상태라 변경되지 않은 예약 ID
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationBulkResponse {
+    private String status;
+    private List<Long> changedIds;
+    private List<Long> unchangedIds;
+}
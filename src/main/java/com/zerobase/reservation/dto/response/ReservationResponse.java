@@ -1,7 +1,9 @@
 package com.zerobase.reservation.dto.response;
 
 import com.zerobase.reservation.domain.Reservation;
+import com.zerobase.reservation.enums.ReservationStatus;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
@@ -11,6 +13,7 @@ import java.time.LocalDateTime;
  */
 @Getter
 @Setter
+@NoArgsConstructor
 public class ReservationResponse {
     private Long id;
     private Long storeId;
@@ -29,4 +32,16 @@ public class ReservationResponse {
         this.reservationDateTime = reservation.getReservationDateTime();
         this.status = reservation.getStatus().name();
     }
+
+    /**
+     * 조회 쿼리의 생성자 표현식(DTO 프로젝션)에서 엔티티를 거치지 않고 DTO를 생성합니다.
+     */
+    public ReservationResponse(Long id, Long storeId, Long memberId,
+                               LocalDateTime reservationDateTime, ReservationStatus status) {
+        this.id = id;
+        this.storeId = storeId;
+        this.memberId = memberId;
+        this.reservationDateTime = reservationDateTime;
+        this.status = status.name();
+    }
 }
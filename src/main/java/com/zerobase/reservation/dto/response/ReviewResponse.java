@@ -2,12 +2,14 @@ package com.zerobase.reservation.dto.response;
 
 import com.zerobase.reservation.domain.Review;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class ReviewResponse {
     private Long id;
     private Long storeId;
@@ -30,4 +32,18 @@ public class ReviewResponse {
         this.createdAt = review.getCreatedAt();
         this.updatedAt = review.getUpdatedAt();
     }
+
+    /**
+     * 조회 쿼리의 생성자 표현식(DTO 프로젝션)에서 엔티티를 거치지 않고 DTO를 생성합니다.
+     */
+    public ReviewResponse(Long id, Long storeId, Long memberId, int rating, String content,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.storeId = storeId;
+        this.memberId = memberId;
+        this.rating = rating;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
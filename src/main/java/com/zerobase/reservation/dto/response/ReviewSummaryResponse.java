@@ -0,0 +1,27 @@
+package com.zerobase.reservation.dto.response;
+
+import lombok.Getter;
+
+/**
+ * 매장 리뷰 요약(리뷰 수, 평균 평점) 응답 DTO입니다.
+ * 리뷰가 없으면 리뷰 수는 0, 평균 평점은 null입니다.
+ */
+@Getter
+public class ReviewSummaryResponse {
+    private final Long storeId;
+    private final long reviewCount;
+    private final Double averageRating;
+
+    /**
+     * 집계 쿼리의 생성자 표현식(DTO 프로젝션)에서 사용됩니다.
+     */
+    public ReviewSummaryResponse(Long storeId, Long reviewCount, Double averageRating) {
+        this.storeId = storeId;
+        this.reviewCount = reviewCount;
+        this.averageRating = averageRating;
+    }
+
+    public static ReviewSummaryResponse empty(Long storeId) {
+        return new ReviewSummaryResponse(storeId, 0L, null);
+    }
+}
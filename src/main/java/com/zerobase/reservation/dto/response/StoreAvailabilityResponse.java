@@ -0,0 +1,34 @@
+package com.zerobase.reservation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * 매장 예약 가능 시간 조회 API의 응답 DTO입니다.
+ * 날짜별로 자리가 남은 시간 버킷의 시작 시각과 남은 자리 수를 담으며, 버킷 길이는 slotMinutes(분)입니다.
+ */
+@Getter
+@AllArgsConstructor
+public class StoreAvailabilityResponse {
+    private Long storeId;
+    private int slotMinutes;
+    private List<DayAvailability> days;
+
+    @Getter
+    @AllArgsConstructor
+    public static class DayAvailability {
+        private LocalDate date;
+        private List<FreeSlot> slots;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class FreeSlot {
+        private LocalTime time;
+        private int remaining;
+    }
+}
@@ -0,0 +1,22 @@
+package com.zerobase.reservation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 파트너 대시보드의 매장별 현황 DTO입니다.
+ * 리뷰가 없으면 평균 평점은 null입니다.
+ */
+@Getter
+@AllArgsConstructor
+public class StoreDashboardResponse {
+    private Long storeId;
+    private String storeName;
+    private long pendingCount;
+    private long approvedCount;
+    private long completedCount;
+    private long reviewCount;
+    private Double averageRating;
+    private long viewCount;
+    private long visitCount;
+}
@@ -0,0 +1,34 @@
+package com.zerobase.reservation.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 매장 일괄 가져오기 API가 처리 중에 한 줄씩 내보내는 진행 상황 DTO입니다.
+ * ERROR는 실패한 행의 줄 번호와 사유를, PROGRESS는 배치 저장 직후의 누적 건수를,
+ * DONE은 마지막 한 번 최종 건수를 전달합니다.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StoreImportProgress {
+    private String type;
+    private Long line;
+    private String reason;
+    private Long processed;
+    private Long imported;
+    private Long failed;
+
+    public static StoreImportProgress error(long line, String reason) {
+        return new StoreImportProgress("ERROR", line, reason, null, null, null);
+    }
+
+    public static StoreImportProgress progress(long processed, long imported, long failed) {
+        return new StoreImportProgress("PROGRESS", null, null, processed, imported, failed);
+    }
+
+    public static StoreImportProgress done(long processed, long imported, long failed) {
+        return new StoreImportProgress("DONE", null, null, processed, imported, failed);
+    }
+}
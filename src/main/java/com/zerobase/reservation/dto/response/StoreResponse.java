@@ -1,9 +1,12 @@
 package com.zerobase.reservation.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.zerobase.reservation.domain.Store;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 /**
  * 매장 등록, 수정, 조회 등의 API 호출 후 클라이언트에 전달할 매장 정보 응답 DTO입니다.
  */
@@ -15,6 +18,15 @@ public class StoreResponse {
     private String location;
     private String description;
     private Long owner_id;
+    private Double latitude;
+    private Double longitude;
+    // 리뷰 수와 평균 평점 (리뷰가 없으면 null), 메모리 평점 집계에서 채움
+    private long review_count;
+    private Double average_rating;
+
+    // 마지막 변경 시각 (수정 이력이 없으면 등록 시각), 응답 본문에는 포함하지 않고 Last-Modified 헤더에 사용
+    @JsonIgnore
+    private LocalDateTime modifiedAt;
 
     /**
      * Store 엔티티 객체를 기반으로 DTO를 생성합니다.
@@ -26,5 +38,41 @@ public class StoreResponse {
         this.location = store.getLocation();
         this.description = store.getDescription();
         this.owner_id = store.getOwner().getId();
+        this.latitude = store.getLatitude();
+        this.longitude = store.getLongitude();
+        this.modifiedAt = store.getUpdatedAt() != null ? store.getUpdatedAt() : store.getCreatedAt();
+    }
+
+    /**
+     * 조회 쿼리의 생성자 표현식(DTO 프로젝션)에서 엔티티를 거치지 않고 DTO를 생성합니다.
+     */
+    public StoreResponse(Long id, String storeName, String location, String description, Long ownerId,
+                         Double latitude, Double longitude, LocalDateTime modifiedAt) {
+        this.id = id;
+        this.store_name = storeName;
+        this.location = location;
+        this.description = description;
+        this.owner_id = ownerId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.modifiedAt = modifiedAt;
+    }
+
+    /**
+     * 기존 DTO에 리뷰 수와 평균 평점을 더한 사본을 생성합니다.
+     * 검색 색인 등이 공유하는 원본을 바꾸지 않기 위해 사용합니다.
+     */
+    public StoreResponse(StoreResponse source, long reviewCount, Double averageRating) {
+        this(source.id, source.store_name, source.location, source.description, source.owner_id,
+                source.latitude, source.longitude, source.modifiedAt);
+        this.review_count = reviewCount;
+        this.average_rating = averageRating;
+    }
+
+    /**
+     * 위경도 좌표와 변경 시각이 없는 매장의 DTO를 생성합니다.
+     */
+    public StoreResponse(Long id, String storeName, String location, String description, Long ownerId) {
+        this(id, storeName, location, description, ownerId, null, null, null);
     }
 }
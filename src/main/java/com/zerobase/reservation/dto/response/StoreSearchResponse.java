@@ -0,0 +1,19 @@
+package com.zerobase.reservation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 매장 검색 API의 응답 DTO입니다.
+ * 검색어와 일치하는 전체 매장 수와, 요청한 페이지의 매장 목록을 관련도 순으로 담습니다.
+ */
+@Getter
+@AllArgsConstructor
+public class StoreSearchResponse {
+    private long total;
+    private int page;
+    private int size;
+    private List<StoreResponse> items;
+}
@@ -4,5 +4,8 @@ public enum ReservationStatus {
     REQUESTED,
     APPROVED,
     REJECTED,
-    COMPLETED
+    COMPLETED,
+    EXPIRED,
+    NO_SHOW,
+    WAITLISTED
 }
@@ -0,0 +1,11 @@
+package com.zerobase.reservation.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대기열의 예약이 빈자리로 승격되어 REQUESTED 상태가 되었을 때 커밋 후 발행되는 이벤트입니다.
+ * 응답 기한 타이머 등록과 대기자 알림 등은 이 이벤트를 구독하여 처리합니다.
+ */
+public record ReservationPromotedEvent(Long reservationId, Long storeId, LocalDateTime reservationDateTime,
+                                       LocalDateTime promotedAt) {
+}
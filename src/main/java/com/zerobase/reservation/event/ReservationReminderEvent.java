@@ -0,0 +1,10 @@
+package com.zerobase.reservation.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 승인된 예약의 방문 시간이 다가왔을 때 발행되는 이벤트입니다.
+ * 알림 발송 등은 이 이벤트를 구독하여 처리합니다.
+ */
+public record ReservationReminderEvent(Long reservationId, Long storeId, LocalDateTime reservationDateTime) {
+}
@@ -0,0 +1,7 @@
+package com.zerobase.reservation.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
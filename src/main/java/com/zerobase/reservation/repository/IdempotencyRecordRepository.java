@@ -0,0 +1,41 @@
+package com.zerobase.reservation.repository;
+
+import com.zerobase.reservation.domain.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // merge(SELECT 후 UPDATE)가 아닌 INSERT만 수행하여, 다른 요청이 먼저 저장한 키는 중복 키 오류로 드러나게 합니다.
+    @Modifying
+    @Query(value = "insert into idempotency_keys (id, request_hash, response_body, created_at) " +
+            "values (:id, :requestHash, :responseBody, :createdAt)", nativeQuery = true)
+    int insert(@Param("id") String id,
+               @Param("requestHash") String requestHash,
+               @Param("responseBody") String responseBody,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    // 작업 결과(응답 본문)를 선점한 키에 기록
+    @Modifying
+    @Query(value = "update idempotency_keys set response_body = :responseBody where id = :id", nativeQuery = true)
+    int complete(@Param("id") String id, @Param("responseBody") String responseBody);
+
+    // 작업이 실패한 경우 아직 응답이 기록되지 않은 선점 키를 삭제하여 같은 키로 다시 시도할 수 있게 함
+    @Modifying
+    @Query(value = "delete from idempotency_keys where id = :id and response_body = ''", nativeQuery = true)
+    int release(@Param("id") String id);
+
+    // 보관 기간이 지났지만 아직 정리되지 않은 같은 ID의 키 삭제 (키 재사용 시 선점 전에 호출)
+    @Modifying
+    @Query(value = "delete from idempotency_keys where id = :id and created_at < :before", nativeQuery = true)
+    int deleteExpiredById(@Param("id") String id, @Param("before") LocalDateTime before);
+
+    // 만료된 키를 한 번에 최대 limit 건 삭제
+    @Modifying
+    @Query(value = "delete from idempotency_keys where created_at < :before limit :limit", nativeQuery = true)
+    int deleteExpired(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -1,9 +1,230 @@
 package com.zerobase.reservation.repository;
 
 import com.zerobase.reservation.domain.Reservation;
+import com.zerobase.reservation.dto.response.ReservationResponse;
 import com.zerobase.reservation.enums.ReservationStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
-    boolean existsByStoreIdAndMemberIdAndStatus(Long storeId, Long memberId, ReservationStatus status);
+    @Query("select r.store.id from Reservation r where r.id = :id")
+    Optional<Long> findStoreIdById(@Param("id") Long id);
+
+    // 매장별 예약 목록 키셋 페이지 조회: (reservation_date_time, id)가 커서보다 큰 행부터 인덱스 순서대로 조회
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.zerobase.reservation.dto.response.ReservationResponse(" +
+            "r.id, r.store.id, r.member.id, r.reservationDateTime, r.status) " +
+            "from Reservation r " +
+            "where r.store.id = :storeId and r.status = :status and r.reservationDateTime < :to " +
+            "and (r.reservationDateTime > :afterTime or (r.reservationDateTime = :afterTime and r.id > :afterId)) " +
+            "order by r.reservationDateTime, r.id")
+    List<ReservationResponse> findStorePage(@Param("storeId") Long storeId,
+                                            @Param("status") ReservationStatus status,
+                                            @Param("afterTime") LocalDateTime afterTime,
+                                            @Param("afterId") Long afterId,
+                                            @Param("to") LocalDateTime to,
+                                            Pageable pageable);
+
+    // 매장/예약 일시별 예약 수 (슬롯 재고 재구성용)
+    @Query("select r.store.id as storeId, r.reservationDateTime as reservationDateTime, count(r) as reservationCount " +
+            "from Reservation r " +
+            "where r.status in :statuses and r.reservationDateTime >= :from " +
+            "group by r.store.id, r.reservationDateTime")
+    List<SlotUsage> findSlotUsages(@Param("statuses") Collection<ReservationStatus> statuses,
+                                   @Param("from") LocalDateTime from);
+
+    // 파트너 소유 매장의 예약 중 상태 변경 대상을 행 잠금과 함께 조회 (일괄 승인/거절용)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r.id as id, r.store.id as storeId, r.reservationDateTime as reservationDateTime, r.status as status " +
+            "from Reservation r " +
+            "where r.id in :ids and r.status in :statuses " +
+            "and r.store.id in (select s.id from Store s where s.owner.id = :partnerId)")
+    List<ReservationSlot> findOwnedForUpdate(@Param("ids") Collection<Long> ids,
+                                             @Param("statuses") Collection<ReservationStatus> statuses,
+                                             @Param("partnerId") Long partnerId);
+
+    // 파트너 소유 매장의 예약 상태를 한 번의 UPDATE로 변경
+    @Modifying
+    @Query("update Reservation r set r.status = :status, r.updatedAt = :now " +
+            "where r.id in :ids " +
+            "and r.store.id in (select s.id from Store s where s.owner.id = :partnerId)")
+    int updateOwnedStatus(@Param("ids") Collection<Long> ids,
+                          @Param("partnerId") Long partnerId,
+                          @Param("status") ReservationStatus status,
+                          @Param("now") LocalDateTime now);
+
+    // 지정한 상태인 예약을 행 잠금과 함께 조회 (수명 주기 타이머 처리용)
+    // 수명 주기/대기열 쿼리의 exists 조건은 Store의 삭제 조건(@SQLRestriction)으로 삭제된 매장의 예약을 제외합니다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r.id as id, r.store.id as storeId, r.reservationDateTime as reservationDateTime, r.status as status " +
+            "from Reservation r where r.id in :ids and r.status = :status " +
+            "and exists (select 1 from Store s where s.id = r.store.id)")
+    List<ReservationSlot> findSlotsForUpdate(@Param("ids") Collection<Long> ids,
+                                             @Param("status") ReservationStatus status);
+
+    @Query("select r.id as id, r.store.id as storeId, r.reservationDateTime as reservationDateTime, r.status as status " +
+            "from Reservation r where r.id in :ids and r.status = :status " +
+            "and exists (select 1 from Store s where s.id = r.store.id)")
+    List<ReservationSlot> findSlots(@Param("ids") Collection<Long> ids,
+                                    @Param("status") ReservationStatus status);
+
+    // 현재 상태가 from인 예약만 한 번의 UPDATE로 to 상태로 변경
+    @Modifying
+    @Query("update Reservation r set r.status = :to, r.updatedAt = :now where r.id in :ids and r.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("from") ReservationStatus from,
+                     @Param("to") ReservationStatus to,
+                     @Param("now") LocalDateTime now);
+
+    // 수명 주기 타이머 재등록 대상 (ID 순 키셋 페이지), 요청 시각은 대기열에서 승격된 예약이면 승격 시각(updatedAt)
+    @Query("select r.id as id, r.status as status, coalesce(r.updatedAt, r.createdAt) as requestedAt, " +
+            "r.reservationDateTime as reservationDateTime " +
+            "from Reservation r where r.id > :afterId and r.status in :statuses " +
+            "and exists (select 1 from Store s where s.id = r.store.id) order by r.id")
+    List<LifecycleTarget> findLifecycleTargets(@Param("afterId") Long afterId,
+                                               @Param("statuses") Collection<ReservationStatus> statuses,
+                                               Pageable pageable);
+
+    // 매장의 수명 주기 타이머 대상 예약 ID (삭제된 매장의 타이머 취소용)
+    @Query("select r.id from Reservation r where r.store.id = :storeId and r.status in :statuses")
+    List<Long> findIdsByStoreIdAndStatusIn(@Param("storeId") Long storeId,
+                                           @Param("statuses") Collection<ReservationStatus> statuses);
+
+    // 방문 완료 예약의 (매장, 회원) 쌍 (ID 순 키셋 페이지, 방문 완료 집합 구성용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select r.id as id, r.store.id as storeId, r.member.id as memberId " +
+            "from Reservation r where r.id > :afterId " +
+            "and r.status = com.zerobase.reservation.enums.ReservationStatus.COMPLETED order by r.id")
+    List<CompletedVisit> findCompletedVisits(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 방문 완료 예약 한 건의 (매장, 회원) (방문 완료 집합에 없는 예약 확인용)
+    @Query("select r.id as id, r.store.id as storeId, r.member.id as memberId " +
+            "from Reservation r where r.id = :id " +
+            "and r.status = com.zerobase.reservation.enums.ReservationStatus.COMPLETED")
+    Optional<CompletedVisit> findCompletedVisit(@Param("id") Long id);
+
+    // 응답 기한이 지난 REQUESTED 예약 ID (대기열에서 승격된 예약은 승격 시각(updatedAt)부터 기한 계산)
+    @Query("select r.id from Reservation r where r.status = com.zerobase.reservation.enums.ReservationStatus.REQUESTED " +
+            "and (r.reservationDateTime <= :now or coalesce(r.updatedAt, r.createdAt) <= :requestedBefore) " +
+            "and exists (select 1 from Store s where s.id = r.store.id)")
+    List<Long> findOverdueRequestIds(@Param("now") LocalDateTime now,
+                                     @Param("requestedBefore") LocalDateTime requestedBefore,
+                                     Pageable pageable);
+
+    // 방문 확인 시간이 지난 APPROVED 예약 ID
+    @Query("select r.id from Reservation r where r.status = com.zerobase.reservation.enums.ReservationStatus.APPROVED " +
+            "and r.reservationDateTime <= :before and exists (select 1 from Store s where s.id = r.store.id)")
+    List<Long> findOverdueApprovedIds(@Param("before") LocalDateTime before, Pageable pageable);
+
+    // 대기 예약을 REQUESTED로 승격 (최초 요청 시각(createdAt)은 유지하고, 응답 기한은 승격 시각(updatedAt)부터 계산)
+    @Modifying
+    @Query("update Reservation r set r.status = com.zerobase.reservation.enums.ReservationStatus.REQUESTED, " +
+            "r.updatedAt = :now " +
+            "where r.id = :id and r.status = com.zerobase.reservation.enums.ReservationStatus.WAITLISTED " +
+            "and exists (select 1 from Store s where s.id = r.store.id)")
+    int promoteWaitlisted(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // 아직 대기 중인 예약만 삭제 (대기 취소용)
+    @Modifying
+    @Query("delete from Reservation r " +
+            "where r.id = :id and r.status = com.zerobase.reservation.enums.ReservationStatus.WAITLISTED")
+    int deleteWaitlisted(@Param("id") Long id);
+
+    // 대기열 재구성 대상 (ID 순 키셋 페이지)
+    @Query("select r.id as id, r.store.id as storeId, r.reservationDateTime as reservationDateTime, " +
+            "r.createdAt as createdAt " +
+            "from Reservation r where r.id > :afterId " +
+            "and r.status = com.zerobase.reservation.enums.ReservationStatus.WAITLISTED " +
+            "and r.reservationDateTime >= :from and exists (select 1 from Store s where s.id = r.store.id) order by r.id")
+    List<WaitlistEntry> findWaitlisted(@Param("afterId") Long afterId,
+                                       @Param("from") LocalDateTime from,
+                                       Pageable pageable);
+
+    // 매장의 예약을 한 번에 최대 limit 건 삭제 (삭제된 매장 정리용)
+    @Modifying
+    @Query(value = "delete from reservations where store_id = :storeId limit :limit", nativeQuery = true)
+    int deleteByStoreId(@Param("storeId") Long storeId, @Param("limit") int limit);
+
+    // 기준 시각 이후 생성된 매장별 예약 수 (자동완성 인기도 계산용)
+    @Query("select r.store.id as storeId, count(r) as reservationCount " +
+            "from Reservation r where r.createdAt >= :since group by r.store.id")
+    List<StoreReservationCount> countByStoreSince(@Param("since") LocalDateTime since);
+
+    // 매장/상태별 예약 수 (대시보드 카운터 검증용, (store_id, status, ...) 인덱스만으로 집계)
+    @Query("select r.store.id as storeId, r.status as status, count(r) as reservationCount " +
+            "from Reservation r where r.status in :statuses group by r.store.id, r.status")
+    List<StoreStatusCount> countByStoreAndStatus(@Param("statuses") Collection<ReservationStatus> statuses);
+
+    interface LifecycleTarget {
+        Long getId();
+
+        ReservationStatus getStatus();
+
+        LocalDateTime getRequestedAt();
+
+        LocalDateTime getReservationDateTime();
+    }
+
+    interface ReservationSlot {
+        Long getId();
+
+        Long getStoreId();
+
+        LocalDateTime getReservationDateTime();
+
+        ReservationStatus getStatus();
+    }
+
+    interface SlotUsage {
+        Long getStoreId();
+
+        LocalDateTime getReservationDateTime();
+
+        Long getReservationCount();
+    }
+
+    interface WaitlistEntry {
+        Long getId();
+
+        Long getStoreId();
+
+        LocalDateTime getReservationDateTime();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface StoreReservationCount {
+        Long getStoreId();
+
+        Long getReservationCount();
+    }
+
+    interface StoreStatusCount {
+        Long getStoreId();
+
+        ReservationStatus getStatus();
+
+        Long getReservationCount();
+    }
+
+    interface CompletedVisit {
+        Long getId();
+
+        Long getStoreId();
+
+        Long getMemberId();
+    }
 }
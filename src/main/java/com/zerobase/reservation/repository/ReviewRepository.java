@@ -1,7 +1,86 @@
 package com.zerobase.reservation.repository;
 
 import com.zerobase.reservation.domain.Review;
+import com.zerobase.reservation.dto.response.ReviewResponse;
+import com.zerobase.reservation.dto.response.ReviewSummaryResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    // 매장 리뷰 요약: 리뷰 수와 평균 평점을 한 번의 집계 쿼리로 조회 (리뷰가 없거나 삭제된 매장이면 빈 결과)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.zerobase.reservation.dto.response.ReviewSummaryResponse(" +
+            "r.store.id, count(r), avg(r.rating)) " +
+            "from Review r where r.store.id = :storeId and r.store.deletedAt is null group by r.store.id")
+    Optional<ReviewSummaryResponse> summarizeByStoreId(@Param("storeId") Long storeId);
+
+    // 매장별 리뷰 목록 키셋 페이지 조회: (created_at, id)가 커서보다 작은 행부터 최신순으로 인덱스를 따라 조회
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.zerobase.reservation.dto.response.ReviewResponse(" +
+            "r.id, r.store.id, r.member.id, r.rating, r.content, r.createdAt, r.updatedAt) " +
+            "from Review r " +
+            "where r.store.id = :storeId " +
+            "and (r.createdAt < :beforeTime or (r.createdAt = :beforeTime and r.id < :beforeId)) " +
+            "order by r.createdAt desc, r.id desc")
+    List<ReviewResponse> findStorePage(@Param("storeId") Long storeId,
+                                       @Param("beforeTime") LocalDateTime beforeTime,
+                                       @Param("beforeId") Long beforeId,
+                                       Pageable pageable);
+
+    // 매장의 전체 리뷰를 최신순으로 스트리밍 조회 (내보내기용)
+    // 페치 크기 Integer.MIN_VALUE는 MySQL 드라이버가 결과를 메모리에 모두 올리지 않고 한 행씩 읽게 하며, 트랜잭션 안에서 닫아야 합니다.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE)
+    })
+    @Query("select new com.zerobase.reservation.dto.response.ReviewResponse(" +
+            "r.id, r.store.id, r.member.id, r.rating, r.content, r.createdAt, r.updatedAt) " +
+            "from Review r where r.store.id = :storeId order by r.createdAt desc, r.id desc")
+    Stream<ReviewResponse> streamByStoreId(@Param("storeId") Long storeId);
+
+    // 평점이 조회 시점(previousRating)과 같을 때만 평점/내용 수정 (동시 수정이 평점 집계에 한 번씩만 반영되도록 변경 행 수로 확인)
+    // 수정 후 영속성 컨텍스트를 비워, 조회한 엔티티가 커밋 시 다시 UPDATE 되지 않게 합니다.
+    @Modifying(clearAutomatically = true)
+    @Query("update Review r set r.rating = :rating, r.content = :content, r.updatedAt = :now " +
+            "where r.id = :id and r.rating = :previousRating")
+    int updateIfRating(@Param("id") Long id,
+                       @Param("previousRating") int previousRating,
+                       @Param("rating") int rating,
+                       @Param("content") String content,
+                       @Param("now") LocalDateTime now);
+
+    // 리뷰 한 건 삭제 (동시 삭제 중 한 요청만 1을 반환)
+    @Modifying
+    @Query("delete from Review r where r.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
+    // 매장의 리뷰를 한 번에 최대 limit 건 삭제 (삭제된 매장 정리용)
+    @Modifying
+    @Query(value = "delete from reviews where store_id = :storeId limit :limit", nativeQuery = true)
+    int deleteByStoreId(@Param("storeId") Long storeId, @Param("limit") int limit);
+
+    // 매장/평점별 리뷰 수 (평점 집계 검증용)
+    @Query("select r.store.id as storeId, r.rating as rating, count(r) as reviewCount " +
+            "from Review r group by r.store.id, r.rating")
+    List<StoreRatingCount> countByStoreAndRating();
+
+    interface StoreRatingCount {
+        Long getStoreId();
+
+        Integer getRating();
+
+        Long getReviewCount();
+    }
 }
@@ -0,0 +1,13 @@
+package com.zerobase.reservation.repository;
+
+import com.zerobase.reservation.domain.StoreDashboardStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface StoreDashboardStatsRepository extends JpaRepository<StoreDashboardStats, Long> {
+
+    // 기동 시 카운터 복원용: 매장 ID 기준 키셋 페이지
+    List<StoreDashboardStats> findByStoreIdGreaterThanOrderByStoreId(Long afterStoreId, Pageable pageable);
+}
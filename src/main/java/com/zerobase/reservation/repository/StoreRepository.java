@@ -1,7 +1,56 @@
 package com.zerobase.reservation.repository;
 
 import com.zerobase.reservation.domain.Store;
+import com.zerobase.reservation.dto.response.StoreResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface StoreRepository extends JpaRepository<Store, Long> {
+    boolean existsByIdAndOwnerId(Long id, Long ownerId);
+
+    // 권한 확인용 매장 소유자 ID: 삭제된 매장은 빈 값 (삭제된 매장을 가리키는 연관 프록시는 초기화할 수 없음)
+    @Query("select s.owner.id from Store s where s.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    // 매장 상세 조회: 엔티티/소유자 프록시를 만들지 않고 응답 DTO로 바로 조회
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.zerobase.reservation.dto.response.StoreResponse(" +
+            "s.id, s.storeName, s.location, s.description, s.owner.id, s.latitude, s.longitude, " +
+            "coalesce(s.updatedAt, s.createdAt)) " +
+            "from Store s where s.id = :id")
+    Optional<StoreResponse> findResponseById(@Param("id") Long id);
+
+    // 메모리 색인 구성용 전체 매장 조회: ID 기준 키셋 페이지
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.zerobase.reservation.dto.response.StoreResponse(" +
+            "s.id, s.storeName, s.location, s.description, s.owner.id, s.latitude, s.longitude, " +
+            "coalesce(s.updatedAt, s.createdAt)) " +
+            "from Store s where s.id > :afterId order by s.id")
+    List<StoreResponse> findResponsesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 파트너가 소유한 매장 목록 (대시보드용, owner_id 외래 키 인덱스 사용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.zerobase.reservation.dto.response.StoreResponse(" +
+            "s.id, s.storeName, s.location, s.description, s.owner.id, s.latitude, s.longitude, " +
+            "coalesce(s.updatedAt, s.createdAt)) " +
+            "from Store s where s.owner.id = :ownerId order by s.id")
+    List<StoreResponse> findResponsesByOwnerId(@Param("ownerId") Long ownerId);
+
+    // 정리 대기 중인 삭제된 매장 ID (엔티티 조회는 삭제된 매장을 제외하므로 네이티브 쿼리 사용)
+    @Query(value = "select id from stores where deleted_at is not null order by id limit :limit", nativeQuery = true)
+    List<Long> findDeletedIds(@Param("limit") int limit);
+
+    // 예약/리뷰를 모두 지운 삭제된 매장 행을 실제로 삭제
+    @Modifying
+    @Query(value = "delete from stores where id = :id and deleted_at is not null", nativeQuery = true)
+    int purgeDeleted(@Param("id") Long id);
 }
@@ -0,0 +1,13 @@
+package com.zerobase.reservation.repository;
+
+import com.zerobase.reservation.domain.StoreStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface StoreStatsRepository extends JpaRepository<StoreStats, Long> {
+
+    // 기동 시 누적값 복원용: 매장 ID 기준 키셋 페이지
+    List<StoreStats> findByStoreIdGreaterThanOrderByStoreId(Long afterStoreId, Pageable pageable);
+}
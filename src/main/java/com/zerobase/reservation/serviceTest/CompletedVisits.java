@@ -0,0 +1,84 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.util.LongPairHashSet;
+import jakarta.annotation.PostConstruct;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 방문을 완료한(COMPLETED) 예약의 (예약, 매장, 회원) 메모리 집합입니다.
+ *
+ * 리뷰 작성 자격 확인이 대부분 SQL 없이 끝나도록, 기동 시 방문 완료 예약으로 채우고 방문 확인이 커밋될 때마다 추가합니다.
+ * 리뷰는 예약 한 건에 묶이므로 (예약, 매장)과 (예약, 회원) 두 쌍을 함께 보관하여, 다른 회원이나 다른 매장의 예약으로는 자격이 확인되지 않게 합니다.
+ * 거절/만료/노쇼 전이는 REQUESTED/APPROVED 예약에서만 허용되어 방문 완료 예약은 다른 상태로 바뀌지 않으므로 쌍을 지우지 않습니다.
+ * (매장이 삭제되면 리뷰 작성 시 매장 확인에서 걸러집니다.)
+ * 집합에 없는 예약은 기본 키로 DB에서 다시 확인하므로, 집합이 늦게 반영되더라도 자격이 있는 회원을 거부하지 않습니다.
+ */
+@Component
+public class CompletedVisits {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final ReservationRepository reservationRepository;
+    private final LongPairHashSet reservationStores = new LongPairHashSet(LOAD_PAGE_SIZE);
+    private final LongPairHashSet reservationMembers = new LongPairHashSet(LOAD_PAGE_SIZE);
+
+    public CompletedVisits(ReservationRepository reservationRepository) {
+        this.reservationRepository = reservationRepository;
+    }
+
+    /**
+     * 방문 완료 예약을 ID 순으로 나누어 읽어 집합을 채웁니다.
+     */
+    @PostConstruct
+    public void load() {
+        long afterId = 0L;
+        while (true) {
+            List<ReservationRepository.CompletedVisit> rows = reservationRepository.findCompletedVisits(
+                    afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (ReservationRepository.CompletedVisit row : rows) {
+                add(row.getId(), row.getStoreId(), row.getMemberId());
+            }
+            if (rows.size() < LOAD_PAGE_SIZE) {
+                return;
+            }
+            afterId = rows.get(rows.size() - 1).getId();
+        }
+    }
+
+    /**
+     * 방문 확인이 커밋된 후 호출합니다.
+     */
+    public void add(Long reservationId, Long storeId, Long memberId) {
+        // 회원 쌍을 나중에 넣으므로, 두 쌍이 모두 보이면 완전히 추가된 예약입니다.
+        reservationStores.add(reservationId, storeId);
+        reservationMembers.add(reservationId, memberId);
+    }
+
+    /**
+     * 예약이 회원이 매장에서 방문을 완료한 예약인지 확인합니다.
+     * 집합에 없으면 기본 키로 예약을 조회하고, 방문 완료 예약이면 집합에 추가합니다.
+     */
+    public boolean isCompletedVisit(Long reservationId, Long storeId, Long memberId) {
+        if (reservationStores.contains(reservationId, storeId) && reservationMembers.contains(reservationId, memberId)) {
+            return true;
+        }
+        Optional<ReservationRepository.CompletedVisit> visit = reservationRepository.findCompletedVisit(reservationId);
+        if (visit.isEmpty()) {
+            return false;
+        }
+        add(visit.get().getId(), visit.get().getStoreId(), visit.get().getMemberId());
+        return visit.get().getStoreId().equals(storeId) && visit.get().getMemberId().equals(memberId);
+    }
+
+    /**
+     * @return 집합에 있는 방문 완료 예약 수
+     */
+    public int size() {
+        return reservationStores.size();
+    }
+}
@@ -0,0 +1,230 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.reservation.domain.IdempotencyRecord;
+import com.zerobase.reservation.exception.CustomException;
+import com.zerobase.reservation.repository.IdempotencyRecordRepository;
+import com.zerobase.reservation.util.ExpiringLruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더 처리 서비스입니다.
+ *
+ * 같은 회원이 같은 키로 보낸 생성 요청은 한 번만 실행되고, 이후 재요청에는 최초 응답을 그대로 돌려줍니다.
+ * - 최근 처리한 키의 응답은 크기/만료 시간이 제한된 메모리 캐시에서 DB 조회 없이 바로 반환합니다.
+ * - 같은 키로 동시에 들어온 요청은 하나만 실행되고, 나머지는 그 결과를 기다려 함께 반환합니다.
+ * - 작업 전에 idempotency_keys 테이블에 키를 먼저 선점(짧은 트랜잭션)하고, 작업은 바깥 트랜잭션 없이 실행한 뒤
+ *   응답을 기록하므로, 재시작 후나 다른 인스턴스로 들어온 재요청도 감지됩니다.
+ * - 작업이 실패하면 선점한 키를 지워 같은 키로 다시 시도할 수 있고, 작업 도중 종료된 키는 보관 기간이
+ *   지날 때까지 처리 중으로 응답합니다.
+ * 같은 키로 본문이 다른 요청을 보내면 예외가 발생합니다.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int PURGE_BATCH_SIZE = 1000;
+    // 선점만 하고 아직 응답을 기록하지 않은 키의 응답 본문
+    private static final String PENDING = "";
+    private static final String IN_PROGRESS = "같은 Idempotency-Key의 요청이 처리 중입니다.";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final ExpiringLruCache<String, Replay> cache;
+    private final ConcurrentMap<String, CompletableFuture<Replay>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${reservation.idempotency.cache-size:10000}") int cacheSize,
+                              @Value("${reservation.idempotency.ttl-minutes:1440}") long ttlMinutes) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.cache = new ExpiringLruCache<>(cacheSize, ttl.toMillis());
+    }
+
+    /**
+     * 생성 작업을 Idempotency-Key 기준으로 한 번만 실행합니다.
+     *
+     * @param scope: 키의 적용 범위 (예: "reservation", "review")
+     * @param memberId: 요청한 회원의 ID
+     * @param key: Idempotency-Key 헤더 값, null이면 작업을 그대로 실행합니다.
+     * @param request: 요청 본문 (같은 키의 요청이 동일한지 비교하는 데 사용)
+     * @param responseType: 응답 타입
+     * @param action: 실행할 생성 작업
+     * @return 최초 실행 결과 또는 저장된 응답
+     * @throws CustomException: 키가 너무 길거나, 같은 키로 다른 요청을 보낸 경우 예외 발생
+     */
+    public <T> T execute(String scope, Long memberId, String key, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new CustomException("Idempotency-Key는 1자 이상 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+        String id = scope + ":" + memberId + ":" + key;
+        String requestHash = hash(request);
+
+        Replay cached = cache.get(id);
+        if (cached != null) {
+            return cached.resolve(requestHash, responseType);
+        }
+
+        CompletableFuture<Replay> mine = new CompletableFuture<>();
+        CompletableFuture<Replay> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            return await(running).resolve(requestHash, responseType);
+        }
+        try {
+            Replay replay = load(id, responseType).orElseGet(() -> executeOnce(id, requestHash, responseType, action));
+            cache.put(id, replay);
+            mine.complete(replay);
+            return replay.resolve(requestHash, responseType);
+        } catch (Throwable e) {
+            // Error도 팔로워에게 전달해야 팔로워가 끝나지 않는 대기에 빠지지 않습니다.
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    /**
+     * 만료된 키를 주기적으로 나누어 삭제합니다.
+     */
+    @Scheduled(fixedDelayString = "${reservation.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime before = LocalDateTime.now().minus(ttl);
+        Integer deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    idempotencyRecordRepository.deleteExpired(before, PURGE_BATCH_SIZE));
+        } while (deleted != null && deleted == PURGE_BATCH_SIZE);
+    }
+
+    // 키를 먼저 선점한 경우에만 작업을 실행합니다. 작업은 자체 트랜잭션(또는 매장별 파이프라인)에서 커밋되므로
+    // 바깥 트랜잭션으로 감싸지 않으며, 요청 스레드가 작업 중에 커넥션을 붙잡고 있지 않습니다.
+    private <T> Replay executeOnce(String id, String requestHash, Class<T> responseType, Supplier<T> action) {
+        if (!claim(id, requestHash)) {
+            // 다른 요청(또는 다른 인스턴스)이 같은 키를 먼저 선점한 경우 저장된 응답을 반환합니다.
+            return load(id, responseType).orElseThrow(() -> new CustomException(IN_PROGRESS));
+        }
+        T response;
+        try {
+            response = action.get();
+        } catch (Throwable e) {
+            try {
+                transactionTemplate.execute(status -> idempotencyRecordRepository.release(id));
+            } catch (RuntimeException releaseFailure) {
+                e.addSuppressed(releaseFailure);
+            }
+            throw e;
+        }
+        // 응답 기록에 실패하더라도 작업은 이미 반영되었으므로 응답을 그대로 돌려줍니다.
+        // 이 경우 키는 보관 기간 동안 처리 중으로 남아 다른 인스턴스의 재요청도 다시 실행되지 않습니다.
+        try {
+            transactionTemplate.execute(status -> idempotencyRecordRepository.complete(id, toJson(response)));
+        } catch (RuntimeException ignored) {
+            // 이 인스턴스의 재요청은 메모리 캐시에서 응답합니다.
+        }
+        return new Replay(requestHash, response);
+    }
+
+    // 보관 기간이 지난 같은 키를 지우고 응답이 비어 있는 키를 INSERT 합니다.
+    // 이 트랜잭션은 idempotency_keys에만 쓰므로, 무결성 오류는 같은 키가 이미 선점되었다는 뜻입니다.
+    private boolean claim(String id, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                idempotencyRecordRepository.deleteExpiredById(id, now.minus(ttl));
+                idempotencyRecordRepository.insert(id, requestHash, PENDING, now);
+            });
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    // 보관 기간 안의 키가 있으면 저장된 응답을, 아직 응답이 기록되지 않았으면 처리 중 예외를 반환합니다.
+    private <T> Optional<Replay> load(String id, Class<T> responseType) {
+        LocalDateTime notBefore = LocalDateTime.now().minus(ttl);
+        Optional<IdempotencyRecord> saved = idempotencyRecordRepository.findById(id)
+                .filter(record -> record.getCreatedAt().isAfter(notBefore));
+        if (saved.isPresent() && PENDING.equals(saved.get().getResponseBody())) {
+            throw new CustomException(IN_PROGRESS);
+        }
+        return saved.map(record -> new Replay(record.getRequestHash(), fromJson(record.getResponseBody(), responseType)));
+    }
+
+    private Replay await(CompletableFuture<Replay> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private <T> T fromJson(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private record Replay(String requestHash, Object response) {
+
+        private <T> T resolve(String requestHash, Class<T> responseType) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new CustomException("같은 Idempotency-Key로 다른 요청을 보낼 수 없습니다.");
+            }
+            return responseType.cast(response);
+        }
+    }
+}
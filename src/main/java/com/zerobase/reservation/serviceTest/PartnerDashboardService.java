@@ -0,0 +1,66 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.domain.Member;
+import com.zerobase.reservation.dto.response.PartnerDashboardResponse;
+import com.zerobase.reservation.dto.response.StoreDashboardResponse;
+import com.zerobase.reservation.dto.response.StoreResponse;
+import com.zerobase.reservation.enums.Role;
+import com.zerobase.reservation.repository.MemberRepository;
+import com.zerobase.reservation.repository.StoreRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PartnerDashboardService {
+    private final MemberRepository memberRepository;
+    private final StoreRepository storeRepository;
+    private final StoreDashboardCounters storeDashboardCounters;
+    private final StoreStatsCounters storeStatsCounters;
+    private final StoreRatingAggregates storeRatingAggregates;
+
+    /**
+     * 파트너 대시보드 조회 메서드
+     *
+     * 파트너가 소유한 매장 목록을 조회한 뒤, 매장마다 메모리 카운터에서
+     * 응답 대기/승인/방문 완료 예약 수와 리뷰 수, 평균 평점, 누적 조회/방문 수를 읽어 합계와 함께 반환합니다.
+     * 예약/리뷰 테이블을 집계하지 않으므로 조회 비용은 매장 수에만 비례합니다.
+     *
+     * @param partnerId: 조회를 요청하는 파트너 회원의 ID
+     * @return 매장별 현황과 전체 합계
+     * @throws RuntimeException 회원이 존재하지 않거나 파트너 회원이 아닌 경우 예외 발생
+     */
+    public PartnerDashboardResponse getDashboard(Long partnerId) {
+        Member partner = memberRepository.findById(partnerId)
+                .orElseThrow(() -> new RuntimeException("파트너 회원이 존재하지 않습니다."));
+        if (!partner.getRole().equals(Role.PARTNER)) {
+            throw new RuntimeException("파트너 회원만 대시보드를 조회할 수 있습니다.");
+        }
+        List<StoreResponse> stores = storeRepository.findResponsesByOwnerId(partnerId);
+        List<StoreDashboardResponse> items = new ArrayList<>(stores.size());
+        long pending = 0;
+        long approved = 0;
+        long completed = 0;
+        long reviews = 0;
+        long ratingSum = 0;
+        for (StoreResponse store : stores) {
+            StoreDashboardCounters.StoreCounts counts = storeDashboardCounters.get(store.getId());
+            StoreRatingAggregates.StoreRating rating = storeRatingAggregates.get(store.getId());
+            StoreStatsCounters.StoreStatsSnapshot stats = storeStatsCounters.get(store.getId());
+            items.add(new StoreDashboardResponse(store.getId(), store.getStore_name(), counts.pendingCount(),
+                    counts.approvedCount(), counts.completedCount(), rating.reviewCount(), rating.averageRating(),
+                    stats.viewCount(), stats.visitCount()));
+            pending += counts.pendingCount();
+            approved += counts.approvedCount();
+            completed += counts.completedCount();
+            reviews += rating.reviewCount();
+            ratingSum += rating.ratingSum();
+        }
+        Double averageRating = reviews > 0 ? (double) ratingSum / reviews : null;
+        return new PartnerDashboardResponse(partnerId, items.size(), pending, approved, completed,
+                reviews, averageRating, items);
+    }
+}
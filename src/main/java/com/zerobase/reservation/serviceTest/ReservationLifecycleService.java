@@ -0,0 +1,291 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.enums.ReservationStatus;
+import com.zerobase.reservation.event.ReservationPromotedEvent;
+import com.zerobase.reservation.event.ReservationReminderEvent;
+import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.util.HashedTimingWheel;
+import com.zerobase.reservation.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * 예약 수명 주기 타이머 서비스입니다.
+ *
+ * 예약마다 수명 주기 기한을 해시 타이밍 휠에 등록하고, 기한이 도래하면 상태를 전이합니다.
+ * - 응답 기한 만료: 일정 시간 동안 승인/거절되지 않은 REQUESTED 예약 → EXPIRED (대기자 승격 또는 슬롯 반환)
+ * - 노쇼 처리: 방문 확인 시간(예약 시간 + 10분)이 지난 APPROVED 예약 → NO_SHOW
+ * - 방문 알림: 예약 시간 전 APPROVED 예약에 대해 ReservationReminderEvent 발행
+ * 한 틱에 만료된 타이머는 종류별로 모아 일괄 UPDATE로 반영하며, 타이머를 등록한 뒤 상태가 바뀐 예약은
+ * UPDATE의 상태 조건에 걸리지 않으므로 별도의 타이머 취소가 필요 없습니다.
+ * 기동 시 DB의 REQUESTED/APPROVED 예약으로 타이머를 다시 등록합니다.
+ * 삭제된 매장의 예약은 조회 조건에서 제외되어 상태가 바뀌지 않으며, 매장 삭제가 커밋되면 남은 타이머도 취소합니다.
+ */
+@Service
+public class ReservationLifecycleService {
+
+    private static final int TYPE_EXPIRE = 0;
+    private static final int TYPE_REMIND = 1;
+    private static final int TYPE_NO_SHOW = 2;
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+    private static final int RELOAD_PAGE_SIZE = 10_000;
+    private static final long RETRY_DELAY_MILLIS = 10_000;
+
+    private final ReservationRepository reservationRepository;
+    private final WaitlistService waitlistService;
+    private final StoreDashboardCounters storeDashboardCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long tickMillis;
+    private final Duration requestTtl;
+    private final Duration reminderLead;
+    private final Duration noShowGrace;
+    private final HashedTimingWheel wheel;
+    // 휠이 가득 차 등록하지 못한 타이머 중 가장 늦은 기한 (이 시각까지 DB 스윕으로 보완)
+    private final AtomicLong droppedUntil = new AtomicLong(Long.MIN_VALUE);
+    private ScheduledExecutorService ticker;
+
+    public ReservationLifecycleService(ReservationRepository reservationRepository,
+                                       WaitlistService waitlistService,
+                                       StoreDashboardCounters storeDashboardCounters,
+                                       ApplicationEventPublisher eventPublisher,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${reservation.lifecycle.tick-ms:1000}") long tickMillis,
+                                       @Value("${reservation.lifecycle.wheel-size:4096}") int wheelSize,
+                                       @Value("${reservation.lifecycle.max-pending:2000000}") int maxPending,
+                                       @Value("${reservation.lifecycle.request-ttl-minutes:60}") long requestTtlMinutes,
+                                       @Value("${reservation.lifecycle.reminder-lead-minutes:60}") long reminderLeadMinutes,
+                                       @Value("${reservation.lifecycle.no-show-grace-minutes:10}") long noShowGraceMinutes) {
+        this.reservationRepository = reservationRepository;
+        this.waitlistService = waitlistService;
+        this.storeDashboardCounters = storeDashboardCounters;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tickMillis = tickMillis;
+        this.requestTtl = Duration.ofMinutes(requestTtlMinutes);
+        this.reminderLead = Duration.ofMinutes(reminderLeadMinutes);
+        this.noShowGrace = Duration.ofMinutes(noShowGraceMinutes);
+        this.wheel = new HashedTimingWheel(tickMillis, wheelSize, maxPending, System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    public void start() {
+        reload();
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-lifecycle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(() -> tick(System.currentTimeMillis()), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * 새로 요청된 예약의 응답 기한 타이머를 등록합니다.
+     * 기한은 요청 시각 + 응답 기한과 예약 시각 중 이른 시각입니다.
+     */
+    public void onRequested(Long reservationId, LocalDateTime requestedAt, LocalDateTime reservationDateTime) {
+        LocalDateTime expireAt = requestedAt.plus(requestTtl);
+        schedule(reservationId, TYPE_EXPIRE, expireAt.isBefore(reservationDateTime) ? expireAt : reservationDateTime);
+    }
+
+    /**
+     * 대기열에서 승격된 예약은 승격 시각부터 응답 기한을 계산합니다.
+     */
+    @EventListener
+    public void onPromoted(ReservationPromotedEvent event) {
+        onRequested(event.reservationId(), event.promotedAt(), event.reservationDateTime());
+    }
+
+    /**
+     * 승인된 예약의 방문 알림 타이머와 노쇼 타이머를 등록합니다.
+     */
+    public void onApproved(Long reservationId, LocalDateTime reservationDateTime) {
+        LocalDateTime remindAt = reservationDateTime.minus(reminderLead);
+        if (remindAt.isAfter(LocalDateTime.now())) {
+            schedule(reservationId, TYPE_REMIND, remindAt);
+        }
+        schedule(reservationId, TYPE_NO_SHOW, reservationDateTime.plus(noShowGrace));
+    }
+
+    /**
+     * 삭제된 매장의 응답 대기/승인 예약에 걸린 타이머를 취소합니다.
+     */
+    public void evictStore(Long storeId) {
+        Set<Long> ids = new HashSet<>(reservationRepository.findIdsByStoreIdAndStatusIn(storeId,
+                EnumSet.of(ReservationStatus.REQUESTED, ReservationStatus.APPROVED)));
+        if (!ids.isEmpty()) {
+            wheel.cancel(payload -> ids.contains(payload >>> 2));
+        }
+    }
+
+    public int pendingTimers() {
+        return wheel.pending();
+    }
+
+    /**
+     * 휠이 가득 차 등록하지 못한 타이머가 있으면, 그 기한이 모두 지날 때까지 주기적으로
+     * DB에서 기한이 지난 예약을 찾아 같은 방식으로 처리합니다.
+     */
+    @Scheduled(fixedDelayString = "${reservation.lifecycle.sweep-interval-ms:300000}")
+    public void sweepDropped() {
+        long until = droppedUntil.get();
+        if (until == Long.MIN_VALUE) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        drain(() -> reservationRepository.findOverdueRequestIds(now, now.minus(requestTtl),
+                PageRequest.of(0, FLUSH_CHUNK_SIZE)), this::expire);
+        drain(() -> reservationRepository.findOverdueApprovedIds(now.minus(noShowGrace),
+                PageRequest.of(0, FLUSH_CHUNK_SIZE)), this::markNoShow);
+        if (System.currentTimeMillis() > until + noShowGrace.toMillis()) {
+            droppedUntil.compareAndSet(until, Long.MIN_VALUE);
+        }
+    }
+
+    private void reload() {
+        long afterId = 0L;
+        while (true) {
+            List<ReservationRepository.LifecycleTarget> targets = reservationRepository.findLifecycleTargets(afterId,
+                    EnumSet.of(ReservationStatus.REQUESTED, ReservationStatus.APPROVED),
+                    PageRequest.of(0, RELOAD_PAGE_SIZE));
+            for (ReservationRepository.LifecycleTarget target : targets) {
+                if (target.getStatus() == ReservationStatus.REQUESTED) {
+                    onRequested(target.getId(), target.getRequestedAt(), target.getReservationDateTime());
+                } else {
+                    onApproved(target.getId(), target.getReservationDateTime());
+                }
+            }
+            if (targets.size() < RELOAD_PAGE_SIZE) {
+                return;
+            }
+            afterId = targets.get(targets.size() - 1).getId();
+        }
+    }
+
+    private void schedule(Long reservationId, int type, LocalDateTime at) {
+        scheduleAt(reservationId, type, at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void scheduleAt(long reservationId, int type, long deadlineMillis) {
+        if (!wheel.schedule(reservationId << 2 | type, deadlineMillis)) {
+            droppedUntil.accumulateAndGet(deadlineMillis, Math::max);
+        }
+    }
+
+    // 틱 스레드에서 호출되며, 테스트에서는 시각을 지정해 직접 호출합니다.
+    void tick(long nowMillis) {
+        List<List<Long>> fired = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        try {
+            wheel.advance(nowMillis, payload -> fired.get((int) (payload & 3)).add(payload >>> 2));
+        } catch (RuntimeException e) {
+            // 틱 스레드가 중단되지 않도록 예외를 삼키고 다음 틱에서 계속 진행합니다.
+            return;
+        }
+        flush(fired.get(TYPE_EXPIRE), TYPE_EXPIRE);
+        flush(fired.get(TYPE_REMIND), TYPE_REMIND);
+        flush(fired.get(TYPE_NO_SHOW), TYPE_NO_SHOW);
+    }
+
+    private void flush(List<Long> ids, int type) {
+        for (int from = 0; from < ids.size(); from += FLUSH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + FLUSH_CHUNK_SIZE));
+            try {
+                switch (type) {
+                    case TYPE_EXPIRE -> expire(chunk);
+                    case TYPE_REMIND -> remind(chunk);
+                    default -> markNoShow(chunk);
+                }
+            } catch (RuntimeException e) {
+                // DB 반영에 실패한 타이머는 잠시 후 다시 시도합니다.
+                long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+                chunk.forEach(id -> scheduleAt(id, type, retryAt));
+            }
+        }
+    }
+
+    // 응답 기한이 지난 REQUESTED 예약을 EXPIRED로 변경하고, 같은 트랜잭션에서 대기자를 승격하거나 커밋 후 슬롯을 반환합니다.
+    private int expire(List<Long> ids) {
+        Integer changed = transactionTemplate.execute(status -> {
+            List<ReservationRepository.ReservationSlot> slots =
+                    reservationRepository.findSlotsForUpdate(ids, ReservationStatus.REQUESTED);
+            if (slots.isEmpty()) {
+                return 0;
+            }
+            List<Long> slotIds = slots.stream().map(ReservationRepository.ReservationSlot::getId).toList();
+            reservationRepository.updateStatus(slotIds, ReservationStatus.REQUESTED, ReservationStatus.EXPIRED,
+                    LocalDateTime.now());
+            for (ReservationRepository.ReservationSlot slot : slots) {
+                waitlistService.releaseOrPromote(slot.getStoreId(), slot.getReservationDateTime());
+            }
+            TransactionCallbacks.afterCommit(() -> slots.forEach(slot -> storeDashboardCounters.onStatusChanged(
+                    slot.getStoreId(), ReservationStatus.REQUESTED, ReservationStatus.EXPIRED)));
+            return slots.size();
+        });
+        return changed != null ? changed : 0;
+    }
+
+    // 방문 확인 없이 시간이 지난 APPROVED 예약을 NO_SHOW로 변경합니다. 대시보드 카운터를 위해 매장 ID를 함께 잠가 조회합니다.
+    private int markNoShow(List<Long> ids) {
+        Integer changed = transactionTemplate.execute(status -> {
+            List<ReservationRepository.ReservationSlot> slots =
+                    reservationRepository.findSlotsForUpdate(ids, ReservationStatus.APPROVED);
+            if (slots.isEmpty()) {
+                return 0;
+            }
+            List<Long> slotIds = slots.stream().map(ReservationRepository.ReservationSlot::getId).toList();
+            reservationRepository.updateStatus(slotIds, ReservationStatus.APPROVED, ReservationStatus.NO_SHOW,
+                    LocalDateTime.now());
+            TransactionCallbacks.afterCommit(() -> slots.forEach(slot -> storeDashboardCounters.onStatusChanged(
+                    slot.getStoreId(), ReservationStatus.APPROVED, ReservationStatus.NO_SHOW)));
+            return slots.size();
+        });
+        return changed != null ? changed : 0;
+    }
+
+    // 아직 APPROVED 상태인 예약에 대해서만 방문 알림 이벤트를 발행합니다.
+    private int remind(List<Long> ids) {
+        List<ReservationRepository.ReservationSlot> slots = reservationRepository.findSlots(ids, ReservationStatus.APPROVED);
+        for (ReservationRepository.ReservationSlot slot : slots) {
+            eventPublisher.publishEvent(new ReservationReminderEvent(
+                    slot.getId(), slot.getStoreId(), slot.getReservationDateTime()));
+        }
+        return slots.size();
+    }
+
+    private void drain(Supplier<List<Long>> query, ToIntFunction<List<Long>> action) {
+        List<Long> ids;
+        do {
+            ids = query.get();
+        } while (!ids.isEmpty() && action.applyAsInt(ids) > 0);
+    }
+}
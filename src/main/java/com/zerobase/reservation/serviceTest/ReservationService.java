@@ -5,37 +5,77 @@ import com.zerobase.reservation.domain.Reservation;
 import com.zerobase.reservation.enums.ReservationStatus;
 import com.zerobase.reservation.domain.Store;
 import com.zerobase.reservation.dto.request.ReservationRequest;
+import com.zerobase.reservation.dto.response.ReservationBatchResponse;
+import com.zerobase.reservation.dto.response.CursorPageResponse;
+import com.zerobase.reservation.dto.response.ReservationBulkResponse;
+import com.zerobase.reservation.dto.response.ReservationResponse;
 import com.zerobase.reservation.repository.MemberRepository;
 import com.zerobase.reservation.repository.ReservationRepository;
 import com.zerobase.reservation.repository.StoreRepository;
+import com.zerobase.reservation.util.KeysetCursor;
+import com.zerobase.reservation.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ReservationService {
+    private static final LocalDateTime MAX_DATE_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ReservationRepository reservationRepository;
     private final StoreRepository storeRepository;
     private final MemberRepository memberRepository;
+    private final SlotInventory slotInventory;
+    private final StoreWritePipeline storeWritePipeline;
+    private final ReservationLifecycleService reservationLifecycleService;
+    private final WaitlistService waitlistService;
+    private final StoreDashboardCounters storeDashboardCounters;
+    private final StoreStatsCounters storeStatsCounters;
+    private final CompletedVisits completedVisits;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * 예약 생성 메서드
      *
      * 사용자가 특정 매장에 대해 예약 요청을 할 때 호출됩니다.
      * 회원과 매장 정보를 조회한 후 예약 상태를 REQUESTED로 설정하고 예약 정보를 저장합니다
+     * 저장 전에 슬롯 재고에서 해당 시간대 자리를 점유하며, 정원이 찬 경우 예약을 거절합니다.
      *
      * @param request: 예약 요청 DTO (storeId, reservationDateTime)
      * @param memberId: 예약을 요청하는 회원의 ID
      * @return 저장된 Reservation 엔티티
+     * @throws RuntimeException: 해당 시간대 예약이 마감된 경우 예외 발생
      */
     public Reservation createReservation(ReservationRequest request, Long memberId) {
+        if (storeWritePipeline.isEnabled()) {
+            return storeWritePipeline.execute(request.getStoreId(), () -> doCreateReservation(request, memberId));
+        }
+        return doCreateReservation(request, memberId);
+    }
+
+    private Reservation doCreateReservation(ReservationRequest request, Long memberId) {
         Member user = memberRepository.findById(memberId)
                 .orElseThrow(() -> new RuntimeException("사용자가 존재하지 않습니다."));
         Store store = storeRepository.findById(request.getStoreId())
                 .orElseThrow(() -> new RuntimeException("매장이 존재하지 않습니다."));
-        // 예약 가능 여부, 중복 예약 등 추가 검증 로직이 필요할 수 있습니다.
+        if (!slotInventory.tryAcquire(store.getId(), request.getReservationDateTime())) {
+            throw new RuntimeException("해당 시간대 예약이 마감되었습니다.");
+        }
         Reservation reservation = Reservation.builder()
                 .store(store)
                 .member(user)
@@ -43,7 +83,94 @@ public class ReservationService {
                 .status(ReservationStatus.REQUESTED)
                 .createdAt(LocalDateTime.now())
                 .build();
-        return reservationRepository.save(reservation);
+        try {
+            Reservation saved = reservationRepository.save(reservation);
+            // 이후 트랜잭션이 롤백되면(파이프라인 묶음 처리 등) 점유한 슬롯을 반환합니다.
+            TransactionCallbacks.afterRollback(
+                    () -> slotInventory.release(store.getId(), request.getReservationDateTime()));
+            TransactionCallbacks.afterCommit(() -> {
+                reservationLifecycleService.onRequested(saved.getId(), saved.getCreatedAt(), saved.getReservationDateTime());
+                storeDashboardCounters.onStatusChanged(store.getId(), null, ReservationStatus.REQUESTED);
+            });
+            return saved;
+        } catch (RuntimeException e) {
+            // 저장에 실패하면 점유한 슬롯을 반환합니다.
+            slotInventory.release(store.getId(), request.getReservationDateTime());
+            throw e;
+        }
+    }
+
+    /**
+     * 예약 일괄 생성 메서드
+     *
+     * 여러 건의 예약 요청을 한 번에 처리합니다.
+     * 회원은 한 번, 매장은 findAllById로 한 번에 조회하고, 슬롯 재고 확인을 통과한 예약만
+     * saveAll로 저장하여 JDBC 배치 INSERT로 전송합니다.
+     * 항목별 결과(ACCEPTED/FAILED와 실패 사유)는 요청 순서대로 반환됩니다.
+     *
+     * @param requests: 예약 요청 DTO 목록
+     * @param memberId: 예약을 요청하는 회원의 ID
+     * @return 요청 순서대로 정렬된 항목별 처리 결과
+     * @throws RuntimeException: 회원이 존재하지 않는 경우 예외 발생
+     */
+    @Transactional
+    public List<ReservationBatchResponse> createReservations(List<ReservationRequest> requests, Long memberId) {
+        Member user = memberRepository.findById(memberId)
+                .orElseThrow(() -> new RuntimeException("사용자가 존재하지 않습니다."));
+        Map<Long, Store> stores = storeRepository.findAllById(
+                        requests.stream().map(ReservationRequest::getStoreId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Store::getId, Function.identity()));
+
+        String[] failures = new String[requests.size()];
+        Reservation[] accepted = new Reservation[requests.size()];
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < requests.size(); i++) {
+            ReservationRequest request = requests.get(i);
+            Store store = stores.get(request.getStoreId());
+            if (store == null) {
+                failures[i] = "매장이 존재하지 않습니다.";
+                continue;
+            }
+            if (!slotInventory.tryAcquire(store.getId(), request.getReservationDateTime())) {
+                failures[i] = "해당 시간대 예약이 마감되었습니다.";
+                continue;
+            }
+            // 저장이 롤백되면 점유한 슬롯을 반환합니다.
+            TransactionCallbacks.afterRollback(
+                    () -> slotInventory.release(store.getId(), request.getReservationDateTime()));
+            accepted[i] = Reservation.builder()
+                    .store(store)
+                    .member(user)
+                    .reservationDateTime(request.getReservationDateTime())
+                    .status(ReservationStatus.REQUESTED)
+                    .createdAt(now)
+                    .build();
+        }
+
+        List<Reservation> toSave = new ArrayList<>();
+        for (Reservation reservation : accepted) {
+            if (reservation != null) {
+                toSave.add(reservation);
+            }
+        }
+        reservationRepository.saveAll(toSave);
+        for (Reservation reservation : toSave) {
+            TransactionCallbacks.afterCommit(() -> {
+                reservationLifecycleService.onRequested(
+                        reservation.getId(), reservation.getCreatedAt(), reservation.getReservationDateTime());
+                storeDashboardCounters.onStatusChanged(
+                        reservation.getStore().getId(), null, ReservationStatus.REQUESTED);
+            });
+        }
+
+        List<ReservationBatchResponse> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(accepted[i] != null
+                    ? ReservationBatchResponse.accepted(i, accepted[i].getId())
+                    : ReservationBatchResponse.failed(i, failures[i]));
+        }
+        return results;
     }
 
     /**
@@ -52,21 +179,45 @@ public class ReservationService {
      * 매장 점장이 예약 요청을 승인할 때 호출됩니다.
      * 예약 정보를 조회하여 해당 예약의 매장 소유주와 요청한 파트너의 ID를 비교한 후
      * 예약 상태를 APPROVED로 변경하고 업데이트 시간을 기록합니다.
+     * 슬롯을 점유하고 있는 응답 대기(REQUESTED) 예약만 승인할 수 있습니다.
      *
      * @param reservationId: 승인할 예약의 ID
      * @param partnerId: 예약 요청을 승인하는 파트너(매장 점장)의 ID
      * @return 업데이트된 Reservation 엔티티
-     * @throws RuntimeException: 예약이 존재하지 않거나 승인 권한이 없을 경우 예외 발생
+     * @throws RuntimeException: 예약이나 매장이 존재하지 않거나 승인 권한이 없거나 승인 대기 중인 예약이 아닌 경우 예외 발생
      */
     public Reservation approveReservation(Long reservationId, Long partnerId) {
+        if (storeWritePipeline.isEnabled()) {
+            return storeWritePipeline.execute(findStoreId(reservationId),
+                    () -> doApproveReservation(reservationId, partnerId));
+        }
+        return transactionTemplate.execute(status -> doApproveReservation(reservationId, partnerId));
+    }
+
+    private Reservation doApproveReservation(Long reservationId, Long partnerId) {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new RuntimeException("예약이 존재하지 않습니다."));
-        if (!reservation.getStore().getOwner().getId().equals(partnerId)) {
+        if (!storeOwnerId(reservation).equals(partnerId)) {
             throw new RuntimeException("승인 권한이 없습니다.");
         }
+        // 대기/거절/만료된 예약은 슬롯을 점유하지 않으므로(이미 다른 예약에 넘어갔을 수 있음) 승인하면 정원을 넘게 됩니다.
+        if (reservation.getStatus() != ReservationStatus.REQUESTED) {
+            throw new RuntimeException("승인 대기 중인 예약만 승인할 수 있습니다.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // 조회 이후 만료/거절되었을 수 있으므로 아직 REQUESTED인 경우에만 변경합니다.
+        if (reservationRepository.updateStatus(List.of(reservationId), ReservationStatus.REQUESTED,
+                ReservationStatus.APPROVED, now) == 0) {
+            throw new RuntimeException("승인 대기 중인 예약만 승인할 수 있습니다.");
+        }
         reservation.setStatus(ReservationStatus.APPROVED);
-        reservation.setUpdatedAt(LocalDateTime.now());
-        return reservationRepository.save(reservation);
+        reservation.setUpdatedAt(now);
+        Long storeId = reservation.getStore().getId();
+        TransactionCallbacks.afterCommit(() -> {
+            reservationLifecycleService.onApproved(reservation.getId(), reservation.getReservationDateTime());
+            storeDashboardCounters.onStatusChanged(storeId, ReservationStatus.REQUESTED, ReservationStatus.APPROVED);
+        });
+        return reservation;
     }
 
     /**
@@ -74,44 +225,271 @@ public class ReservationService {
      *
      * 매장 점장이 예약 요청을 거절할 때 호출됩니다.
      * 예약 정보를 조회한 후 예약 상태를 REJECTED로 변경하고 업데이트 시간을 기록합니다.
+     * 거절된 예약이 점유하던 자리는 같은 트랜잭션에서 해당 슬롯의 첫 번째 대기자에게 넘어가며,
+     * 대기자가 없으면 슬롯이 반환됩니다.
+     * 일괄 거절과 같이 응답 대기(REQUESTED) 또는 승인(APPROVED) 상태인 예약만 거절할 수 있습니다.
      *
      * @param reservationId: 거절할 예약의 ID
      * @param partnerId: 예약 요청을 거절하는 파트너(매장 점장)의 ID
      * @return 업데이트된 Reservation 엔티티
-     * @throws RuntimeException: 예약이 존재하지 않거나 거절 권한이 없을 경우 예외 발생
+     * @throws RuntimeException: 예약이나 매장이 존재하지 않거나 거절 권한이 없거나 거절할 수 없는 상태인 경우 예외 발생
      */
     public Reservation declineReservation(Long reservationId, Long partnerId) {
+        if (storeWritePipeline.isEnabled()) {
+            return storeWritePipeline.execute(findStoreId(reservationId),
+                    () -> doDeclineReservation(reservationId, partnerId));
+        }
+        return transactionTemplate.execute(status -> doDeclineReservation(reservationId, partnerId));
+    }
+
+    private Reservation doDeclineReservation(Long reservationId, Long partnerId) {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new RuntimeException("예약이 존재하지 않습니다."));
-        if (!reservation.getStore().getOwner().getId().equals(partnerId)) {
+        if (!storeOwnerId(reservation).equals(partnerId)) {
             throw new RuntimeException("거절 권한이 없습니다.");
         }
+        ReservationStatus previous = reservation.getStatus();
+        // 방문 완료/만료/노쇼 예약을 거절하면 리뷰 자격이나 이미 넘어간 슬롯과 어긋나고, 대기 예약은 대기 취소로 처리합니다.
+        if (previous != ReservationStatus.REQUESTED && previous != ReservationStatus.APPROVED) {
+            throw new RuntimeException("승인 대기 중이거나 승인된 예약만 거절할 수 있습니다.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // 조회 이후 만료/노쇼 처리되었을 수 있으므로 조회한 상태 그대로인 경우에만 변경합니다.
+        if (reservationRepository.updateStatus(List.of(reservationId), previous, ReservationStatus.REJECTED, now) == 0) {
+            throw new RuntimeException("승인 대기 중이거나 승인된 예약만 거절할 수 있습니다.");
+        }
         reservation.setStatus(ReservationStatus.REJECTED);
-        reservation.setUpdatedAt(LocalDateTime.now());
-        return reservationRepository.save(reservation);
+        reservation.setUpdatedAt(now);
+        Long storeId = reservation.getStore().getId();
+        TransactionCallbacks.afterCommit(
+                () -> storeDashboardCounters.onStatusChanged(storeId, previous, ReservationStatus.REJECTED));
+        waitlistService.releaseOrPromote(storeId, reservation.getReservationDateTime());
+        return reservation;
+    }
+
+    /**
+     * 예약 일괄 승인 메서드
+     *
+     * 파트너가 여러 건의 예약을 한 번에 승인할 때 호출됩니다.
+     * 파트너 소유 매장의 REQUESTED 예약만 행 잠금과 함께 조회한 뒤, 한 번의 UPDATE로 APPROVED로 변경합니다.
+     * 목록 크기와 관계없이 SELECT 1회와 UPDATE 1회로 처리됩니다.
+     *
+     * @param reservationIds: 승인할 예약 ID 목록
+     * @param partnerId: 예약을 승인하는 파트너(매장 점장)의 ID
+     * @return 변경된 예약 ID와 변경되지 않은 예약 ID 목록
+     */
+    @Transactional
+    public ReservationBulkResponse approveReservations(List<Long> reservationIds, Long partnerId) {
+        return changeStatuses(reservationIds, partnerId,
+                EnumSet.of(ReservationStatus.REQUESTED), ReservationStatus.APPROVED);
+    }
+
+    /**
+     * 예약 일괄 거절 메서드
+     *
+     * 파트너가 여러 건의 예약을 한 번에 거절할 때 호출됩니다.
+     * 파트너 소유 매장의 REQUESTED/APPROVED 예약을 한 번의 UPDATE로 REJECTED로 변경하고,
+     * 해당 예약들이 점유하던 자리는 같은 트랜잭션에서 대기자에게 넘기거나 커밋 후 반환합니다.
+     *
+     * @param reservationIds: 거절할 예약 ID 목록
+     * @param partnerId: 예약을 거절하는 파트너(매장 점장)의 ID
+     * @return 변경된 예약 ID와 변경되지 않은 예약 ID 목록
+     */
+    @Transactional
+    public ReservationBulkResponse declineReservations(List<Long> reservationIds, Long partnerId) {
+        return changeStatuses(reservationIds, partnerId,
+                EnumSet.of(ReservationStatus.REQUESTED, ReservationStatus.APPROVED), ReservationStatus.REJECTED);
+    }
+
+    private ReservationBulkResponse changeStatuses(List<Long> reservationIds, Long partnerId,
+                                                   Collection<ReservationStatus> from, ReservationStatus to) {
+        LinkedHashSet<Long> requested = new LinkedHashSet<>(reservationIds);
+        List<ReservationRepository.ReservationSlot> targets =
+                reservationRepository.findOwnedForUpdate(requested, from, partnerId);
+        List<Long> changedIds = new ArrayList<>(targets.size());
+        for (ReservationRepository.ReservationSlot target : targets) {
+            changedIds.add(target.getId());
+        }
+        if (!changedIds.isEmpty()) {
+            reservationRepository.updateOwnedStatus(changedIds, partnerId, to, LocalDateTime.now());
+        }
+        for (ReservationRepository.ReservationSlot target : targets) {
+            TransactionCallbacks.afterCommit(
+                    () -> storeDashboardCounters.onStatusChanged(target.getStoreId(), target.getStatus(), to));
+        }
+        if (to == ReservationStatus.APPROVED) {
+            for (ReservationRepository.ReservationSlot target : targets) {
+                TransactionCallbacks.afterCommit(() -> reservationLifecycleService.onApproved(
+                        target.getId(), target.getReservationDateTime()));
+            }
+        }
+        if (!SlotInventory.OCCUPYING_STATUSES.contains(to)) {
+            for (ReservationRepository.ReservationSlot target : targets) {
+                waitlistService.releaseOrPromote(target.getStoreId(), target.getReservationDateTime());
+            }
+        }
+        requested.removeAll(changedIds);
+        return new ReservationBulkResponse(to.name(), changedIds, new ArrayList<>(requested));
+    }
+
+    /**
+     * 예약 대기 등록 메서드
+     *
+     * 정원이 찬 시간대에 대기 예약(WAITLISTED)을 등록합니다.
+     * 대기 예약은 요청 시각 순으로 대기열에 추가되며, 같은 시간대에 자리가 나면 순서대로 REQUESTED로 승격됩니다.
+     *
+     * @param request: 예약 요청 DTO (storeId, reservationDateTime)
+     * @param memberId: 대기 등록하는 회원의 ID
+     * @return 저장된 대기 예약 엔티티
+     * @throws RuntimeException: 회원/매장이 없거나, 지난 시간이거나, 아직 예약 가능한 자리가 있는 경우 예외 발생
+     */
+    public Reservation joinWaitlist(ReservationRequest request, Long memberId) {
+        Member user = memberRepository.findById(memberId)
+                .orElseThrow(() -> new RuntimeException("사용자가 존재하지 않습니다."));
+        Store store = storeRepository.findById(request.getStoreId())
+                .orElseThrow(() -> new RuntimeException("매장이 존재하지 않습니다."));
+        if (!request.getReservationDateTime().isAfter(LocalDateTime.now())) {
+            throw new RuntimeException("지난 시간에는 대기 등록할 수 없습니다.");
+        }
+        if (slotInventory.remaining(store.getId(), request.getReservationDateTime()) > 0) {
+            throw new RuntimeException("예약 가능한 자리가 있습니다. 예약을 생성해주세요.");
+        }
+        Reservation saved = reservationRepository.save(Reservation.builder()
+                .store(store)
+                .member(user)
+                .reservationDateTime(request.getReservationDateTime())
+                .status(ReservationStatus.WAITLISTED)
+                .createdAt(LocalDateTime.now())
+                .build());
+        TransactionCallbacks.afterCommit(() -> waitlistService.join(
+                saved.getId(), store.getId(), saved.getReservationDateTime(), saved.getCreatedAt()));
+        return saved;
+    }
+
+    /**
+     * 예약 대기 취소 메서드
+     *
+     * 대기 등록한 회원 본인이 대기를 취소합니다. 이미 승격된 예약은 대기 취소할 수 없습니다.
+     *
+     * @param reservationId: 취소할 대기 예약의 ID
+     * @param memberId: 취소를 요청하는 회원의 ID
+     * @throws RuntimeException: 예약이 없거나, 취소 권한이 없거나, 대기 중인 예약이 아닌 경우 예외 발생
+     */
+    @Transactional
+    public void leaveWaitlist(Long reservationId, Long memberId) {
+        Reservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new RuntimeException("예약이 존재하지 않습니다."));
+        if (!reservation.getMember().getId().equals(memberId)) {
+            throw new RuntimeException("취소 권한이 없습니다.");
+        }
+        // 조회 이후 승격되었을 수 있으므로 WAITLISTED 상태인 경우에만 삭제합니다.
+        if (reservationRepository.deleteWaitlisted(reservationId) == 0) {
+            throw new RuntimeException("대기 중인 예약이 아닙니다.");
+        }
+        Long storeId = reservation.getStore().getId();
+        TransactionCallbacks.afterCommit(
+                () -> waitlistService.leave(reservationId, storeId, reservation.getReservationDateTime()));
+    }
+
+    /**
+     * 매장별 예약 목록 조회 메서드
+     *
+     * 파트너가 자신의 매장에 들어온 예약을 상태와 기간으로 필터링하여 조회합니다.
+     * (reservation_date_time, id) 기준 키셋 페이지네이션을 사용하므로 페이지 위치와 관계없이
+     * 인덱스 탐색 한 번으로 조회되며, 엔티티 대신 DTO 프로젝션을 반환합니다.
+     *
+     * @param storeId: 조회할 매장의 ID
+     * @param partnerId: 조회를 요청하는 파트너(매장 점장)의 ID
+     * @param status: 조회할 예약 상태
+     * @param from: 조회 시작 일시 (없으면 오늘 0시)
+     * @param to: 조회 종료 일시, 미포함 (없으면 제한 없음)
+     * @param after: 이전 페이지 응답의 nextCursor (없으면 첫 페이지)
+     * @param size: 페이지 크기 (최대 100)
+     * @return 예약 목록과 다음 페이지 커서
+     * @throws RuntimeException: 매장이 없거나 조회 권한이 없는 경우 예외 발생
+     */
+    public CursorPageResponse<ReservationResponse> getStoreReservations(Long storeId, Long partnerId,
+                                                                        ReservationStatus status,
+                                                                        LocalDateTime from, LocalDateTime to,
+                                                                        String after, int size) {
+        if (!storeRepository.existsByIdAndOwnerId(storeId, partnerId)) {
+            throw new RuntimeException("조회 권한이 없습니다.");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // 커서가 없으면 (from, 0)을 커서로 사용하여 reservation_date_time >= from 과 같은 조건이 됩니다.
+        KeysetCursor cursor = after != null
+                ? KeysetCursor.decode(after)
+                : new KeysetCursor(from != null ? from : LocalDate.now().atStartOfDay(), 0L);
+        List<ReservationResponse> rows = reservationRepository.findStorePage(storeId, status,
+                cursor.time(), cursor.id(), to != null ? to : MAX_DATE_TIME, PageRequest.of(0, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new CursorPageResponse<>(rows, null);
+        }
+        List<ReservationResponse> page = rows.subList(0, pageSize);
+        ReservationResponse last = page.get(pageSize - 1);
+        return new CursorPageResponse<>(page,
+                new KeysetCursor(last.getReservationDateTime(), last.getId()).encode());
     }
 
     /**
      * 도착 확인 메서드
      *
      * 예약 시간이 기준 10분 전후인 경우에 방문 확인 처리를 하여 예약 상태를 COMPLETED로 변경합니다.
+     * 승인(APPROVED)된 예약만 방문 확인할 수 있으며, 이미 방문 완료된 예약은 변경 없이 그대로 반환합니다.
      *
      * @param reservationId: 방문 확인할 예약의 ID
      * @return 업데이트된 Reservation 엔티티
-     * @throws RuntimeException: 예약 시간이 도착 확인 가능 시간 범위를 벗어난 경우 예외 발생
+     * @throws RuntimeException: 승인된 예약이 아니거나 예약 시간이 도착 확인 가능 시간 범위를 벗어난 경우 예외 발생
      */
     public Reservation confirmArrival(Long reservationId) {
+        return transactionTemplate.execute(status -> doConfirmArrival(reservationId));
+    }
+
+    private Reservation doConfirmArrival(Long reservationId) {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new RuntimeException("예약이 존재하지 않습니다."));
+        // 이미 방문 완료된 예약을 다시 확인하면 방문 수 등을 다시 반영하지 않고 그대로 반환합니다.
+        if (reservation.getStatus() == ReservationStatus.COMPLETED) {
+            return reservation;
+        }
+        // 대기/거절/만료/노쇼 예약은 슬롯을 점유하지 않으므로, 방문 완료로 바꾸면 리뷰 자격이 생기고 정원을 넘게 됩니다.
+        if (reservation.getStatus() != ReservationStatus.APPROVED) {
+            throw new RuntimeException("승인된 예약만 도착 확인할 수 있습니다.");
+        }
         LocalDateTime now = LocalDateTime.now();
         // 예약시간 기준 10분 전부터 10분 후까지 도착 확인 허용
         if (now.isAfter(reservation.getReservationDateTime().minusMinutes(10)) &&
                 now.isBefore(reservation.getReservationDateTime().plusMinutes(10))) {
+            // 조회 이후 노쇼/거절 처리되었거나 동시에 들어온 방문 확인이 먼저 반영되었을 수 있으므로,
+            // 이 요청이 상태를 바꾼 경우에만 방문 수/대시보드/리뷰 자격을 반영합니다.
+            if (reservationRepository.updateStatus(List.of(reservationId), ReservationStatus.APPROVED,
+                    ReservationStatus.COMPLETED, now) == 0) {
+                throw new RuntimeException("승인된 예약만 도착 확인할 수 있습니다.");
+            }
             reservation.setStatus(ReservationStatus.COMPLETED);
             reservation.setUpdatedAt(now);
-            return reservationRepository.save(reservation);
+            Long storeId = reservation.getStore().getId();
+            Long memberId = reservation.getMember().getId();
+            TransactionCallbacks.afterCommit(() -> {
+                storeDashboardCounters.onStatusChanged(storeId, ReservationStatus.APPROVED, ReservationStatus.COMPLETED);
+                storeStatsCounters.recordVisit(storeId);
+                completedVisits.add(reservationId, storeId, memberId);
+            });
+            return reservation;
         } else {
             throw new RuntimeException("도착 확인 시간이 유효하지 않습니다.");
         }
     }
+
+    // 예약 매장의 소유자 ID를 조회합니다. 삭제된 매장이면 예외가 발생합니다.
+    private Long storeOwnerId(Reservation reservation) {
+        return storeRepository.findOwnerIdById(reservation.getStore().getId())
+                .orElseThrow(() -> new RuntimeException("매장이 존재하지 않습니다."));
+    }
+
+    // 파이프라인 샤드 선택을 위해 예약이 속한 매장 ID만 조회합니다.
+    private Long findStoreId(Long reservationId) {
+        return reservationRepository.findStoreIdById(reservationId)
+                .orElseThrow(() -> new RuntimeException("예약이 존재하지 않습니다."));
+    }
 }
@@ -0,0 +1,564 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.reservation.domain.Member;
+import com.zerobase.reservation.domain.Review;
+import com.zerobase.reservation.domain.Store;
+import com.zerobase.reservation.dto.request.ReviewRequest;
+import com.zerobase.reservation.exception.ConflictException;
+import com.zerobase.reservation.repository.MemberRepository;
+import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.repository.ReviewRepository;
+import com.zerobase.reservation.repository.StoreRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 리뷰 작성의 write-behind 저장소입니다.
+ *
+ * 검증을 마친 리뷰를 로컬 추가 전용 로그 파일에 한 줄(JSON)씩 기록하고, fsync가 끝나면 작성 요청에 응답합니다.
+ * 기록은 전용 스레드 하나가 대기 중인 요청을 모아서 하므로, 동시에 들어온 요청들은 한 번의 fsync로 함께 영속화됩니다.
+ * DB 저장은 별도 스레드가 batch-size 건씩 한 트랜잭션으로 묶어 INSERT하고, 커밋된 뒤 평점 집계/리뷰 버전/상세 캐시에 반영합니다.
+ * 로그는 segment-bytes 단위 파일로 나누고, 모든 기록이 DB에 저장된 파일은 지웁니다.
+ * 기동 시 남아 있는 로그 파일을 먼저 DB에 다시 저장하므로, 응답한 리뷰는 비정상 종료 후에도 잃지 않습니다.
+ * 이미 저장된 기록을 다시 저장하면 예약당 한 건 유니크 제약에 걸려 건너뛰므로 중복 저장되지 않습니다.
+ * (같은 예약의 중복 작성도 저장 대기 중에는 대기 목록에서, 저장된 뒤에는 이 유니크 제약에서 걸러집니다.)
+ * 그 밖의 제약에 걸린 기록(그 사이 매장이 정리된 경우 등)은 저장하지 않은 채 로그 파일을 남겨 두고,
+ * 오류 로그와 review.ingest.dropped 지표로 알립니다. 남은 파일은 다음 기동 시 다시 저장을 시도합니다.
+ * 아직 DB에 저장되지 않은 리뷰 수는 review.ingest.pending 지표로 노출됩니다.
+ *
+ * reservation.review-ingest.enabled=true 일 때만 동작합니다.
+ */
+@Slf4j
+@Component
+public class ReviewIngestLog {
+
+    private static final String SEGMENT_PREFIX = "reviews-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final ReviewRepository reviewRepository;
+    private final StoreRepository storeRepository;
+    private final MemberRepository memberRepository;
+    private final ReservationRepository reservationRepository;
+    private final StoreRatingAggregates storeRatingAggregates;
+    private final ReviewVersions reviewVersions;
+    private final StoreDetailsCache storeDetailsCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Path dir;
+    private final long segmentBytes;
+    private final int batchSize;
+    private final long submitTimeoutMillis;
+    private final long retryDelayMillis;
+    private final BlockingQueue<Entry> appends;
+    private final BlockingQueue<Entry> inserts;
+    // 로그에 기록되었지만 아직 DB 저장이 끝나지 않은 리뷰의 예약 ID (같은 예약의 중복 작성 확인용)
+    private final Set<Long> pendingReservations = ConcurrentHashMap.newKeySet();
+    private final AtomicLong dropped = new AtomicLong();
+    private Segment segment;
+    private long nextSegmentNumber = 1;
+    private Thread writer;
+    private Thread inserter;
+    private volatile boolean writing;
+    private volatile boolean inserting;
+
+    public ReviewIngestLog(ReviewRepository reviewRepository,
+                           StoreRepository storeRepository,
+                           MemberRepository memberRepository,
+                           ReservationRepository reservationRepository,
+                           StoreRatingAggregates storeRatingAggregates,
+                           ReviewVersions reviewVersions,
+                           StoreDetailsCache storeDetailsCache,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${reservation.review-ingest.enabled:false}") boolean enabled,
+                           @Value("${reservation.review-ingest.dir:./data/review-log}") String dir,
+                           @Value("${reservation.review-ingest.segment-bytes:8388608}") long segmentBytes,
+                           @Value("${reservation.review-ingest.queue-capacity:4096}") int queueCapacity,
+                           @Value("${reservation.review-ingest.batch-size:200}") int batchSize,
+                           @Value("${reservation.review-ingest.submit-timeout-ms:1000}") long submitTimeoutMillis,
+                           @Value("${reservation.review-ingest.retry-delay-ms:1000}") long retryDelayMillis) {
+        this.reviewRepository = reviewRepository;
+        this.storeRepository = storeRepository;
+        this.memberRepository = memberRepository;
+        this.reservationRepository = reservationRepository;
+        this.storeRatingAggregates = storeRatingAggregates;
+        this.reviewVersions = reviewVersions;
+        this.storeDetailsCache = storeDetailsCache;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.dir = Path.of(dir);
+        this.segmentBytes = segmentBytes;
+        this.batchSize = batchSize;
+        this.submitTimeoutMillis = submitTimeoutMillis;
+        this.retryDelayMillis = retryDelayMillis;
+        this.appends = new ArrayBlockingQueue<>(queueCapacity);
+        this.inserts = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("review.ingest.pending", pendingReservations, Set::size).register(meterRegistry);
+        FunctionCounter.builder("review.ingest.dropped", dropped, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * 남아 있는 로그를 DB에 다시 저장한 뒤 새 로그 파일을 열고 기록/저장 스레드를 시작합니다.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            replay();
+            segment = openSegment();
+        } catch (IOException e) {
+            throw new RuntimeException("리뷰 로그를 열 수 없습니다: " + dir, e);
+        }
+        writing = true;
+        inserting = true;
+        writer = new Thread(this::writeLoop, "review-log-writer");
+        inserter = new Thread(this::insertLoop, "review-log-inserter");
+        writer.start();
+        inserter.start();
+    }
+
+    /**
+     * 대기 중인 기록을 마저 쓰고 DB에 저장한 뒤 멈춥니다. 저장하지 못한 기록은 로그에 남아 다음 기동 시 저장됩니다.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        writing = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        inserting = false;
+        inserter.join(TimeUnit.SECONDS.toMillis(5));
+        try {
+            segment.channel.close();
+        } catch (IOException ignored) {
+            // 이미 fsync한 내용은 그대로 남습니다.
+        }
+        synchronized (this) {
+            segment.closed = true;
+            deleteIfApplied(segment);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 검증을 마친 리뷰를 로그에 기록하고, fsync가 끝날 때까지 기다립니다.
+     *
+     * @param store: 리뷰 대상 매장
+     * @param member: 리뷰를 작성하는 회원
+     * @param reservationId: 리뷰 대상 방문 완료 예약의 ID
+     * @param request: 리뷰 작성 요청 DTO
+     * @return 아직 DB에 저장되지 않은(ID가 없는) Review 엔티티
+     * @throws ConflictException: 해당 예약의 리뷰가 저장 대기 중인 경우 예외 발생
+     * @throws RuntimeException: 기록 대기열이 가득 찬 경우 또는 로그 기록에 실패한 경우 예외 발생
+     */
+    public Review append(Store store, Member member, Long reservationId, ReviewRequest request) {
+        if (!pendingReservations.add(reservationId)) {
+            throw new ConflictException("이미 리뷰를 작성한 예약입니다.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Entry entry = new Entry(new ReviewLogRecord(store.getId(), member.getId(), reservationId,
+                request.getRating(), request.getContent(), now));
+        try {
+            if (!appends.offer(entry, submitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("요청이 많아 잠시 후 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            pendingReservations.remove(reservationId);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("요청 처리가 중단되었습니다.", e);
+        } catch (RuntimeException e) {
+            pendingReservations.remove(reservationId);
+            throw e;
+        }
+        // 대기열에 들어간 기록은 기록 스레드가 결과를 정리합니다.
+        try {
+            entry.written.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("요청 처리가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+        return Review.builder()
+                .store(store)
+                .member(member)
+                .rating(request.getRating())
+                .content(request.getContent())
+                .createdAt(now)
+                .build();
+    }
+
+    /**
+     * 로그에 기록되었지만 아직 DB 저장이 끝나지 않은 리뷰 수를 반환합니다.
+     */
+    public int pendingCount() {
+        return pendingReservations.size();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    private void writeLoop() {
+        List<Entry> group = new ArrayList<>();
+        while (writing || !appends.isEmpty()) {
+            try {
+                Entry first = appends.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                appends.drainTo(group);
+                write(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // 기록 스레드가 멈추지 않도록, 결과가 정해지지 않은 기록만 실패로 알리고 잠시 후 계속 진행합니다.
+                log.error("리뷰 로그 기록 중 오류가 발생했습니다.", e);
+                fail(group.stream().filter(entry -> !entry.written.isDone()).toList(), e);
+                if (!pause()) {
+                    return;
+                }
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    // 묶음 전체를 한 번에 쓰고 한 번만 fsync합니다.
+    private void write(List<Entry> group) throws InterruptedException {
+        Segment target = segment;
+        long start = -1;
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (Entry entry : group) {
+                lines.write(objectMapper.writeValueAsBytes(entry.record));
+                lines.write('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            start = target.channel.position();
+            while (buffer.hasRemaining()) {
+                target.channel.write(buffer);
+            }
+            target.channel.force(false);
+        } catch (IOException e) {
+            if (start >= 0) {
+                // 일부만 기록된 줄이 다음 기동 시 저장되지 않도록 기록 전 위치로 되돌립니다.
+                try {
+                    target.channel.truncate(start);
+                } catch (IOException ignored) {
+                    // 되돌리지 못한 마지막 줄은 줄바꿈이 없으면 재생 시 무시됩니다.
+                }
+            }
+            fail(group, e);
+            return;
+        }
+        synchronized (this) {
+            target.unapplied += group.size();
+        }
+        for (Entry entry : group) {
+            entry.segment = target;
+            entry.written.complete(null);
+        }
+        for (Entry entry : group) {
+            inserts.put(entry);
+        }
+        try {
+            if (target.channel.position() >= segmentBytes) {
+                roll();
+            }
+        } catch (IOException ignored) {
+            // 새 파일을 열지 못하면 지금 파일에 계속 기록하고 다음 묶음 뒤에 다시 시도합니다.
+        }
+    }
+
+    private void fail(List<Entry> group, Exception cause) {
+        for (Entry entry : group) {
+            pendingReservations.remove(entry.record.reservationId());
+            entry.written.completeExceptionally(new RuntimeException("리뷰를 저장하지 못했습니다.", cause));
+        }
+    }
+
+    private void roll() throws IOException {
+        Segment previous = segment;
+        segment = openSegment();
+        previous.channel.close();
+        synchronized (this) {
+            previous.closed = true;
+            deleteIfApplied(previous);
+        }
+    }
+
+    private void insertLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (inserting || !inserts.isEmpty()) {
+            try {
+                Entry first = inserts.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                inserts.drainTo(batch, batchSize - 1);
+                while (!tryInsert(batch)) {
+                    if (!inserting) {
+                        return;
+                    }
+                    Thread.sleep(retryDelayMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 저장 중 예상하지 못한 예외가 발생하면 저장 스레드가 멈추지 않도록 기록해 두고, 잠시 후 같은 묶음을 다시 저장합니다.
+    // (이미 저장된 기록은 다시 저장할 때 유니크 제약으로 건너뜁니다.)
+    private boolean tryInsert(List<Entry> batch) {
+        try {
+            return insert(batch);
+        } catch (RuntimeException e) {
+            log.error("리뷰 로그를 DB에 저장하는 중 오류가 발생했습니다.", e);
+            return false;
+        }
+    }
+
+    // 예외 후 다시 시도하기 전에 기다립니다. 중단되면 false를 반환합니다.
+    private boolean pause() {
+        try {
+            Thread.sleep(retryDelayMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 기록을 한 트랜잭션으로 묶어 저장합니다. 제약에 걸린 기록이 있으면 건별 트랜잭션으로 다시 저장합니다.
+     * 예약당 한 건 유니크 제약에 걸린 기록은 이미 저장된 것으로 보고 마치며,
+     * 그 밖의 제약에 걸린 기록은 로그 파일에 남겨 둔 채 오류로 기록하고 버린 수로 셉니다.
+     *
+     * @return 모든 기록이 저장되었거나 제약에 걸려 처리가 끝났으면 true, DB 장애 등으로 다시 시도해야 하면 false
+     */
+    private boolean insert(List<Entry> batch) {
+        List<Entry> remaining = batch.stream().filter(entry -> !entry.done).toList();
+        if (remaining.size() > 1) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    reviewRepository.saveAll(remaining.stream().map(this::toReview).toList());
+                    reviewRepository.flush();
+                });
+                remaining.forEach(this::applied);
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                // 건별로 다시 저장합니다.
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+        for (Entry entry : remaining) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> reviewRepository.saveAndFlush(toReview(entry)));
+                applied(entry);
+            } catch (DataIntegrityViolationException e) {
+                if (ReviewService.violates(e, Review.UNIQUE_RESERVATION)) {
+                    finish(entry);
+                } else {
+                    park(entry, e);
+                }
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Review toReview(Entry entry) {
+        ReviewLogRecord record = entry.record;
+        return Review.builder()
+                .store(storeRepository.getReferenceById(record.storeId()))
+                .member(memberRepository.getReferenceById(record.memberId()))
+                .reservation(reservationRepository.getReferenceById(record.reservationId()))
+                .rating(record.rating())
+                .content(record.content())
+                .createdAt(record.createdAt())
+                .build();
+    }
+
+    private void applied(Entry entry) {
+        Long storeId = entry.record.storeId();
+        storeRatingAggregates.onReviewAdded(storeId, entry.record.rating());
+        reviewVersions.bump(storeId);
+        storeDetailsCache.invalidate(storeId);
+        finish(entry);
+    }
+
+    private void finish(Entry entry) {
+        entry.done = true;
+        pendingReservations.remove(entry.record.reservationId());
+        synchronized (this) {
+            entry.segment.unapplied--;
+            deleteIfApplied(entry.segment);
+        }
+    }
+
+    // 저장할 수 없는 기록은 더 시도하지 않되, 저장되지 않은 기록으로 남겨 로그 파일이 지워지지 않게 합니다.
+    private void park(Entry entry, DataIntegrityViolationException cause) {
+        entry.done = true;
+        pendingReservations.remove(entry.record.reservationId());
+        dropped.incrementAndGet();
+        log.error("리뷰 로그 기록을 저장하지 못해 로그 파일에 남겨 둡니다. file={}, storeId={}, reservationId={}",
+                entry.segment.path, entry.record.storeId(), entry.record.reservationId(), cause);
+    }
+
+    private void deleteIfApplied(Segment target) {
+        if (target.closed && target.unapplied == 0) {
+            try {
+                Files.deleteIfExists(target.path);
+            } catch (IOException ignored) {
+                // 남은 파일은 다음 기동 시 다시 저장되며, 이미 저장된 기록은 유니크 제약으로 건너뜁니다.
+            }
+        }
+    }
+
+    // 로그 파일을 번호 순으로 읽어 줄바꿈으로 끝난(fsync 후 응답한) 기록을 모두 DB에 저장합니다.
+    private void replay() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(path -> segmentNumber(path) > 0).sorted().toList();
+        }
+        for (Path file : files) {
+            nextSegmentNumber = Math.max(nextSegmentNumber, segmentNumber(file) + 1);
+            Segment replayed = new Segment(file, null);
+            List<Entry> entries = new ArrayList<>();
+            String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            int end = text.lastIndexOf('\n');
+            for (String line : end < 0 ? new String[0] : text.substring(0, end).split("\n")) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Entry entry = new Entry(objectMapper.readValue(line, ReviewLogRecord.class));
+                    entry.segment = replayed;
+                    entries.add(entry);
+                } catch (JsonProcessingException e) {
+                    dropped.incrementAndGet();
+                }
+            }
+            synchronized (this) {
+                replayed.unapplied = entries.size();
+                replayed.closed = true;
+                deleteIfApplied(replayed);
+            }
+            for (int from = 0; from < entries.size(); from += batchSize) {
+                if (!insert(entries.subList(from, Math.min(entries.size(), from + batchSize)))) {
+                    throw new RuntimeException("리뷰 로그를 DB에 저장하지 못했습니다: " + file);
+                }
+            }
+        }
+    }
+
+    private Segment openSegment() throws IOException {
+        Path path = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSegmentNumber++, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        // 새 파일의 디렉터리 항목도 영속화합니다. (지원하지 않는 파일 시스템에서는 건너뜀)
+        try (FileChannel directory = FileChannel.open(dir, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException ignored) {
+        }
+        return new Segment(path, channel);
+    }
+
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 로그 한 줄에 기록하는 리뷰입니다.
+     */
+    public record ReviewLogRecord(Long storeId, Long memberId, Long reservationId, int rating, String content,
+                                  LocalDateTime createdAt) {
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        // 아래 두 값은 ReviewIngestLog 잠금 안에서만 읽고 씀
+        private long unapplied;
+        private boolean closed;
+
+        private Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+
+    private static final class Entry {
+        private final ReviewLogRecord record;
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+        private Segment segment;
+        // 저장 스레드에서만 읽고 씀
+        private boolean done;
+
+        private Entry(ReviewLogRecord record) {
+            this.record = record;
+        }
+    }
+}
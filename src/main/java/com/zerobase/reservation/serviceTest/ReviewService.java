@@ -2,56 +2,102 @@ package com.zerobase.reservation.serviceTest;
 
 import com.zerobase.reservation.domain.Member;
 import com.zerobase.reservation.domain.Review;
-import com.zerobase.reservation.enums.ReservationStatus;
 import com.zerobase.reservation.domain.Store;
 import com.zerobase.reservation.dto.request.ReviewRequest;
+import com.zerobase.reservation.dto.response.CursorPageResponse;
+import com.zerobase.reservation.dto.response.ReviewResponse;
+import com.zerobase.reservation.exception.ConflictException;
+import com.zerobase.reservation.exception.CustomException;
 import com.zerobase.reservation.repository.MemberRepository;
 import com.zerobase.reservation.repository.ReservationRepository;
 import com.zerobase.reservation.repository.ReviewRepository;
 import com.zerobase.reservation.repository.StoreRepository;
+import com.zerobase.reservation.util.KeysetCursor;
+import com.zerobase.reservation.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ReviewService {
+    private static final LocalDateTime MAX_DATE_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ReviewRepository reviewRepository;
+    private final CompletedVisits completedVisits;
     private final ReservationRepository reservationRepository;
     private final StoreRepository storeRepository;
     private final MemberRepository memberRepository;
+    private final ReviewVersions reviewVersions;
+    private final StoreRatingAggregates storeRatingAggregates;
+    private final StoreDetailsCache storeDetailsCache;
+    private final ReviewIngestLog reviewIngestLog;
 
     /**
      * 리뷰 작성 메서드
      *
-     * 예약 이력이 COMPLETED 상태인 경우에만 사용자가 해당 매장에 대한 리뷰를 작성할 수 있습니다.
-     * 해당 매장 및 회원 정보를 조회하고, 리뷰 정보를 생성하여 저장합니다.
+     * 방문을 완료한(COMPLETED) 예약 한 건에 리뷰 한 건을 작성할 수 있습니다.
+     * 예약이 요청한 회원과 매장의 것인지 확인한 뒤 중복 여부를 미리 조회하지 않고 바로 저장합니다.
+     * 같은 예약의 리뷰가 이미 있으면 reviews.reservation_id 유니크 제약에 걸리므로, 동시에 들어온 요청도 한 건만 저장됩니다.
+     * write-behind 모드(reservation.review-ingest.enabled=true)에서는 로컬 로그에 기록한 뒤 바로 반환하고,
+     * DB 저장은 ReviewIngestLog가 백그라운드에서 묶어서 처리합니다. 이때 반환되는 리뷰에는 아직 ID가 없습니다.
      *
-     * @param request: 리뷰 작성 요청 DTO (storeId, rating, content)
+     * @param request: 리뷰 작성 요청 DTO (storeId, reservationId, rating, content)
      * @param memberId: 리뷰를 작성하는 회원의 ID
      * @return 저장된 Review 엔티티
+     * @throws CustomException: 예약 ID가 없는 경우 예외 발생
+     * @throws ConflictException: 해당 예약에 이미 리뷰가 작성된 경우 예외 발생
      * @throws RuntimeException 예약 이력이 없는 경우 예외 발생
      */
     public Review createReview(ReviewRequest request, Long memberId) {
+        if (request.getReservationId() == null) {
+            throw new CustomException("예약 ID는 필수 입력 값입니다.");
+        }
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new RuntimeException("회원이 존재하지 않습니다."));
-        // 예약 이력 검증: 해당 매장에서 COMPLETED 상태의 예약이 있는지 확인
-        boolean hasCompletedReservation = reservationRepository.existsByStoreIdAndMemberIdAndStatus(
-                request.getStoreId(), memberId, ReservationStatus.COMPLETED);
-        if (!hasCompletedReservation) {
+        // 리뷰 대상 예약 검증: 이 회원이 이 매장에서 방문을 완료한 예약인지 확인 (대부분 메모리 집합에서 확인)
+        Long reservationId = request.getReservationId();
+        if (!completedVisits.isCompletedVisit(reservationId, request.getStoreId(), memberId)) {
             throw new RuntimeException("예약 이력이 없어서 리뷰 작성이 불가합니다.");
         }
         Store store = storeRepository.findById(request.getStoreId())
                 .orElseThrow(() -> new RuntimeException("매장이 존재하지 않습니다."));
+        if (reviewIngestLog.isEnabled()) {
+            return reviewIngestLog.append(store, member, reservationId, request);
+        }
         Review review = Review.builder()
                 .store(store)
                 .member(member)
+                .reservation(reservationRepository.getReferenceById(reservationId))
                 .rating(request.getRating())
                 .content(request.getContent())
                 .createdAt(LocalDateTime.now())
                 .build();
-        return reviewRepository.save(review);
+        Review saved;
+        try {
+            // 제약 위반을 이 자리에서 확인할 수 있도록 바로 INSERT 합니다.
+            saved = reviewRepository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, Review.UNIQUE_RESERVATION)) {
+                throw new ConflictException("이미 리뷰를 작성한 예약입니다.");
+            }
+            throw e;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            storeRatingAggregates.onReviewAdded(store.getId(), saved.getRating());
+            reviewVersions.bump(store.getId());
+            storeDetailsCache.invalidate(store.getId());
+        });
+        return saved;
     }
 
     /**
@@ -59,23 +105,38 @@ public class ReviewService {
      *
      * 리뷰 작성자만 리뷰를 수정할 수 있습니다.
      * 리뷰를 조회한 후, 작성자가 일치하면 평점 및 내용을 업데이트합니다.
+     * 조회 이후 다른 요청이 평점을 바꾸었거나 리뷰를 삭제했으면 수정하지 않으므로, 평점 집계에는 실제로 바뀐 값만 반영됩니다.
      *
      * @param reviewId: 수정할 리뷰의 ID
      * @param request: 수정 요청 DTO (storeId, rating, content)
      * @param memberId: 리뷰 작성자의 ID
      * @return 업데이트된 Review 엔티티
+     * @throws ConflictException: 조회 이후 다른 요청이 리뷰를 수정하거나 삭제한 경우 예외 발생
      * @throws RuntimeException 리뷰가 존재하지 않거나 수정 권한이 없는 경우 예외 발생
      */
+    @Transactional
     public Review updateReview(Long reviewId, ReviewRequest request, Long memberId) {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new RuntimeException("리뷰가 존재하지 않습니다."));
         if (!review.getMember().getId().equals(memberId)) {
             throw new RuntimeException("수정 권한이 없습니다.");
         }
+        int previousRating = review.getRating();
+        LocalDateTime now = LocalDateTime.now();
+        if (reviewRepository.updateIfRating(reviewId, previousRating, request.getRating(),
+                request.getContent(), now) == 0) {
+            throw new ConflictException("리뷰가 다른 요청에서 변경되었습니다. 다시 시도해 주세요.");
+        }
         review.setRating(request.getRating());
         review.setContent(request.getContent());
-        review.setUpdatedAt(LocalDateTime.now());
-        return reviewRepository.save(review);
+        review.setUpdatedAt(now);
+        Long storeId = review.getStore().getId();
+        TransactionCallbacks.afterCommit(() -> {
+            storeRatingAggregates.onReviewUpdated(storeId, previousRating, request.getRating());
+            reviewVersions.bump(storeId);
+            storeDetailsCache.invalidate(storeId);
+        });
+        return review;
     }
 
     /**
@@ -83,19 +144,102 @@ public class ReviewService {
      *
      * 리뷰 삭제는 리뷰 작성자 또는 해당 매장의 소유자(점장)만 수행할 수 있습니다.
      * 삭제 권한이 없는 경우 예외를 발생시킵니다.
+     * 같은 리뷰의 삭제가 동시에 들어오면 실제로 행을 지운 요청만 평점 집계에 반영합니다.
      *
      * @param reviewId: 삭제할 리뷰의 ID
      * @param memberId: 요청한 회원의 ID
-     * @throws RuntimeException 삭제 권한이 없는 경우 예외 발생
+     * @throws RuntimeException 리뷰나 매장이 존재하지 않거나 삭제 권한이 없는 경우 예외 발생
      */
+    @Transactional
     public void deleteReview(Long reviewId, Long memberId) {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new RuntimeException("리뷰가 존재하지 않습니다."));
+        Long ownerId = storeRepository.findOwnerIdById(review.getStore().getId())
+                .orElseThrow(() -> new RuntimeException("매장이 존재하지 않습니다."));
         boolean isWriter = review.getMember().getId().equals(memberId);
-        boolean isStoreOwner = review.getStore().getOwner().getId().equals(memberId);
+        boolean isStoreOwner = ownerId.equals(memberId);
         if (!isWriter && !isStoreOwner) {
             throw new RuntimeException("삭제 권한이 없습니다.");
         }
-        reviewRepository.delete(review);
+        if (reviewRepository.deleteRowById(reviewId) == 0) {
+            throw new RuntimeException("리뷰가 존재하지 않습니다.");
+        }
+        Long storeId = review.getStore().getId();
+        TransactionCallbacks.afterCommit(() -> {
+            storeRatingAggregates.onReviewRemoved(storeId, review.getRating());
+            reviewVersions.bump(storeId);
+            storeDetailsCache.invalidate(storeId);
+        });
+    }
+
+    /**
+     * 매장 리뷰 목록 조회 메서드
+     *
+     * 매장의 리뷰를 최신순으로 조회합니다. (created_at, id) 기준 키셋 페이지네이션을 사용하므로
+     * 페이지 위치와 관계없이 인덱스 탐색 한 번으로 조회되며, 엔티티 대신 DTO 프로젝션을 반환합니다.
+     *
+     * @param storeId: 조회할 매장의 ID
+     * @param after: 이전 페이지 응답의 nextCursor (없으면 첫 페이지)
+     * @param size: 페이지 크기 (최대 100)
+     * @return 리뷰 목록과 다음 페이지 커서
+     * @throws RuntimeException: 매장이 존재하지 않거나 커서가 올바르지 않은 경우 예외 발생
+     */
+    public CursorPageResponse<ReviewResponse> getStoreReviews(Long storeId, String after, int size) {
+        validateStore(storeId);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // 커서가 없으면 가장 늦은 시각을 커서로 사용하여 첫 페이지부터 조회합니다.
+        KeysetCursor cursor = after != null ? KeysetCursor.decode(after) : new KeysetCursor(MAX_DATE_TIME, Long.MAX_VALUE);
+        List<ReviewResponse> rows = reviewRepository.findStorePage(storeId, cursor.time(), cursor.id(),
+                PageRequest.of(0, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new CursorPageResponse<>(rows, null);
+        }
+        List<ReviewResponse> page = rows.subList(0, pageSize);
+        ReviewResponse last = page.get(pageSize - 1);
+        return new CursorPageResponse<>(page, new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    /**
+     * 매장 리뷰 내보내기 메서드
+     *
+     * 매장의 전체 리뷰를 최신순으로 한 행씩 읽어 전달합니다. 읽은 행을 모아 두지 않으므로
+     * 리뷰 수와 관계없이 일정한 메모리로 동작하며, 전달받는 쪽이 예외를 던지면(연결 끊김) 읽기를 중단합니다.
+     *
+     * @param storeId: 내보낼 매장의 ID
+     * @param sink: 리뷰를 한 건씩 받는 함수
+     * @return 내보낸 리뷰 수
+     */
+    @Transactional(readOnly = true)
+    public long exportStoreReviews(Long storeId, Consumer<ReviewResponse> sink) {
+        long exported = 0;
+        try (Stream<ReviewResponse> reviews = reviewRepository.streamByStoreId(storeId)) {
+            for (ReviewResponse review : (Iterable<ReviewResponse>) reviews::iterator) {
+                sink.accept(review);
+                exported++;
+            }
+        }
+        return exported;
+    }
+
+    /**
+     * 리뷰를 조회할 매장이 존재하는지 확인합니다. 삭제된 매장은 존재하지 않는 것으로 봅니다.
+     *
+     * @throws RuntimeException: 매장이 존재하지 않는 경우 예외 발생
+     */
+    public void validateStore(Long storeId) {
+        if (!storeRepository.existsById(storeId)) {
+            throw new RuntimeException("매장이 존재하지 않습니다.");
+        }
+    }
+
+    // MySQL은 제약 이름을 "테이블.제약" 형태로 알려주므로 끝부분으로 비교합니다.
+    static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName() != null
+                        && violation.getConstraintName().toLowerCase().endsWith(constraintName);
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,47 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.dto.response.ReviewSummaryResponse;
+import com.zerobase.reservation.repository.ReviewRepository;
+import com.zerobase.reservation.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+/**
+ * 매장 리뷰 집계 조회 서비스입니다.
+ *
+ * 같은 매장의 리뷰 요약을 동시에 조회하는 요청은 하나의 집계 쿼리로 합쳐지고, 모두 같은 결과를 받습니다.
+ * 합쳐진 비율은 singleflight 지표(name=reviewSummary)로 노출됩니다.
+ * 조건부 요청 처리를 위해 매장 리뷰 버전(ReviewVersions)도 함께 제공합니다.
+ */
+@Service
+public class ReviewSummaryService {
+
+    private final ReviewRepository reviewRepository;
+    private final ReviewVersions reviewVersions;
+    private final SingleFlight<Long, ReviewSummaryResponse> summaries;
+
+    public ReviewSummaryService(ReviewRepository reviewRepository, ReviewVersions reviewVersions,
+                                MeterRegistry meterRegistry) {
+        this.reviewRepository = reviewRepository;
+        this.reviewVersions = reviewVersions;
+        this.summaries = new SingleFlight<Long, ReviewSummaryResponse>().bindTo(meterRegistry, "reviewSummary");
+    }
+
+    /**
+     * 매장 리뷰 요약 조회 메서드
+     *
+     * @param storeId: 조회할 매장의 ID
+     * @return 리뷰 수와 평균 평점
+     */
+    public ReviewSummaryResponse getSummary(Long storeId) {
+        return summaries.execute(storeId, () -> reviewRepository.summarizeByStoreId(storeId)
+                .orElseGet(() -> ReviewSummaryResponse.empty(storeId)));
+    }
+
+    /**
+     * 매장 리뷰의 현재 버전을 반환합니다. 조회 결과보다 먼저 읽어야 합니다.
+     */
+    public ReviewVersions.Stamp getReviewStamp(Long storeId) {
+        return reviewVersions.stamp(storeId);
+    }
+}
@@ -0,0 +1,50 @@
+package com.zerobase.reservation.serviceTest;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 매장별 리뷰 변경 버전입니다.
+ *
+ * 리뷰 작성/수정/삭제가 커밋될 때마다 해당 매장의 버전과 변경 시각을 올리며, 리뷰 조회 API는 이 값으로
+ * 약한 ETag와 Last-Modified를 만들어 DB를 조회하지 않고 조건부 요청에 304로 응답합니다.
+ * 버전은 메모리에만 있으므로 ETag에 기동 시각(epoch)을 포함하여 재시작 전의 ETag와 겹치지 않게 하고,
+ * 기동 후 변경이 없던 매장의 변경 시각은 기동 시각으로 봅니다.
+ */
+@Component
+public class ReviewVersions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final ConcurrentHashMap<Long, Stamp> stamps = new ConcurrentHashMap<>();
+
+    /**
+     * 매장의 리뷰 버전을 올립니다. 리뷰 변경이 커밋된 후 호출합니다.
+     */
+    public void bump(Long storeId) {
+        long now = System.currentTimeMillis();
+        stamps.compute(storeId, (key, stamp) -> stamp == null
+                ? new Stamp(epoch, 1, now)
+                : new Stamp(epoch, stamp.version() + 1, Math.max(now, stamp.lastModified())));
+    }
+
+    /**
+     * @return 매장 리뷰의 현재 버전과 변경 시각
+     */
+    public Stamp stamp(Long storeId) {
+        Stamp stamp = stamps.get(storeId);
+        return stamp != null ? stamp : new Stamp(epoch, 0, epoch);
+    }
+
+    public record Stamp(long epoch, long version, long lastModified) {
+
+        /**
+         * 이 버전으로 만든 약한 ETag를 반환합니다.
+         *
+         * @param variant: 같은 버전에서 응답 표현을 구분하는 값 (예: 조회 종류, 페이지 조건)
+         */
+        public String eTag(String variant) {
+            return "W/\"" + Long.toHexString(epoch) + "-" + version + "-" + variant + "\"";
+        }
+    }
+}
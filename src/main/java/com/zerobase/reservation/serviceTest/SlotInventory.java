@@ -0,0 +1,191 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.enums.ReservationStatus;
+import com.zerobase.reservation.repository.ReservationRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 매장별 예약 슬롯 재고를 메모리에서 관리하는 컴포넌트입니다.
+ *
+ * 매장 ID와 날짜마다 하루를 slotMinutes 단위로 나눈 카운터 배열을 두고,
+ * 각 시간 버킷의 예약 수를 CAS(compare-and-set)로 증감합니다.
+ * 예약 수락/거절이 DB 행 잠금 없이 메모리에서 결정되며, 기동 시 DB의 예약 정보로 재구성됩니다.
+ * 매장별로 카운터가 바뀔 때마다 증가하는 버전을 두어, 예약 가능 시간 조회 결과의 ETag로 사용합니다.
+ */
+@Component
+public class SlotInventory {
+
+    // 슬롯을 점유하는 예약 상태 (거절된 예약은 슬롯을 반환합니다)
+    public static final Set<ReservationStatus> OCCUPYING_STATUSES =
+            EnumSet.of(ReservationStatus.REQUESTED, ReservationStatus.APPROVED, ReservationStatus.COMPLETED);
+
+    private final ReservationRepository reservationRepository;
+    private final int capacity;
+    private final int slotMinutes;
+    private final int slotsPerDay;
+    private final ConcurrentHashMap<DayKey, AtomicIntegerArray> days = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    // 재구성/정리 시점마다 바뀌는 값으로, 재시작 전후의 버전이 같은 ETag를 만들지 않도록 합니다.
+    private volatile long epoch;
+
+    public SlotInventory(ReservationRepository reservationRepository,
+                         @Value("${reservation.slot.capacity:4}") int capacity,
+                         @Value("${reservation.slot.minutes:30}") int slotMinutes) {
+        if (capacity < 1 || slotMinutes < 1 || (24 * 60) % slotMinutes != 0) {
+            throw new IllegalArgumentException("슬롯 설정이 올바르지 않습니다.");
+        }
+        this.reservationRepository = reservationRepository;
+        this.capacity = capacity;
+        this.slotMinutes = slotMinutes;
+        this.slotsPerDay = (24 * 60) / slotMinutes;
+    }
+
+    /**
+     * 기동 시 DB에 저장된 예약 중 슬롯을 점유하는 예약으로 카운터를 재구성합니다.
+     * 웹 서버가 요청을 받기 전에 실행되도록 빈 초기화 단계에서 수행합니다.
+     */
+    @PostConstruct
+    public void rebuild() {
+        days.clear();
+        epoch = System.currentTimeMillis();
+        LocalDateTime from = LocalDate.now().atStartOfDay();
+        for (var usage : reservationRepository.findSlotUsages(OCCUPYING_STATUSES, from)) {
+            counters(usage.getStoreId(), usage.getReservationDateTime())
+                    .addAndGet(slotIndex(usage.getReservationDateTime()), usage.getReservationCount().intValue());
+        }
+    }
+
+    /**
+     * 해당 매장/시간 버킷의 슬롯 하나를 점유합니다.
+     *
+     * @param storeId: 매장 ID
+     * @param dateTime: 예약 일시
+     * @return 점유에 성공하면 true, 정원이 찬 경우 false
+     */
+    public boolean tryAcquire(Long storeId, LocalDateTime dateTime) {
+        AtomicIntegerArray counters = counters(storeId, dateTime);
+        int index = slotIndex(dateTime);
+        while (true) {
+            int used = counters.get(index);
+            if (used >= capacity) {
+                return false;
+            }
+            if (counters.compareAndSet(index, used, used + 1)) {
+                bumpVersion(storeId);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 해당 매장/시간 버킷의 슬롯 하나를 반환합니다. 카운터는 0 아래로 내려가지 않습니다.
+     *
+     * @param storeId: 매장 ID
+     * @param dateTime: 예약 일시
+     */
+    public void release(Long storeId, LocalDateTime dateTime) {
+        AtomicIntegerArray counters = days.get(new DayKey(storeId, dateTime.toLocalDate().toEpochDay()));
+        if (counters == null) {
+            return;
+        }
+        int index = slotIndex(dateTime);
+        while (true) {
+            int used = counters.get(index);
+            if (used <= 0) {
+                return;
+            }
+            if (counters.compareAndSet(index, used, used - 1)) {
+                bumpVersion(storeId);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 해당 매장/시간 버킷의 남은 슬롯 수를 반환합니다.
+     */
+    public int remaining(Long storeId, LocalDateTime dateTime) {
+        AtomicIntegerArray counters = days.get(new DayKey(storeId, dateTime.toLocalDate().toEpochDay()));
+        if (counters == null) {
+            return capacity;
+        }
+        return Math.max(0, capacity - counters.get(slotIndex(dateTime)));
+    }
+
+    /**
+     * 해당 매장/날짜의 시간 버킷별 남은 슬롯 수를 반환합니다. 배열의 i번째 값은 (i * slotMinutes)분에 시작하는 버킷입니다.
+     */
+    public int[] remainingSlots(Long storeId, LocalDate date) {
+        int[] remaining = new int[slotsPerDay];
+        AtomicIntegerArray counters = days.get(new DayKey(storeId, date.toEpochDay()));
+        for (int i = 0; i < slotsPerDay; i++) {
+            remaining[i] = counters == null ? capacity : Math.max(0, capacity - counters.get(i));
+        }
+        return remaining;
+    }
+
+    /**
+     * 매장의 슬롯 재고 버전을 반환합니다. 재고가 바뀌면 값이 달라집니다.
+     * 버전을 먼저 읽고 재고를 조회해야, 조회 결과가 버전보다 오래된 상태로 캐시되지 않습니다.
+     */
+    public String version(Long storeId) {
+        AtomicLong version = versions.get(storeId);
+        return Long.toHexString(epoch) + "-" + Long.toHexString(version != null ? version.get() : 0L);
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    /**
+     * 예약 일시가 속한 시간 버킷의 시작 시각을 반환합니다. 같은 버킷의 예약은 같은 슬롯을 공유합니다.
+     */
+    public LocalDateTime slotStart(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().atStartOfDay().plusMinutes((long) slotIndex(dateTime) * slotMinutes);
+    }
+
+    /**
+     * 삭제된 매장의 카운터와 버전을 모두 지웁니다.
+     */
+    public void evictStore(Long storeId) {
+        days.keySet().removeIf(key -> key.storeId() == storeId);
+        versions.remove(storeId);
+    }
+
+    /**
+     * 지난 날짜의 카운터를 정리하여 메모리 사용량을 일정하게 유지합니다.
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        long today = LocalDate.now().toEpochDay();
+        days.keySet().removeIf(key -> key.epochDay() < today);
+        epoch = System.currentTimeMillis();
+    }
+
+    private AtomicIntegerArray counters(Long storeId, LocalDateTime dateTime) {
+        return days.computeIfAbsent(new DayKey(storeId, dateTime.toLocalDate().toEpochDay()),
+                key -> new AtomicIntegerArray(slotsPerDay));
+    }
+
+    private void bumpVersion(Long storeId) {
+        versions.computeIfAbsent(storeId, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private int slotIndex(LocalDateTime dateTime) {
+        return (dateTime.getHour() * 60 + dateTime.getMinute()) / slotMinutes;
+    }
+
+    private record DayKey(long storeId, long epochDay) {
+    }
+}
@@ -0,0 +1,466 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.dto.response.StoreResponse;
+import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.repository.StoreRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 매장명 자동완성용 메모리 접두어 색인입니다.
+ *
+ * 매장명을 한글 자모 단위로 풀어 쓴 키("강남" → "ㄱㅏㅇㄴㅏㅁ")를 정렬된 배열에 보관하므로,
+ * 입력 중인 글자("강", "가ㄴ", "ㄱ")도 접두어로 일치합니다. 겹모음/겹받침도 입력 순서대로 나누어 씁니다 (ㅘ → ㅗㅏ, ㄺ → ㄹㄱ).
+ * 매장명의 각 단어 시작 위치마다 키를 만들어 "오마카"로 "스시 오마카세"도 찾으며, 공백은 키에서 제외합니다.
+ * 접두어에 해당하는 키 범위를 이진 탐색한 뒤 인기도(최근 예약 수) 상위 k개를 고릅니다.
+ * 범위가 넓은 짧은 접두어("ㄱ", "ㅅㅡ")는 상위 목록을 미리 계산해 두어 범위를 훑지 않습니다.
+ * 기동 시 DB의 매장으로 색인을 만들고, 매장 등록/수정/삭제 시 해당 매장만 갱신하며, 인기도는 주기적으로 다시 계산합니다.
+ */
+@Component
+public class StoreAutocompleteIndex {
+
+    static final int MAX_LIMIT = 20;
+    // 이보다 넓은 접두어 범위는 상위 목록을 미리 계산
+    private static final int SCAN_LIMIT = 256;
+    private static final int MAX_WORDS = 4;
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int RELOAD_PAGE_SIZE = 10_000;
+
+    private static final String[] CHOSEONG = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ",
+            "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ",
+            "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+
+    private final StoreRepository storeRepository;
+    private final ReservationRepository reservationRepository;
+    private final int popularityDays;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Entry[]> hotPrefixes = new HashMap<>();
+    // (키, 매장 ID) 순으로 정렬된 키 배열과 각 키의 매장
+    private String[] keys = new String[1024];
+    private Entry[] owners = new Entry[1024];
+    private int size;
+
+    public StoreAutocompleteIndex(StoreRepository storeRepository,
+                                  ReservationRepository reservationRepository,
+                                  @Value("${reservation.autocomplete.popularity-days:30}") int popularityDays) {
+        this.storeRepository = storeRepository;
+        this.reservationRepository = reservationRepository;
+        this.popularityDays = popularityDays;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        List<Entry> loaded = new ArrayList<>();
+        long afterId = 0L;
+        while (true) {
+            List<StoreResponse> stores = storeRepository.findResponsesAfter(afterId, PageRequest.of(0, RELOAD_PAGE_SIZE));
+            stores.forEach(store -> loaded.add(new Entry(store, keysOf(store.getStore_name()))));
+            if (stores.size() < RELOAD_PAGE_SIZE) {
+                break;
+            }
+            afterId = stores.get(stores.size() - 1).getId();
+        }
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            loaded.forEach(entry -> entries.put(entry.store.getId(), entry));
+            // 한 건씩 삽입하면 배열 이동이 매장 수의 제곱에 비례하므로 한 번에 정렬합니다.
+            List<KeyRef> refs = new ArrayList<>();
+            for (Entry entry : loaded) {
+                for (String key : entry.keys) {
+                    refs.add(new KeyRef(key, entry));
+                }
+            }
+            refs.sort(Comparator.comparing(KeyRef::key).thenComparing(ref -> ref.entry().store.getId()));
+            size = refs.size();
+            keys = new String[Math.max(1024, size * 2)];
+            owners = new Entry[keys.length];
+            for (int i = 0; i < size; i++) {
+                keys[i] = refs.get(i).key();
+                owners[i] = refs.get(i).entry();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        refreshPopularity();
+    }
+
+    /**
+     * 최근 popularity-days일 동안의 매장별 예약 수로 인기도를 다시 계산하고 접두어별 상위 목록을 새로 만듭니다.
+     */
+    @Scheduled(fixedDelayString = "${reservation.autocomplete.popularity-refresh-ms:600000}",
+            initialDelayString = "${reservation.autocomplete.popularity-refresh-ms:600000}")
+    public void refreshPopularity() {
+        List<ReservationRepository.StoreReservationCount> counts =
+                reservationRepository.countByStoreSince(LocalDateTime.now().minusDays(popularityDays));
+        lock.writeLock().lock();
+        try {
+            entries.values().forEach(entry -> entry.popularity = 0);
+            for (ReservationRepository.StoreReservationCount count : counts) {
+                Entry entry = entries.get(count.getStoreId());
+                if (entry != null) {
+                    entry.popularity = count.getReservationCount();
+                }
+            }
+            rebuildHotPrefixes();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 매장을 색인에 추가하거나, 이미 있으면 새 매장명으로 교체합니다. 인기도는 유지됩니다.
+     */
+    public void put(StoreResponse store) {
+        Entry entry = new Entry(store, keysOf(store.getStore_name()));
+        lock.writeLock().lock();
+        try {
+            Entry old = entries.put(store.getId(), entry);
+            if (old != null) {
+                entry.popularity = old.popularity;
+                removeKeys(old);
+            }
+            // 한 매장의 여러 키가 같은 접두어에 속할 수 있으므로("서울 스시"의 두 키 모두 "ㅅ"으로 시작) 접두어마다 한 번만 넣습니다.
+            Set<String> offered = new HashSet<>();
+            for (String key : entry.keys) {
+                insertKey(key, entry);
+                forEachHotPrefix(key, (prefix, top) -> {
+                    if (offered.add(prefix)) {
+                        hotPrefixes.put(prefix, offer(top, entry, MAX_LIMIT));
+                    }
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 매장을 색인에서 제거합니다.
+     */
+    public void remove(Long storeId) {
+        lock.writeLock().lock();
+        try {
+            Entry old = entries.remove(storeId);
+            if (old != null) {
+                removeKeys(old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 매장명이 입력값으로 시작하는(단어 단위) 매장을 인기도 순으로 조회합니다.
+     *
+     * @param query: 입력 중인 검색어 (자모 단위 접두어 허용)
+     * @param limit: 반환할 최대 매장 수 (최대 {@value #MAX_LIMIT})
+     * @return 인기도 내림차순, 같으면 매장 ID 오름차순으로 정렬된 매장 목록
+     */
+    public List<StoreResponse> suggest(String query, int limit) {
+        String prefix = toKey(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        int k = Math.min(limit, MAX_LIMIT);
+        Entry[] top;
+        lock.readLock().lock();
+        try {
+            top = hotPrefixes.get(prefix);
+            if (top == null) {
+                int from = lowerBound(prefix);
+                top = topOf(from, upperBound(prefix, from), k);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<StoreResponse> stores = new ArrayList<>(Math.min(k, top.length));
+        for (int i = 0; i < top.length && i < k; i++) {
+            stores.add(top[i].store);
+        }
+        return stores;
+    }
+
+    /**
+     * 검색어를 자모 단위 접두어 키로 변환합니다. (NFKC 정규화, 소문자, 공백 제거)
+     */
+    static String toKey(String text) {
+        StringBuilder key = new StringBuilder();
+        appendJamo(key, normalize(text));
+        return key.toString();
+    }
+
+    // 매장명의 단어 시작 위치마다 그 위치부터 끝까지를 키로 만듭니다.
+    static String[] keysOf(String name) {
+        String[] words = normalize(name).trim().split("\\s+");
+        Set<String> keys = new LinkedHashSet<>();
+        for (int start = 0; start < words.length && start < MAX_WORDS; start++) {
+            StringBuilder key = new StringBuilder();
+            for (int i = start; i < words.length && key.length() < MAX_KEY_LENGTH; i++) {
+                appendJamo(key, words[i]);
+            }
+            if (!key.isEmpty()) {
+                keys.add(key.toString());
+            }
+        }
+        return keys.toArray(new String[0]);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    private static void appendJamo(StringBuilder key, String text) {
+        for (int i = 0; i < text.length() && key.length() < MAX_KEY_LENGTH; i++) {
+            char c = text.charAt(i);
+            if (c >= 0xAC00 && c <= 0xD7A3) {
+                int index = c - 0xAC00;
+                key.append(CHOSEONG[index / 588]).append(JUNGSEONG[index % 588 / 28]).append(JONGSEONG[index % 28]);
+            } else if (c >= 0x1100 && c <= 0x1112) {
+                // NFKC는 홀로 입력된 호환 자모(ㄱ, ㅏ)를 조합형 자모로 바꾸므로 다시 호환 자모로 되돌립니다.
+                key.append(CHOSEONG[c - 0x1100]);
+            } else if (c >= 0x1161 && c <= 0x1175) {
+                key.append(JUNGSEONG[c - 0x1161]);
+            } else if (c >= 0x11A8 && c <= 0x11C2) {
+                key.append(JONGSEONG[c - 0x11A8 + 1]);
+            } else if (!Character.isWhitespace(c)) {
+                key.append(c);
+            }
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            key.setLength(MAX_KEY_LENGTH);
+        }
+    }
+
+    // 미리 계산한 상위 목록에 이 키의 접두어가 있으면 action을 실행합니다.
+    private void forEachHotPrefix(String key, HotPrefixAction action) {
+        if (hotPrefixes.isEmpty()) {
+            return;
+        }
+        for (int length = 1; length <= key.length(); length++) {
+            String prefix = key.substring(0, length);
+            Entry[] top = hotPrefixes.get(prefix);
+            if (top == null) {
+                // 상위 목록은 넓은 범위에서 좁은 범위로 이어지므로 더 긴 접두어에도 없습니다.
+                return;
+            }
+            action.apply(prefix, top);
+        }
+    }
+
+    private void removeKeys(Entry entry) {
+        for (String key : entry.keys) {
+            int index = indexOf(key, entry.store.getId());
+            if (index >= 0) {
+                System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+                System.arraycopy(owners, index + 1, owners, index, size - index - 1);
+                size--;
+                keys[size] = null;
+                owners[size] = null;
+            }
+            // 상위 목록에 있던 매장이 빠지면 다음 순위를 알 수 없으므로 범위를 다시 훑습니다.
+            forEachHotPrefix(key, (prefix, top) -> {
+                if (contains(top, entry)) {
+                    int from = lowerBound(prefix);
+                    hotPrefixes.put(prefix, topOf(from, upperBound(prefix, from), MAX_LIMIT));
+                }
+            });
+        }
+    }
+
+    private void insertKey(String key, Entry entry) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            owners = Arrays.copyOf(owners, size * 2);
+        }
+        int index = -indexOf(key, entry.store.getId()) - 1;
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(owners, index, owners, index + 1, size - index);
+        keys[index] = key;
+        owners[index] = entry;
+        size++;
+    }
+
+    // (키, 매장 ID)의 위치, 없으면 -(삽입 위치) - 1
+    private int indexOf(String key, long storeId) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = keys[mid].compareTo(key);
+            if (cmp == 0) {
+                cmp = Long.compare(owners[mid].store.getId(), storeId);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    // prefix 이상인 첫 키의 위치
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // from부터 prefix로 시작하는 키가 끝나는 위치
+    private int upperBound(String prefix, int from) {
+        int low = from;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].startsWith(prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // [from, to) 범위에서 인기도 상위 k개 매장 (한 매장의 키가 여러 개 있어도 한 번만 포함)
+    private Entry[] topOf(int from, int to, int k) {
+        Entry[] top = new Entry[k];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            Entry candidate = owners[i];
+            if (count == k && !ranksBefore(candidate, top[k - 1])) {
+                continue;
+            }
+            if (contains(top, count, candidate)) {
+                continue;
+            }
+            int position = count == k ? k - 1 : count++;
+            while (position > 0 && ranksBefore(candidate, top[position - 1])) {
+                top[position] = top[position - 1];
+                position--;
+            }
+            top[position] = candidate;
+        }
+        return count == k ? top : Arrays.copyOf(top, count);
+    }
+
+    // 미리 계산한 상위 목록에 새 매장을 넣은 새 목록
+    private static Entry[] offer(Entry[] top, Entry entry, int k) {
+        if (top.length == k && !ranksBefore(entry, top[k - 1])) {
+            return top;
+        }
+        Entry[] next = Arrays.copyOf(top, Math.min(k, top.length + 1));
+        int position = next.length - 1;
+        while (position > 0 && ranksBefore(entry, next[position - 1])) {
+            next[position] = next[position - 1];
+            position--;
+        }
+        next[position] = entry;
+        return next;
+    }
+
+    private void rebuildHotPrefixes() {
+        hotPrefixes.clear();
+        buildHotPrefixes(0, size, 0);
+    }
+
+    // [from, to)의 키는 앞 depth 글자가 같으며, 다음 글자로 나눈 범위 중 넓은 범위의 상위 목록을 계산합니다.
+    private void buildHotPrefixes(int from, int to, int depth) {
+        int i = from;
+        while (i < to && keys[i].length() == depth) {
+            i++;
+        }
+        while (i < to) {
+            char c = keys[i].charAt(depth);
+            int j = i + 1;
+            while (j < to && keys[j].charAt(depth) == c) {
+                j++;
+            }
+            if (j - i > SCAN_LIMIT) {
+                hotPrefixes.put(keys[i].substring(0, depth + 1), topOf(i, j, MAX_LIMIT));
+                buildHotPrefixes(i, j, depth + 1);
+            }
+            i = j;
+        }
+    }
+
+    private static boolean ranksBefore(Entry a, Entry b) {
+        if (a.popularity != b.popularity) {
+            return a.popularity > b.popularity;
+        }
+        return a.store.getId() < b.store.getId();
+    }
+
+    private static boolean contains(Entry[] top, Entry entry) {
+        return contains(top, top.length, entry);
+    }
+
+    private static boolean contains(Entry[] top, int count, Entry entry) {
+        for (int i = 0; i < count; i++) {
+            if (top[i] == entry) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private interface HotPrefixAction {
+        void apply(String prefix, Entry[] top);
+    }
+
+    private record KeyRef(String key, Entry entry) {
+    }
+
+    private static final class Entry {
+        private final StoreResponse store;
+        private final String[] keys;
+        private long popularity;
+
+        private Entry(StoreResponse store, String[] keys) {
+            this.store = store;
+            this.keys = keys;
+        }
+    }
+}
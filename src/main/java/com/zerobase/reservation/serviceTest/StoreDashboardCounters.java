@@ -0,0 +1,175 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.domain.StoreDashboardStats;
+import com.zerobase.reservation.enums.ReservationStatus;
+import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.repository.StoreDashboardStatsRepository;
+import com.zerobase.reservation.util.VersionedCounterTable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 파트너 대시보드용 매장별 집계 카운터입니다.
+ *
+ * 매장마다 응답 대기(REQUESTED)/승인(APPROVED)/방문 완료(COMPLETED) 예약 수를 메모리에 보관하고,
+ * 예약 상태가 바뀌는 트랜잭션이 커밋된 뒤 증감합니다. 대시보드 조회는 예약 테이블을 집계하지 않고
+ * 매장 수만큼 카운터를 읽어 응답합니다. (리뷰 수와 평점은 StoreRatingAggregates에서 읽습니다.)
+ * 변경된 매장의 카운터만 flush-interval-ms 마다 store_dashboard_stats 테이블에 일괄 UPSERT하고, 기동 시 이 테이블에서 복원합니다.
+ * 마지막 저장 이후 비정상 종료로 잃은 증감처럼 카운터가 DB와 어긋난 경우는 reconcile-interval-ms 마다 DB 집계와 비교하여 바로잡습니다.
+ */
+@Component
+public class StoreDashboardCounters {
+
+    static final int PENDING = 0;
+    static final int APPROVED = 1;
+    static final int COMPLETED = 2;
+    private static final int WIDTH = 3;
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final EnumSet<ReservationStatus> TRACKED_STATUSES =
+            EnumSet.of(ReservationStatus.REQUESTED, ReservationStatus.APPROVED, ReservationStatus.COMPLETED);
+    private static final String UPSERT_SQL = "insert into store_dashboard_stats "
+            + "(store_id, pending_count, approved_count, completed_count, updated_at) "
+            + "values (?, ?, ?, ?, ?) on duplicate key update "
+            + "pending_count = values(pending_count), approved_count = values(approved_count), "
+            + "completed_count = values(completed_count), updated_at = values(updated_at)";
+
+    private final StoreDashboardStatsRepository statsRepository;
+    private final ReservationRepository reservationRepository;
+    private final VersionedCounterTable counters;
+
+    public StoreDashboardCounters(StoreDashboardStatsRepository statsRepository,
+                                  ReservationRepository reservationRepository,
+                                  JdbcTemplate jdbcTemplate) {
+        this.statsRepository = statsRepository;
+        this.reservationRepository = reservationRepository;
+        this.counters = new VersionedCounterTable(WIDTH, UPSERT_SQL, jdbcTemplate);
+    }
+
+    /**
+     * 저장된 카운터를 복원합니다. 저장본이 없으면(최초 배포) DB를 집계하여 채웁니다.
+     */
+    @PostConstruct
+    public void load() {
+        counters.clear();
+        long afterStoreId = 0L;
+        while (true) {
+            List<StoreDashboardStats> rows = statsRepository.findByStoreIdGreaterThanOrderByStoreId(
+                    afterStoreId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (StoreDashboardStats row : rows) {
+                counters.restore(row.getStoreId(), row.getPendingCount(), row.getApprovedCount(),
+                        row.getCompletedCount());
+            }
+            if (rows.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            afterStoreId = rows.get(rows.size() - 1).getStoreId();
+        }
+        if (counters.isEmpty()) {
+            reconcile();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    /**
+     * 예약 상태 변경을 반영합니다. 대시보드에 표시하지 않는 상태로의/에서의 변경은 한쪽만 반영됩니다.
+     *
+     * @param storeId: 예약이 속한 매장의 ID
+     * @param from: 변경 전 상태 (새로 생성된 예약이면 null)
+     * @param to: 변경 후 상태 (삭제된 예약이면 null)
+     */
+    public void onStatusChanged(Long storeId, ReservationStatus from, ReservationStatus to) {
+        int fromSlot = slotOf(from);
+        int toSlot = slotOf(to);
+        if (fromSlot == toSlot) {
+            return;
+        }
+        counters.update(storeId, values -> {
+            if (fromSlot >= 0) {
+                values.decrementAndGet(fromSlot);
+            }
+            if (toSlot >= 0) {
+                values.incrementAndGet(toSlot);
+            }
+        });
+    }
+
+    /**
+     * 매장의 현재 카운터를 반환합니다. 예약이 한 번도 없었던 매장은 모두 0입니다.
+     */
+    public StoreCounts get(Long storeId) {
+        long[] values = counters.get(storeId);
+        if (values == null) {
+            return StoreCounts.EMPTY;
+        }
+        return new StoreCounts(values[PENDING], values[APPROVED], values[COMPLETED]);
+    }
+
+    /**
+     * 실제로 삭제된 매장의 카운터와 저장본을 지웁니다.
+     */
+    public void remove(Long storeId) {
+        counters.remove(storeId);
+        statsRepository.deleteById(storeId);
+    }
+
+    /**
+     * 마지막 저장 이후 바뀐 매장의 카운터를 store_dashboard_stats 테이블에 저장합니다.
+     *
+     * @return 저장한 매장 수
+     */
+    @Scheduled(fixedDelayString = "${reservation.dashboard.flush-interval-ms:5000}")
+    public int flush() {
+        return counters.flush();
+    }
+
+    /**
+     * 카운터를 예약 테이블의 매장/상태별 예약 수와 비교하여 어긋난 매장을 바로잡습니다.
+     *
+     * @return 바로잡은 매장 수
+     */
+    @Scheduled(fixedDelayString = "${reservation.dashboard.reconcile-interval-ms:3600000}",
+            initialDelayString = "${reservation.dashboard.reconcile-initial-delay-ms:60000}")
+    public int reconcile() {
+        return counters.reconcile(() -> {
+            Map<Long, long[]> actual = new HashMap<>();
+            for (ReservationRepository.StoreStatusCount row : reservationRepository.countByStoreAndStatus(TRACKED_STATUSES)) {
+                actual.computeIfAbsent(row.getStoreId(), id -> new long[WIDTH])[slotOf(row.getStatus())] =
+                        row.getReservationCount();
+            }
+            return actual;
+        }).size();
+    }
+
+    private static int slotOf(ReservationStatus status) {
+        if (status == null) {
+            return -1;
+        }
+        return switch (status) {
+            case REQUESTED -> PENDING;
+            case APPROVED -> APPROVED;
+            case COMPLETED -> COMPLETED;
+            default -> -1;
+        };
+    }
+
+    /**
+     * 한 매장의 카운터 값입니다.
+     */
+    public record StoreCounts(long pendingCount, long approvedCount, long completedCount) {
+
+        static final StoreCounts EMPTY = new StoreCounts(0, 0, 0);
+    }
+}
@@ -0,0 +1,126 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.reservation.dto.response.StoreResponse;
+import com.zerobase.reservation.util.ExpiringLruCache;
+import com.zerobase.reservation.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 매장 상세 조회 응답의 읽기 캐시입니다.
+ *
+ * 크기/만료 시간이 제한된 LRU 캐시에 StoreResponse를 직렬화한 JSON 바이트를 보관하므로,
+ * 캐시 적중 시에는 DB 조회와 Jackson 직렬화 없이 그대로 응답 본문으로 내보냅니다.
+ * 항목에는 본문 해시로 만든 강한 ETag와 매장의 마지막 변경 시각도 함께 보관하여, 조건부 요청(If-None-Match,
+ * If-Modified-Since)은 본문을 다시 만들지 않고 304로 응답할 수 있습니다.
+ * 매장 수정/삭제가 커밋되면 해당 매장의 항목을 지웁니다. 무효화와 동시에 진행 중이던 조회가
+ * 변경 전 값을 다시 넣지 않도록, 조회 시작 이후 무효화가 있었으면 조회 결과를 캐시에 넣지 않습니다.
+ * 같은 매장에 대한 동시 캐시 실패는 하나의 DB 조회로 합쳐집니다. (singleflight 지표, name=storeDetails)
+ * 적중/실패/제거 수와 크기는 cache.gets, cache.evictions, cache.size 지표(cache=storeDetails)로 노출됩니다.
+ */
+@Component
+public class StoreDetailsCache {
+
+    private static final String CACHE_NAME = "storeDetails";
+
+    private final ObjectMapper objectMapper;
+    private final ExpiringLruCache<Long, CachedDetails> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final SingleFlight<Long, CachedDetails> loads;
+
+    public StoreDetailsCache(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${reservation.store-cache.max-size:1000}") int maxSize,
+                             @Value("${reservation.store-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.cache = new ExpiringLruCache<>(maxSize, ttlSeconds * 1000);
+        FunctionCounter.builder("cache.gets", cache, ExpiringLruCache::hitCount)
+                .tag("cache", CACHE_NAME).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", cache, ExpiringLruCache::missCount)
+                .tag("cache", CACHE_NAME).tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", cache, ExpiringLruCache::evictionCount)
+                .tag("cache", CACHE_NAME).register(meterRegistry);
+        Gauge.builder("cache.size", cache, ExpiringLruCache::size)
+                .tag("cache", CACHE_NAME).register(meterRegistry);
+        this.loads = new SingleFlight<Long, CachedDetails>().bindTo(meterRegistry, CACHE_NAME);
+    }
+
+    /**
+     * 캐시된 매장 상세 JSON을 반환하고, 없으면 loader로 조회하여 직렬화한 뒤 캐시에 넣습니다.
+     * 같은 매장을 동시에 조회하는 호출은 loader를 한 번만 실행하고 결과를 함께 받습니다.
+     *
+     * @param storeId: 조회할 매장의 ID
+     * @param loader: 캐시에 없을 때 매장 정보를 조회하는 함수 (예외는 그대로 전달되며 캐시하지 않음)
+     * @return StoreResponse의 JSON 바이트와 ETag, 마지막 변경 시각
+     */
+    public CachedDetails get(Long storeId, Function<Long, StoreResponse> loader) {
+        CachedDetails cached = cache.get(storeId);
+        if (cached != null) {
+            return cached;
+        }
+        return loads.execute(storeId, () -> load(storeId, loader));
+    }
+
+    /**
+     * 매장의 캐시 항목을 제거합니다.
+     */
+    public void invalidate(Long storeId) {
+        invalidations.incrementAndGet();
+        loads.forget(storeId);
+        cache.remove(storeId);
+    }
+
+    private CachedDetails load(Long storeId, Function<Long, StoreResponse> loader) {
+        long generation = invalidations.get();
+        StoreResponse response = loader.apply(storeId);
+        byte[] body = toJson(response);
+        long lastModified = response.getModifiedAt() != null
+                ? response.getModifiedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        CachedDetails details = new CachedDetails(body, eTag(body), lastModified);
+        if (invalidations.get() == generation) {
+            cache.put(storeId, details);
+            // 넣는 사이에 무효화가 끼어들었으면 방금 넣은 값이 변경 전 값일 수 있으므로 다시 지웁니다.
+            if (invalidations.get() != generation) {
+                cache.remove(storeId);
+            }
+        }
+        return details;
+    }
+
+    // 본문 SHA-256의 앞 8바이트로 만든 강한 ETag
+    private static String eTag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 8) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private byte[] toJson(StoreResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 캐시 항목: 직렬화된 응답 본문, 강한 ETag, 마지막 변경 시각(epoch ms, 알 수 없으면 -1)
+     */
+    public record CachedDetails(byte[] body, String eTag, long lastModified) {
+    }
+}
@@ -0,0 +1,243 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.dto.response.StoreResponse;
+import com.zerobase.reservation.repository.StoreRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 매장 위경도 좌표에 대한 메모리 공간 색인입니다.
+ *
+ * 위도/경도를 고정 크기(기본 0.01도, 약 1km)의 격자 버킷으로 나누어 매장을 보관합니다.
+ * 가까운 매장 조회는 질의 지점이 속한 버킷부터 바깥쪽으로 고리 모양으로 넓혀 가며 후보를 모으고,
+ * 아직 보지 않은 버킷이 현재 k번째 후보보다 가까울 수 없게 되면 탐색을 멈춥니다.
+ * 좌표가 없는 매장은 색인하지 않습니다.
+ * 기동 시 DB의 매장으로 색인을 만들고, 이후에는 매장 등록/수정/삭제 시 해당 매장만 갱신합니다.
+ */
+@Component
+public class StoreGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final int RELOAD_PAGE_SIZE = 10_000;
+
+    private final StoreRepository storeRepository;
+    private final double cellDegrees;
+    private final int latCells;
+    private final int lngCells;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, List<GeoEntry>> cells = new HashMap<>();
+    private final Map<Long, GeoEntry> entries = new HashMap<>();
+
+    public StoreGeoIndex(StoreRepository storeRepository,
+                         @Value("${reservation.geo.cell-degrees:0.01}") double cellDegrees) {
+        this.storeRepository = storeRepository;
+        this.cellDegrees = cellDegrees;
+        this.latCells = (int) Math.ceil(180 / cellDegrees);
+        this.lngCells = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        long afterId = 0L;
+        while (true) {
+            List<StoreResponse> stores = storeRepository.findResponsesAfter(afterId, PageRequest.of(0, RELOAD_PAGE_SIZE));
+            stores.forEach(this::put);
+            if (stores.size() < RELOAD_PAGE_SIZE) {
+                return;
+            }
+            afterId = stores.get(stores.size() - 1).getId();
+        }
+    }
+
+    /**
+     * 매장을 좌표의 버킷에 색인합니다. 이미 색인된 매장이면 새 좌표로 옮기고, 좌표가 없으면 색인에서 제거합니다.
+     */
+    public void put(StoreResponse store) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(store.getId());
+            if (store.getLatitude() == null || store.getLongitude() == null) {
+                return;
+            }
+            int latIndex = latIndex(store.getLatitude());
+            int lngIndex = lngIndex(store.getLongitude());
+            GeoEntry entry = new GeoEntry(store, store.getLatitude(), store.getLongitude(), cellKey(latIndex, lngIndex));
+            entries.put(store.getId(), entry);
+            cells.computeIfAbsent(entry.cellKey(), key -> new ArrayList<>()).add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 매장을 색인에서 제거합니다.
+     */
+    public void remove(Long storeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(storeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 주어진 지점에서 가까운 매장을 거리순으로 조회합니다.
+     *
+     * @param latitude: 기준 위도
+     * @param longitude: 기준 경도
+     * @param limit: 반환할 최대 매장 수 (k)
+     * @param radiusKm: 검색 반경(km), 이보다 먼 매장은 제외합니다.
+     * @return 거리 오름차순으로 정렬된 매장과 거리 목록
+     */
+    public List<Hit> nearest(double latitude, double longitude, int limit, double radiusKm) {
+        int centerLat = latIndex(latitude);
+        int centerLng = lngIndex(longitude);
+        double cellHeightKm = cellDegrees * KM_PER_DEGREE;
+        int maxLngReach = (lngCells - 1) / 2;
+        // 거리가 먼 후보부터 꺼낼 수 있도록 최대 힙으로 상위 k개를 유지합니다.
+        PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble(Hit::distanceKm).reversed());
+
+        lock.readLock().lock();
+        try {
+            int prevLatReach = -1;
+            int prevLngReach = -1;
+            for (int ring = 0; ; ring++) {
+                // 이번 고리까지 탐색하면 질의 지점에서 coveredKm 안의 매장은 모두 확인한 것이 됩니다.
+                double coveredKm = ring * cellHeightKm;
+                int latReach = ring;
+                int lngReach = Math.min(maxLngReach, lngReach(latitude, ring, coveredKm));
+                if ((2L * latReach + 1) * (2L * lngReach + 1) > entries.size()) {
+                    // 매장이 드물거나 고위도라 살펴볼 버킷이 매장 수보다 많아지면 전체 매장을 처음부터 다시 확인합니다.
+                    best.clear();
+                    for (GeoEntry entry : entries.values()) {
+                        offer(best, entry, latitude, longitude, limit, radiusKm);
+                    }
+                    break;
+                }
+                for (int dy = -latReach; dy <= latReach; dy++) {
+                    int y = centerLat + dy;
+                    if (y < 0 || y >= latCells) {
+                        continue;
+                    }
+                    for (int dx = -lngReach; dx <= lngReach; dx++) {
+                        if (Math.abs(dy) <= prevLatReach && Math.abs(dx) <= prevLngReach) {
+                            continue;
+                        }
+                        List<GeoEntry> cell = cells.get(cellKey(y, Math.floorMod(centerLng + dx, lngCells)));
+                        if (cell == null) {
+                            continue;
+                        }
+                        for (GeoEntry entry : cell) {
+                            offer(best, entry, latitude, longitude, limit, radiusKm);
+                        }
+                    }
+                }
+                boolean exhausted = (centerLat - latReach <= 0 && centerLat + latReach >= latCells - 1)
+                        && lngReach == maxLngReach;
+                if (coveredKm >= radiusKm || exhausted
+                        || (best.size() == limit && best.peek().distanceKm() <= coveredKm)) {
+                    break;
+                }
+                prevLatReach = latReach;
+                prevLngReach = lngReach;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparing(hit -> hit.store().getId()));
+        return hits;
+    }
+
+    // 반경 안의 매장이면 상위 k개 힙에 넣고, 힙이 가득 찼으면 가장 먼 후보보다 가까울 때만 교체합니다.
+    private static void offer(PriorityQueue<Hit> best, GeoEntry entry, double latitude, double longitude,
+                              int limit, double radiusKm) {
+        double distanceKm = distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+        if (distanceKm > radiusKm) {
+            return;
+        }
+        if (best.size() < limit) {
+            best.add(new Hit(entry.store(), distanceKm));
+        } else if (distanceKm < best.peek().distanceKm()) {
+            best.poll();
+            best.add(new Hit(entry.store(), distanceKm));
+        }
+    }
+
+    /**
+     * 두 좌표 사이의 대권 거리(km)를 하버사인 공식으로 계산합니다.
+     */
+    static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // 위도 방향 고리 수만큼의 거리를 경도 방향으로 덮는 데 필요한 버킷 수 (고위도일수록 버킷 폭이 좁아짐)
+    private int lngReach(double latitude, int ring, double coveredKm) {
+        if (ring == 0) {
+            return 0;
+        }
+        double farthestLat = Math.min(90, Math.abs(latitude) + (ring + 1) * cellDegrees);
+        double cellWidthKm = cellDegrees * KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLat));
+        if (cellWidthKm <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.ceil(coveredKm / cellWidthKm));
+    }
+
+    private void removeLocked(Long storeId) {
+        GeoEntry entry = entries.remove(storeId);
+        if (entry == null) {
+            return;
+        }
+        List<GeoEntry> cell = cells.get(entry.cellKey());
+        cell.remove(entry);
+        if (cell.isEmpty()) {
+            cells.remove(entry.cellKey());
+        }
+    }
+
+    private int latIndex(double latitude) {
+        return Math.min(latCells - 1, (int) Math.floor((latitude + 90) / cellDegrees));
+    }
+
+    private int lngIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), lngCells);
+    }
+
+    private static long cellKey(int latIndex, int lngIndex) {
+        return ((long) latIndex << 32) | lngIndex;
+    }
+
+    public record Hit(StoreResponse store, double distanceKm) {
+    }
+
+    private record GeoEntry(StoreResponse store, double latitude, double longitude, long cellKey) {
+    }
+}
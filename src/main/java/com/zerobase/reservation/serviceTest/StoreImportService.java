@@ -0,0 +1,336 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.reservation.domain.Member;
+import com.zerobase.reservation.domain.Store;
+import com.zerobase.reservation.dto.request.StoreRequest;
+import com.zerobase.reservation.dto.response.StoreImportProgress;
+import com.zerobase.reservation.dto.response.StoreResponse;
+import com.zerobase.reservation.enums.Role;
+import com.zerobase.reservation.repository.MemberRepository;
+import com.zerobase.reservation.repository.StoreRepository;
+import com.zerobase.reservation.util.BoundedLineReader;
+import com.zerobase.reservation.util.TransactionCallbacks;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * 파트너 입점용 매장 일괄 가져오기 서비스입니다.
+ *
+ * 요청 본문(NDJSON 또는 CSV)을 한 줄씩 읽어 바로 검증하고, 고정 크기 묶음이 모이면 묶음마다 별도 트랜잭션으로
+ * 저장합니다. 트랜잭션이 끝날 때마다 영속성 컨텍스트가 비워지고 실패 행은 바로 진행 상황으로 내보내므로,
+ * 입력 크기와 관계없이 메모리에는 한 묶음과 한 줄만 유지됩니다. 저장은 Hibernate JDBC 배치(batch_size)로 전송됩니다.
+ * 묶음 저장이 실패하면 묶음의 행을 하나씩 다시 저장하여 실패한 행만 골라냅니다.
+ * 이미 커밋된 묶음은 이후 행이 실패하거나 연결이 끊겨도 되돌리지 않습니다.
+ */
+@Service
+public class StoreImportService {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final int MAX_LINE_LENGTH = 16 * 1024;
+    private static final String SAVE_FAILED = "매장 저장 중 오류가 발생했습니다.";
+
+    private final StoreRepository storeRepository;
+    private final MemberRepository memberRepository;
+    private final StoreSearchIndex storeSearchIndex;
+    private final StoreGeoIndex storeGeoIndex;
+    private final StoreAutocompleteIndex storeAutocompleteIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public StoreImportService(StoreRepository storeRepository,
+                              MemberRepository memberRepository,
+                              StoreSearchIndex storeSearchIndex,
+                              StoreGeoIndex storeGeoIndex,
+                              StoreAutocompleteIndex storeAutocompleteIndex,
+                              ObjectMapper objectMapper,
+                              Validator validator,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${reservation.store-import.batch-size:500}") int batchSize) {
+        this.storeRepository = storeRepository;
+        this.memberRepository = memberRepository;
+        this.storeSearchIndex = storeSearchIndex;
+        this.storeGeoIndex = storeGeoIndex;
+        this.storeAutocompleteIndex = storeAutocompleteIndex;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+    }
+
+    public enum Format {
+        NDJSON, CSV;
+
+        /**
+         * 요청 Content-Type으로 입력 형식을 결정합니다.
+         * @throws RuntimeException 지원하지 않는 Content-Type인 경우 예외 발생
+         */
+        public static Format of(MediaType contentType) {
+            if (StoreImportService.NDJSON.isCompatibleWith(contentType)) {
+                return NDJSON;
+            }
+            if (new MediaType("text", "csv").isCompatibleWith(contentType)) {
+                return CSV;
+            }
+            throw new RuntimeException("지원하지 않는 파일 형식입니다.");
+        }
+    }
+
+    /**
+     * 가져오기를 요청한 파트너 회원을 확인합니다. 본문을 읽기 전에 한 번만 호출합니다.
+     *
+     * @param partnerId: 매장을 등록할 파트너 회원의 ID
+     * @throws RuntimeException 파트너 회원이 존재하지 않거나 권한이 없는 경우 예외 발생
+     */
+    public void validatePartner(Long partnerId) {
+        Member partner = memberRepository.findById(partnerId)
+                .orElseThrow(() -> new RuntimeException("파트너 회원이 존재하지 않습니다."));
+        if (!partner.getRole().equals(Role.PARTNER)) {
+            throw new RuntimeException("파트너 회원만 매장을 등록할 수 있습니다.");
+        }
+    }
+
+    /**
+     * 매장 일괄 가져오기 메서드
+     *
+     * NDJSON은 한 줄에 매장 등록 요청 JSON 하나, CSV는 첫 줄에 열 이름(storeName, location, description,
+     * latitude, longitude 중 storeName, location 필수)을 둡니다. 빈 줄은 건너뜁니다.
+     * 각 행은 매장 등록 API와 같은 규칙으로 검증합니다.
+     *
+     * @param body: 요청 본문
+     * @param format: 입력 형식
+     * @param partnerId: {@link #validatePartner}로 확인한 파트너 회원의 ID
+     * @param listener: 실패 행(ERROR), 묶음 저장 후 누적 건수(PROGRESS), 최종 건수(DONE)를 받는 함수
+     * @return 최종 건수 (listener가 마지막으로 받는 DONE과 같음)
+     */
+    public StoreImportProgress importStores(Reader body, Format format, Long partnerId,
+                                            Consumer<StoreImportProgress> listener) throws IOException {
+        BoundedLineReader reader = new BoundedLineReader(body, MAX_LINE_LENGTH);
+        List<Row> chunk = new ArrayList<>(batchSize);
+        String[] columns = null;
+        long lineNumber = 0;
+        long processed = 0;
+        long imported = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && columns == null) {
+                try {
+                    columns = parseCsvHeader(line);
+                } catch (RuntimeException e) {
+                    listener.accept(StoreImportProgress.error(lineNumber, e.getMessage()));
+                    break;
+                }
+                continue;
+            }
+            processed++;
+            try {
+                if (reader.isTruncated()) {
+                    throw new RuntimeException("한 행은 " + MAX_LINE_LENGTH + "자를 넘을 수 없습니다.");
+                }
+                StoreRequest request = format == Format.CSV ? parseCsvRow(line, columns) : parseJson(line);
+                validate(request);
+                chunk.add(new Row(lineNumber, toStore(request)));
+            } catch (RuntimeException e) {
+                listener.accept(StoreImportProgress.error(lineNumber, e.getMessage()));
+            }
+            if (chunk.size() == batchSize) {
+                imported += saveChunk(chunk, partnerId, listener);
+                chunk.clear();
+                listener.accept(StoreImportProgress.progress(processed, imported, processed - imported));
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += saveChunk(chunk, partnerId, listener);
+        }
+        StoreImportProgress done = StoreImportProgress.done(processed, imported, processed - imported);
+        listener.accept(done);
+        return done;
+    }
+
+    // 묶음을 한 트랜잭션으로 저장하고, 실패하면 행별 트랜잭션으로 다시 저장하여 저장된 행 수를 반환합니다.
+    private int saveChunk(List<Row> chunk, Long partnerId, Consumer<StoreImportProgress> listener) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> save(chunk, partnerId));
+            return chunk.size();
+        } catch (RuntimeException e) {
+            int saved = 0;
+            for (Row row : chunk) {
+                // 롤백된 묶음에서 할당된 ID를 비워야 새 매장으로 저장됩니다.
+                row.store().setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> save(List.of(row), partnerId));
+                    saved++;
+                } catch (RuntimeException rowFailure) {
+                    listener.accept(StoreImportProgress.error(row.lineNumber(), SAVE_FAILED));
+                }
+            }
+            return saved;
+        }
+    }
+
+    private void save(List<Row> rows, Long partnerId) {
+        // 파트너는 이미 확인했으므로 조회 없이 참조만 연결합니다.
+        Member partner = memberRepository.getReferenceById(partnerId);
+        List<Store> stores = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            row.store().setOwner(partner);
+            stores.add(row.store());
+        }
+        storeRepository.saveAll(stores);
+        List<StoreResponse> indexed = stores.stream().map(StoreResponse::new).toList();
+        TransactionCallbacks.afterCommit(() -> indexed.forEach(store -> {
+            storeSearchIndex.put(store);
+            storeGeoIndex.put(store);
+            storeAutocompleteIndex.put(store);
+        }));
+    }
+
+    private StoreRequest parseJson(String line) {
+        try {
+            StoreRequest request = objectMapper.readValue(line, StoreRequest.class);
+            if (request == null) {
+                throw new RuntimeException("JSON 형식이 올바르지 않습니다.");
+            }
+            return request;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("JSON 형식이 올바르지 않습니다.");
+        }
+    }
+
+    private void validate(StoreRequest request) {
+        validator.validate(request).stream()
+                .min(Comparator.comparing((ConstraintViolation<StoreRequest> violation) -> violation.getPropertyPath().toString()))
+                .ifPresent(violation -> {
+                    throw new RuntimeException(violation.getMessage());
+                });
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new RuntimeException("위도와 경도는 함께 입력해야 합니다.");
+        }
+    }
+
+    private static Store toStore(StoreRequest request) {
+        return Store.builder()
+                .storeName(request.getStoreName())
+                .description(request.getDescription())
+                .location(request.getLocation())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    // 열 이름을 StoreRequest 필드 이름으로 정규화합니다. 알 수 없는 열은 null로 두어 무시합니다.
+    static String[] parseCsvHeader(String line) {
+        List<String> names = splitCsv(line);
+        String[] columns = new String[names.size()];
+        boolean hasName = false;
+        boolean hasLocation = false;
+        for (int i = 0; i < columns.length; i++) {
+            String name = names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT);
+            columns[i] = switch (name) {
+                case "storename" -> "storeName";
+                case "location", "description", "latitude", "longitude" -> name;
+                default -> null;
+            };
+            hasName |= "storeName".equals(columns[i]);
+            hasLocation |= "location".equals(columns[i]);
+        }
+        if (!hasName || !hasLocation) {
+            throw new RuntimeException("CSV 첫 줄에 storeName, location 열이 필요합니다.");
+        }
+        return columns;
+    }
+
+    static StoreRequest parseCsvRow(String line, String[] columns) {
+        List<String> values = splitCsv(line);
+        if (values.size() != columns.length) {
+            throw new RuntimeException("열 개수가 첫 줄과 다릅니다.");
+        }
+        StoreRequest request = new StoreRequest();
+        for (int i = 0; i < columns.length; i++) {
+            String value = values.get(i);
+            if (columns[i] == null) {
+                continue;
+            }
+            switch (columns[i]) {
+                case "storeName" -> request.setStoreName(value);
+                case "location" -> request.setLocation(value);
+                case "description" -> request.setDescription(value.isEmpty() ? null : value);
+                case "latitude" -> request.setLatitude(parseCoordinate(value, "위도"));
+                case "longitude" -> request.setLongitude(parseCoordinate(value, "경도"));
+                default -> {
+                }
+            }
+        }
+        return request;
+    }
+
+    private static Double parseCoordinate(String value, String label) {
+        if (value.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException(label + "는 숫자여야 합니다.");
+        }
+    }
+
+    // RFC 4180 형식의 한 행을 나눕니다. 큰따옴표로 감싼 값 안의 쉼표와 "" 이스케이프를 지원합니다. (값 안의 줄바꿈은 미지원)
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && value.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new RuntimeException("닫히지 않은 큰따옴표가 있습니다.");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private record Row(long lineNumber, Store store) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.repository.ReviewRepository;
+import com.zerobase.reservation.repository.StoreRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 삭제된 매장 정리 작업입니다.
+ *
+ * 매장 삭제는 삭제 시각만 기록하고, 이 작업이 주기적으로 삭제된 매장의 리뷰, 예약, 매장 행 순으로 실제 삭제합니다.
+ * 한 번에 최대 batch-size 행만 각자의 트랜잭션으로 삭제하고 묶음 사이마다 pause-ms 만큼 쉬어,
+ * 큰 매장도 긴 행 잠금이나 복제 지연 없이 조금씩 지웁니다. 한 주기는 max-run-ms를 넘기지 않고 다음 주기에 이어갑니다.
+ * 진행 상황은 DB에 남은 행 자체이므로 별도로 저장하지 않으며, 중간에 서버가 종료되어도 다음 주기에 남은 행부터 이어서 지웁니다.
+ */
+@Service
+public class StorePurgeService {
+
+    private static final int STORES_PER_RUN = 100;
+
+    private final StoreRepository storeRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReviewRepository reviewRepository;
+    private final StoreDashboardCounters storeDashboardCounters;
+    private final StoreStatsCounters storeStatsCounters;
+    private final StoreRatingAggregates storeRatingAggregates;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final long maxRunNanos;
+    private volatile boolean stopping;
+
+    public StorePurgeService(StoreRepository storeRepository,
+                             ReservationRepository reservationRepository,
+                             ReviewRepository reviewRepository,
+                             StoreDashboardCounters storeDashboardCounters,
+                             StoreStatsCounters storeStatsCounters,
+                             StoreRatingAggregates storeRatingAggregates,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${reservation.store-purge.batch-size:1000}") int batchSize,
+                             @Value("${reservation.store-purge.pause-ms:200}") long pauseMillis,
+                             @Value("${reservation.store-purge.max-run-ms:5000}") long maxRunMillis) {
+        this.storeRepository = storeRepository;
+        this.reservationRepository = reservationRepository;
+        this.reviewRepository = reviewRepository;
+        this.storeDashboardCounters = storeDashboardCounters;
+        this.storeStatsCounters = storeStatsCounters;
+        this.storeRatingAggregates = storeRatingAggregates;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.maxRunNanos = TimeUnit.MILLISECONDS.toNanos(maxRunMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    /**
+     * 삭제된 매장을 ID 순으로 정리합니다.
+     *
+     * @return 이번 주기에 정리를 마친 매장 수
+     */
+    @Scheduled(fixedDelayString = "${reservation.store-purge.interval-ms:10000}")
+    public int purgeDeletedStores() {
+        long deadline = System.nanoTime() + maxRunNanos;
+        int purged = 0;
+        for (Long storeId : storeRepository.findDeletedIds(STORES_PER_RUN)) {
+            if (!purge(storeId, deadline)) {
+                break;
+            }
+            purged++;
+        }
+        return purged;
+    }
+
+    // 리뷰, 예약, 매장 행 순으로 삭제하고, 시간 제한이나 종료로 중단되면 false를 반환합니다.
+    private boolean purge(Long storeId, long deadline) {
+        if (!deleteInBatches(limit -> reviewRepository.deleteByStoreId(storeId, limit), deadline)
+                || !deleteInBatches(limit -> reservationRepository.deleteByStoreId(storeId, limit), deadline)) {
+            return false;
+        }
+        transactionTemplate.executeWithoutResult(status -> storeRepository.purgeDeleted(storeId));
+        storeDashboardCounters.remove(storeId);
+        storeStatsCounters.remove(storeId);
+        storeRatingAggregates.remove(storeId);
+        return true;
+    }
+
+    private boolean deleteInBatches(IntUnaryOperator deleteBatch, long deadline) {
+        while (true) {
+            if (stopping || System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Integer deleted = transactionTemplate.execute(status -> deleteBatch.applyAsInt(batchSize));
+            if (deleted == null || deleted < batchSize) {
+                return true;
+            }
+            if (!pause()) {
+                return false;
+            }
+        }
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
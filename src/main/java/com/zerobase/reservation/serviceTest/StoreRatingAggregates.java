@@ -0,0 +1,188 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.domain.StoreRatingStats;
+import com.zerobase.reservation.repository.ReviewRepository;
+import com.zerobase.reservation.repository.StoreRatingStatsRepository;
+import com.zerobase.reservation.util.VersionedCounterTable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 매장별 평점 집계(리뷰 수, 평점 합계, 1~5점 분포)입니다.
+ *
+ * 리뷰 작성/수정/삭제 트랜잭션이 커밋된 뒤 증감하므로, 평균 평점과 리뷰 수는 리뷰 테이블을 집계(AVG/COUNT)하지 않고 O(1)로 읽습니다.
+ * 수정은 이전 평점과 새 평점의 차이만 반영합니다. 범위(1~5)를 벗어난 기존 평점은 합계에는 그대로, 분포에는 가장 가까운 점수로 들어갑니다.
+ * 변경된 매장만 flush-interval-ms 마다 store_rating_stats 테이블에 일괄 UPSERT하고, 기동 시 이 테이블에서 복원합니다.
+ * 비정상 종료로 잃은 증감처럼 리뷰 테이블과 어긋난 경우는 reconcile-interval-ms 마다 DB 집계와 비교하여 바로잡습니다.
+ */
+@Component
+public class StoreRatingAggregates {
+
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 5;
+
+    private static final int REVIEW_COUNT = 0;
+    private static final int RATING_SUM = 1;
+    // 1점 리뷰 수의 위치, n점은 STAR_BASE + n - 1
+    private static final int STAR_BASE = 2;
+    private static final int WIDTH = STAR_BASE + MAX_RATING;
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final String UPSERT_SQL = "insert into store_rating_stats "
+            + "(store_id, review_count, rating_sum, star1_count, star2_count, star3_count, star4_count, star5_count, updated_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?) on duplicate key update "
+            + "review_count = values(review_count), rating_sum = values(rating_sum), "
+            + "star1_count = values(star1_count), star2_count = values(star2_count), star3_count = values(star3_count), "
+            + "star4_count = values(star4_count), star5_count = values(star5_count), updated_at = values(updated_at)";
+
+    private final StoreRatingStatsRepository statsRepository;
+    private final ReviewRepository reviewRepository;
+    private final StoreDetailsCache storeDetailsCache;
+    private final VersionedCounterTable aggregates;
+
+    public StoreRatingAggregates(StoreRatingStatsRepository statsRepository,
+                                 ReviewRepository reviewRepository,
+                                 StoreDetailsCache storeDetailsCache,
+                                 JdbcTemplate jdbcTemplate) {
+        this.statsRepository = statsRepository;
+        this.reviewRepository = reviewRepository;
+        this.storeDetailsCache = storeDetailsCache;
+        this.aggregates = new VersionedCounterTable(WIDTH, UPSERT_SQL, jdbcTemplate);
+    }
+
+    /**
+     * 저장된 집계를 복원합니다. 저장본이 없으면(최초 배포) 리뷰 테이블을 집계하여 채웁니다.
+     */
+    @PostConstruct
+    public void load() {
+        aggregates.clear();
+        long afterStoreId = 0L;
+        while (true) {
+            List<StoreRatingStats> rows = statsRepository.findByStoreIdGreaterThanOrderByStoreId(
+                    afterStoreId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (StoreRatingStats row : rows) {
+                aggregates.restore(row.getStoreId(), row.getReviewCount(), row.getRatingSum(),
+                        row.getStar1Count(), row.getStar2Count(), row.getStar3Count(), row.getStar4Count(),
+                        row.getStar5Count());
+            }
+            if (rows.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            afterStoreId = rows.get(rows.size() - 1).getStoreId();
+        }
+        if (aggregates.isEmpty()) {
+            reconcile();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    public void onReviewAdded(Long storeId, int rating) {
+        aggregates.update(storeId, values -> {
+            values.incrementAndGet(REVIEW_COUNT);
+            values.addAndGet(RATING_SUM, rating);
+            values.incrementAndGet(starSlot(rating));
+        });
+    }
+
+    public void onReviewUpdated(Long storeId, int oldRating, int newRating) {
+        if (oldRating == newRating) {
+            return;
+        }
+        aggregates.update(storeId, values -> {
+            values.addAndGet(RATING_SUM, newRating - oldRating);
+            values.decrementAndGet(starSlot(oldRating));
+            values.incrementAndGet(starSlot(newRating));
+        });
+    }
+
+    public void onReviewRemoved(Long storeId, int rating) {
+        aggregates.update(storeId, values -> {
+            values.decrementAndGet(REVIEW_COUNT);
+            values.addAndGet(RATING_SUM, -rating);
+            values.decrementAndGet(starSlot(rating));
+        });
+    }
+
+    /**
+     * 매장의 현재 평점 집계를 반환합니다. 리뷰가 한 번도 없었던 매장은 모두 0입니다.
+     */
+    public StoreRating get(Long storeId) {
+        long[] values = aggregates.get(storeId);
+        if (values == null) {
+            return StoreRating.EMPTY;
+        }
+        return new StoreRating(values[REVIEW_COUNT], values[RATING_SUM],
+                Arrays.copyOfRange(values, STAR_BASE, STAR_BASE + MAX_RATING));
+    }
+
+    /**
+     * 실제로 삭제된 매장의 집계와 저장본을 지웁니다.
+     */
+    public void remove(Long storeId) {
+        aggregates.remove(storeId);
+        statsRepository.deleteById(storeId);
+    }
+
+    /**
+     * 마지막 저장 이후 바뀐 매장의 집계를 store_rating_stats 테이블에 저장합니다.
+     *
+     * @return 저장한 매장 수
+     */
+    @Scheduled(fixedDelayString = "${reservation.rating-stats.flush-interval-ms:5000}")
+    public int flush() {
+        return aggregates.flush();
+    }
+
+    /**
+     * 집계를 리뷰 테이블의 매장/평점별 리뷰 수와 비교하여 어긋난 매장을 바로잡고,
+     * 바로잡은 매장은 상세 조회 캐시(평균 평점, 리뷰 수 포함)에서도 지웁니다.
+     *
+     * @return 바로잡은 매장 수
+     */
+    @Scheduled(fixedDelayString = "${reservation.rating-stats.reconcile-interval-ms:3600000}",
+            initialDelayString = "${reservation.rating-stats.reconcile-initial-delay-ms:60000}")
+    public int reconcile() {
+        List<Long> corrected = aggregates.reconcile(() -> {
+            Map<Long, long[]> actual = new HashMap<>();
+            for (ReviewRepository.StoreRatingCount row : reviewRepository.countByStoreAndRating()) {
+                long[] expected = actual.computeIfAbsent(row.getStoreId(), id -> new long[WIDTH]);
+                expected[REVIEW_COUNT] += row.getReviewCount();
+                expected[RATING_SUM] += (long) row.getRating() * row.getReviewCount();
+                expected[starSlot(row.getRating())] += row.getReviewCount();
+            }
+            return actual;
+        });
+        corrected.forEach(storeDetailsCache::invalidate);
+        return corrected.size();
+    }
+
+    private static int starSlot(int rating) {
+        return STAR_BASE + Math.max(MIN_RATING, Math.min(MAX_RATING, rating)) - 1;
+    }
+
+    /**
+     * 한 매장의 평점 집계입니다.
+     *
+     * @param histogram: 1점부터 5점까지의 리뷰 수 (histogram[0]이 1점)
+     */
+    public record StoreRating(long reviewCount, long ratingSum, long[] histogram) {
+
+        static final StoreRating EMPTY = new StoreRating(0, 0, new long[MAX_RATING]);
+
+        public Double averageRating() {
+            return reviewCount > 0 ? (double) ratingSum / reviewCount : null;
+        }
+    }
+}
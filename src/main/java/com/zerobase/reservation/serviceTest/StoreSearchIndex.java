@@ -0,0 +1,323 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.dto.response.StoreResponse;
+import com.zerobase.reservation.repository.StoreRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 매장명/위치/설명에 대한 메모리 역색인(inverted index)입니다.
+ *
+ * 각 필드를 정규화한 뒤 단어별 문자 바이그램(2-gram)으로 나누어 색인하므로, 형태소 분석 없이도
+ * "한식당"으로 "정갈한 한식 전문점"을 찾는 식의 한국어 부분 일치 검색이 가능합니다 (한 글자 단어는 그대로 색인).
+ * 점수는 질의 바이그램이 일치한 필드의 가중치 합(매장명 3, 위치 2, 설명 1)이며,
+ * 질의 바이그램의 절반 이상이 일치한 매장만 점수 내림차순으로 반환합니다.
+ * 기동 시 DB의 매장으로 색인을 만들고, 이후에는 매장 등록/수정/삭제 시 해당 매장만 갱신합니다.
+ */
+@Component
+public class StoreSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MAX_QUERY_LENGTH = 50;
+    private static final int RELOAD_PAGE_SIZE = 10_000;
+
+    private final StoreRepository storeRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Posting> postings = new HashMap<>();
+    private final Map<Long, Integer> docIdsByStoreId = new HashMap<>();
+    private final ThreadLocal<int[]> scratch = ThreadLocal.withInitial(() -> new int[0]);
+    private Document[] documents = new Document[1024];
+    private int[] freeDocIds = new int[16];
+    private int freeCount;
+    private int nextDocId;
+
+    public StoreSearchIndex(StoreRepository storeRepository) {
+        this.storeRepository = storeRepository;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        long afterId = 0L;
+        while (true) {
+            List<StoreResponse> stores = storeRepository.findResponsesAfter(afterId, PageRequest.of(0, RELOAD_PAGE_SIZE));
+            stores.forEach(this::put);
+            if (stores.size() < RELOAD_PAGE_SIZE) {
+                return;
+            }
+            afterId = stores.get(stores.size() - 1).getId();
+        }
+    }
+
+    /**
+     * 매장을 색인하거나, 이미 색인된 매장이면 새 내용으로 교체합니다.
+     */
+    public void put(StoreResponse store) {
+        long[] grams = new long[0];
+        int[] weights = new int[0];
+        Map<Long, Integer> fieldWeights = new HashMap<>();
+        addGrams(fieldWeights, store.getStore_name(), NAME_WEIGHT);
+        addGrams(fieldWeights, store.getLocation(), LOCATION_WEIGHT);
+        addGrams(fieldWeights, store.getDescription(), DESCRIPTION_WEIGHT);
+        if (!fieldWeights.isEmpty()) {
+            grams = new long[fieldWeights.size()];
+            weights = new int[fieldWeights.size()];
+            int i = 0;
+            for (Map.Entry<Long, Integer> entry : fieldWeights.entrySet()) {
+                grams[i] = entry.getKey();
+                weights[i] = entry.getValue();
+                i++;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(store.getId());
+            int docId = allocateDocId();
+            documents[docId] = new Document(store, grams);
+            docIdsByStoreId.put(store.getId(), docId);
+            for (int i = 0; i < grams.length; i++) {
+                postings.computeIfAbsent(grams[i], key -> new Posting()).add(docId, weights[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 매장을 색인에서 제거합니다.
+     */
+    public void remove(Long storeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(storeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByStoreId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 질의와 일치하는 매장을 점수 순으로 조회합니다.
+     *
+     * @param query: 검색어
+     * @param offset: 건너뛸 결과 수
+     * @param limit: 반환할 최대 결과 수
+     * @return 전체 일치 건수와 요청한 구간의 매장 목록
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            return new SearchResult(0, List.of());
+        }
+        String trimmed = query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query;
+        Map<Long, Integer> queryGrams = new HashMap<>();
+        addGrams(queryGrams, trimmed, 1);
+        if (queryGrams.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+        int minMatches = (queryGrams.size() + 1) / 2;
+
+        lock.readLock().lock();
+        try {
+            // 문서별 점수(상위 16비트: 일치한 질의 바이그램 수, 하위 16비트: 가중치 합)를 스레드별 배열에 누적합니다.
+            int[] scores = scratch.get();
+            if (scores.length < nextDocId) {
+                scores = new int[documents.length];
+                scratch.set(scores);
+            }
+            int[] touched = new int[Math.min(nextDocId, 1024)];
+            int touchedCount = 0;
+            for (Long gram : queryGrams.keySet()) {
+                Posting posting = postings.get(gram);
+                if (posting == null) {
+                    continue;
+                }
+                for (int i = 0; i < posting.size; i++) {
+                    int docId = posting.docIds[i];
+                    if (scores[docId] == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touched.length * 2);
+                        }
+                        touched[touchedCount++] = docId;
+                    }
+                    scores[docId] += (1 << 16) + posting.weights[i];
+                }
+            }
+
+            // (점수 내림차순, 문서 번호 오름차순) 정렬 키 중 앞쪽 offset + limit개만 최대 힙으로 골라냅니다.
+            // 흔한 바이그램으로 후보가 많아도 전체를 정렬하지 않습니다.
+            int k = (int) Math.min((long) offset + limit, touchedCount);
+            long[] heap = new long[k];
+            int heapSize = 0;
+            int matched = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int docId = touched[i];
+                int score = scores[docId];
+                scores[docId] = 0;
+                if ((score >>> 16) < minMatches) {
+                    continue;
+                }
+                matched++;
+                long key = ((long) (Integer.MAX_VALUE - score) << 32) | docId;
+                if (heapSize < k) {
+                    heap[heapSize] = key;
+                    siftUp(heap, heapSize++);
+                } else if (k > 0 && key < heap[0]) {
+                    heap[0] = key;
+                    siftDown(heap, heapSize);
+                }
+            }
+            Arrays.sort(heap, 0, heapSize);
+            List<StoreResponse> items = new ArrayList<>();
+            for (int i = offset; i < heapSize; i++) {
+                items.add(documents[(int) heap[i]].store());
+            }
+            return new SearchResult(matched, items);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 문자열을 정규화하여 단어별 문자 바이그램으로 나눕니다.
+     * 전각/반각 등은 NFKC로 통일하고 소문자로 바꾸며, 글자/숫자가 아닌 문자는 단어 구분자로 취급합니다.
+     * 바이그램은 두 코드 포인트를 하나의 long으로 묶어 표현하고, 한 글자 단어는 (코드 포인트, 0)으로 표현합니다.
+     */
+    static void addGrams(Map<Long, Integer> grams, String text, int weight) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        int[] codePoints = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase().codePoints().toArray();
+        int wordStart = 0;
+        for (int i = 0; i <= codePoints.length; i++) {
+            if (i < codePoints.length && Character.isLetterOrDigit(codePoints[i])) {
+                continue;
+            }
+            int length = i - wordStart;
+            if (length == 1) {
+                grams.merge((long) codePoints[wordStart] << 32, weight, Math::max);
+            }
+            for (int j = wordStart; j + 1 < i; j++) {
+                grams.merge(((long) codePoints[j] << 32) | codePoints[j + 1], weight, Math::max);
+            }
+            wordStart = i + 1;
+        }
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] >= heap[index]) {
+                return;
+            }
+            long tmp = heap[parent];
+            heap[parent] = heap[index];
+            heap[index] = tmp;
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int index = 0;
+        while (true) {
+            int largest = index;
+            int left = index * 2 + 1;
+            int right = left + 1;
+            if (left < size && heap[left] > heap[largest]) {
+                largest = left;
+            }
+            if (right < size && heap[right] > heap[largest]) {
+                largest = right;
+            }
+            if (largest == index) {
+                return;
+            }
+            long tmp = heap[largest];
+            heap[largest] = heap[index];
+            heap[index] = tmp;
+            index = largest;
+        }
+    }
+
+    private void removeLocked(Long storeId) {
+        Integer docId = docIdsByStoreId.remove(storeId);
+        if (docId == null) {
+            return;
+        }
+        for (long gram : documents[docId].grams()) {
+            Posting posting = postings.get(gram);
+            if (posting != null && posting.remove(docId) && posting.size == 0) {
+                postings.remove(gram);
+            }
+        }
+        documents[docId] = null;
+        if (freeCount == freeDocIds.length) {
+            freeDocIds = Arrays.copyOf(freeDocIds, freeDocIds.length * 2);
+        }
+        freeDocIds[freeCount++] = docId;
+    }
+
+    private int allocateDocId() {
+        if (freeCount > 0) {
+            return freeDocIds[--freeCount];
+        }
+        if (nextDocId == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        return nextDocId++;
+    }
+
+    public record SearchResult(int total, List<StoreResponse> items) {
+    }
+
+    private record Document(StoreResponse store, long[] grams) {
+    }
+
+    // 바이그램 하나의 게시 목록 (문서 번호와 가중치의 원시 배열)
+    private static class Posting {
+        private int[] docIds = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        private void add(int docId, int weight) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docIds[size] = docId;
+            weights[size] = weight;
+            size++;
+        }
+
+        // 마지막 항목을 삭제 위치로 옮겨 제거합니다. (게시 목록은 순서를 유지하지 않습니다)
+        private boolean remove(int docId) {
+            for (int i = 0; i < size; i++) {
+                if (docIds[i] == docId) {
+                    size--;
+                    docIds[i] = docIds[size];
+                    weights[i] = weights[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
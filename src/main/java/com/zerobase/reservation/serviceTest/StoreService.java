@@ -4,18 +4,46 @@ import com.zerobase.reservation.domain.Member;
 import com.zerobase.reservation.enums.Role;
 import com.zerobase.reservation.domain.Store;
 import com.zerobase.reservation.dto.request.StoreRequest;
+import com.zerobase.reservation.dto.response.NearbyStoreResponse;
+import com.zerobase.reservation.dto.response.StoreAvailabilityResponse;
+import com.zerobase.reservation.dto.response.StoreResponse;
+import com.zerobase.reservation.dto.response.StoreSearchResponse;
 import com.zerobase.reservation.repository.MemberRepository;
 import com.zerobase.reservation.repository.StoreRepository;
+import com.zerobase.reservation.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class StoreService {
+    private static final int MAX_AVAILABILITY_DAYS = 31;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_NEARBY_LIMIT = 100;
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+    private static final int MAX_AUTOCOMPLETE_LIMIT = StoreAutocompleteIndex.MAX_LIMIT;
+
     private final StoreRepository storeRepository;
     private final MemberRepository memberRepository;
+    private final SlotInventory slotInventory;
+    private final WaitlistService waitlistService;
+    private final ReservationLifecycleService reservationLifecycleService;
+    private final StoreSearchIndex storeSearchIndex;
+    private final StoreGeoIndex storeGeoIndex;
+    private final StoreAutocompleteIndex storeAutocompleteIndex;
+    private final StoreDetailsCache storeDetailsCache;
+    private final StoreStatsCounters storeStatsCounters;
+    private final StoreRatingAggregates storeRatingAggregates;
+    private final ReviewVersions reviewVersions;
 
     /**
      * 매장 등록 메서드
@@ -23,12 +51,13 @@ public class StoreService {
      * 파트너 회원만 매장을 등록할 수 있습니다.
      * 파트너 회원 정보와 요청받은 매장 정보를 바탕으로 새로운 매장을 생성 및 저장합니다.
      *
-     * @param request: 매장 등록 요청 DTO (storeName, location, description)
+     * @param request: 매장 등록 요청 DTO (storeName, location, description, latitude, longitude)
      * @param partnerId: 매장 등록 요청을 하는 파트너 회원의 ID
      * @return 저장된 Store 엔티티
      * @throws RuntimeException 파트너 회원이 존재하지 않거나 권한이 없는 경우 예외 발생
      */
     public Store registerStore(StoreRequest request, Long partnerId) {
+        validateCoordinates(request);
         Member partner = memberRepository.findById(partnerId)
                 .orElseThrow(() -> new RuntimeException("파트너 회원이 존재하지 않습니다."));
         if (!partner.getRole().equals(Role.PARTNER)) {
@@ -38,10 +67,19 @@ public class StoreService {
                 .storeName(request.getStoreName())
                 .description(request.getDescription())
                 .location(request.getLocation())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
                 .owner(partner)
                 .createdAt(LocalDateTime.now())
                 .build();
-        return storeRepository.save(store);
+        Store saved = storeRepository.save(store);
+        StoreResponse indexed = new StoreResponse(saved);
+        TransactionCallbacks.afterCommit(() -> {
+            storeSearchIndex.put(indexed);
+            storeGeoIndex.put(indexed);
+            storeAutocompleteIndex.put(indexed);
+        });
+        return saved;
     }
 
     /**
@@ -51,12 +89,13 @@ public class StoreService {
      * 요청받은 매장 정보를 바탕으로 매장 정보를 업데이트합니다.
      *
      * @param storeId: 수정할 매장의 ID
-     * @param request: 매장 수정 요청 DTO (storeName, location, description)
+     * @param request: 매장 수정 요청 DTO (storeName, location, description, latitude, longitude)
      * @param partnerId:수정 요청을 하는 파트너 회원의 ID
      * @return 업데이트된 Store 엔티티
      * @throws RuntimeException 매장이 존재하지 않거나 수정 권한이 없는 경우 예외 발생
      */
     public Store updateStore(Long storeId, StoreRequest request, Long partnerId) {
+        validateCoordinates(request);
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new RuntimeException("매장이 존재하지 않습니다."));
         if (!store.getOwner().getId().equals(partnerId)) {
@@ -65,8 +104,18 @@ public class StoreService {
         store.setStoreName(request.getStoreName());
         store.setDescription(request.getDescription());
         store.setLocation(request.getLocation());
+        store.setLatitude(request.getLatitude());
+        store.setLongitude(request.getLongitude());
         store.setUpdatedAt(LocalDateTime.now());
-        return storeRepository.save(store);
+        Store saved = storeRepository.save(store);
+        StoreResponse indexed = new StoreResponse(saved);
+        TransactionCallbacks.afterCommit(() -> {
+            storeDetailsCache.invalidate(storeId);
+            storeSearchIndex.put(indexed);
+            storeGeoIndex.put(indexed);
+            storeAutocompleteIndex.put(indexed);
+        });
+        return saved;
     }
 
     /**
@@ -74,6 +123,9 @@ public class StoreService {
      *
      * 매장 등록자(소유자)만 해당 매장을 삭제할 수 있습니다.
      * 삭제 권한이 없는 경우 예외를 발생시킵니다.
+     * 매장 행에 삭제 시각만 기록하여(소프트 삭제) 요청 안에서 예약/리뷰를 연쇄 삭제하지 않으며,
+     * 삭제된 매장은 바로 모든 조회에서 제외됩니다. 실제 행 삭제는 {@link StorePurgeService}가 나누어 수행합니다.
+     * 커밋 후에는 메모리의 슬롯 재고, 대기열, 수명 주기 타이머에서도 매장을 지워 더 이상 예약 상태가 바뀌지 않게 합니다.
      *
      * @param storeId: 삭제할 매장의 ID
      * @param partnerId: 삭제 요청을 하는 파트너 회원의 ID
@@ -85,20 +137,210 @@ public class StoreService {
         if (!store.getOwner().getId().equals(partnerId)) {
             throw new RuntimeException("삭제 권한이 없습니다.");
         }
-        storeRepository.delete(store);
+        store.setDeletedAt(LocalDateTime.now());
+        storeRepository.save(store);
+        TransactionCallbacks.afterCommit(() -> {
+            storeDetailsCache.invalidate(storeId);
+            storeSearchIndex.remove(storeId);
+            storeGeoIndex.remove(storeId);
+            storeAutocompleteIndex.remove(storeId);
+            slotInventory.evictStore(storeId);
+            waitlistService.evictStore(storeId);
+            reservationLifecycleService.evictStore(storeId);
+        });
     }
 
     /**
      * 매장 상세 조회 메서드
      *
      * 주어진 매장 ID에 해당하는 매장 정보를 조회하여 반환합니다.
+     * 엔티티를 영속성 컨텍스트에 올리지 않고 응답 DTO로 바로 조회하며, 리뷰 수와 평균 평점은 메모리 평점 집계에서 채웁니다.
+     * 응답에 평점이 포함되므로 마지막 변경 시각은 매장 변경 시각과 리뷰 변경 시각 중 늦은 쪽입니다.
      *
      * @param storeId: 조회할 매장의 ID
-     * @return 조회된 Store 엔티티
+     * @return 조회된 매장 정보 응답 DTO
      * @throws RuntimeException: 매장이 존재하지 않을 경우 예외 발생
      */
-    public Store getStoreDetails(Long storeId) {
-        return storeRepository.findById(storeId)
+    public StoreResponse getStoreDetails(Long storeId) {
+        StoreResponse store = storeRepository.findResponseById(storeId)
                 .orElseThrow(() -> new RuntimeException("매장이 존재하지 않습니다."));
+        StoreResponse details = withRating(store);
+        LocalDateTime reviewsModifiedAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(reviewVersions.stamp(storeId).lastModified()), ZoneId.systemDefault());
+        if (details.getModifiedAt() == null || reviewsModifiedAt.isAfter(details.getModifiedAt())) {
+            details.setModifiedAt(reviewsModifiedAt);
+        }
+        return details;
+    }
+
+    /**
+     * 매장 정보 응답 DTO에 리뷰 수와 평균 평점을 더한 사본을 반환합니다.
+     * 리뷰 테이블을 집계하지 않고 메모리 평점 집계를 읽으므로 매장마다 O(1)입니다.
+     *
+     * @param store: 매장 정보 응답 DTO (색인이 공유하는 객체일 수 있으므로 변경하지 않음)
+     * @return 리뷰 수와 평균 평점이 채워진 응답 DTO
+     */
+    public StoreResponse withRating(StoreResponse store) {
+        StoreRatingAggregates.StoreRating rating = storeRatingAggregates.get(store.getId());
+        return new StoreResponse(store, rating.reviewCount(), rating.averageRating());
+    }
+
+    /**
+     * 매장 검색 메서드
+     *
+     * 매장명, 위치, 설명을 문자 바이그램으로 색인한 메모리 역색인에서 검색하며, DB를 조회하지 않습니다.
+     * 결과는 매장명 > 위치 > 설명 순으로 가중치를 둔 관련도 순으로 정렬됩니다.
+     *
+     * @param query: 검색어
+     * @param page: 페이지 번호 (0부터 시작)
+     * @param size: 페이지 크기 (최대 100)
+     * @return 전체 일치 건수와 해당 페이지의 매장 목록
+     * @throws RuntimeException: 검색어가 비어 있거나 페이지 정보가 올바르지 않은 경우 예외 발생
+     */
+    public StoreSearchResponse searchStores(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("검색어를 입력해주세요.");
+        }
+        if (page < 0) {
+            throw new RuntimeException("페이지 번호는 0 이상이어야 합니다.");
+        }
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new RuntimeException("페이지 크기는 1 이상 " + MAX_SEARCH_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        long offset = (long) page * size;
+        StoreSearchIndex.SearchResult result = storeSearchIndex.search(query, (int) Math.min(offset, Integer.MAX_VALUE), size);
+        return new StoreSearchResponse(result.total(), page, size, result.items().stream().map(this::withRating).toList());
+    }
+
+    /**
+     * 매장명 자동완성 메서드
+     *
+     * 매장명을 한글 자모 단위로 색인한 메모리 접두어 색인에서 조회하며, DB를 조회하지 않습니다.
+     * 입력 중인 글자("강", "가ㄴ")도 접두어로 일치하며, 결과는 최근 예약 수가 많은 순으로 정렬됩니다.
+     *
+     * @param query: 입력 중인 검색어 (비어 있으면 빈 목록)
+     * @param limit: 반환할 최대 매장 수 (최대 20)
+     * @return 인기도 순으로 정렬된 매장 목록
+     * @throws RuntimeException: 조회 개수가 올바르지 않은 경우 예외 발생
+     */
+    public List<StoreResponse> autocompleteStores(String query, int limit) {
+        if (limit < 1 || limit > MAX_AUTOCOMPLETE_LIMIT) {
+            throw new RuntimeException("조회 개수는 1 이상 " + MAX_AUTOCOMPLETE_LIMIT + " 이하여야 합니다.");
+        }
+        return storeAutocompleteIndex.suggest(query, limit).stream().map(this::withRating).toList();
+    }
+
+    /**
+     * 매장 상세 조회 응답(JSON) 메서드
+     *
+     * 자주 조회되는 매장은 직렬화된 JSON 바이트를 캐시에서 바로 반환하고, 캐시에 없을 때만 DB를 조회합니다.
+     * 캐시 항목은 매장 수정/삭제와 리뷰 작성/수정/삭제 시 무효화됩니다. 조회할 때마다 매장 조회 수 카운터를 올립니다.
+     *
+     * @param storeId: 조회할 매장의 ID
+     * @return 매장 상세 정보 응답 DTO의 JSON 바이트와 ETag, 마지막 변경 시각
+     * @throws RuntimeException: 매장이 존재하지 않을 경우 예외 발생
+     */
+    public StoreDetailsCache.CachedDetails getCachedStoreDetails(Long storeId) {
+        StoreDetailsCache.CachedDetails details = storeDetailsCache.get(storeId, this::getStoreDetails);
+        storeStatsCounters.recordView(storeId);
+        return details;
+    }
+
+    /**
+     * 주변 매장 조회 메서드
+     *
+     * 위경도 격자 버킷으로 나눈 메모리 공간 색인에서 기준 지점과 가까운 매장을 찾으며, DB를 조회하지 않습니다.
+     * 좌표를 등록하지 않은 매장은 결과에 포함되지 않습니다.
+     *
+     * @param latitude: 기준 위도
+     * @param longitude: 기준 경도
+     * @param limit: 반환할 최대 매장 수 (최대 100)
+     * @param radiusKm: 검색 반경(km, 최대 50)
+     * @return 거리순으로 정렬된 매장과 거리(m) 목록
+     * @throws RuntimeException: 좌표나 조회 조건이 올바르지 않은 경우 예외 발생
+     */
+    public List<NearbyStoreResponse> findNearbyStores(double latitude, double longitude, int limit, double radiusKm) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new RuntimeException("위경도 좌표가 올바르지 않습니다.");
+        }
+        if (limit < 1 || limit > MAX_NEARBY_LIMIT) {
+            throw new RuntimeException("조회 개수는 1 이상 " + MAX_NEARBY_LIMIT + " 이하여야 합니다.");
+        }
+        if (!(radiusKm > 0) || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new RuntimeException("검색 반경은 0km 초과 " + (int) MAX_NEARBY_RADIUS_KM + "km 이하여야 합니다.");
+        }
+        List<NearbyStoreResponse> stores = new ArrayList<>();
+        for (StoreGeoIndex.Hit hit : storeGeoIndex.nearest(latitude, longitude, limit, radiusKm)) {
+            stores.add(new NearbyStoreResponse(withRating(hit.store()), Math.round(hit.distanceKm() * 1000)));
+        }
+        return stores;
+    }
+
+    /**
+     * 매장이 존재하는지 확인합니다. (삭제된 매장은 존재하지 않는 것으로 봅니다.)
+     * 슬롯 재고는 없는 매장도 빈 재고(모든 자리가 남은 상태)로 답하므로, 예약 가능 시간 조회 전에 호출합니다.
+     *
+     * @param storeId: 확인할 매장의 ID
+     * @throws RuntimeException: 매장이 존재하지 않는 경우 예외 발생
+     */
+    public void validateStore(Long storeId) {
+        if (!storeRepository.existsById(storeId)) {
+            throw new RuntimeException("매장이 존재하지 않습니다.");
+        }
+    }
+
+    /**
+     * 매장 예약 가능 시간 조회 메서드
+     *
+     * 슬롯 재고의 날짜별 카운터 배열만 읽어 기간 내 자리가 남은 시간 버킷을 반환하며, DB를 조회하지 않습니다.
+     * 매장 존재 여부는 확인하지 않으므로 호출하는 쪽에서 validateStore로 먼저 확인합니다.
+     *
+     * @param storeId: 조회할 매장의 ID
+     * @param from: 조회 시작 날짜
+     * @param to: 조회 종료 날짜 (포함)
+     * @return 날짜별 예약 가능 시간과 남은 자리 수
+     * @throws RuntimeException: 기간이 올바르지 않거나 최대 조회 기간을 넘는 경우 예외 발생
+     */
+    public StoreAvailabilityResponse getAvailability(Long storeId, LocalDate from, LocalDate to) {
+        validateAvailabilityRange(from, to);
+        int slotMinutes = slotInventory.getSlotMinutes();
+        List<StoreAvailabilityResponse.DayAvailability> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            int[] remaining = slotInventory.remainingSlots(storeId, date);
+            List<StoreAvailabilityResponse.FreeSlot> slots = new ArrayList<>();
+            for (int i = 0; i < remaining.length; i++) {
+                if (remaining[i] > 0) {
+                    slots.add(new StoreAvailabilityResponse.FreeSlot(
+                            LocalTime.MIDNIGHT.plusMinutes((long) i * slotMinutes), remaining[i]));
+                }
+            }
+            days.add(new StoreAvailabilityResponse.DayAvailability(date, slots));
+        }
+        return new StoreAvailabilityResponse(storeId, slotMinutes, days);
+    }
+
+    /**
+     * 매장 예약 가능 시간 조회 결과의 ETag를 반환합니다.
+     * 매장의 슬롯 재고 버전과 조회 기간으로 만들어지며, 재고가 바뀌지 않는 동안 같은 값을 가집니다.
+     * 조회 결과보다 먼저 계산해야 합니다.
+     */
+    public String getAvailabilityETag(Long storeId, LocalDate from, LocalDate to) {
+        validateAvailabilityRange(from, to);
+        return "\"" + slotInventory.version(storeId) + "-" + from + "-" + to + "\"";
+    }
+
+    private void validateCoordinates(StoreRequest request) {
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new RuntimeException("위도와 경도는 함께 입력해야 합니다.");
+        }
+    }
+
+    private void validateAvailabilityRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("조회 종료 날짜가 시작 날짜보다 빠릅니다.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_AVAILABILITY_DAYS) {
+            throw new RuntimeException("조회 기간은 최대 " + MAX_AVAILABILITY_DAYS + "일입니다.");
+        }
     }
 }
@@ -0,0 +1,181 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.domain.StoreStats;
+import com.zerobase.reservation.repository.StoreStatsRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 매장별 조회 수/방문 수 카운터입니다.
+ *
+ * 매장 상세 조회와 방문 확인마다 행을 쓰지 않고, 매장별 LongAdder(스레드마다 나뉜 셀에 더하는 카운터)를 올리기만 합니다.
+ * flush-interval-ms 마다 마지막 저장 이후 늘어난 양만 store_stats 테이블에 JDBC 배치 UPSERT로 더하므로,
+ * 비정상 종료 시 잃는 값은 최대 한 주기 분량입니다.
+ * LongAdder는 줄어들지 않으므로 "현재 합계 - 저장한 합계"를 저장할 양으로 쓰면, 저장 도중 들어온 증가분도 빠짐없이 다음 주기에 저장됩니다.
+ * 누적값(저장된 값 + 저장 전 증가분)은 순위 계산 등에 쓸 수 있도록 get으로 제공합니다.
+ */
+@Component
+public class StoreStatsCounters {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+    private static final String UPSERT_SQL = "insert into store_stats (store_id, view_count, visit_count, updated_at) "
+            + "values (?, ?, ?, ?) on duplicate key update view_count = view_count + values(view_count), "
+            + "visit_count = visit_count + values(visit_count), updated_at = values(updated_at)";
+
+    private final StoreStatsRepository statsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+    // 정리된 매장 ID, 정리 전에 시작된 커밋 후 증가가 카운터와 저장된 행을 되살리지 않도록 무시합니다.
+    private final Set<Long> removed = ConcurrentHashMap.newKeySet();
+
+    public StoreStatsCounters(StoreStatsRepository statsRepository,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 저장된 누적값을 불러옵니다.
+     */
+    @PostConstruct
+    public void load() {
+        counters.clear();
+        long afterStoreId = 0L;
+        while (true) {
+            List<StoreStats> rows = statsRepository.findByStoreIdGreaterThanOrderByStoreId(
+                    afterStoreId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (StoreStats row : rows) {
+                counters.put(row.getStoreId(), new Counter(row.getViewCount(), row.getVisitCount()));
+            }
+            if (rows.size() < LOAD_PAGE_SIZE) {
+                return;
+            }
+            afterStoreId = rows.get(rows.size() - 1).getStoreId();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    public void recordView(Long storeId) {
+        if (!removed.contains(storeId)) {
+            counterOf(storeId).views.increment();
+        }
+    }
+
+    public void recordVisit(Long storeId) {
+        if (!removed.contains(storeId)) {
+            counterOf(storeId).visits.increment();
+        }
+    }
+
+    /**
+     * 매장의 누적 조회 수와 방문 수를 반환합니다. 아직 저장되지 않은 증가분도 포함합니다.
+     */
+    public StoreStatsSnapshot get(Long storeId) {
+        Counter counter = counters.get(storeId);
+        if (counter == null) {
+            return StoreStatsSnapshot.EMPTY;
+        }
+        return new StoreStatsSnapshot(counter.loadedViews + counter.views.sum(),
+                counter.loadedVisits + counter.visits.sum());
+    }
+
+    /**
+     * 실제로 삭제된 매장의 카운터와 저장된 행을 지웁니다.
+     */
+    public void remove(Long storeId) {
+        removed.add(storeId);
+        counters.remove(storeId);
+        statsRepository.deleteById(storeId);
+    }
+
+    /**
+     * 마지막 저장 이후 늘어난 조회 수/방문 수를 저장합니다.
+     * 묶음마다 한 트랜잭션으로 저장하고 커밋된 묶음만 저장한 것으로 표시하므로, 실패한 묶음은 중복 없이 다음 주기에 다시 저장됩니다.
+     *
+     * @return 저장한 매장 수
+     */
+    @Scheduled(fixedDelayString = "${reservation.store-stats.flush-interval-ms:3000}")
+    public synchronized int flush() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        List<Pending> pending = new ArrayList<>();
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            if (removed.contains(entry.getKey())) {
+                counters.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+            Counter counter = entry.getValue();
+            long views = counter.views.sum();
+            long visits = counter.visits.sum();
+            if (views == counter.flushedViews && visits == counter.flushedVisits) {
+                continue;
+            }
+            rows.add(new Object[]{entry.getKey(), views - counter.flushedViews, visits - counter.flushedVisits, now});
+            pending.add(new Pending(counter, views, visits));
+        }
+        for (int from = 0; from < rows.size(); from += FLUSH_CHUNK_SIZE) {
+            int to = Math.min(rows.size(), from + FLUSH_CHUNK_SIZE);
+            List<Object[]> chunk = rows.subList(from, to);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, chunk));
+            for (Pending saved : pending.subList(from, to)) {
+                saved.counter().flushedViews = saved.views();
+                saved.counter().flushedVisits = saved.visits();
+            }
+        }
+        return rows.size();
+    }
+
+    private Counter counterOf(Long storeId) {
+        Counter counter = counters.get(storeId);
+        return counter != null ? counter : counters.computeIfAbsent(storeId, id -> new Counter(0L, 0L));
+    }
+
+    private static final class Counter {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder visits = new LongAdder();
+        // 기동 시 불러온 누적값
+        private final long loadedViews;
+        private final long loadedVisits;
+        // 이미 저장한 증가분 (flush에서만 읽고 씀)
+        private long flushedViews;
+        private long flushedVisits;
+
+        private Counter(long loadedViews, long loadedVisits) {
+            this.loadedViews = loadedViews;
+            this.loadedVisits = loadedVisits;
+        }
+    }
+
+    private record Pending(Counter counter, long views, long visits) {
+    }
+
+    /**
+     * 한 매장의 누적 조회 수와 방문 수입니다.
+     */
+    public record StoreStatsSnapshot(long viewCount, long visitCount) {
+
+        static final StoreStatsSnapshot EMPTY = new StoreStatsSnapshot(0, 0);
+    }
+}
@@ -0,0 +1,219 @@
+package com.zerobase.reservation.serviceTest;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 매장 단위 단일 작성자(single-writer) 예약 변경 파이프라인입니다.
+ *
+ * 같은 매장 ID의 변경 작업은 항상 같은 샤드로 전달되어 하나의 전용 스레드에서 순서대로 실행되므로,
+ * 한 매장에 대한 변경은 잠금 없이 직렬화되고 서로 다른 매장은 여러 코어로 분산됩니다.
+ * 각 샤드는 한 번의 드레인 주기에 모인 작업을 하나의 트랜잭션으로 묶어 처리(micro-batch)하며,
+ * 묶음 중 하나라도 실패하면 묶음 전체를 롤백한 뒤 작업별 트랜잭션으로 다시 실행합니다.
+ * 작업에서 Error가 발생해도 작업 결과를 예외로 완료하고 샤드 스레드는 계속 동작합니다.
+ *
+ * reservation.pipeline.enabled=true 일 때만 동작합니다.
+ */
+@Component
+public class StoreWritePipeline {
+
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int shardCount;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long submitTimeoutMillis;
+    private final long resultTimeoutMillis;
+    private Shard[] shards;
+
+    public StoreWritePipeline(PlatformTransactionManager transactionManager,
+                              @Value("${reservation.pipeline.enabled:false}") boolean enabled,
+                              @Value("${reservation.pipeline.shards:0}") int shardCount,
+                              @Value("${reservation.pipeline.queue-capacity:1024}") int queueCapacity,
+                              @Value("${reservation.pipeline.batch-size:32}") int batchSize,
+                              @Value("${reservation.pipeline.submit-timeout-ms:1000}") long submitTimeoutMillis,
+                              @Value("${reservation.pipeline.result-timeout-ms:10000}") long resultTimeoutMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.shardCount = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.submitTimeoutMillis = submitTimeoutMillis;
+        this.resultTimeoutMillis = resultTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+            shards[i].worker.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (shards == null) {
+            return;
+        }
+        for (Shard shard : shards) {
+            shard.running = false;
+        }
+        for (Shard shard : shards) {
+            shard.worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 매장 ID에 해당하는 샤드에 변경 작업을 전달하고, 작업이 커밋될 때까지 기다립니다.
+     * 제한 시간 안에 결과가 나오지 않았을 때 작업이 아직 시작되지 않았으면 작업을 거두고 다시 시도하도록 안내합니다.
+     *
+     * @param storeId: 작업 대상 매장의 ID (샤드 선택 기준)
+     * @param mutation: 샤드의 트랜잭션 안에서 실행할 변경 작업
+     * @return 변경 작업의 결과
+     * @throws RuntimeException: 샤드 큐가 가득 찬 경우, 제한 시간 안에 결과가 나오지 않은 경우 또는 작업이 실패한 경우 예외 발생
+     */
+    public <T> T execute(Long storeId, Supplier<T> mutation) {
+        Task<T> task = new Task<>(mutation);
+        Shard shard = shards[Math.floorMod(storeId.hashCode(), shards.length)];
+        try {
+            if (!shard.queue.offer(task, submitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("요청이 많아 잠시 후 다시 시도해주세요.");
+            }
+            return task.future.get(resultTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (task.withdraw()) {
+                throw new RuntimeException("요청이 많아 잠시 후 다시 시도해주세요.");
+            }
+            // 이미 실행 중인 작업은 커밋될 수 있으므로 다시 시도하도록 안내하지 않습니다.
+            throw new RuntimeException("요청 처리 결과를 확인하지 못했습니다. 예약 내역을 확인해주세요.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("요청 처리가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void runBatch(List<Task<?>> batch) {
+        // 기다리다 거두어진 작업은 실행하지 않습니다.
+        batch.removeIf(task -> !task.start());
+        if (batch.size() > 1) {
+            Boolean committed;
+            try {
+                committed = transactionTemplate.execute(status -> {
+                    for (Task<?> task : batch) {
+                        try {
+                            task.run();
+                        } catch (Throwable e) {
+                            status.setRollbackOnly();
+                            return false;
+                        }
+                    }
+                    return true;
+                });
+            } catch (Throwable e) {
+                committed = false;
+            }
+            if (Boolean.TRUE.equals(committed)) {
+                batch.forEach(Task::complete);
+                return;
+            }
+        }
+        // 단건이거나 묶음 처리에 실패한 경우 작업별 트랜잭션으로 실행합니다.
+        for (Task<?> task : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> task.run());
+                task.complete();
+            } catch (Throwable e) {
+                task.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private class Shard {
+        private final BlockingQueue<Task<?>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Thread worker;
+        private volatile boolean running = true;
+
+        private Shard(int index) {
+            this.worker = new Thread(this::drain, "store-writer-" + index);
+        }
+
+        private void drain() {
+            List<Task<?>> batch = new ArrayList<>(batchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    Task<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    runBatch(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Throwable e) {
+                    // 결과가 정해지지 않은 작업을 실패로 완료하고, 샤드 스레드는 다음 작업을 계속 처리합니다.
+                    batch.forEach(task -> task.future.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private static class Task<T> {
+        private final Supplier<T> mutation;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        // 0: 대기, 1: 실행 시작, 2: 호출한 쪽에서 거둠
+        private final AtomicInteger state = new AtomicInteger();
+        private T result;
+
+        private Task(Supplier<T> mutation) {
+            this.mutation = mutation;
+        }
+
+        private boolean start() {
+            return state.compareAndSet(0, 1);
+        }
+
+        private boolean withdraw() {
+            return state.compareAndSet(0, 2);
+        }
+
+        private void run() {
+            result = mutation.get();
+        }
+
+        private void complete() {
+            future.complete(result);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.enums.ReservationStatus;
+import com.zerobase.reservation.event.ReservationPromotedEvent;
+import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 매장/시간 슬롯별 예약 대기열 서비스입니다.
+ *
+ * 정원이 찬 슬롯에 대기 등록한 예약(WAITLISTED)을 슬롯마다 요청 시각 순으로 정렬된 트리로 메모리에 보관합니다.
+ * 거절이나 응답 기한 만료로 자리가 나면, 자리를 비운 트랜잭션 안에서 가장 먼저 대기한 예약을
+ * REQUESTED로 승격하고 슬롯 점유를 그대로 넘겨줍니다. 대기자가 없으면 커밋 후 슬롯을 반환합니다.
+ * 승격/취소는 트리 연산과 기본 키 UPDATE 한 번으로 처리되어 O(log n)이며 테이블을 탐색하지 않습니다.
+ * 기동 시 DB의 WAITLISTED 예약으로 대기열을 다시 구성합니다.
+ * 삭제된 매장의 대기 예약은 승격하지 않으며, 매장 삭제가 커밋되면 그 매장의 대기열을 버립니다.
+ */
+@Service
+public class WaitlistService {
+
+    private static final int RELOAD_PAGE_SIZE = 10_000;
+    private static final int EXPIRE_CHUNK_SIZE = 1000;
+
+    private final ReservationRepository reservationRepository;
+    private final SlotInventory slotInventory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StoreDashboardCounters storeDashboardCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<SlotKey, Waitlist> waitlists = new ConcurrentHashMap<>();
+
+    public WaitlistService(ReservationRepository reservationRepository,
+                           SlotInventory slotInventory,
+                           ApplicationEventPublisher eventPublisher,
+                           StoreDashboardCounters storeDashboardCounters,
+                           PlatformTransactionManager transactionManager) {
+        this.reservationRepository = reservationRepository;
+        this.slotInventory = slotInventory;
+        this.eventPublisher = eventPublisher;
+        this.storeDashboardCounters = storeDashboardCounters;
+        // 커밋 후 콜백에서도 호출되므로 항상 새 트랜잭션으로 실행합니다.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        waitlists.clear();
+        LocalDateTime from = LocalDateTime.now();
+        long afterId = 0L;
+        while (true) {
+            List<ReservationRepository.WaitlistEntry> entries =
+                    reservationRepository.findWaitlisted(afterId, from, PageRequest.of(0, RELOAD_PAGE_SIZE));
+            for (ReservationRepository.WaitlistEntry entry : entries) {
+                add(new Waiter(entry.getId(), entry.getStoreId(), entry.getReservationDateTime(), entry.getCreatedAt()));
+            }
+            if (entries.size() < RELOAD_PAGE_SIZE) {
+                return;
+            }
+            afterId = entries.get(entries.size() - 1).getId();
+        }
+    }
+
+    /**
+     * 커밋된 대기 예약을 대기열에 추가합니다.
+     * 대기 등록 사이에 자리가 났을 수 있으므로, 남은 자리가 있으면 바로 대기열 앞의 예약을 승격합니다.
+     */
+    public void join(Long reservationId, Long storeId, LocalDateTime reservationDateTime, LocalDateTime requestedAt) {
+        add(new Waiter(reservationId, storeId, reservationDateTime, requestedAt));
+        fillVacancies(storeId, reservationDateTime);
+    }
+
+    /**
+     * 대기 취소된 예약을 대기열에서 제거합니다.
+     */
+    public void leave(Long reservationId, Long storeId, LocalDateTime reservationDateTime) {
+        Waitlist waitlist = waitlists.get(slotKey(storeId, reservationDateTime));
+        if (waitlist != null) {
+            waitlist.remove(reservationId);
+        }
+    }
+
+    /**
+     * 삭제된 매장의 대기열을 모두 버립니다. 대기 예약 행은 매장 정리 작업이 삭제합니다.
+     */
+    public void evictStore(Long storeId) {
+        waitlists.keySet().removeIf(key -> key.storeId() == storeId);
+    }
+
+    /**
+     * 해당 슬롯의 대기 예약 수를 반환합니다.
+     */
+    public int waiting(Long storeId, LocalDateTime reservationDateTime) {
+        Waitlist waitlist = waitlists.get(slotKey(storeId, reservationDateTime));
+        return waitlist != null ? waitlist.size() : 0;
+    }
+
+    /**
+     * 현재 트랜잭션에서 비워지는 자리를 대기열 앞의 예약에게 넘겨줍니다.
+     * 승격할 대기자가 없으면 커밋 후 슬롯을 반환합니다.
+     *
+     * @param storeId: 자리가 난 매장의 ID
+     * @param reservationDateTime: 자리가 난 예약의 일시
+     */
+    public void releaseOrPromote(Long storeId, LocalDateTime reservationDateTime) {
+        if (!promoteNext(storeId, reservationDateTime)) {
+            TransactionCallbacks.afterCommit(() -> slotInventory.release(storeId, reservationDateTime));
+        }
+    }
+
+    /**
+     * 예약 시간이 지난 슬롯의 대기열을 정리하고, 남아 있던 대기 예약을 EXPIRED로 변경합니다.
+     */
+    @Scheduled(fixedDelayString = "${reservation.waitlist.expire-interval-ms:60000}")
+    public void expirePast() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> expired = new ArrayList<>();
+        for (Map.Entry<SlotKey, Waitlist> entry : waitlists.entrySet()) {
+            if (entry.getKey().slotStart().isBefore(now) && waitlists.remove(entry.getKey(), entry.getValue())) {
+                expired.addAll(entry.getValue().drainIds());
+            }
+        }
+        for (int from = 0; from < expired.size(); from += EXPIRE_CHUNK_SIZE) {
+            List<Long> chunk = expired.subList(from, Math.min(expired.size(), from + EXPIRE_CHUNK_SIZE));
+            transactionTemplate.executeWithoutResult(status -> reservationRepository.updateStatus(
+                    chunk, ReservationStatus.WAITLISTED, ReservationStatus.EXPIRED, now));
+        }
+    }
+
+    // 대기열 앞에서부터 아직 대기 중인 예약을 찾아 REQUESTED로 승격합니다. 이미 취소/거절된 항목은 건너뜁니다.
+    private boolean promoteNext(Long storeId, LocalDateTime reservationDateTime) {
+        Waitlist waitlist = waitlists.get(slotKey(storeId, reservationDateTime));
+        if (waitlist == null) {
+            return false;
+        }
+        Waiter next;
+        while ((next = waitlist.poll()) != null) {
+            LocalDateTime now = LocalDateTime.now();
+            if (reservationRepository.promoteWaitlisted(next.reservationId(), now) == 1) {
+                Waiter promoted = next;
+                // 트랜잭션이 롤백되면 대기열의 원래 순서로 되돌립니다.
+                TransactionCallbacks.afterRollback(() -> add(promoted));
+                TransactionCallbacks.afterCommit(() -> {
+                    storeDashboardCounters.onStatusChanged(
+                            promoted.storeId(), ReservationStatus.WAITLISTED, ReservationStatus.REQUESTED);
+                    eventPublisher.publishEvent(new ReservationPromotedEvent(
+                            promoted.reservationId(), promoted.storeId(), promoted.reservationDateTime(), now));
+                });
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 슬롯에 남은 자리만큼 대기 예약을 승격합니다. 자리는 승격 전에 먼저 점유합니다.
+    private void fillVacancies(Long storeId, LocalDateTime reservationDateTime) {
+        while (waiting(storeId, reservationDateTime) > 0 && slotInventory.tryAcquire(storeId, reservationDateTime)) {
+            Boolean promoted;
+            try {
+                promoted = transactionTemplate.execute(status -> promoteNext(storeId, reservationDateTime));
+            } catch (RuntimeException e) {
+                promoted = false;
+            }
+            if (!Boolean.TRUE.equals(promoted)) {
+                slotInventory.release(storeId, reservationDateTime);
+                return;
+            }
+        }
+    }
+
+    private void add(Waiter waiter) {
+        waitlists.computeIfAbsent(slotKey(waiter.storeId(), waiter.reservationDateTime()), key -> new Waitlist())
+                .add(waiter);
+    }
+
+    private SlotKey slotKey(Long storeId, LocalDateTime reservationDateTime) {
+        return new SlotKey(storeId, slotInventory.slotStart(reservationDateTime));
+    }
+
+    private record SlotKey(long storeId, LocalDateTime slotStart) {
+    }
+
+    private record Waiter(long reservationId, long storeId, LocalDateTime reservationDateTime,
+                          LocalDateTime requestedAt) {
+    }
+
+    // 요청 시각(같으면 예약 ID) 순으로 정렬된 슬롯 하나의 대기열, ID 색인으로 취소도 O(log n)에 처리합니다.
+    private static class Waitlist {
+        private final TreeSet<Waiter> order = new TreeSet<>(
+                Comparator.comparing(Waiter::requestedAt).thenComparingLong(Waiter::reservationId));
+        private final Map<Long, Waiter> byId = new HashMap<>();
+
+        private synchronized void add(Waiter waiter) {
+            if (byId.putIfAbsent(waiter.reservationId(), waiter) == null) {
+                order.add(waiter);
+            }
+        }
+
+        private synchronized Waiter poll() {
+            Waiter first = order.pollFirst();
+            if (first != null) {
+                byId.remove(first.reservationId());
+            }
+            return first;
+        }
+
+        private synchronized void remove(long reservationId) {
+            Waiter waiter = byId.remove(reservationId);
+            if (waiter != null) {
+                order.remove(waiter);
+            }
+        }
+
+        private synchronized int size() {
+            return order.size();
+        }
+
+        private synchronized List<Long> drainIds() {
+            List<Long> ids = new ArrayList<>(byId.keySet());
+            order.clear();
+            byId.clear();
+            return ids;
+        }
+    }
+}
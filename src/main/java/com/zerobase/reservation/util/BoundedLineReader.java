@@ -0,0 +1,71 @@
+package com.zerobase.reservation.util;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * 최대 길이가 제한된 줄 단위 읽기 도구입니다.
+ *
+ * BufferedReader.readLine은 줄바꿈이 없는 입력을 끝까지 메모리에 올리므로, 크기를 알 수 없는 업로드 본문을
+ * 읽을 때는 이 클래스를 사용합니다. 최대 길이를 넘는 줄은 줄 끝까지 버리고 {@link #isTruncated()}로 알려줍니다.
+ * 줄바꿈은 \n과 \r\n을 모두 인식합니다.
+ */
+public class BoundedLineReader {
+
+    private final Reader reader;
+    private final int maxLength;
+    private final StringBuilder line = new StringBuilder();
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private boolean truncated;
+
+    public BoundedLineReader(Reader reader, int maxLength) {
+        this.reader = reader;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @return 다음 줄 (줄바꿈 문자 제외), 입력이 끝났으면 null
+     */
+    public String readLine() throws IOException {
+        line.setLength(0);
+        truncated = false;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                limit = reader.read(buffer);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return read ? finish() : null;
+                }
+            }
+            read = true;
+            char c = buffer[position++];
+            if (c == '\n') {
+                return finish();
+            }
+            if (line.length() < maxLength) {
+                line.append(c);
+            } else {
+                truncated = true;
+            }
+        }
+    }
+
+    /**
+     * @return 마지막으로 읽은 줄이 최대 길이를 넘어 잘렸는지 여부
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    private String finish() {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,202 @@
+package com.zerobase.reservation.util;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * 해시 타이밍 휠(hashed timing wheel) 타이머입니다.
+ *
+ * 타이머는 long 페이로드와 만료 시각(ms)만 가지며, 각 버킷에 원시 long 배열로 저장되어
+ * 타이머 한 건당 약 16바이트만 사용합니다. 등록 가능한 타이머 수는 maxPending으로 제한됩니다.
+ * schedule/cancel은 여러 스레드에서 호출할 수 있고, advance는 하나의 스레드(틱 스레드)에서만 호출해야 합니다.
+ */
+public class HashedTimingWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Bucket[] buckets;
+    private final int maxPending;
+    private final AtomicInteger pending = new AtomicInteger();
+    // 등록 요청은 큐에 쌓였다가 틱 스레드가 버킷으로 옮기므로 버킷은 잠금 없이 틱 스레드만 접근합니다.
+    private final Queue<long[]> staged = new ConcurrentLinkedQueue<>();
+    // 취소 요청도 큐에 쌓였다가 다음 advance 에서 틱 스레드가 처리합니다.
+    private final Queue<LongPredicate> cancellations = new ConcurrentLinkedQueue<>();
+    private long currentTick;
+
+    public HashedTimingWheel(long tickMillis, int wheelSize, int maxPending, long nowMillis) {
+        if (tickMillis < 1 || wheelSize < 1 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("휠 크기는 2의 거듭제곱이어야 합니다.");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.maxPending = maxPending;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * 타이머를 등록합니다.
+     *
+     * @param payload: 만료 시 전달될 값
+     * @param deadlineMillis: 만료 시각 (epoch ms), 이미 지난 시각이면 다음 틱에 만료됩니다.
+     * @return 등록되면 true, 등록 가능한 타이머 수를 초과한 경우 false
+     */
+    public boolean schedule(long payload, long deadlineMillis) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            return false;
+        }
+        staged.add(new long[]{payload, deadlineMillis});
+        return true;
+    }
+
+    /**
+     * 페이로드가 조건에 맞는 타이머를 모두 취소합니다. 다음 advance 에서 모든 버킷을 한 번 훑어 지우므로
+     * 타이머 수에 비례하는 비용이 들며, 드물게 일어나는 일괄 취소에만 사용합니다.
+     *
+     * @param filter: 취소할 타이머의 페이로드 조건
+     */
+    public void cancel(LongPredicate filter) {
+        cancellations.add(filter);
+    }
+
+    /**
+     * 현재 시각까지 도래한 틱을 처리하고, 만료된 타이머의 페이로드를 전달합니다.
+     *
+     * @param nowMillis: 현재 시각 (epoch ms)
+     * @param expired: 만료된 타이머의 페이로드를 받을 콜백
+     */
+    public void advance(long nowMillis, LongConsumer expired) {
+        applyCancellations();
+        long targetTick = nowMillis / tickMillis;
+        if (targetTick <= currentTick) {
+            transferStaged(expired);
+            return;
+        }
+        if (targetTick - currentTick > mask) {
+            // 휠 한 바퀴 이상 밀린 경우 모든 버킷을 한 번씩 처리합니다.
+            currentTick = targetTick;
+            transferStaged(expired);
+            for (Bucket bucket : buckets) {
+                expireBucket(bucket, targetTick, expired);
+            }
+            return;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            transferStaged(expired);
+            expireBucket(buckets[(int) (currentTick & mask)], currentTick, expired);
+        }
+    }
+
+    public int pending() {
+        return pending.get();
+    }
+
+    private void applyCancellations() {
+        LongPredicate filter;
+        while ((filter = cancellations.poll()) != null) {
+            int cancelled = 0;
+            for (Iterator<long[]> it = staged.iterator(); it.hasNext(); ) {
+                if (filter.test(it.next()[0])) {
+                    it.remove();
+                    cancelled++;
+                }
+            }
+            for (Bucket bucket : buckets) {
+                cancelled += bucket.removeIf(filter);
+            }
+            if (cancelled > 0) {
+                pending.addAndGet(-cancelled);
+            }
+        }
+    }
+
+    private void transferStaged(LongConsumer expired) {
+        long[] timer;
+        while ((timer = staged.poll()) != null) {
+            // 만료 시각보다 일찍 실행되지 않도록 틱 단위로 올림합니다.
+            long deadlineTick = Math.floorDiv(timer[1] + tickMillis - 1, tickMillis);
+            if (deadlineTick <= currentTick) {
+                pending.decrementAndGet();
+                expired.accept(timer[0]);
+            } else {
+                buckets[(int) (deadlineTick & mask)].add(timer[0], deadlineTick);
+            }
+        }
+    }
+
+    private void expireBucket(Bucket bucket, long tick, LongConsumer expired) {
+        int fired = bucket.expire(tick, expired);
+        if (fired > 0) {
+            pending.addAndGet(-fired);
+        }
+    }
+
+    private static class Bucket {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private long[] payloads = new long[INITIAL_CAPACITY];
+        private long[] deadlineTicks = new long[INITIAL_CAPACITY];
+        private int size;
+
+        private void add(long payload, long deadlineTick) {
+            if (size == payloads.length) {
+                resize(payloads.length * 2);
+            }
+            payloads[size] = payload;
+            deadlineTicks[size] = deadlineTick;
+            size++;
+        }
+
+        // 만료된 타이머를 전달하고 남은 타이머를 앞으로 모읍니다. 다음 바퀴 이후의 타이머는 유지됩니다.
+        private int expire(long tick, LongConsumer expired) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (deadlineTicks[i] <= tick) {
+                    expired.accept(payloads[i]);
+                } else {
+                    payloads[kept] = payloads[i];
+                    deadlineTicks[kept] = deadlineTicks[i];
+                    kept++;
+                }
+            }
+            int fired = size - kept;
+            size = kept;
+            if (payloads.length > INITIAL_CAPACITY && size < payloads.length / 4) {
+                resize(Math.max(INITIAL_CAPACITY, payloads.length / 2));
+            }
+            return fired;
+        }
+
+        private int removeIf(LongPredicate filter) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!filter.test(payloads[i])) {
+                    payloads[kept] = payloads[i];
+                    deadlineTicks[kept] = deadlineTicks[i];
+                    kept++;
+                }
+            }
+            int removed = size - kept;
+            size = kept;
+            return removed;
+        }
+
+        private void resize(int capacity) {
+            long[] newPayloads = new long[capacity];
+            long[] newDeadlineTicks = new long[capacity];
+            System.arraycopy(payloads, 0, newPayloads, 0, size);
+            System.arraycopy(deadlineTicks, 0, newDeadlineTicks, 0, size);
+            payloads = newPayloads;
+            deadlineTicks = newDeadlineTicks;
+        }
+    }
+}
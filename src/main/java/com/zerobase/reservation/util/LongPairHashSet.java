@@ -0,0 +1,107 @@
+package com.zerobase.reservation.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 0이 아닌 long 두 개의 쌍을 담는 추가 전용 해시 집합입니다.
+ *
+ * 쌍을 객체로 감싸지 않고 하나의 long 배열에 (첫 값, 둘째 값) 순으로 나란히 저장하며, 충돌은 선형 탐사로 처리합니다.
+ * 쌍 하나에 평균 약 21~32바이트만 사용하므로 수백만 쌍도 작은 메모리로 보관할 수 있습니다.
+ * 추가는 한 번에 하나씩 수행되고, 조회는 잠금 없이 수행됩니다. 조회가 추가와 겹치면 막 추가되는 쌍을
+ * 놓칠 수는 있지만(false), 추가되지 않은 쌍을 있다고 답하지는 않습니다.
+ */
+public class LongPairHashSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    // [2i]: 첫 값 (0이면 빈 칸), [2i + 1]: 둘째 값
+    private volatile AtomicLongArray table;
+    private int size;
+
+    public LongPairHashSet(int expectedSize) {
+        this.table = new AtomicLongArray(2 * capacityFor(expectedSize));
+    }
+
+    /**
+     * 쌍이 들어 있는지 확인합니다.
+     */
+    public boolean contains(long first, long second) {
+        AtomicLongArray slots = table;
+        int mask = slots.length() / 2 - 1;
+        for (int i = indexOf(first, second, mask); ; i = (i + 1) & mask) {
+            long stored = slots.get(2 * i);
+            if (stored == 0) {
+                return false;
+            }
+            // 둘째 값을 먼저 쓰고 첫 값을 쓰므로, 첫 값이 보이면 같은 칸의 둘째 값도 보입니다.
+            if (stored == first && slots.get(2 * i + 1) == second) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 쌍을 추가합니다.
+     *
+     * @return 새로 추가되었으면 true, 이미 있었으면 false
+     * @throws IllegalArgumentException: 첫 값이 0인 경우 (빈 칸 표시와 구분할 수 없음)
+     */
+    public synchronized boolean add(long first, long second) {
+        if (first == 0) {
+            throw new IllegalArgumentException("first must not be 0");
+        }
+        if (contains(first, second)) {
+            return false;
+        }
+        AtomicLongArray slots = table;
+        if ((size + 1) * 4L > (slots.length() / 2) * 3L) {
+            slots = resize(slots);
+        }
+        insert(slots, first, second);
+        size++;
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // 두 배 크기의 새 배열에 모두 옮긴 뒤 교체하므로, 교체 전까지 조회는 이전 배열을 그대로 읽습니다.
+    private AtomicLongArray resize(AtomicLongArray slots) {
+        AtomicLongArray grown = new AtomicLongArray(slots.length() * 2);
+        for (int i = 0; i < slots.length(); i += 2) {
+            long first = slots.get(i);
+            if (first != 0) {
+                insert(grown, first, slots.get(i + 1));
+            }
+        }
+        table = grown;
+        return grown;
+    }
+
+    private static void insert(AtomicLongArray slots, long first, long second) {
+        int mask = slots.length() / 2 - 1;
+        int i = indexOf(first, second, mask);
+        while (slots.get(2 * i) != 0) {
+            i = (i + 1) & mask;
+        }
+        slots.set(2 * i + 1, second);
+        slots.set(2 * i, first);
+    }
+
+    private static int indexOf(long first, long second, int mask) {
+        long h = first * 0x9E3779B97F4A7C15L + second;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < Integer.MAX_VALUE / 4 && (long) capacity * 3 < (long) expectedSize * 4) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,103 @@
+package com.zerobase.reservation.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키에 대한 동시 조회를 하나로 합치는 유틸리티입니다.
+ *
+ * 키별로 먼저 들어온 호출(리더)만 조회를 실행하고, 그 사이에 들어온 같은 키의 호출(팔로워)은
+ * 리더의 결과나 예외를 그대로 받아 반환합니다. 결과는 보관하지 않으므로 조회가 끝난 뒤의 호출은 다시 실행됩니다.
+ * 리더/팔로워 호출 수를 누적하며, 팔로워 비율이 높을수록 합쳐진 조회가 많다는 뜻입니다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    /**
+     * @param key: 조회 키
+     * @param loader: 실제 조회 작업 (리더 호출에서만 실행)
+     * @return 조회 결과 (팔로워는 리더와 같은 객체를 받음)
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            followers.increment();
+            return await(running);
+        }
+        leaders.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Error도 팔로워에게 전달해야 팔로워가 끝나지 않는 대기에 빠지지 않습니다.
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 진행 중인 조회를 잊어, 이후 호출은 그 결과를 기다리지 않고 새로 조회하게 합니다.
+     * 데이터가 변경되어 진행 중인 조회 결과가 오래된 값일 수 있을 때 사용합니다.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public long leaderCount() {
+        return leaders.sum();
+    }
+
+    public long followerCount() {
+        return followers.sum();
+    }
+
+    /**
+     * 리더/팔로워 호출 수(singleflight.calls)와 합쳐진 호출 비율(singleflight.coalescing.ratio)을 지표로 등록합니다.
+     *
+     * @param name: 지표의 name 태그 값
+     */
+    public SingleFlight<K, V> bindTo(MeterRegistry meterRegistry, String name) {
+        FunctionCounter.builder("singleflight.calls", this, SingleFlight::leaderCount)
+                .tag("name", name).tag("role", "leader").register(meterRegistry);
+        FunctionCounter.builder("singleflight.calls", this, SingleFlight::followerCount)
+                .tag("name", name).tag("role", "follower").register(meterRegistry);
+        Gauge.builder("singleflight.coalescing.ratio", this, SingleFlight::coalescingRatio)
+                .tag("name", name).register(meterRegistry);
+        return this;
+    }
+
+    private double coalescingRatio() {
+        long shared = followers.sum();
+        long total = leaders.sum() + shared;
+        return total == 0 ? 0 : (double) shared / total;
+    }
+
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.zerobase.reservation.util;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 키(매장 ID)별 카운터 묶음을 메모리에 보관하고, 바뀐 키만 DB 테이블에 UPSERT하는 카운터 테이블입니다.
+ *
+ * 키마다 width개의 카운터와 변경 번호(버전) 하나를 AtomicLongArray에 둡니다. 변경 번호는 증감마다 올라가며,
+ * reconcile 에서 DB 집계 쿼리가 도는 동안 바뀐 키를 가려내는 데 사용합니다.
+ * flush 는 upsertSql 에 (키, 카운터 width개, 저장 시각) 순서의 파라미터로 JDBC 배치 UPSERT 합니다.
+ * remove 한 키는 기억해 두고 이후의 증감/저장/검증에서 무시하므로, 지우기 전에 시작된 커밋 후 증감이
+ * 카운터와 저장본을 되살리지 않습니다. (키는 다시 쓰이지 않는 매장 ID이며, 재기동 시 비워집니다.)
+ */
+public class VersionedCounterTable {
+
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+
+    private final int width;
+    private final String upsertSql;
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<Long, AtomicLongArray> counters = new ConcurrentHashMap<>();
+    // 마지막 저장 이후 카운터가 바뀐 키
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final Set<Long> removed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param width: 키마다 보관할 카운터 수 (변경 번호 제외)
+     * @param upsertSql: (키, 카운터 width개, 저장 시각)을 파라미터로 받는 UPSERT 문
+     */
+    public VersionedCounterTable(int width, String upsertSql, JdbcTemplate jdbcTemplate) {
+        this.width = width;
+        this.upsertSql = upsertSql;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 모든 카운터와 변경 표시를 지웁니다. (저장본 복원 전에 사용)
+     */
+    public void clear() {
+        counters.clear();
+        dirty.clear();
+    }
+
+    /**
+     * 저장본의 값을 변경 표시 없이 그대로 넣습니다.
+     */
+    public void restore(Long key, long... values) {
+        AtomicLongArray array = new AtomicLongArray(width + 1);
+        for (int slot = 0; slot < width; slot++) {
+            array.set(slot, values[slot]);
+        }
+        counters.put(key, array);
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    /**
+     * 키의 현재 카운터 값을 복사하여 반환합니다.
+     *
+     * @return 카운터 값 (한 번도 증감하지 않은 키는 null)
+     */
+    public long[] get(Long key) {
+        AtomicLongArray array = counters.get(key);
+        if (array == null) {
+            return null;
+        }
+        long[] values = new long[width];
+        for (int slot = 0; slot < width; slot++) {
+            values[slot] = array.get(slot);
+        }
+        return values;
+    }
+
+    /**
+     * 키의 카운터를 증감하고 변경 번호를 올린 뒤, 다음 저장 대상으로 표시합니다.
+     *
+     * @param change: 카운터 배열(0 ~ width-1)을 원자적으로 증감하는 함수
+     */
+    public void update(Long key, Consumer<AtomicLongArray> change) {
+        if (removed.contains(key)) {
+            return;
+        }
+        AtomicLongArray array = counters.computeIfAbsent(key, id -> new AtomicLongArray(width + 1));
+        change.accept(array);
+        touch(key, array);
+        if (removed.contains(key)) {
+            // remove 와 엇갈려 다시 만들어진 카운터를 지웁니다.
+            counters.remove(key, array);
+            dirty.remove(key);
+        }
+    }
+
+    /**
+     * 키의 카운터와 변경 표시를 지우고, 이후의 증감을 무시합니다. (저장본 삭제는 호출하는 쪽에서 합니다.)
+     */
+    public void remove(Long key) {
+        removed.add(key);
+        counters.remove(key);
+        dirty.remove(key);
+    }
+
+    /**
+     * 마지막 저장 이후 바뀐 키의 카운터를 JDBC 배치 UPSERT로 저장합니다.
+     * 저장하지 못한 키는 다시 변경 표시하여 다음 저장에 포함하고, 예외는 그대로 던집니다.
+     *
+     * @return 저장한 키 수
+     */
+    public int flush() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        // 값을 읽기 전에 변경 표시를 지우므로, 읽는 도중의 증감은 다음 저장에 포함됩니다.
+        for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+            Long key = it.next();
+            it.remove();
+            AtomicLongArray array = counters.get(key);
+            if (array != null && !removed.contains(key)) {
+                Object[] row = new Object[width + 2];
+                row[0] = key;
+                for (int slot = 0; slot < width; slot++) {
+                    row[slot + 1] = array.get(slot);
+                }
+                row[width + 1] = now;
+                rows.add(row);
+            }
+        }
+        for (int from = 0; from < rows.size(); from += FLUSH_CHUNK_SIZE) {
+            List<Object[]> chunk = rows.subList(from, Math.min(rows.size(), from + FLUSH_CHUNK_SIZE));
+            try {
+                jdbcTemplate.batchUpdate(upsertSql, chunk);
+            } catch (RuntimeException e) {
+                rows.subList(from, rows.size()).forEach(row -> dirty.add((Long) row[0]));
+                throw e;
+            }
+        }
+        return rows.size();
+    }
+
+    /**
+     * 카운터를 DB 집계와 비교하여 어긋난 키를 바로잡습니다.
+     * 집계 쿼리가 도는 동안 카운터가 바뀐 키는 비교 기준이 맞지 않으므로 건너뛰고 다음 주기에 다시 확인합니다.
+     * 집계에 없는 키는 모든 카운터가 0이어야 하는 것으로 봅니다.
+     *
+     * @param aggregate: 키별 기대 카운터 값(길이 width)을 DB에서 집계하는 함수
+     * @return 바로잡은 키 목록
+     */
+    public List<Long> reconcile(Supplier<Map<Long, long[]>> aggregate) {
+        Map<Long, Long> versions = new HashMap<>();
+        counters.forEach((key, array) -> versions.put(key, array.get(width)));
+
+        Map<Long, long[]> actual = aggregate.get();
+
+        Set<Long> keys = new HashSet<>(versions.keySet());
+        keys.addAll(actual.keySet());
+        keys.removeAll(removed);
+        long[] none = new long[width];
+        List<Long> corrected = new ArrayList<>();
+        for (Long key : keys) {
+            Long version = versions.get(key);
+            AtomicLongArray array = counters.get(key);
+            if (version == null ? array != null : array == null || array.get(width) != version) {
+                continue;
+            }
+            long[] expected = actual.getOrDefault(key, none);
+            if (array == null) {
+                array = counters.computeIfAbsent(key, id -> new AtomicLongArray(width + 1));
+            }
+            boolean changed = false;
+            for (int slot = 0; slot < width; slot++) {
+                long diff = expected[slot] - array.get(slot);
+                if (diff != 0) {
+                    array.addAndGet(slot, diff);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                touch(key, array);
+                corrected.add(key);
+            }
+        }
+        return corrected;
+    }
+
+    private void touch(Long key, AtomicLongArray array) {
+        array.incrementAndGet(width);
+        dirty.add(key);
+    }
+}
@@ -0,0 +1,22 @@
+-- 로컬 개발용 예시 데이터 (자동 실행되지 않음, 빈 DB에서 schema.sql 적용 후 한 번만 직접 실행)
+
+-- 파트너 회원 생성 (이미 가입되어 있으면 생략)
+INSERT INTO reservation_db.members (email, password, name, phone, role)
+VALUES ('partner@exmaple.com', '암호화된비밀번호', '홍길동', '010-1111-2222', 'PARTNER');
+
+-- 매장 등록 (홍길동 회원의 id가 1이라고 가정)
+INSERT INTO reservation_db.stores (store_name, description, location, owner_id, created_at, updated_at)
+VALUES ('맛있는 한식당', '정갈한 한식 전문점입니다.', '서울 강남구', 1, NOW(), NOW());
+
+-- 예약 생성 (예약은 일반 회원에 의해 생성되어야 하므로 일반 회원도 필요합니다.)
+-- 일반 회원 생성 예시:
+INSERT INTO reservation_db.members (email, password, name, phone, role)
+VALUES ('user@example.com', '암호화된비밀번호', '김영희', '010-3333-4444', 'USER');
+
+-- 예약 생성 (일반 회원 id가 2라고 가정, 매장 id가 1)
+INSERT INTO reservation_db.reservations (store_id, member_id, reservation_date_time, status, created_at, updated_at)
+VALUES (1, 2, '2025-03-01 19:00:00', 'REQUESTED', NOW(), NOW());
+
+-- 리뷰 생성 (예약 후 리뷰 작성, 예시: 일반 회원 id 2, 매장 id 1)
+INSERT INTO reservation_db.reviews (store_id, member_id, rating, content, created_at, updated_at)
+VALUES (1, 2, 5, '매우 만족스러운 경험이었습니다.', NOW(), NOW());
@@ -1,5 +1,8 @@
+-- 기동 시 Hibernate 스키마 갱신보다 먼저 실행됩니다 (spring.sql.init), 모든 문장은 여러 번 실행해도 안전해야 합니다.
+-- 예시 데이터는 sample-data.sql로 분리되어 있습니다.
+
 -- 회원(Member) 테이블 생성
-CREATE TABLE reservation_db.members (
+CREATE TABLE IF NOT EXISTS reservation_db.members (
                          id BIGINT AUTO_INCREMENT PRIMARY KEY,
                          email VARCHAR(255) NOT NULL UNIQUE,
                          password VARCHAR(255) NOT NULL,
@@ -9,62 +12,121 @@ CREATE TABLE reservation_db.members (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- 매장(Store) 테이블 생성
-CREATE TABLE reservation_db.stores (
+CREATE TABLE IF NOT EXISTS reservation_db.stores (
                         id BIGINT AUTO_INCREMENT PRIMARY KEY,
                         store_name VARCHAR(255) NOT NULL,
                         description TEXT,
                         location VARCHAR(255) NOT NULL,
+                        latitude DOUBLE,
+                        longitude DOUBLE,
                         owner_id BIGINT NOT NULL,
                         created_at DATETIME NOT NULL,
                         updated_at DATETIME,
-                        CONSTRAINT fk_store_owner FOREIGN KEY (owner_id) REFERENCES members(id)
+                        -- 삭제 요청 시각 (소프트 삭제), 정리 작업이 예약/리뷰를 나누어 지운 뒤 행을 삭제
+                        deleted_at DATETIME,
+                        CONSTRAINT fk_store_owner FOREIGN KEY (owner_id) REFERENCES members(id),
+                        INDEX idx_stores_deleted_at (deleted_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- 예약(Reservation) 테이블 생성
-CREATE TABLE reservation_db.reservations (
+CREATE TABLE IF NOT EXISTS reservation_db.reservations (
                               id BIGINT AUTO_INCREMENT PRIMARY KEY,
                               store_id BIGINT NOT NULL,
                               member_id BIGINT NOT NULL,
                               reservation_date_time DATETIME NOT NULL,
-                              status ENUM('REQUESTED', 'APPROVED', 'REJECTED', 'COMPLETED') NOT NULL,
+                              status ENUM('REQUESTED', 'APPROVED', 'REJECTED', 'COMPLETED', 'EXPIRED', 'NO_SHOW', 'WAITLISTED') NOT NULL,
                               created_at DATETIME NOT NULL,
                               updated_at DATETIME,
                               CONSTRAINT fk_reservation_store FOREIGN KEY (store_id) REFERENCES stores(id) ON DELETE CASCADE,
-                              CONSTRAINT fk_reservation_member FOREIGN KEY (member_id) REFERENCES members(id)
+                              CONSTRAINT fk_reservation_member FOREIGN KEY (member_id) REFERENCES members(id),
+                              -- 매장별 예약 목록 키셋 페이지네이션용 인덱스
+                              INDEX idx_reservations_store_status_time (store_id, status, reservation_date_time, id),
+                              -- 리뷰 작성 자격(방문 완료 여부) 확인용 인덱스
+                              INDEX idx_reservations_member_store_status (member_id, store_id, status)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- 리뷰(Review) 테이블 생성
-CREATE TABLE reservation_db.reviews (
+CREATE TABLE IF NOT EXISTS reservation_db.reviews (
                          id BIGINT AUTO_INCREMENT PRIMARY KEY,
                          store_id BIGINT NOT NULL,
                          member_id BIGINT NOT NULL,
+                         reservation_id BIGINT,
                          rating INT NOT NULL,
                          content TEXT,
                          created_at DATETIME NOT NULL,
                          updated_at DATETIME,
                          CONSTRAINT fk_review_store FOREIGN KEY (store_id) REFERENCES stores(id) ON DELETE CASCADE,
-                         CONSTRAINT fk_review_member FOREIGN KEY (member_id) REFERENCES members(id)
+                         CONSTRAINT fk_review_member FOREIGN KEY (member_id) REFERENCES members(id),
+                         CONSTRAINT fk_review_reservation FOREIGN KEY (reservation_id) REFERENCES reservations(id),
+                         -- 예약 한 건에 리뷰 한 건 (동시 작성 요청도 INSERT 시점에 한 건만 성공)
+                         CONSTRAINT uk_reviews_reservation UNIQUE (reservation_id),
+                         -- 매장별 리뷰 목록 키셋 페이지네이션/내보내기용 인덱스
+                         INDEX idx_reviews_store_created (store_id, created_at, id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- ID 시퀀스 테이블 (Hibernate 시퀀스 에뮬레이션, allocationSize = 50, pooled-lo)
+-- IDENTITY 전략은 JDBC INSERT 배치를 막기 때문에 테이블 기반 시퀀스로 ID를 미리 할당합니다.
+-- 기존 데이터가 있는 경우 각 테이블의 최대 ID 다음 값부터 할당되도록 초기화합니다.
+-- Hibernate(ddl-auto: update)가 먼저 1부터 만든 시퀀스도 최대 ID 다음 값으로 끌어올리므로 매 기동 시 다시 실행해도 안전합니다.
+CREATE TABLE IF NOT EXISTS reservation_db.members_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO reservation_db.members_seq (next_val)
+SELECT seed.next_val FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM reservation_db.members) seed
+WHERE NOT EXISTS (SELECT 1 FROM reservation_db.members_seq);
+UPDATE reservation_db.members_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM reservation_db.members));
+
+CREATE TABLE IF NOT EXISTS reservation_db.stores_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO reservation_db.stores_seq (next_val)
+SELECT seed.next_val FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM reservation_db.stores) seed
+WHERE NOT EXISTS (SELECT 1 FROM reservation_db.stores_seq);
+UPDATE reservation_db.stores_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM reservation_db.stores));
 
+CREATE TABLE IF NOT EXISTS reservation_db.reservations_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO reservation_db.reservations_seq (next_val)
+SELECT seed.next_val FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM reservation_db.reservations) seed
+WHERE NOT EXISTS (SELECT 1 FROM reservation_db.reservations_seq);
+UPDATE reservation_db.reservations_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM reservation_db.reservations));
 
--- 파트너 회원 생성 (이미 가입되어 있으면 생략)
-INSERT INTO reservation_db.members (email, password, name, phone, role)
-VALUES ('partner@exmaple.com', '암호화된비밀번호', '홍길동', '010-1111-2222', 'PARTNER');
+CREATE TABLE IF NOT EXISTS reservation_db.reviews_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO reservation_db.reviews_seq (next_val)
+SELECT seed.next_val FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM reservation_db.reviews) seed
+WHERE NOT EXISTS (SELECT 1 FROM reservation_db.reviews_seq);
+UPDATE reservation_db.reviews_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM reservation_db.reviews));
 
--- 매장 등록 (홍길동 회원의 id가 1이라고 가정)
-INSERT INTO reservation_db.stores (store_name, description, location, owner_id, created_at, updated_at)
-VALUES ('맛있는 한식당', '정갈한 한식 전문점입니다.', '서울 강남구', 1, NOW(), NOW());
+-- Idempotency-Key 저장 테이블 (ID: "범위:회원 ID:키", 재시작 후에도 재요청을 감지)
+CREATE TABLE IF NOT EXISTS reservation_db.idempotency_keys (
+                                  id VARCHAR(191) PRIMARY KEY,
+                                  request_hash CHAR(64) NOT NULL,
+                                  response_body TEXT NOT NULL,
+                                  created_at DATETIME NOT NULL,
+                                  INDEX idx_idempotency_keys_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
--- 예약 생성 (예약은 일반 회원에 의해 생성되어야 하므로 일반 회원도 필요합니다.)
--- 일반 회원 생성 예시:
-INSERT INTO reservation_db.members (email, password, name, phone, role)
-VALUES ('user@example.com', '암호화된비밀번호', '김영희', '010-3333-4444', 'USER');
+-- 파트너 대시보드 매장별 카운터 저장본 (메모리 카운터를 주기적으로 UPSERT, 기동 시 복원)
+CREATE TABLE IF NOT EXISTS reservation_db.store_dashboard_stats (
+                                  store_id BIGINT PRIMARY KEY,
+                                  pending_count BIGINT NOT NULL,
+                                  approved_count BIGINT NOT NULL,
+                                  completed_count BIGINT NOT NULL,
+                                  updated_at DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
--- 예약 생성 (일반 회원 id가 2라고 가정, 매장 id가 1)
-INSERT INTO reservation_db.reservations (store_id, member_id, reservation_date_time, status, created_at, updated_at)
-VALUES (1, 2, '2025-03-01 19:00:00', 'REQUESTED', NOW(), NOW());
+-- 매장별 누적 조회 수/방문 수 (메모리 카운터의 증가분을 주기적으로 더해 저장)
+CREATE TABLE IF NOT EXISTS reservation_db.store_stats (
+                              store_id BIGINT PRIMARY KEY,
+                              view_count BIGINT NOT NULL,
+                              visit_count BIGINT NOT NULL,
+                              updated_at DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
--- 리뷰 생성 (예약 후 리뷰 작성, 예시: 일반 회원 id 2, 매장 id 1)
-INSERT INTO reservation_db.reviews (store_id, member_id, rating, content, created_at, updated_at)
-VALUES (1, 2, 5, '매우 만족스러운 경험이었습니다.', NOW(), NOW());
+-- 매장별 평점 집계 (리뷰 수, 평점 합계, 1~5점 분포, 메모리 집계를 주기적으로 UPSERT, 기동 시 복원)
+CREATE TABLE IF NOT EXISTS reservation_db.store_rating_stats (
+                                    store_id BIGINT PRIMARY KEY,
+                                    review_count BIGINT NOT NULL,
+                                    rating_sum BIGINT NOT NULL,
+                                    star1_count BIGINT NOT NULL,
+                                    star2_count BIGINT NOT NULL,
+                                    star3_count BIGINT NOT NULL,
+                                    star4_count BIGINT NOT NULL,
+                                    star5_count BIGINT NOT NULL,
+                                    updated_at DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
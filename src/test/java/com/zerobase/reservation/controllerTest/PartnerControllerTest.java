@@ -0,0 +1,135 @@
+package com.zerobase.reservation.controllerTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.reservation.domain.Member;
+import com.zerobase.reservation.domain.Store;
+import com.zerobase.reservation.dto.request.ReservationRequest;
+import com.zerobase.reservation.enums.Role;
+import com.zerobase.reservation.repository.MemberRepository;
+import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.repository.ReviewRepository;
+import com.zerobase.reservation.repository.StoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class PartnerControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    private Long userId;
+    private Long partnerId;
+    private Long storeId;
+    private Long otherStoreId;
+
+    @BeforeEach
+    public void setup() {
+        reviewRepository.deleteAll();
+        reservationRepository.deleteAll();
+        storeRepository.deleteAll();
+        memberRepository.deleteAll();
+
+        Member user = memberRepository.save(Member.builder()
+                .email("user@example.com")
+                .password("password")
+                .name("User")
+                .role(Role.USER)
+                .build());
+        userId = user.getId();
+
+        Member partner = memberRepository.save(Member.builder()
+                .email("partner@example.com")
+                .password("password")
+                .name("Partner")
+                .role(Role.PARTNER)
+                .build());
+        partnerId = partner.getId();
+
+        storeId = storeRepository.save(Store.builder()
+                .storeName("Dashboard Store")
+                .location("Seoul")
+                .owner(partner)
+                .createdAt(LocalDateTime.now())
+                .build()).getId();
+        otherStoreId = storeRepository.save(Store.builder()
+                .storeName("Quiet Store")
+                .location("Busan")
+                .owner(partner)
+                .createdAt(LocalDateTime.now())
+                .build()).getId();
+    }
+
+    @Test
+    @WithMockUser(username = "partner@example.com", roles = {"PARTNER"})
+    public void getDashboard_reflectsReservationStateChangesAndViews() throws Exception {
+        Long first = createReservation(LocalDateTime.now().plusDays(1).withNano(0));
+        createReservation(LocalDateTime.now().plusDays(2).withNano(0));
+        mockMvc.perform(post("/api/reservations/{id}/approve", first)
+                        .param("partnerId", partnerId.toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/stores/{storeId}", storeId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/partners/{partnerId}/dashboard", partnerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.storeCount", is(2)))
+                .andExpect(jsonPath("$.pendingCount", is(1)))
+                .andExpect(jsonPath("$.approvedCount", is(1)))
+                .andExpect(jsonPath("$.stores[0].storeId", is(storeId.intValue())))
+                .andExpect(jsonPath("$.stores[0].storeName", is("Dashboard Store")))
+                .andExpect(jsonPath("$.stores[0].pendingCount", is(1)))
+                .andExpect(jsonPath("$.stores[0].approvedCount", is(1)))
+                .andExpect(jsonPath("$.stores[0].viewCount", is(1)))
+                .andExpect(jsonPath("$.stores[1].storeId", is(otherStoreId.intValue())))
+                .andExpect(jsonPath("$.stores[1].pendingCount", is(0)));
+    }
+
+    @Test
+    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    public void getDashboard_rejectsNonPartner() throws Exception {
+        mockMvc.perform(get("/api/partners/{partnerId}/dashboard", userId))
+                .andExpect(status().isInternalServerError());
+    }
+
+    private Long createReservation(LocalDateTime reservationDateTime) throws Exception {
+        ReservationRequest request = new ReservationRequest();
+        request.setStoreId(storeId);
+        request.setReservationDateTime(reservationDateTime);
+        String body = mockMvc.perform(post("/api/reservations")
+                        .param("memberId", userId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -22,6 +22,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -102,6 +103,35 @@ public class ReservationControllerTest {
                 .andExpect(jsonPath("$.status", is("REQUESTED")));
     }
 
+    @Test
+    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    public void createReservation_sameIdempotencyKey_createsOnce() throws Exception {
+        ReservationRequest request = new ReservationRequest();
+        request.setStoreId(storeId);
+        request.setReservationDateTime(LocalDateTime.now().plusDays(1).withNano(0));
+        String body = objectMapper.writeValueAsString(request);
+        String idempotencyKey = "retry-" + System.nanoTime();
+
+        String first = mockMvc.perform(post("/api/reservations")
+                        .param("memberId", userId.toString())
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // 같은 키로 재시도하면 최초 응답이 그대로 반환되고 새 예약은 생성되지 않음
+        mockMvc.perform(post("/api/reservations")
+                        .param("memberId", userId.toString())
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().json(first));
+
+        assertEquals(1, reservationRepository.count());
+    }
+
     @Test
     @WithMockUser(username = "partner@example.com", roles = {"PARTNER"})
     public void approveReservation_success() throws Exception {
@@ -149,7 +179,7 @@ public class ReservationControllerTest {
                 .store(storeRepository.findById(storeId).orElseThrow())
                 .member(memberRepository.findById(userId).orElseThrow())
                 .reservationDateTime(LocalDateTime.now().plusMinutes(5))
-                .status(ReservationStatus.REQUESTED)
+                .status(ReservationStatus.APPROVED)
                 .createdAt(LocalDateTime.now())
                 .build();
         reservation = reservationRepository.save(reservation);
@@ -50,6 +50,7 @@ public class ReviewControllerTest {
     private Long userId;
     private Long partnerId;
     private Long storeId;
+    private Long reservationId;
 
     @BeforeEach
     public void setup() {
@@ -90,7 +91,7 @@ public class ReviewControllerTest {
         storeId = store.getId();
 
         // 예약 완료된 예약 생성 (리뷰 작성 전 조건)
-        reservationRepository.save(
+        reservationId = reservationRepository.save(
                 com.zerobase.reservation.domain.Reservation.builder()
                         .store(store)
                         .member(user)
@@ -98,7 +99,7 @@ public class ReviewControllerTest {
                         .status(com.zerobase.reservation.enums.ReservationStatus.COMPLETED)
                         .createdAt(LocalDateTime.now().minusDays(1))
                         .build()
-        );
+        ).getId();
     }
 
     @Test
@@ -106,6 +107,7 @@ public class ReviewControllerTest {
     public void createReview_success() throws Exception {
         ReviewRequest request = new ReviewRequest();
         request.setStoreId(storeId);
+        request.setReservationId(reservationId);
         request.setRating(5);
         request.setContent("Excellent service!");
 
@@ -118,6 +120,30 @@ public class ReviewControllerTest {
                 .andExpect(jsonPath("$.content", is("Excellent service!")));
     }
 
+    @Test
+    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    public void createReview_secondReviewForSameReservationReturnsConflict() throws Exception {
+        ReviewRequest request = new ReviewRequest();
+        request.setStoreId(storeId);
+        request.setReservationId(reservationId);
+        request.setRating(4);
+        request.setContent("Good");
+        String body = objectMapper.writeValueAsString(request);
+
+        mockMvc.perform(post("/api/reviews")
+                        .param("memberId", userId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/reviews")
+                        .param("memberId", userId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", is("이미 리뷰를 작성한 예약입니다.")));
+    }
+
     @Test
     @WithMockUser(username = "user@example.com", roles = {"USER"})
     public void updateReview_success() throws Exception {
@@ -2,11 +2,14 @@ package com.zerobase.reservation.controllerTest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zerobase.reservation.domain.Member;
+import com.zerobase.reservation.domain.Review;
 import com.zerobase.reservation.enums.Role;
 import com.zerobase.reservation.domain.Store;
 import com.zerobase.reservation.dto.request.StoreRequest;
 import com.zerobase.reservation.repository.MemberRepository;
+import com.zerobase.reservation.repository.ReviewRepository;
 import com.zerobase.reservation.repository.StoreRepository;
+import com.zerobase.reservation.serviceTest.StorePurgeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,8 +18,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -36,11 +47,18 @@ public class StoreControllerTest {
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private StorePurgeService storePurgeService;
+
     private Long partnerId;
 
     @BeforeEach
     public void setup() {
         // 기존 데이터를 초기화합니다.
+        reviewRepository.deleteAll();
         storeRepository.deleteAll();
         memberRepository.deleteAll();
 
@@ -116,6 +134,12 @@ public class StoreControllerTest {
         mockMvc.perform(delete("/api/stores/{storeId}", store.getId())
                         .param("partnerId", partnerId.toString()))
                 .andExpect(status().isOk());
+
+        // 삭제된 매장은 바로 조회에서 제외되고, 정리 작업이 행을 실제로 삭제합니다.
+        assertTrue(storeRepository.findById(store.getId()).isEmpty());
+        assertEquals(List.of(store.getId()), storeRepository.findDeletedIds(10));
+        storePurgeService.purgeDeletedStores();
+        assertTrue(storeRepository.findDeletedIds(10).isEmpty());
     }
 
     @Test
@@ -135,4 +159,261 @@ public class StoreControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.store_name", is("상세 매장")));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    public void getAvailability_sameETag_returnsNotModified() throws Exception {
+        Store store = storeRepository.save(Store.builder()
+                .storeName("가용 매장")
+                .description("설명")
+                .location("위치")
+                .owner(memberRepository.findById(partnerId).orElseThrow())
+                .createdAt(java.time.LocalDateTime.now())
+                .build());
+
+        String eTag = mockMvc.perform(get("/api/stores/{storeId}/availability", store.getId())
+                        .param("from", "2030-03-01")
+                        .param("to", "2030-03-07"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days.length()", is(7)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/stores/{storeId}/availability", store.getId())
+                        .param("from", "2030-03-01")
+                        .param("to", "2030-03-07")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    public void getAvailability_deletedStore_returnsErrorInsteadOfNotModified() throws Exception {
+        Store store = storeRepository.save(Store.builder()
+                .storeName("삭제될 가용 매장")
+                .description("설명")
+                .location("위치")
+                .owner(memberRepository.findById(partnerId).orElseThrow())
+                .createdAt(java.time.LocalDateTime.now())
+                .build());
+        String eTag = mockMvc.perform(get("/api/stores/{storeId}/availability", store.getId())
+                        .param("from", "2030-03-01")
+                        .param("to", "2030-03-07"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        storeRepository.deleteById(store.getId());
+
+        mockMvc.perform(get("/api/stores/{storeId}/availability", store.getId())
+                        .param("from", "2030-03-01")
+                        .param("to", "2030-03-07")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isInternalServerError());
+        mockMvc.perform(get("/api/stores/{storeId}/availability", store.getId())
+                        .param("from", "2030-03-01")
+                        .param("to", "2030-03-07"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    @WithMockUser(username = "partner@exmaple.com", roles = {"PARTNER"})
+    public void searchStores_findsRegisteredStore() throws Exception {
+        StoreRequest request = new StoreRequest();
+        request.setStoreName("검색용 수제버거");
+        request.setDescription("패티를 직접 굽는 버거 가게");
+        request.setLocation("서울 성수동");
+
+        mockMvc.perform(post("/api/stores/register")
+                        .param("partnerId", partnerId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/stores/search").param("q", "수제 버거 성수"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].store_name", is("검색용 수제버거")));
+    }
+
+    @Test
+    @WithMockUser(username = "partner@exmaple.com", roles = {"PARTNER"})
+    public void autocompleteStores_matchesSyllableInProgress() throws Exception {
+        StoreRequest request = new StoreRequest();
+        request.setStoreName("자동완성 떡볶이");
+        request.setLocation("서울 신당동");
+
+        mockMvc.perform(post("/api/stores/register")
+                        .param("partnerId", partnerId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        // "떡볶"을 조합하는 중간 상태인 "떡보"로도 일치
+        mockMvc.perform(get("/api/stores/autocomplete").param("q", "떡보").param("k", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].store_name", is("자동완성 떡볶이")));
+    }
+
+    @Test
+    @WithMockUser(username = "partner@exmaple.com", roles = {"PARTNER"})
+    public void findNearbyStores_returnsRegisteredStoreWithDistance() throws Exception {
+        StoreRequest request = new StoreRequest();
+        request.setStoreName("강남역 파스타");
+        request.setLocation("서울 강남구");
+        request.setLatitude(37.4980);
+        request.setLongitude(127.0280);
+
+        mockMvc.perform(post("/api/stores/register")
+                        .param("partnerId", partnerId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.latitude", is(37.4980)));
+
+        mockMvc.perform(get("/api/stores/nearby")
+                        .param("lat", "37.4979")
+                        .param("lng", "127.0276")
+                        .param("k", "1")
+                        .param("radiusKm", "0.5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].store.store_name", is("강남역 파스타")))
+                .andExpect(jsonPath("$[0].distanceMeters", is(37)));
+    }
+
+    @Test
+    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    public void getStoreDetails_sameETag_returnsNotModified() throws Exception {
+        Store store = storeRepository.save(Store.builder()
+                .storeName("조건부 매장")
+                .description("설명")
+                .location("위치")
+                .owner(memberRepository.findById(partnerId).orElseThrow())
+                .createdAt(java.time.LocalDateTime.now())
+                .build());
+
+        String eTag = mockMvc.perform(get("/api/stores/{storeId}", store.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/stores/{storeId}", store.getId())
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    public void getStoreReviews_pagesByCursorAndExportsAll() throws Exception {
+        Member partner = memberRepository.findById(partnerId).orElseThrow();
+        Store store = storeRepository.save(Store.builder()
+                .storeName("리뷰 목록 매장")
+                .description("설명")
+                .location("위치")
+                .owner(partner)
+                .createdAt(LocalDateTime.now())
+                .build());
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 12, 0);
+        for (int i = 1; i <= 3; i++) {
+            reviewRepository.save(Review.builder().store(store).member(partner).rating(i).content("리뷰 " + i)
+                    .createdAt(base.plusMinutes(i)).build());
+        }
+
+        MvcResult first = mockMvc.perform(get("/api/stores/{storeId}/reviews", store.getId()).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.items.length()", is(2)))
+                .andExpect(jsonPath("$.items[0].content", is("리뷰 3")))
+                .andExpect(jsonPath("$.items[1].content", is("리뷰 2")))
+                .andReturn();
+        String nextCursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/stores/{storeId}/reviews", store.getId())
+                        .param("size", "2").param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", is(1)))
+                .andExpect(jsonPath("$.items[0].content", is("리뷰 1")))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/stores/{storeId}/reviews", store.getId()).param("size", "2")
+                        .header("If-None-Match", first.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified());
+
+        MvcResult export = mockMvc.perform(get("/api/stores/{storeId}/reviews/export", store.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)))
+                .andExpect(jsonPath("$[0].content", is("리뷰 3")))
+                .andExpect(jsonPath("$[2].rating", is(1)));
+    }
+
+    @Test
+    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    public void getReviewSummary_sameETag_returnsNotModified() throws Exception {
+        Store store = storeRepository.save(Store.builder()
+                .storeName("리뷰 요약 매장")
+                .description("설명")
+                .location("위치")
+                .owner(memberRepository.findById(partnerId).orElseThrow())
+                .createdAt(java.time.LocalDateTime.now())
+                .build());
+
+        String eTag = mockMvc.perform(get("/api/stores/{storeId}/reviews/summary", store.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount", is(0)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/stores/{storeId}/reviews/summary", store.getId())
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser(username = "user@example.com", roles = {"USER"})
+    public void getReviews_deletedStore_failsEvenWithMatchingETag() throws Exception {
+        Store store = storeRepository.save(Store.builder()
+                .storeName("삭제될 매장")
+                .description("설명")
+                .location("위치")
+                .owner(memberRepository.findById(partnerId).orElseThrow())
+                .createdAt(java.time.LocalDateTime.now())
+                .build());
+        String summaryETag = mockMvc.perform(get("/api/stores/{storeId}/reviews/summary", store.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String listETag = mockMvc.perform(get("/api/stores/{storeId}/reviews", store.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        storeRepository.deleteById(store.getId());
+
+        mockMvc.perform(get("/api/stores/{storeId}/reviews/summary", store.getId())
+                        .header("If-None-Match", summaryETag))
+                .andExpect(status().isInternalServerError());
+        mockMvc.perform(get("/api/stores/{storeId}/reviews", store.getId())
+                        .header("If-None-Match", listETag))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    @WithMockUser(username = "partner@exmaple.com", roles = {"PARTNER"})
+    public void importStores_streamsProgressAndSavesValidRows() throws Exception {
+        String body = "storeName,location,latitude,longitude\n"
+                + "가져온 한식당,서울 종로구,37.57,126.98\n"
+                + ",이름 없는 매장,,\n";
+
+        MvcResult result = mockMvc.perform(post("/api/stores/import")
+                        .param("partnerId", partnerId.toString())
+                        .contentType("text/csv")
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("{\"type\":\"ERROR\",\"line\":3,")))
+                .andExpect(content().string(containsString("{\"type\":\"DONE\",\"processed\":2,\"imported\":1,\"failed\":1}")));
+
+        mockMvc.perform(get("/api/stores/search").param("q", "가져온 한식당"))
+                .andExpect(jsonPath("$.items[0].store_name", is("가져온 한식당")));
+    }
+}
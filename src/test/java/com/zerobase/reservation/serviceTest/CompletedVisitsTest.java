@@ -0,0 +1,92 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CompletedVisitsTest {
+
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final CompletedVisits completedVisits = new CompletedVisits(reservationRepository);
+
+    @Test
+    public void isCompletedVisit_answersLoadedAndAddedReservationsWithoutQuery() {
+        when(reservationRepository.findCompletedVisits(eq(0L), any())).thenReturn(List.of(visit(1L, 10L, 100L)));
+        completedVisits.load();
+        completedVisits.add(2L, 20L, 200L);
+
+        assertTrue(completedVisits.isCompletedVisit(1L, 10L, 100L));
+        assertTrue(completedVisits.isCompletedVisit(2L, 20L, 200L));
+        verify(reservationRepository, never()).findCompletedVisit(any());
+    }
+
+    @Test
+    public void isCompletedVisit_fallsBackToPrimaryKeyLookupAndRemembersHits() {
+        when(reservationRepository.findCompletedVisit(1L)).thenReturn(Optional.of(visit(1L, 10L, 100L)));
+
+        assertTrue(completedVisits.isCompletedVisit(1L, 10L, 100L));
+        assertTrue(completedVisits.isCompletedVisit(1L, 10L, 100L));
+        // 방문 완료가 아닌 예약은 매번 DB에서 확인
+        assertFalse(completedVisits.isCompletedVisit(2L, 10L, 100L));
+        assertFalse(completedVisits.isCompletedVisit(2L, 10L, 100L));
+
+        verify(reservationRepository, times(1)).findCompletedVisit(1L);
+        verify(reservationRepository, times(2)).findCompletedVisit(2L);
+    }
+
+    @Test
+    public void isCompletedVisit_rejectsReservationOfOtherStoreOrMember() {
+        completedVisits.add(1L, 10L, 100L);
+        completedVisits.add(2L, 20L, 200L);
+        when(reservationRepository.findCompletedVisit(1L)).thenReturn(Optional.of(visit(1L, 10L, 100L)));
+        when(reservationRepository.findCompletedVisit(2L)).thenReturn(Optional.of(visit(2L, 20L, 200L)));
+
+        // 다른 회원의 예약, 다른 매장의 예약, 두 예약의 매장/회원을 섞은 경우
+        assertFalse(completedVisits.isCompletedVisit(1L, 10L, 200L));
+        assertFalse(completedVisits.isCompletedVisit(1L, 20L, 100L));
+        assertFalse(completedVisits.isCompletedVisit(2L, 10L, 200L));
+    }
+
+    @Test
+    public void load_readsAllPages() {
+        List<ReservationRepository.CompletedVisit> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            firstPage.add(visit(id, id % 100 + 1, id % 7 + 1));
+        }
+        when(reservationRepository.findCompletedVisits(eq(0L), any())).thenReturn(firstPage);
+        when(reservationRepository.findCompletedVisits(eq(10_000L), any())).thenReturn(List.of(visit(10_001L, 500L, 1L)));
+
+        completedVisits.load();
+
+        assertEquals(10_001, completedVisits.size());
+        assertTrue(completedVisits.isCompletedVisit(10_001L, 500L, 1L));
+        assertTrue(completedVisits.isCompletedVisit(7L, 8L, 1L));
+        verify(reservationRepository, never()).findCompletedVisit(any());
+    }
+
+    private ReservationRepository.CompletedVisit visit(Long id, Long storeId, Long memberId) {
+        return new ReservationRepository.CompletedVisit() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getStoreId() {
+                return storeId;
+            }
+
+            @Override
+            public Long getMemberId() {
+                return memberId;
+            }
+        };
+    }
+}
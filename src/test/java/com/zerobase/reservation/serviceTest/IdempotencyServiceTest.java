@@ -0,0 +1,221 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.reservation.domain.IdempotencyRecord;
+import com.zerobase.reservation.dto.request.ReservationRequest;
+import com.zerobase.reservation.dto.response.ReservationResponse;
+import com.zerobase.reservation.enums.ReservationStatus;
+import com.zerobase.reservation.exception.CustomException;
+import com.zerobase.reservation.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class IdempotencyServiceTest {
+
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    private ObjectMapper objectMapper;
+    private IdempotencyService idempotencyService;
+    private ReservationRequest request;
+
+    @BeforeEach
+    public void setUp() {
+        idempotencyRecordRepository = mock(IdempotencyRecordRepository.class);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, objectMapper,
+                mock(PlatformTransactionManager.class), 100, 60);
+        when(idempotencyRecordRepository.findById(anyString())).thenReturn(Optional.empty());
+
+        request = new ReservationRequest();
+        request.setStoreId(10L);
+        request.setReservationDateTime(LocalDateTime.of(2030, 1, 1, 19, 0));
+    }
+
+    @Test
+    public void execute_replay_returnsFirstResponseWithoutRunningAgain() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+
+        // when
+        ReservationResponse first = idempotencyService.execute("reservation", 1L, "key-1", request,
+                ReservationResponse.class, () -> response(100L + runs.incrementAndGet()));
+        ReservationResponse second = idempotencyService.execute("reservation", 1L, "key-1", request,
+                ReservationResponse.class, () -> response(100L + runs.incrementAndGet()));
+
+        // then: 두 번째 요청은 캐시에서 반환되어 작업도 DB 조회도 하지 않음
+        assertEquals(1, runs.get());
+        assertEquals(first.getId(), second.getId());
+        verify(idempotencyRecordRepository, times(1)).insert(eq("reservation:1:key-1"), anyString(), anyString(), any());
+        verify(idempotencyRecordRepository, times(1)).findById("reservation:1:key-1");
+    }
+
+    @Test
+    public void execute_sameKeyDifferentBody_throwsException() {
+        // given
+        idempotencyService.execute("reservation", 1L, "key-1", request, ReservationResponse.class, () -> response(101L));
+        ReservationRequest other = new ReservationRequest();
+        other.setStoreId(11L);
+        other.setReservationDateTime(request.getReservationDateTime());
+
+        // when & then
+        CustomException thrown = assertThrows(CustomException.class, () -> idempotencyService.execute(
+                "reservation", 1L, "key-1", other, ReservationResponse.class, () -> response(102L)));
+        assertEquals("같은 Idempotency-Key로 다른 요청을 보낼 수 없습니다.", thrown.getMessage());
+    }
+
+    @Test
+    public void execute_concurrentDuplicates_runOnce() throws Exception {
+        // given: 첫 실행이 끝나기 전에 같은 키의 요청들이 동시에 들어옴
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<ReservationResponse>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> idempotencyService.execute("reservation", 1L, "key-1", request,
+                    ReservationResponse.class, () -> {
+                        runs.incrementAndGet();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return response(101L);
+                    })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+        for (Future<ReservationResponse> future : futures) {
+            assertEquals(101L, future.get().getId());
+        }
+        executor.shutdown();
+
+        // then
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void execute_afterRestart_replaysPersistedResponse() throws Exception {
+        // given: 이전 인스턴스가 저장한 키
+        String body = objectMapper.writeValueAsString(response(101L));
+        when(idempotencyRecordRepository.findById("reservation:1:key-1")).thenReturn(Optional.of(
+                new IdempotencyRecord("reservation:1:key-1", requestHash(), body, LocalDateTime.now())));
+
+        // when
+        ReservationResponse replayed = idempotencyService.execute("reservation", 1L, "key-1", request,
+                ReservationResponse.class, () -> fail("이미 처리된 요청은 다시 실행되지 않아야 합니다."));
+
+        // then
+        assertEquals(101L, replayed.getId());
+        assertEquals("REQUESTED", replayed.getStatus());
+        verify(idempotencyRecordRepository, never()).insert(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    public void execute_claimsKeyBeforeRunningAndRecordsResponseAfter() {
+        // when
+        idempotencyService.execute("reservation", 1L, "key-1", request, ReservationResponse.class, () -> response(101L));
+
+        // then: 보관 기간이 지난 같은 키를 지운 뒤 빈 응답으로 선점하고, 작업 후 응답을 기록
+        InOrder order = inOrder(idempotencyRecordRepository);
+        order.verify(idempotencyRecordRepository).deleteExpiredById(eq("reservation:1:key-1"), any(LocalDateTime.class));
+        order.verify(idempotencyRecordRepository).insert(eq("reservation:1:key-1"), anyString(), eq(""), any());
+        order.verify(idempotencyRecordRepository).complete(eq("reservation:1:key-1"), contains("\"id\":101"));
+    }
+
+    @Test
+    public void execute_keyClaimedByAnotherInstance_replaysItsResponse() throws Exception {
+        // given: 조회 직후 다른 인스턴스가 같은 키를 먼저 처리함
+        String body = objectMapper.writeValueAsString(response(101L));
+        when(idempotencyRecordRepository.findById("reservation:1:key-1")).thenReturn(Optional.empty(), Optional.of(
+                new IdempotencyRecord("reservation:1:key-1", requestHash(), body, LocalDateTime.now())));
+        when(idempotencyRecordRepository.insert(anyString(), anyString(), anyString(), any()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // when
+        ReservationResponse replayed = idempotencyService.execute("reservation", 1L, "key-1", request,
+                ReservationResponse.class, () -> fail("선점하지 못한 요청은 실행되지 않아야 합니다."));
+
+        // then
+        assertEquals(101L, replayed.getId());
+    }
+
+    @Test
+    public void execute_keyStillPending_throwsInProgress() {
+        // given: 다른 인스턴스가 선점만 하고 아직 응답을 기록하지 않음
+        when(idempotencyRecordRepository.findById("reservation:1:key-1")).thenReturn(Optional.of(
+                new IdempotencyRecord("reservation:1:key-1", "hash", "", LocalDateTime.now())));
+
+        // when & then
+        CustomException thrown = assertThrows(CustomException.class, () -> idempotencyService.execute(
+                "reservation", 1L, "key-1", request, ReservationResponse.class,
+                () -> fail("처리 중인 요청은 다시 실행되지 않아야 합니다.")));
+        assertEquals("같은 Idempotency-Key의 요청이 처리 중입니다.", thrown.getMessage());
+        verify(idempotencyRecordRepository, never()).insert(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    public void execute_actionFailure_releasesKeyAndKeepsOriginalError() {
+        // given: 작업 자체의 무결성 오류 (예: 리뷰의 외래 키 위반)
+        DataIntegrityViolationException failure = new DataIntegrityViolationException("fk_review_store");
+
+        // when & then: 처리 중 오류로 바뀌지 않고 그대로 전달됨
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class,
+                () -> idempotencyService.execute("review", 1L, "key-1", request, ReservationResponse.class, () -> {
+                    throw failure;
+                }));
+        assertSame(failure, thrown);
+        verify(idempotencyRecordRepository).release("review:1:key-1");
+        verify(idempotencyRecordRepository, never()).complete(anyString(), anyString());
+
+        // 같은 키로 다시 시도하면 작업이 실행됨
+        ReservationResponse retried = idempotencyService.execute("review", 1L, "key-1", request,
+                ReservationResponse.class, () -> response(101L));
+        assertEquals(101L, retried.getId());
+    }
+
+    @Test
+    public void execute_withoutKey_runsEveryTime() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+
+        // when
+        idempotencyService.execute("reservation", 1L, null, request, ReservationResponse.class,
+                () -> response(100L + runs.incrementAndGet()));
+        idempotencyService.execute("reservation", 1L, null, request, ReservationResponse.class,
+                () -> response(100L + runs.incrementAndGet()));
+
+        // then
+        assertEquals(2, runs.get());
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    private String requestHash() throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private ReservationResponse response(Long id) {
+        return new ReservationResponse(id, 10L, 1L, request.getReservationDateTime(), ReservationStatus.REQUESTED);
+    }
+}
@@ -0,0 +1,139 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.sun.management.ThreadMXBean;
+import com.zerobase.reservation.domain.Member;
+import com.zerobase.reservation.domain.Reservation;
+import com.zerobase.reservation.domain.Store;
+import com.zerobase.reservation.dto.response.ReservationResponse;
+import com.zerobase.reservation.dto.response.StoreResponse;
+import com.zerobase.reservation.enums.ReservationStatus;
+import com.zerobase.reservation.enums.Role;
+import com.zerobase.reservation.repository.MemberRepository;
+import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.repository.StoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 조회 경로 벤치마크: 엔티티 조회 후 DTO 변환(기존) vs DTO 프로젝션 조회의 호출당 할당 바이트와 지연 시간을 비교합니다.
+ *
+ * DB가 필요하고 실행 시간이 길어 기본적으로 비활성화되어 있으며, -Dbenchmark=true 로 실행합니다.
+ * ./gradlew test --tests '*ReadPathBenchmarkTest' -Dbenchmark=true
+ * 매번 데이터를 지우고 다시 만들기 때문에 benchmark 프로필의 별도 스키마(reservation_bench)에서 실행합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ReadPathBenchmarkTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private Long storeId;
+
+    @BeforeEach
+    public void setup() {
+        reservationRepository.deleteAll();
+        storeRepository.deleteAll();
+        memberRepository.deleteAll();
+
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Member partner = memberRepository.save(Member.builder()
+                .email("partner@example.com").password("password").name("Partner").role(Role.PARTNER).build());
+        Member user = memberRepository.save(Member.builder()
+                .email("user@example.com").password("password").name("User").role(Role.USER).build());
+        Store store = storeRepository.save(Store.builder()
+                .storeName("Bench Store").description("Description").location("Location")
+                .owner(partner).createdAt(LocalDateTime.now()).build());
+        storeId = store.getId();
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            reservations.add(Reservation.builder()
+                    .store(store).member(user)
+                    .reservationDateTime(base.plusMinutes(i))
+                    .status(ReservationStatus.REQUESTED)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        reservationRepository.saveAll(reservations);
+    }
+
+    @Test
+    public void storeDetails_projectionVsEntity() {
+        Result entity = measure("store details / entity", () -> readOnly.execute(status ->
+                new StoreResponse(storeRepository.findById(storeId).orElseThrow())));
+        Result projection = measure("store details / projection", () -> readOnly.execute(status ->
+                storeRepository.findResponseById(storeId).orElseThrow()));
+
+        assertTrue(projection.bytesPerOp() < entity.bytesPerOp());
+    }
+
+    @Test
+    public void storeReservations_projectionVsEntity() {
+        PageRequest page = PageRequest.of(0, PAGE_SIZE, Sort.by("reservationDateTime", "id"));
+        Result entity = measure("store reservations / entity", () -> readOnly.execute(status ->
+                reservationRepository.findAll(page).map(ReservationResponse::new).getContent()));
+        Result projection = measure("store reservations / projection", () -> readOnly.execute(status ->
+                reservationRepository.findStorePage(storeId, ReservationStatus.REQUESTED,
+                        LocalDateTime.of(2000, 1, 1, 0, 0), 0L, LocalDateTime.of(9999, 12, 31, 0, 0),
+                        PageRequest.of(0, PAGE_SIZE))));
+
+        assertTrue(projection.bytesPerOp() < entity.bytesPerOp());
+    }
+
+    private Result measure(String name, Supplier<?> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.get();
+        }
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            read.get();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        Result result = new Result(allocated / ITERATIONS, elapsed / ITERATIONS / 1_000.0);
+        System.out.printf("%-32s %,10d B/op %10.1f us/op%n", name, result.bytesPerOp(), result.microsPerOp());
+        return result;
+    }
+
+    private record Result(long bytesPerOp, double microsPerOp) {
+    }
+}
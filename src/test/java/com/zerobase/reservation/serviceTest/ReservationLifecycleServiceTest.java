@@ -0,0 +1,198 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.enums.ReservationStatus;
+import com.zerobase.reservation.event.ReservationReminderEvent;
+import com.zerobase.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ReservationLifecycleServiceTest {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final WaitlistService waitlistService = mock(WaitlistService.class);
+    private final StoreDashboardCounters storeDashboardCounters = mock(StoreDashboardCounters.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    @Test
+    public void expire_updatesOnlyRequestedAndHandsSlotToWaitlist() {
+        ReservationLifecycleService service = service(100);
+        LocalDateTime slotTime = LocalDateTime.now().plusHours(3);
+        // 응답 기한(요청 후 60분)이 이미 지난 요청 두 건, 그중 201번은 그사이 승인됨
+        service.onRequested(200L, LocalDateTime.now().minusHours(2), slotTime);
+        service.onRequested(201L, LocalDateTime.now().minusHours(2), slotTime);
+        ReservationRepository.ReservationSlot slot = slot(200L, 10L, slotTime);
+        when(reservationRepository.findSlotsForUpdate(anyCollection(), eq(ReservationStatus.REQUESTED)))
+                .thenReturn(List.of(slot));
+
+        service.tick(System.currentTimeMillis());
+
+        verify(reservationRepository).findSlotsForUpdate(argThat(ids -> ids.containsAll(List.of(200L, 201L))),
+                eq(ReservationStatus.REQUESTED));
+        verify(reservationRepository).updateStatus(eq(List.of(200L)), eq(ReservationStatus.REQUESTED),
+                eq(ReservationStatus.EXPIRED), any(LocalDateTime.class));
+        verify(waitlistService).releaseOrPromote(10L, slotTime);
+        verify(storeDashboardCounters).onStatusChanged(10L, ReservationStatus.REQUESTED, ReservationStatus.EXPIRED);
+        assertEquals(0, service.pendingTimers());
+    }
+
+    @Test
+    public void expire_skipsReservationsNoLongerRequested() {
+        ReservationLifecycleService service = service(100);
+        service.onRequested(200L, LocalDateTime.now().minusHours(2), LocalDateTime.now().plusHours(3));
+        when(reservationRepository.findSlotsForUpdate(anyCollection(), eq(ReservationStatus.REQUESTED)))
+                .thenReturn(List.of());
+
+        service.tick(System.currentTimeMillis());
+
+        verify(reservationRepository, never()).updateStatus(anyCollection(), any(), any(), any());
+        verifyNoInteractions(waitlistService, storeDashboardCounters);
+    }
+
+    @Test
+    public void noShow_marksApprovedReservationsAfterGrace() {
+        ReservationLifecycleService service = service(100);
+        LocalDateTime slotTime = LocalDateTime.now().minusMinutes(30);
+        service.onApproved(300L, slotTime);
+        ReservationRepository.ReservationSlot slot = slot(300L, 10L, slotTime);
+        when(reservationRepository.findSlotsForUpdate(anyCollection(), eq(ReservationStatus.APPROVED)))
+                .thenReturn(List.of(slot));
+
+        service.tick(System.currentTimeMillis());
+
+        verify(reservationRepository).updateStatus(eq(List.of(300L)), eq(ReservationStatus.APPROVED),
+                eq(ReservationStatus.NO_SHOW), any(LocalDateTime.class));
+        verify(storeDashboardCounters).onStatusChanged(10L, ReservationStatus.APPROVED, ReservationStatus.NO_SHOW);
+        // 노쇼 처리는 슬롯을 반환하지 않음
+        verifyNoInteractions(waitlistService);
+    }
+
+    @Test
+    public void remind_publishesEventOnlyForStillApprovedReservations() {
+        ReservationLifecycleService service = service(100);
+        long now = System.currentTimeMillis();
+        LocalDateTime slotTime = LocalDateTime.now().plusHours(2);
+        service.onApproved(300L, slotTime);
+        ReservationRepository.ReservationSlot slot = slot(300L, 10L, slotTime);
+        when(reservationRepository.findSlots(anyCollection(), eq(ReservationStatus.APPROVED)))
+                .thenReturn(List.of(slot));
+
+        // 알림 시점(예약 1시간 전) 이전에는 아무 일도 없음
+        service.tick(now + HOUR_MILLIS / 2);
+        verifyNoInteractions(eventPublisher);
+
+        service.tick(now + HOUR_MILLIS + 5_000);
+
+        ArgumentCaptor<ReservationReminderEvent> event = ArgumentCaptor.forClass(ReservationReminderEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(300L, event.getValue().reservationId());
+        assertEquals(10L, event.getValue().storeId());
+        // 노쇼 타이머는 남아 있음
+        assertEquals(1, service.pendingTimers());
+        verify(reservationRepository, never()).updateStatus(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    public void flush_failure_reschedulesTimersForRetry() {
+        ReservationLifecycleService service = service(100);
+        long now = System.currentTimeMillis();
+        LocalDateTime slotTime = LocalDateTime.now().plusHours(3);
+        service.onRequested(200L, LocalDateTime.now().minusHours(2), slotTime);
+        ReservationRepository.ReservationSlot slot = slot(200L, 10L, slotTime);
+        when(reservationRepository.findSlotsForUpdate(anyCollection(), eq(ReservationStatus.REQUESTED)))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(List.of(slot));
+
+        service.tick(now);
+        assertEquals(1, service.pendingTimers());
+        verify(reservationRepository, never()).updateStatus(anyCollection(), any(), any(), any());
+
+        // 재시도 간격(10초)이 지나기 전에는 다시 시도하지 않음
+        service.tick(now + 5_000);
+        verify(reservationRepository, times(1)).findSlotsForUpdate(anyCollection(), any());
+
+        service.tick(now + 12_000);
+        verify(reservationRepository).updateStatus(eq(List.of(200L)), eq(ReservationStatus.REQUESTED),
+                eq(ReservationStatus.EXPIRED), any(LocalDateTime.class));
+        verify(waitlistService).releaseOrPromote(10L, slotTime);
+        assertEquals(0, service.pendingTimers());
+    }
+
+    @Test
+    public void evictStore_cancelsTimersOfDeletedStore() {
+        ReservationLifecycleService service = service(100);
+        LocalDateTime slotTime = LocalDateTime.now().plusHours(3);
+        service.onRequested(200L, LocalDateTime.now().minusHours(2), slotTime);
+        service.onRequested(201L, LocalDateTime.now().minusHours(2), slotTime);
+        when(reservationRepository.findIdsByStoreIdAndStatusIn(eq(10L), anyCollection())).thenReturn(List.of(200L));
+
+        service.evictStore(10L);
+        service.tick(System.currentTimeMillis());
+
+        // 삭제된 매장의 200번 타이머는 실행되지 않음
+        verify(reservationRepository).findSlotsForUpdate(eq(List.of(201L)), eq(ReservationStatus.REQUESTED));
+        assertEquals(0, service.pendingTimers());
+    }
+
+    @Test
+    public void sweepDropped_processesOverdueReservationsFromDbWhenWheelIsFull() {
+        // 타이머를 하나도 등록할 수 없는 휠
+        ReservationLifecycleService service = service(0);
+        LocalDateTime slotTime = LocalDateTime.now().plusHours(3);
+        service.onRequested(200L, LocalDateTime.now().minusHours(2), slotTime);
+        assertEquals(0, service.pendingTimers());
+        when(reservationRepository.findOverdueRequestIds(any(LocalDateTime.class), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of(200L), List.of());
+        ReservationRepository.ReservationSlot slot = slot(200L, 10L, slotTime);
+        when(reservationRepository.findSlotsForUpdate(List.of(200L), ReservationStatus.REQUESTED))
+                .thenReturn(List.of(slot));
+        when(reservationRepository.findOverdueApprovedIds(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        service.sweepDropped();
+
+        verify(reservationRepository).updateStatus(eq(List.of(200L)), eq(ReservationStatus.REQUESTED),
+                eq(ReservationStatus.EXPIRED), any(LocalDateTime.class));
+        verify(waitlistService).releaseOrPromote(10L, slotTime);
+        verify(reservationRepository).findOverdueApprovedIds(any(LocalDateTime.class), any(Pageable.class));
+
+        // 놓친 기한이 모두 지났으므로 다음 스윕부터는 DB를 조회하지 않음
+        clearInvocations(reservationRepository);
+        service.sweepDropped();
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    public void sweepDropped_doesNothingWhenNoTimerWasDropped() {
+        ReservationLifecycleService service = service(100);
+        service.onRequested(200L, LocalDateTime.now(), LocalDateTime.now().plusHours(3));
+
+        service.sweepDropped();
+
+        verifyNoInteractions(reservationRepository);
+    }
+
+    private ReservationLifecycleService service(int maxPending) {
+        return new ReservationLifecycleService(reservationRepository, waitlistService, storeDashboardCounters,
+                eventPublisher, mock(PlatformTransactionManager.class), 1000, 4096, maxPending, 60, 60, 10);
+    }
+
+    private ReservationRepository.ReservationSlot slot(Long id, Long storeId, LocalDateTime reservationDateTime) {
+        ReservationRepository.ReservationSlot slot = mock(ReservationRepository.ReservationSlot.class);
+        when(slot.getId()).thenReturn(id);
+        when(slot.getStoreId()).thenReturn(storeId);
+        when(slot.getReservationDateTime()).thenReturn(reservationDateTime);
+        return slot;
+    }
+}
@@ -5,17 +5,27 @@ import com.zerobase.reservation.domain.Reservation;
 import com.zerobase.reservation.enums.ReservationStatus;
 import com.zerobase.reservation.domain.Store;
 import com.zerobase.reservation.dto.request.ReservationRequest;
-import com.zerobase.reservation.enums.Role;
+import com.zerobase.reservation.dto.response.ReservationBatchResponse;
+import com.zerobase.reservation.dto.response.CursorPageResponse;
+import com.zerobase.reservation.dto.response.ReservationBulkResponse;
+import com.zerobase.reservation.dto.response.ReservationResponse;
 import com.zerobase.reservation.repository.MemberRepository;
 import com.zerobase.reservation.repository.ReservationRepository;
 import com.zerobase.reservation.repository.StoreRepository;
+import com.zerobase.reservation.util.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +42,30 @@ public class ReservationServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private SlotInventory slotInventory;
+
+    @Mock
+    private StoreWritePipeline storeWritePipeline;
+
+    @Mock
+    private ReservationLifecycleService reservationLifecycleService;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private StoreDashboardCounters storeDashboardCounters;
+
+    @Mock
+    private StoreStatsCounters storeStatsCounters;
+
+    @Mock
+    private CompletedVisits completedVisits;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -61,6 +95,7 @@ public class ReservationServiceTest {
 
         when(memberRepository.findById(1L)).thenReturn(Optional.of(user));
         when(storeRepository.findById(10L)).thenReturn(Optional.of(store));
+        when(slotInventory.tryAcquire(eq(10L), any(LocalDateTime.class))).thenReturn(true);
         when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
             Reservation r = invocation.getArgument(0);
             r.setId(100L);
@@ -76,25 +111,71 @@ public class ReservationServiceTest {
         verify(reservationRepository, times(1)).save(any(Reservation.class));
     }
 
+    @Test
+    public void createReservation_slotFull_throwsException() {
+        // given: 해당 시간대 슬롯이 모두 찬 경우
+        ReservationRequest request = new ReservationRequest();
+        request.setStoreId(10L);
+        request.setReservationDateTime(LocalDateTime.now().plusDays(1));
+
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(storeRepository.findById(10L)).thenReturn(Optional.of(store));
+        when(slotInventory.tryAcquire(eq(10L), any(LocalDateTime.class))).thenReturn(false);
+
+        // then
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> reservationService.createReservation(request, 1L));
+        assertEquals("해당 시간대 예약이 마감되었습니다.", thrown.getMessage());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    public void createReservations_returnsResultsInOrder() {
+        // given: 두 번째 항목은 존재하지 않는 매장
+        ReservationRequest first = new ReservationRequest();
+        first.setStoreId(10L);
+        first.setReservationDateTime(LocalDateTime.now().plusDays(1));
+        ReservationRequest second = new ReservationRequest();
+        second.setStoreId(99L);
+        second.setReservationDateTime(LocalDateTime.now().plusDays(1));
+
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(storeRepository.findAllById(anyCollection())).thenReturn(List.of(store));
+        when(slotInventory.tryAcquire(eq(10L), any(LocalDateTime.class))).thenReturn(true);
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Reservation> reservations = invocation.getArgument(0);
+            reservations.forEach(r -> r.setId(100L));
+            return reservations;
+        });
+
+        // when
+        List<ReservationBatchResponse> results = reservationService.createReservations(List.of(first, second), 1L);
+
+        // then
+        assertEquals(2, results.size());
+        assertEquals("ACCEPTED", results.get(0).getResult());
+        assertEquals(100L, results.get(0).getReservationId());
+        assertEquals("FAILED", results.get(1).getResult());
+        assertEquals("매장이 존재하지 않습니다.", results.get(1).getReason());
+        verify(storeRepository, never()).findById(anyLong());
+        verify(reservationRepository, times(1)).saveAll(anyList());
+    }
+
     @Test
     public void approveReservation_success() {
         // given
         Reservation reservation = Reservation.builder()
                 .id(200L)
                 .store(store)
+                .status(ReservationStatus.REQUESTED)
                 .createdAt(LocalDateTime.now())
                 .build();
         // store owner가 파트너인 경우: partner ID = 2L
-        Member partner = Member.builder()
-                .id(2L)
-                .email("partner@example.com")
-                .role(Role.PARTNER)
-                .build();
-        store.setOwner(partner);
+        when(storeRepository.findOwnerIdById(10L)).thenReturn(Optional.of(2L));
 
         when(reservationRepository.findById(200L)).thenReturn(Optional.of(reservation));
-        when(reservationRepository.save(any(Reservation.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.updateStatus(eq(List.of(200L)), eq(ReservationStatus.REQUESTED),
+                eq(ReservationStatus.APPROVED), any(LocalDateTime.class))).thenReturn(1);
 
         // when
         Reservation approved = reservationService.approveReservation(200L, 2L);
@@ -102,6 +183,43 @@ public class ReservationServiceTest {
         // then
         assertNotNull(approved); // approved가 null이 아님을 확인
         assertEquals(ReservationStatus.APPROVED, approved.getStatus());
+        verify(reservationLifecycleService, times(1)).onApproved(200L, null);
+        verify(storeDashboardCounters).onStatusChanged(
+                store.getId(), ReservationStatus.REQUESTED, ReservationStatus.APPROVED);
+    }
+
+    @Test
+    public void approveReservation_rejectsReservationsThatReleasedTheirSlot() {
+        when(storeRepository.findOwnerIdById(10L)).thenReturn(Optional.of(2L));
+        for (ReservationStatus status : List.of(ReservationStatus.WAITLISTED, ReservationStatus.REJECTED,
+                ReservationStatus.EXPIRED)) {
+            Reservation reservation = Reservation.builder().id(201L).store(store).status(status).build();
+            when(reservationRepository.findById(201L)).thenReturn(Optional.of(reservation));
+
+            assertThrows(RuntimeException.class, () -> reservationService.approveReservation(201L, 2L));
+        }
+        // 조회 후 만료된 경우: 조건부 UPDATE가 0건
+        Reservation expiredMeanwhile = Reservation.builder().id(202L).store(store)
+                .status(ReservationStatus.REQUESTED).build();
+        when(reservationRepository.findById(202L)).thenReturn(Optional.of(expiredMeanwhile));
+        assertThrows(RuntimeException.class, () -> reservationService.approveReservation(202L, 2L));
+
+        verify(reservationLifecycleService, never()).onApproved(any(), any());
+        verifyNoInteractions(storeDashboardCounters);
+    }
+
+    @Test
+    public void approveReservation_deletedStore_throwsStoreNotFound() {
+        // 삭제된 매장은 소유자 조회 결과가 비어 있음
+        Reservation reservation = Reservation.builder().id(200L).store(store)
+                .status(ReservationStatus.REQUESTED).build();
+        when(reservationRepository.findById(200L)).thenReturn(Optional.of(reservation));
+        when(storeRepository.findOwnerIdById(10L)).thenReturn(Optional.empty());
+
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> reservationService.approveReservation(200L, 2L));
+        assertEquals("매장이 존재하지 않습니다.", thrown.getMessage());
+        verify(reservationRepository, never()).updateStatus(anyCollection(), any(), any(), any());
     }
 
     @Test
@@ -109,18 +227,14 @@ public class ReservationServiceTest {
         Reservation reservation = Reservation.builder()
                 .id(300L)
                 .store(store)
+                .status(ReservationStatus.REQUESTED)
                 .createdAt(LocalDateTime.now())
                 .build();
-        Member partner = Member.builder()
-                .id(2L)
-                .email("partner@example.com")
-                .role(Role.PARTNER)
-                .build();
-        store.setOwner(partner);
+        when(storeRepository.findOwnerIdById(10L)).thenReturn(Optional.of(2L));
 
         when(reservationRepository.findById(300L)).thenReturn(Optional.of(reservation));
-        when(reservationRepository.save(any(Reservation.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.updateStatus(eq(List.of(300L)), eq(ReservationStatus.REQUESTED),
+                eq(ReservationStatus.REJECTED), any(LocalDateTime.class))).thenReturn(1);
 
         // when
         Reservation declined = reservationService.declineReservation(300L, 2L);
@@ -130,6 +244,164 @@ public class ReservationServiceTest {
         assertEquals(ReservationStatus.REJECTED, declined.getStatus());
     }
 
+    @Test
+    public void declineReservations_updatesOwnedOnlyAndReleasesSlots() {
+        // given: 요청한 두 건 중 파트너 소유 매장의 예약은 301번 하나
+        LocalDateTime dateTime = LocalDateTime.now().plusDays(1);
+        ReservationRepository.ReservationSlot owned = mock(ReservationRepository.ReservationSlot.class);
+        when(owned.getId()).thenReturn(301L);
+        when(owned.getStoreId()).thenReturn(10L);
+        when(owned.getReservationDateTime()).thenReturn(dateTime);
+        when(reservationRepository.findOwnedForUpdate(anyCollection(), anyCollection(), eq(2L)))
+                .thenReturn(List.of(owned));
+
+        // when
+        ReservationBulkResponse response = reservationService.declineReservations(List.of(301L, 302L), 2L);
+
+        // then
+        assertEquals(List.of(301L), response.getChangedIds());
+        assertEquals(List.of(302L), response.getUnchangedIds());
+        verify(reservationRepository, times(1))
+                .updateOwnedStatus(eq(List.of(301L)), eq(2L), eq(ReservationStatus.REJECTED), any(LocalDateTime.class));
+        verify(waitlistService, times(1)).releaseOrPromote(10L, dateTime);
+    }
+
+    @Test
+    public void declineReservation_occupied_handsSlotToWaitlist() {
+        // given: 슬롯을 점유한 REQUESTED 예약
+        LocalDateTime dateTime = LocalDateTime.now().plusDays(1);
+        Reservation reservation = Reservation.builder()
+                .id(300L)
+                .store(store)
+                .reservationDateTime(dateTime)
+                .status(ReservationStatus.REQUESTED)
+                .build();
+        when(storeRepository.findOwnerIdById(10L)).thenReturn(Optional.of(2L));
+        when(reservationRepository.findById(300L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.updateStatus(eq(List.of(300L)), eq(ReservationStatus.REQUESTED),
+                eq(ReservationStatus.REJECTED), any(LocalDateTime.class))).thenReturn(1);
+
+        // when
+        reservationService.declineReservation(300L, 2L);
+
+        // then: 거절 트랜잭션 안에서 대기자 승격 또는 슬롯 반환
+        verify(waitlistService, times(1)).releaseOrPromote(10L, dateTime);
+        verify(slotInventory, never()).release(any(), any());
+    }
+
+    @Test
+    public void declineReservation_completed_throwsAndKeepsVisit() {
+        // given: 이미 방문 완료된 예약
+        Reservation reservation = Reservation.builder()
+                .id(300L)
+                .store(store)
+                .reservationDateTime(LocalDateTime.now().minusHours(1))
+                .status(ReservationStatus.COMPLETED)
+                .build();
+        when(storeRepository.findOwnerIdById(10L)).thenReturn(Optional.of(2L));
+        when(reservationRepository.findById(300L)).thenReturn(Optional.of(reservation));
+
+        // when & then
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> reservationService.declineReservation(300L, 2L));
+        assertEquals("승인 대기 중이거나 승인된 예약만 거절할 수 있습니다.", thrown.getMessage());
+        verify(reservationRepository, never()).updateStatus(anyCollection(), any(), any(), any());
+        verifyNoInteractions(waitlistService);
+    }
+
+    @Test
+    public void joinWaitlist_slotFull_savesWaitlisted() {
+        // given
+        ReservationRequest request = new ReservationRequest();
+        request.setStoreId(10L);
+        request.setReservationDateTime(LocalDateTime.now().plusDays(1));
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(storeRepository.findById(10L)).thenReturn(Optional.of(store));
+        when(slotInventory.remaining(10L, request.getReservationDateTime())).thenReturn(0);
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            reservation.setId(400L);
+            return reservation;
+        });
+
+        // when
+        Reservation waitlisted = reservationService.joinWaitlist(request, 1L);
+
+        // then
+        assertEquals(ReservationStatus.WAITLISTED, waitlisted.getStatus());
+        verify(waitlistService, times(1)).join(eq(400L), eq(10L), eq(request.getReservationDateTime()),
+                any(LocalDateTime.class));
+        verify(slotInventory, never()).tryAcquire(any(), any());
+    }
+
+    @Test
+    public void joinWaitlist_slotAvailable_throwsException() {
+        // given
+        ReservationRequest request = new ReservationRequest();
+        request.setStoreId(10L);
+        request.setReservationDateTime(LocalDateTime.now().plusDays(1));
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(storeRepository.findById(10L)).thenReturn(Optional.of(store));
+        when(slotInventory.remaining(10L, request.getReservationDateTime())).thenReturn(1);
+
+        // when & then
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> reservationService.joinWaitlist(request, 1L));
+        assertEquals("예약 가능한 자리가 있습니다. 예약을 생성해주세요.", thrown.getMessage());
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    public void leaveWaitlist_alreadyPromoted_throwsException() {
+        // given: 조회 후 승격되어 WAITLISTED 조건의 삭제가 0건
+        Reservation reservation = Reservation.builder()
+                .id(400L)
+                .store(store)
+                .member(user)
+                .reservationDateTime(LocalDateTime.now().plusDays(1))
+                .status(ReservationStatus.WAITLISTED)
+                .build();
+        when(reservationRepository.findById(400L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.deleteWaitlisted(400L)).thenReturn(0);
+
+        // when & then
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> reservationService.leaveWaitlist(400L, 1L));
+        assertEquals("대기 중인 예약이 아닙니다.", thrown.getMessage());
+        verify(waitlistService, never()).leave(any(), any(), any());
+    }
+
+    @Test
+    public void getStoreReservations_returnsNextCursorWhenMoreRows() {
+        // given: 페이지 크기 2, 조회 결과 3건 (다음 페이지 존재)
+        LocalDateTime base = LocalDateTime.of(2030, 3, 1, 19, 0);
+        when(storeRepository.existsByIdAndOwnerId(10L, 2L)).thenReturn(true);
+        when(reservationRepository.findStorePage(eq(10L), eq(ReservationStatus.REQUESTED),
+                any(LocalDateTime.class), eq(0L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(new ArrayList<>(List.of(
+                        new ReservationResponse(1L, 10L, 1L, base, ReservationStatus.REQUESTED),
+                        new ReservationResponse(2L, 10L, 1L, base, ReservationStatus.REQUESTED),
+                        new ReservationResponse(3L, 10L, 1L, base.plusHours(1), ReservationStatus.REQUESTED))));
+
+        // when
+        CursorPageResponse<ReservationResponse> page = reservationService.getStoreReservations(
+                10L, 2L, ReservationStatus.REQUESTED, base, null, null, 2);
+
+        // then: 마지막 행 (base, 2)가 다음 커서
+        assertEquals(2, page.getItems().size());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(base, next.time());
+        assertEquals(2L, next.id());
+    }
+
+    @Test
+    public void getStoreReservations_notOwner_throwsException() {
+        when(storeRepository.existsByIdAndOwnerId(10L, 3L)).thenReturn(false);
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> reservationService.getStoreReservations(
+                10L, 3L, ReservationStatus.REQUESTED, null, null, null, 20));
+        assertEquals("조회 권한이 없습니다.", thrown.getMessage());
+    }
 
     @Test
     public void confirmArrival_success() {
@@ -137,17 +409,81 @@ public class ReservationServiceTest {
         Reservation reservation = Reservation.builder()
                 .id(400L)
                 .store(store)
+                .member(user)
                 .reservationDateTime(LocalDateTime.now().plusMinutes(5))
-                .status(ReservationStatus.REQUESTED)
+                .status(ReservationStatus.APPROVED)
                 .createdAt(LocalDateTime.now())
                 .build();
         when(reservationRepository.findById(400L)).thenReturn(Optional.of(reservation));
-        when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
+        when(reservationRepository.updateStatus(eq(List.of(400L)), eq(ReservationStatus.APPROVED),
+                eq(ReservationStatus.COMPLETED), any(LocalDateTime.class))).thenReturn(1);
+
+        // when
+        Reservation confirmed = reservationService.confirmArrival(400L);
+
+        // then
+        assertEquals(ReservationStatus.COMPLETED, confirmed.getStatus());
+        verify(storeDashboardCounters).onStatusChanged(
+                store.getId(), ReservationStatus.APPROVED, ReservationStatus.COMPLETED);
+        verify(storeStatsCounters).recordVisit(store.getId());
+        verify(completedVisits).add(400L, store.getId(), user.getId());
+    }
+
+    @Test
+    public void confirmArrival_repeated_doesNotRecordVisitAgain() {
+        // given: 이미 방문 확인된 예약
+        Reservation reservation = Reservation.builder()
+                .id(400L)
+                .store(store)
+                .member(user)
+                .reservationDateTime(LocalDateTime.now().plusMinutes(5))
+                .status(ReservationStatus.COMPLETED)
+                .build();
+        when(reservationRepository.findById(400L)).thenReturn(Optional.of(reservation));
 
         // when
         Reservation confirmed = reservationService.confirmArrival(400L);
 
         // then
         assertEquals(ReservationStatus.COMPLETED, confirmed.getStatus());
+        verify(reservationRepository, never()).updateStatus(anyCollection(), any(), any(), any());
+        verifyNoInteractions(storeStatsCounters, storeDashboardCounters, completedVisits);
+    }
+
+    @Test
+    public void confirmArrival_concurrentConfirmWon_doesNotRecordVisit() {
+        // given: 조회 시점에는 APPROVED였지만 동시에 들어온 방문 확인이 먼저 반영됨
+        Reservation reservation = Reservation.builder()
+                .id(400L)
+                .store(store)
+                .member(user)
+                .reservationDateTime(LocalDateTime.now().plusMinutes(5))
+                .status(ReservationStatus.APPROVED)
+                .build();
+        when(reservationRepository.findById(400L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.updateStatus(anyCollection(), any(), any(), any())).thenReturn(0);
+
+        // when & then
+        assertThrows(RuntimeException.class, () -> reservationService.confirmArrival(400L));
+        verifyNoInteractions(storeStatsCounters, storeDashboardCounters, completedVisits);
+    }
+
+    @Test
+    public void confirmArrival_notApproved_throwsWithoutGrantingVisit() {
+        // given: 노쇼 처리된 예약
+        Reservation reservation = Reservation.builder()
+                .id(400L)
+                .store(store)
+                .member(user)
+                .reservationDateTime(LocalDateTime.now().plusMinutes(5))
+                .status(ReservationStatus.NO_SHOW)
+                .build();
+        when(reservationRepository.findById(400L)).thenReturn(Optional.of(reservation));
+
+        // when & then
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> reservationService.confirmArrival(400L));
+        assertEquals("승인된 예약만 도착 확인할 수 있습니다.", thrown.getMessage());
+        verify(reservationRepository, never()).updateStatus(anyCollection(), any(), any(), any());
+        verifyNoInteractions(storeStatsCounters, completedVisits);
     }
 }
@@ -0,0 +1,216 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.reservation.domain.Member;
+import com.zerobase.reservation.domain.Review;
+import com.zerobase.reservation.domain.Store;
+import com.zerobase.reservation.dto.request.ReviewRequest;
+import com.zerobase.reservation.exception.ConflictException;
+import com.zerobase.reservation.repository.MemberRepository;
+import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.repository.ReviewRepository;
+import com.zerobase.reservation.repository.StoreRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ReviewIngestLogTest {
+
+    @TempDir
+    Path dir;
+
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    private final StoreRatingAggregates storeRatingAggregates = mock(StoreRatingAggregates.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<ReviewIngestLog> started = new ArrayList<>();
+    private final Store store = Store.builder().id(10L).build();
+    private final Member member = Member.builder().id(1L).build();
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        for (ReviewIngestLog log : started) {
+            log.stop();
+        }
+    }
+
+    @Test
+    public void append_writesLogBeforeReturningAndInsertsInBackground() throws Exception {
+        ReviewIngestLog log = start();
+
+        Review review = log.append(store, member, 50L, request(5));
+        assertNull(review.getId());
+        assertEquals(5, review.getRating());
+        assertEquals(1, readLines().size());
+
+        awaitApplied(log);
+        verify(reviewRepository).saveAndFlush(any(Review.class));
+        verify(storeRatingAggregates).onReviewAdded(10L, 5);
+    }
+
+    @Test
+    public void append_rejectsReservationPendingInLog() {
+        // DB 장애로 첫 리뷰가 저장 대기 중
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenThrow(new RuntimeException("db down"));
+        ReviewIngestLog log = start();
+        log.append(store, member, 50L, request(5));
+
+        assertThrows(ConflictException.class, () -> log.append(store, member, 50L, request(4)));
+        assertEquals(1, log.pendingCount());
+        assertEquals(1, readLines().size());
+    }
+
+    @Test
+    public void insert_reservationAlreadyReviewed_isFinishedWithoutCountingDropped() throws Exception {
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenThrow(duplicateReservation());
+        ReviewIngestLog log = start();
+
+        log.append(store, member, 50L, request(5));
+
+        awaitApplied(log);
+        verify(storeRatingAggregates, never()).onReviewAdded(any(), anyInt());
+        assertEquals(0, log.droppedCount());
+    }
+
+    @Test
+    public void insert_unexpectedException_retriesWithoutStoppingInserter() throws Exception {
+        // 저장 후 반영 중 예외가 발생하면 같은 기록을 다시 저장하고, 이미 저장된 기록은 유니크 제약으로 마침
+        doThrow(new IllegalStateException("unexpected")).when(storeRatingAggregates).onReviewAdded(10L, 5);
+        when(reviewRepository.saveAndFlush(any(Review.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(duplicateReservation())
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        ReviewIngestLog log = start();
+
+        log.append(store, member, 50L, request(5));
+        awaitApplied(log);
+        log.append(store, member, 51L, request(4));
+        awaitApplied(log);
+
+        verify(reviewRepository, times(3)).saveAndFlush(any(Review.class));
+        verify(storeRatingAggregates).onReviewAdded(10L, 4);
+        assertEquals(0, log.droppedCount());
+    }
+
+    @Test
+    public void restart_replaysAcknowledgedReviewsThatWereNotInserted() throws Exception {
+        // DB 장애로 저장되지 못한 채 종료
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenThrow(new RuntimeException("db down"));
+        ReviewIngestLog first = start();
+        first.append(store, member, 50L, request(3));
+        first.stop();
+        started.remove(first);
+        assertEquals(1, readLines().size());
+
+        reset(reviewRepository);
+        ReviewIngestLog second = start();
+
+        verify(reviewRepository).saveAndFlush(argThat((Review review) -> review.getRating() == 3));
+        verify(storeRatingAggregates).onReviewAdded(10L, 3);
+        assertEquals(0, second.pendingCount());
+        // 재생을 마친 파일은 지워지고 새 파일만 남음
+        assertTrue(readLines().isEmpty());
+    }
+
+    @Test
+    public void replay_skipsAlreadyInsertedAndTornRecords() throws Exception {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0);
+        String lines = objectMapper.writeValueAsString(new ReviewIngestLog.ReviewLogRecord(10L, 1L, 50L, 5, "a", now)) + "\n"
+                + objectMapper.writeValueAsString(new ReviewIngestLog.ReviewLogRecord(10L, 2L, 51L, 4, "b", now)) + "\n"
+                + "{\"storeId\":10,\"memb";
+        Files.writeString(dir.resolve("reviews-00000000000000000007.log"), lines);
+        // 묶음 저장이 유니크 제약에 걸리면 건별로 다시 저장 (첫 기록은 이미 저장되어 있음)
+        when(reviewRepository.saveAll(anyList())).thenThrow(duplicateReservation());
+        when(reviewRepository.saveAndFlush(any(Review.class)))
+                .thenThrow(duplicateReservation())
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReviewIngestLog log = start();
+
+        verify(reviewRepository, times(2)).saveAndFlush(any(Review.class));
+        verify(storeRatingAggregates).onReviewAdded(10L, 4);
+        verify(storeRatingAggregates, never()).onReviewAdded(10L, 5);
+        // 이미 저장된 기록은 버린 수로 세지 않음
+        assertEquals(0, log.droppedCount());
+        assertFalse(Files.exists(dir.resolve("reviews-00000000000000000007.log")));
+        assertTrue(Files.exists(dir.resolve("reviews-00000000000000000008.log")));
+    }
+
+    @Test
+    public void replay_otherConstraintViolation_keepsSegmentAndCountsDropped() throws Exception {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0);
+        Files.writeString(dir.resolve("reviews-00000000000000000007.log"),
+                objectMapper.writeValueAsString(new ReviewIngestLog.ReviewLogRecord(10L, 1L, 50L, 5, "a", now)) + "\n");
+        // 그 사이 매장이 정리되어 외래 키 제약에 걸림
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenThrow(new DataIntegrityViolationException("fk",
+                new ConstraintViolationException("fk", new SQLException(), "fk_review_store")));
+
+        ReviewIngestLog log = start();
+
+        verify(storeRatingAggregates, never()).onReviewAdded(any(), anyInt());
+        assertEquals(1, log.droppedCount());
+        assertEquals(0, log.pendingCount());
+        assertTrue(Files.exists(dir.resolve("reviews-00000000000000000007.log")));
+    }
+
+    private DataIntegrityViolationException duplicateReservation() {
+        return new DataIntegrityViolationException("duplicate", new ConstraintViolationException(
+                "Duplicate entry", new SQLException(), "reviews." + Review.UNIQUE_RESERVATION));
+    }
+
+    private ReviewIngestLog start() {
+        ReviewIngestLog log = new ReviewIngestLog(reviewRepository, mock(StoreRepository.class),
+                mock(MemberRepository.class), mock(ReservationRepository.class), storeRatingAggregates,
+                mock(ReviewVersions.class), mock(StoreDetailsCache.class), objectMapper,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                true, dir.toString(), 1 << 20, 16, 50, 1000, 10);
+        log.start();
+        started.add(log);
+        return log;
+    }
+
+    private void awaitApplied(ReviewIngestLog log) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (log.pendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, log.pendingCount());
+    }
+
+    private List<String> readLines() {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<String> lines = new ArrayList<>();
+            for (Path file : files.toList()) {
+                lines.addAll(Files.readAllLines(file, StandardCharsets.UTF_8));
+            }
+            return lines;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private ReviewRequest request(int rating) {
+        ReviewRequest request = new ReviewRequest();
+        request.setStoreId(10L);
+        request.setRating(rating);
+        request.setContent("리뷰");
+        return request;
+    }
+}
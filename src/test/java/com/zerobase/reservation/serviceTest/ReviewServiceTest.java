@@ -2,20 +2,29 @@ package com.zerobase.reservation.serviceTest;
 
 import com.zerobase.reservation.domain.Member;
 import com.zerobase.reservation.domain.Review;
-import com.zerobase.reservation.enums.ReservationStatus;
 import com.zerobase.reservation.domain.Store;
 import com.zerobase.reservation.dto.request.ReviewRequest;
+import com.zerobase.reservation.dto.response.CursorPageResponse;
+import com.zerobase.reservation.dto.response.ReviewResponse;
+import com.zerobase.reservation.exception.ConflictException;
+import com.zerobase.reservation.exception.CustomException;
 import com.zerobase.reservation.repository.MemberRepository;
+import com.zerobase.reservation.repository.ReservationRepository;
 import com.zerobase.reservation.repository.ReviewRepository;
 import com.zerobase.reservation.repository.StoreRepository;
-import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.util.KeysetCursor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +35,9 @@ public class ReviewServiceTest {
     @Mock
     private ReviewRepository reviewRepository;
 
+    @Mock
+    private CompletedVisits completedVisits;
+
     @Mock
     private ReservationRepository reservationRepository;
 
@@ -35,6 +47,18 @@ public class ReviewServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private ReviewVersions reviewVersions;
+
+    @Mock
+    private StoreRatingAggregates storeRatingAggregates;
+
+    @Mock
+    private StoreDetailsCache storeDetailsCache;
+
+    @Mock
+    private ReviewIngestLog reviewIngestLog;
+
     @InjectMocks
     private ReviewService reviewService;
 
@@ -58,24 +82,63 @@ public class ReviewServiceTest {
     @Test
     public void createReview_success() {
         // 가정: 해당 매장에서 COMPLETED 상태의 예약 이력이 존재
-        when(reservationRepository.existsByStoreIdAndMemberIdAndStatus(10L, 1L, ReservationStatus.COMPLETED))
-                .thenReturn(true);
-        when(memberRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(storeRepository.findById(10L)).thenReturn(Optional.of(store));
-        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> {
+        givenCompletedVisit(50L);
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenAnswer(invocation -> {
             Review r = invocation.getArgument(0);
             r.setId(100L);
             return r;
         });
 
-        ReviewRequest request = new ReviewRequest();
-        request.setStoreId(10L);
-        request.setRating(5);
-        request.setContent("Excellent service!");
-
-        Review review = reviewService.createReview(request, 1L);
+        Review review = reviewService.createReview(reviewRequest(50L), 1L);
         assertNotNull(review.getId());
         assertEquals(5, review.getRating());
+        verify(reservationRepository).getReferenceById(50L);
+        verify(reviewVersions).bump(10L);
+        verify(storeRatingAggregates).onReviewAdded(10L, 5);
+        verify(storeDetailsCache).invalidate(10L);
+    }
+
+    @Test
+    public void createReview_rejectsReservationOfOtherStoreOrMember() {
+        givenCompletedVisit(50L);
+
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> reviewService.createReview(reviewRequest(51L), 1L));
+        assertEquals("예약 이력이 없어서 리뷰 작성이 불가합니다.", thrown.getMessage());
+        verify(completedVisits).isCompletedVisit(51L, 10L, 1L);
+        assertThrows(CustomException.class, () -> reviewService.createReview(reviewRequest(null), 1L));
+        verify(reviewRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void createReview_mapsDuplicateReservationToConflict() {
+        givenCompletedVisit(50L);
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("Duplicate entry '50'", new SQLException(),
+                        "reviews." + Review.UNIQUE_RESERVATION)));
+
+        assertThrows(ConflictException.class, () -> reviewService.createReview(reviewRequest(50L), 1L));
+        verifyNoInteractions(storeRatingAggregates, reviewVersions, storeDetailsCache);
+
+        // 다른 제약 위반은 그대로 전달
+        DataIntegrityViolationException other = new DataIntegrityViolationException("fk",
+                new ConstraintViolationException("fk", new SQLException(), "fk_review_member"));
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenThrow(other);
+        assertSame(other, assertThrows(DataIntegrityViolationException.class,
+                () -> reviewService.createReview(reviewRequest(50L), 1L)));
+    }
+
+    @Test
+    public void createReview_writeBehindAppendsToLogInsteadOfInserting() {
+        givenCompletedVisit(50L);
+        ReviewRequest request = reviewRequest(50L);
+        Review pending = Review.builder().store(store).member(user).rating(5).build();
+        when(reviewIngestLog.isEnabled()).thenReturn(true);
+        when(reviewIngestLog.append(store, user, 50L, request)).thenReturn(pending);
+
+        assertSame(pending, reviewService.createReview(request, 1L));
+        verify(reviewRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(storeRatingAggregates);
     }
 
     @Test
@@ -89,16 +152,24 @@ public class ReviewServiceTest {
                 .createdAt(LocalDateTime.now())
                 .build();
         when(reviewRepository.findById(200L)).thenReturn(Optional.of(review));
-        when(reviewRepository.save(any(Review.class))).thenReturn(review);
+        when(reviewRepository.updateIfRating(eq(200L), eq(3), eq(4), eq("Better now"), any(LocalDateTime.class)))
+                .thenReturn(1);
 
-        ReviewRequest request = new ReviewRequest();
-        request.setStoreId(10L);
-        request.setRating(4);
-        request.setContent("Better now");
-
-        Review updatedReview = reviewService.updateReview(200L, request, 1L);
+        Review updatedReview = reviewService.updateReview(200L, updateRequest(4, "Better now"), 1L);
         assertEquals(4, updatedReview.getRating());
         assertEquals("Better now", updatedReview.getContent());
+        verify(storeRatingAggregates).onReviewUpdated(10L, 3, 4);
+    }
+
+    @Test
+    public void updateReview_concurrentlyChanged_throwsConflictWithoutRatingDelta() {
+        Review review = Review.builder().id(200L).store(store).member(user).rating(3).content("Good").build();
+        when(reviewRepository.findById(200L)).thenReturn(Optional.of(review));
+        // 조회 이후 다른 요청이 평점을 바꾸었거나 리뷰를 삭제하여 변경된 행이 없음
+        when(reviewRepository.updateIfRating(eq(200L), eq(3), eq(4), any(), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> reviewService.updateReview(200L, updateRequest(4, "Better now"), 1L));
+        verifyNoInteractions(storeRatingAggregates, reviewVersions, storeDetailsCache);
     }
 
     @Test
@@ -111,8 +182,84 @@ public class ReviewServiceTest {
                 .content("Average")
                 .build();
         when(reviewRepository.findById(300L)).thenReturn(Optional.of(review));
+        when(storeRepository.findOwnerIdById(10L)).thenReturn(Optional.of(2L));
+        when(reviewRepository.deleteRowById(300L)).thenReturn(1);
 
         reviewService.deleteReview(300L, 1L);
-        verify(reviewRepository, times(1)).delete(review);
+        verify(reviewRepository, times(1)).deleteRowById(300L);
+        verify(storeRatingAggregates).onReviewRemoved(10L, 3);
+    }
+
+    @Test
+    public void deleteReview_alreadyDeletedConcurrently_doesNotDecrementAgain() {
+        Review review = Review.builder().id(300L).store(store).member(user).rating(3).build();
+        when(reviewRepository.findById(300L)).thenReturn(Optional.of(review));
+        when(storeRepository.findOwnerIdById(10L)).thenReturn(Optional.of(2L));
+        // 조회 이후 동시에 들어온 삭제 요청이 먼저 행을 지움
+        when(reviewRepository.deleteRowById(300L)).thenReturn(0);
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> reviewService.deleteReview(300L, 1L));
+        assertEquals("리뷰가 존재하지 않습니다.", thrown.getMessage());
+        verifyNoInteractions(storeRatingAggregates, reviewVersions, storeDetailsCache);
+    }
+
+    @Test
+    public void deleteReview_deletedStore_throwsStoreNotFound() {
+        Review review = Review.builder().id(300L).store(store).member(user).rating(3).build();
+        when(reviewRepository.findById(300L)).thenReturn(Optional.of(review));
+        when(storeRepository.findOwnerIdById(10L)).thenReturn(Optional.empty());
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> reviewService.deleteReview(300L, 1L));
+        assertEquals("매장이 존재하지 않습니다.", thrown.getMessage());
+        verify(reviewRepository, never()).deleteRowById(any());
+    }
+
+    @Test
+    public void getStoreReviews_returnsNextCursorOnlyWhenMoreRowsExist() {
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 12, 0);
+        when(storeRepository.existsById(10L)).thenReturn(true);
+        when(reviewRepository.findStorePage(eq(10L), any(), any(), any())).thenReturn(List.of(
+                new ReviewResponse(3L, 10L, 1L, 5, "c", base.plusMinutes(3), null),
+                new ReviewResponse(2L, 10L, 1L, 4, "b", base.plusMinutes(2), null),
+                new ReviewResponse(1L, 10L, 1L, 3, "a", base.plusMinutes(1), null)));
+
+        CursorPageResponse<ReviewResponse> page = reviewService.getStoreReviews(10L, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(new KeysetCursor(base.plusMinutes(2), 2L), KeysetCursor.decode(page.getNextCursor()));
+        verify(reviewRepository).findStorePage(eq(10L), eq(LocalDateTime.of(9999, 12, 31, 23, 59, 59)),
+                eq(Long.MAX_VALUE), eq(PageRequest.of(0, 3)));
+    }
+
+    @Test
+    public void getStoreReviews_missingStore_throwsException() {
+        when(storeRepository.existsById(10L)).thenReturn(false);
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> reviewService.getStoreReviews(10L, null, 20));
+        assertEquals("매장이 존재하지 않습니다.", thrown.getMessage());
+        verify(reviewRepository, never()).findStorePage(any(), any(), any(), any());
+    }
+
+    private void givenCompletedVisit(Long reservationId) {
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(storeRepository.findById(10L)).thenReturn(Optional.of(store));
+        when(completedVisits.isCompletedVisit(reservationId, 10L, 1L)).thenReturn(true);
+    }
+
+    private ReviewRequest updateRequest(int rating, String content) {
+        ReviewRequest request = new ReviewRequest();
+        request.setStoreId(10L);
+        request.setRating(rating);
+        request.setContent(content);
+        return request;
+    }
+
+    private ReviewRequest reviewRequest(Long reservationId) {
+        ReviewRequest request = new ReviewRequest();
+        request.setStoreId(10L);
+        request.setReservationId(reservationId);
+        request.setRating(5);
+        request.setContent("Excellent service!");
+        return request;
     }
 }
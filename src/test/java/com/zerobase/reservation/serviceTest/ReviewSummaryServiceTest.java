@@ -0,0 +1,46 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.dto.response.ReviewSummaryResponse;
+import com.zerobase.reservation.repository.ReviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReviewSummaryServiceTest {
+
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    private final ReviewSummaryService reviewSummaryService =
+            new ReviewSummaryService(reviewRepository, new ReviewVersions(), new SimpleMeterRegistry());
+
+    @Test
+    public void getSummary_returnsAggregate() {
+        // given
+        when(reviewRepository.summarizeByStoreId(1L))
+                .thenReturn(Optional.of(new ReviewSummaryResponse(1L, 3L, 4.5)));
+
+        // when
+        ReviewSummaryResponse summary = reviewSummaryService.getSummary(1L);
+
+        // then
+        assertEquals(3, summary.getReviewCount());
+        assertEquals(4.5, summary.getAverageRating());
+    }
+
+    @Test
+    public void getSummary_noReviews_returnsEmpty() {
+        // given
+        when(reviewRepository.summarizeByStoreId(1L)).thenReturn(Optional.empty());
+
+        // when
+        ReviewSummaryResponse summary = reviewSummaryService.getSummary(1L);
+
+        // then
+        assertEquals(1L, summary.getStoreId());
+        assertEquals(0, summary.getReviewCount());
+        assertNull(summary.getAverageRating());
+    }
+}
@@ -0,0 +1,102 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SlotInventoryTest {
+
+    private static final int CAPACITY = 4;
+
+    private final SlotInventory slotInventory =
+            new SlotInventory(mock(ReservationRepository.class), CAPACITY, 30);
+
+    @Test
+    public void tryAcquire_rejectsWhenFull() {
+        LocalDateTime slot = LocalDateTime.of(2030, 3, 1, 19, 0);
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(slotInventory.tryAcquire(1L, slot));
+        }
+        assertFalse(slotInventory.tryAcquire(1L, slot));
+        // 같은 버킷(19:00~19:30)의 다른 시각도 마감, 다른 버킷과 다른 매장은 영향 없음
+        assertFalse(slotInventory.tryAcquire(1L, slot.plusMinutes(20)));
+        assertTrue(slotInventory.tryAcquire(1L, slot.plusMinutes(30)));
+        assertTrue(slotInventory.tryAcquire(2L, slot));
+    }
+
+    @Test
+    public void release_makesSlotAvailableAgain() {
+        LocalDateTime slot = LocalDateTime.of(2030, 3, 1, 12, 0);
+        for (int i = 0; i < CAPACITY; i++) {
+            slotInventory.tryAcquire(1L, slot);
+        }
+        slotInventory.release(1L, slot);
+        assertEquals(1, slotInventory.remaining(1L, slot));
+        assertTrue(slotInventory.tryAcquire(1L, slot));
+        assertEquals(0, slotInventory.remaining(1L, slot));
+    }
+
+    @Test
+    public void tryAcquire_concurrent_neverOversells() throws Exception {
+        // given: 같은 슬롯에 다수의 스레드가 동시에 예약 시도
+        LocalDateTime slot = LocalDateTime.of(2030, 3, 1, 19, 0);
+        int threads = 32;
+        int attemptsPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger maxHeld = new AtomicInteger();
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (slotInventory.tryAcquire(1L, slot)) {
+                        maxHeld.accumulateAndGet(accepted.incrementAndGet(), Math::max);
+                        // 일부는 취소 후 재시도하여 증감이 섞이도록 합니다.
+                        if (i % 3 == 0) {
+                            accepted.decrementAndGet();
+                            slotInventory.release(1L, slot);
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+
+        // when
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // then: 어느 시점에도 점유 수가 정원을 넘지 않고, 카운터와 실제 수락 수가 일치
+        assertTrue(maxHeld.get() <= CAPACITY);
+        assertEquals(CAPACITY, accepted.get());
+        assertEquals(0, slotInventory.remaining(1L, slot));
+    }
+
+    @Test
+    public void remainingSlots_reflectsCountersAndVersionChanges() {
+        LocalDateTime slot = LocalDateTime.of(2030, 3, 1, 19, 0);
+        String before = slotInventory.version(1L);
+
+        slotInventory.tryAcquire(1L, slot);
+
+        int[] remaining = slotInventory.remainingSlots(1L, slot.toLocalDate());
+        assertEquals(48, remaining.length);
+        assertEquals(CAPACITY - 1, remaining[38]);
+        assertEquals(CAPACITY, remaining[37]);
+        assertNotEquals(before, slotInventory.version(1L));
+        // 다른 매장의 버전은 바뀌지 않음
+        assertEquals(slotInventory.version(2L), slotInventory.version(3L));
+    }
+}
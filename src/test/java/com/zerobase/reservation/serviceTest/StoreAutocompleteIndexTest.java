@@ -0,0 +1,123 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.dto.response.StoreResponse;
+import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.repository.StoreRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StoreAutocompleteIndexTest {
+
+    private final StoreRepository storeRepository = mock(StoreRepository.class);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final StoreAutocompleteIndex index = new StoreAutocompleteIndex(storeRepository, reservationRepository, 30);
+
+    @Test
+    public void toKey_decomposesHangulIntoTypedJamo() {
+        assertEquals("ㄱㅏㅇㄴㅏㅁ", StoreAutocompleteIndex.toKey("강남"));
+        // 겹모음/겹받침은 입력 순서대로, 홀로 입력한 자모와 공백도 처리
+        assertEquals("ㄱㅗㅏㄷㅏㄹㄱ", StoreAutocompleteIndex.toKey("과닭"));
+        assertEquals("ㄱㅏㄴ", StoreAutocompleteIndex.toKey("가 ㄴ"));
+        assertEquals("cafe", StoreAutocompleteIndex.toKey("ＣＡＦＥ"));
+    }
+
+    @Test
+    public void suggest_matchesSyllablesInProgressAndLaterWords() {
+        index.put(new StoreResponse(1L, "강남 파스타", "서울", "", 1L));
+        index.put(new StoreResponse(2L, "가나 분식", "서울", "", 1L));
+        index.put(new StoreResponse(3L, "스시 오마카세", "서울", "", 1L));
+
+        assertEquals(List.of(1L, 2L), ids(index.suggest("가", 10)));
+        // "간"은 "가나"를 입력하는 중간 상태일 수도 있음
+        assertEquals(List.of(2L), ids(index.suggest("간", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("강남", 10)));
+        assertEquals(List.of(3L), ids(index.suggest("오맠", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("파스", 10)));
+        assertEquals(List.of(), index.suggest(" ", 10));
+    }
+
+    @Test
+    public void suggest_ranksByRecentReservations() {
+        when(storeRepository.findResponsesAfter(anyLong(), any())).thenReturn(List.of(
+                new StoreResponse(1L, "치킨 1호점", "서울", "", 1L),
+                new StoreResponse(2L, "치킨 2호점", "서울", "", 1L),
+                new StoreResponse(3L, "치즈 카페", "서울", "", 1L)));
+        when(reservationRepository.countByStoreSince(any())).thenReturn(List.of(count(2L, 7), count(3L, 3)));
+
+        index.rebuild();
+
+        assertEquals(List.of(2L, 3L, 1L), ids(index.suggest("ㅊ", 10)));
+        assertEquals(List.of(2L, 1L), ids(index.suggest("치킨", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("치", 1)));
+    }
+
+    @Test
+    public void put_renamesAndRemoveDropsStore() {
+        index.put(new StoreResponse(1L, "버거 하우스", "서울", "", 1L));
+        index.put(new StoreResponse(1L, "피자 하우스", "서울", "", 1L));
+
+        assertEquals(List.of(), index.suggest("버거", 10));
+        assertEquals(List.of(1L), ids(index.suggest("피자", 10)));
+
+        index.remove(1L);
+        assertEquals(List.of(), index.suggest("하우스", 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void suggest_keepsPrecomputedPrefixesCurrentOnChanges() {
+        List<StoreResponse> stores = new ArrayList<>();
+        for (long id = 1; id <= 600; id++) {
+            stores.add(new StoreResponse(id, "국밥 " + id, "서울", "", 1L));
+        }
+        when(storeRepository.findResponsesAfter(anyLong(), any())).thenReturn(stores);
+        when(reservationRepository.countByStoreSince(any())).thenReturn(List.of(count(100L, 50), count(200L, 40)));
+        index.rebuild();
+        assertEquals(List.of(100L, 200L, 1L), ids(index.suggest("ㄱ", 3)));
+
+        // 1위 매장이 빠지면 다음 순위로 채우고, 새 매장은 인기도 0으로 ID 순에 들어감
+        index.remove(100L);
+        index.put(new StoreResponse(0L, "국수", "서울", "", 1L));
+        assertEquals(List.of(200L, 0L, 1L), ids(index.suggest("구", 3)));
+    }
+
+    @Test
+    public void put_multiWordNameUnderPrecomputedPrefix_isListedOnce() {
+        List<StoreResponse> stores = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            stores.add(new StoreResponse(id, "소바 " + id, "서울", "", 1L));
+        }
+        when(storeRepository.findResponsesAfter(anyLong(), any())).thenReturn(stores);
+        index.rebuild();
+
+        // "서울 스시"의 두 키("ㅅㅓㅇㅜㄹㅅㅡㅅㅣ", "ㅅㅡㅅㅣ")가 모두 미리 계산한 접두어 "ㅅ"에 속함
+        index.put(new StoreResponse(0L, "서울 스시", "서울", "", 1L));
+
+        List<Long> suggested = ids(index.suggest("ㅅ", 5));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), suggested);
+    }
+
+    private ReservationRepository.StoreReservationCount count(Long storeId, long reservations) {
+        return new ReservationRepository.StoreReservationCount() {
+            @Override
+            public Long getStoreId() {
+                return storeId;
+            }
+
+            @Override
+            public Long getReservationCount() {
+                return reservations;
+            }
+        };
+    }
+
+    private List<Long> ids(List<StoreResponse> stores) {
+        return stores.stream().map(StoreResponse::getId).toList();
+    }
+}
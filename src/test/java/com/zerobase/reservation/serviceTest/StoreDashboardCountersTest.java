@@ -0,0 +1,140 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.domain.StoreDashboardStats;
+import com.zerobase.reservation.enums.ReservationStatus;
+import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.repository.StoreDashboardStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StoreDashboardCountersTest {
+
+    private final StoreDashboardStatsRepository statsRepository = mock(StoreDashboardStatsRepository.class);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final StoreDashboardCounters counters =
+            new StoreDashboardCounters(statsRepository, reservationRepository, jdbcTemplate);
+
+    @Test
+    public void onStatusChanged_movesCountBetweenTrackedStatuses() {
+        counters.onStatusChanged(1L, null, ReservationStatus.REQUESTED);
+        counters.onStatusChanged(1L, null, ReservationStatus.REQUESTED);
+        counters.onStatusChanged(1L, ReservationStatus.REQUESTED, ReservationStatus.APPROVED);
+        counters.onStatusChanged(1L, ReservationStatus.APPROVED, ReservationStatus.COMPLETED);
+        // 대시보드에 없는 상태 사이의 변경은 무시하고, 한쪽만 해당하면 그쪽만 반영
+        counters.onStatusChanged(1L, ReservationStatus.WAITLISTED, ReservationStatus.EXPIRED);
+        counters.onStatusChanged(1L, ReservationStatus.REQUESTED, ReservationStatus.REJECTED);
+
+        StoreDashboardCounters.StoreCounts counts = counters.get(1L);
+        assertEquals(0, counts.pendingCount());
+        assertEquals(0, counts.approvedCount());
+        assertEquals(1, counts.completedCount());
+        assertEquals(StoreDashboardCounters.StoreCounts.EMPTY, counters.get(2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flush_upsertsOnlyChangedStoresOnce() {
+        counters.onStatusChanged(1L, null, ReservationStatus.REQUESTED);
+        counters.onStatusChanged(2L, null, ReservationStatus.APPROVED);
+        counters.onStatusChanged(1L, null, ReservationStatus.REQUESTED);
+
+        assertEquals(2, counters.flush());
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        Object[] store1 = rows.getValue().stream().filter(row -> row[0].equals(1L)).findFirst().orElseThrow();
+        assertEquals(2L, store1[1]);
+
+        // 변경이 없으면 저장하지 않음
+        assertEquals(0, counters.flush());
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void flush_keepsStoresDirtyWhenSaveFails() {
+        counters.onStatusChanged(1L, null, ReservationStatus.REQUESTED);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("db down"));
+
+        assertThrows(RuntimeException.class, counters::flush);
+
+        reset(jdbcTemplate);
+        assertEquals(1, counters.flush());
+    }
+
+    @Test
+    public void reconcile_correctsDriftAndSkipsStoresChangedDuringAggregation() {
+        counters.onStatusChanged(1L, null, ReservationStatus.REQUESTED);
+        counters.onStatusChanged(2L, null, ReservationStatus.REQUESTED);
+        when(reservationRepository.countByStoreAndStatus(any())).thenAnswer(invocation -> {
+            // 집계 도중 매장 2의 예약이 승인됨
+            counters.onStatusChanged(2L, ReservationStatus.REQUESTED, ReservationStatus.APPROVED);
+            return List.of(statusCount(1L, ReservationStatus.REQUESTED, 3), statusCount(2L, ReservationStatus.REQUESTED, 9),
+                    statusCount(3L, ReservationStatus.COMPLETED, 1));
+        });
+
+        assertEquals(2, counters.reconcile());
+
+        assertEquals(new StoreDashboardCounters.StoreCounts(3, 0, 0), counters.get(1L));
+        assertEquals(new StoreDashboardCounters.StoreCounts(0, 1, 0), counters.get(2L));
+        assertEquals(1, counters.get(3L).completedCount());
+    }
+
+    @Test
+    public void load_restoresSavedCountersOrAggregatesWhenEmpty() {
+        when(statsRepository.findByStoreIdGreaterThanOrderByStoreId(eq(0L), any())).thenReturn(List.of(
+                new StoreDashboardStats(1L, 1, 2, 3, LocalDateTime.now())));
+        counters.load();
+        assertEquals(new StoreDashboardCounters.StoreCounts(1, 2, 3), counters.get(1L));
+        verify(reservationRepository, never()).countByStoreAndStatus(any());
+
+        when(statsRepository.findByStoreIdGreaterThanOrderByStoreId(eq(0L), any())).thenReturn(List.of());
+        when(reservationRepository.countByStoreAndStatus(any()))
+                .thenReturn(List.of(statusCount(5L, ReservationStatus.APPROVED, 2)));
+        counters.load();
+        assertEquals(StoreDashboardCounters.StoreCounts.EMPTY, counters.get(1L));
+        assertEquals(2, counters.get(5L).approvedCount());
+    }
+
+    @Test
+    public void remove_dropsCountersAndSavedRow() {
+        counters.onStatusChanged(1L, null, ReservationStatus.REQUESTED);
+        counters.remove(1L);
+
+        assertEquals(StoreDashboardCounters.StoreCounts.EMPTY, counters.get(1L));
+        verify(statsRepository).deleteById(1L);
+        assertEquals(0, counters.flush());
+
+        // 정리 전에 커밋된 예약의 뒤늦은 증감은 카운터와 저장본을 되살리지 않음
+        counters.onStatusChanged(1L, ReservationStatus.REQUESTED, ReservationStatus.EXPIRED);
+        assertEquals(StoreDashboardCounters.StoreCounts.EMPTY, counters.get(1L));
+        assertEquals(0, counters.flush());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private ReservationRepository.StoreStatusCount statusCount(Long storeId, ReservationStatus status, long count) {
+        return new ReservationRepository.StoreStatusCount() {
+            @Override
+            public Long getStoreId() {
+                return storeId;
+            }
+
+            @Override
+            public ReservationStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getReservationCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.reservation.dto.response.StoreResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StoreDetailsCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StoreDetailsCache cache = new StoreDetailsCache(new ObjectMapper(), meterRegistry, 100, 300);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, StoreResponse> loader = storeId -> {
+        loads.incrementAndGet();
+        return new StoreResponse(storeId, "매장" + loads.get(), "서울", "설명", 1L);
+    };
+
+    @Test
+    public void get_cachesSerializedJson() {
+        StoreDetailsCache.CachedDetails first = cache.get(1L, loader);
+        StoreDetailsCache.CachedDetails second = cache.get(1L, loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertTrue(new String(first.body(), StandardCharsets.UTF_8).contains("\"store_name\":\"매장1\""));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.size").gauge().value());
+    }
+
+    @Test
+    public void invalidate_reloadsOnNextGet() {
+        StoreDetailsCache.CachedDetails original = cache.get(1L, loader);
+
+        cache.invalidate(1L);
+        StoreDetailsCache.CachedDetails reloaded = cache.get(1L, loader);
+
+        assertEquals(2, loads.get());
+        assertTrue(new String(reloaded.body(), StandardCharsets.UTF_8).contains("\"store_name\":\"매장2\""));
+        assertNotEquals(original.eTag(), reloaded.eTag());
+    }
+
+    @Test
+    public void get_stampsLastModifiedAndOmitsItFromBody() {
+        LocalDateTime updatedAt = LocalDateTime.of(2030, 3, 1, 12, 0);
+
+        StoreDetailsCache.CachedDetails details = cache.get(1L,
+                storeId -> new StoreResponse(storeId, "매장", "서울", null, 1L, null, null, updatedAt));
+
+        assertEquals(updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), details.lastModified());
+        assertTrue(details.eTag().matches("\"[0-9a-f]{16}\""));
+        assertFalse(new String(details.body(), StandardCharsets.UTF_8).contains("modifiedAt"));
+    }
+
+    @Test
+    public void get_invalidatedWhileLoading_doesNotCacheStaleValue() {
+        // 조회 도중 수정이 커밋되어 무효화된 경우
+        cache.get(1L, storeId -> {
+            cache.invalidate(storeId);
+            return loader.apply(storeId);
+        });
+        cache.get(1L, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void get_loaderThrows_doesNotCache() {
+        assertThrows(RuntimeException.class, () -> cache.get(1L, storeId -> {
+            throw new RuntimeException("매장이 존재하지 않습니다.");
+        }));
+        cache.get(1L, loader);
+
+        assertEquals(1, loads.get());
+    }
+}
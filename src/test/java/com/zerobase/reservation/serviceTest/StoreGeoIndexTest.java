@@ -0,0 +1,90 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.dto.response.StoreResponse;
+import com.zerobase.reservation.repository.StoreRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class StoreGeoIndexTest {
+
+    // 강남역 기준
+    private static final double LAT = 37.4979;
+    private static final double LNG = 127.0276;
+
+    private final StoreGeoIndex index = new StoreGeoIndex(mock(StoreRepository.class), 0.01);
+
+    @Test
+    public void nearest_returnsClosestStoresInDistanceOrder() {
+        index.put(store(1L, 37.5045, 127.0490));  // 선릉 부근, 약 2km
+        index.put(store(2L, 37.4980, 127.0280));  // 바로 옆, 약 40m
+        index.put(store(3L, 37.5172, 127.0473));  // 약 2.8km
+        index.put(store(4L, 35.1796, 129.0756));  // 부산
+        index.put(new StoreResponse(5L, "좌표 없음", "서울", null, 1L));
+
+        List<StoreGeoIndex.Hit> hits = index.nearest(LAT, LNG, 2, 50);
+
+        assertEquals(List.of(2L, 1L), ids(hits));
+        assertTrue(hits.get(0).distanceKm() < 0.1);
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void nearest_excludesStoresOutsideRadius() {
+        index.put(store(1L, 37.5045, 127.0490));
+        index.put(store(2L, 37.4980, 127.0280));
+
+        assertEquals(List.of(2L), ids(index.nearest(LAT, LNG, 10, 1)));
+    }
+
+    @Test
+    public void put_movesStoreAndRemoveDropsIt() {
+        index.put(store(1L, 35.1796, 129.0756));
+        assertTrue(index.nearest(LAT, LNG, 10, 5).isEmpty());
+
+        index.put(store(1L, 37.4985, 127.0285));
+        assertEquals(List.of(1L), ids(index.nearest(LAT, LNG, 10, 5)));
+
+        index.remove(1L);
+        assertTrue(index.nearest(LAT, LNG, 10, 5).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void nearest_matchesBruteForce() {
+        Random random = new Random(42);
+        List<StoreResponse> stores = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            StoreResponse store = store(id, LAT + (random.nextDouble() - 0.5) * 0.5, LNG + (random.nextDouble() - 0.5) * 0.5);
+            stores.add(store);
+            index.put(store);
+        }
+
+        List<Long> expected = stores.stream()
+                .filter(store -> distance(store) <= 10)
+                .sorted(Comparator.comparingDouble(this::distance))
+                .limit(25)
+                .map(StoreResponse::getId)
+                .collect(Collectors.toList());
+        assertEquals(expected, ids(index.nearest(LAT, LNG, 25, 10)));
+    }
+
+    private StoreResponse store(Long id, double latitude, double longitude) {
+        return new StoreResponse(id, "매장" + id, "서울", null, 1L, latitude, longitude, null);
+    }
+
+    private double distance(StoreResponse store) {
+        return StoreGeoIndex.distanceKm(LAT, LNG, store.getLatitude(), store.getLongitude());
+    }
+
+    private List<Long> ids(List<StoreGeoIndex.Hit> hits) {
+        return hits.stream().map(hit -> hit.store().getId()).toList();
+    }
+}
@@ -0,0 +1,157 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.reservation.domain.Member;
+import com.zerobase.reservation.domain.Store;
+import com.zerobase.reservation.dto.response.StoreImportProgress;
+import com.zerobase.reservation.enums.Role;
+import com.zerobase.reservation.repository.MemberRepository;
+import com.zerobase.reservation.repository.StoreRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StoreImportServiceTest {
+
+    private final StoreRepository storeRepository = mock(StoreRepository.class);
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final StoreSearchIndex storeSearchIndex = mock(StoreSearchIndex.class);
+    private final StoreGeoIndex storeGeoIndex = mock(StoreGeoIndex.class);
+    private final AtomicLong ids = new AtomicLong();
+    private final List<StoreImportProgress> events = new ArrayList<>();
+    private StoreImportService service;
+    private Member partner;
+
+    @BeforeEach
+    public void setUp() {
+        service = new StoreImportService(storeRepository, memberRepository, storeSearchIndex, storeGeoIndex,
+                mock(StoreAutocompleteIndex.class),
+                new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(),
+                mock(PlatformTransactionManager.class), 2);
+        partner = Member.builder().id(1L).role(Role.PARTNER).build();
+        when(memberRepository.getReferenceById(1L)).thenReturn(partner);
+        when(storeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Store> stores = invocation.getArgument(0);
+            stores.forEach(store -> store.setId(ids.incrementAndGet()));
+            return stores;
+        });
+    }
+
+    @Test
+    public void importStores_ndjsonSavesInBatchesAndReportsRowErrors() throws Exception {
+        String body = """
+                {"storeName":"한식당","location":"서울"}
+                {"storeName":"","location":"서울"}
+
+                {"storeName":"일식당","location":"부산","latitude":35.1,"longitude":129.0}
+                {"storeName":"중식당","location":"대구","latitude":35.8}
+                not json
+                {"storeName":"양식당","location":"광주"}
+                """;
+
+        StoreImportProgress done = service.importStores(new StringReader(body), StoreImportService.Format.NDJSON, 1L, events::add);
+
+        assertEquals(6L, done.getProcessed());
+        assertEquals(3L, done.getImported());
+        assertEquals(3L, done.getFailed());
+        // 묶음 크기(2)마다 한 번씩 저장하고, 남은 한 건은 마지막에 저장
+        verify(storeRepository, times(2)).saveAll(anyList());
+        verify(storeSearchIndex, times(3)).put(any());
+        assertEquals(List.of("ERROR:2", "PROGRESS", "ERROR:5", "ERROR:6", "DONE"), summarize(events));
+        assertEquals("매장 이름은 필수 입력 값입니다.", events.get(0).getReason());
+        assertEquals("위도와 경도는 함께 입력해야 합니다.", events.get(2).getReason());
+        assertEquals("JSON 형식이 올바르지 않습니다.", events.get(3).getReason());
+    }
+
+    @Test
+    public void importStores_csvMapsColumnsByHeader() throws Exception {
+        String body = "location,store_name,description,latitude,longitude\r\n"
+                + "서울 강남구,\"맛집, 본점\",\"\"\"유명\"\" 식당\",37.5,127.0\r\n"
+                + "서울,분식집,,abc,127.0\r\n";
+
+        List<Store> saved = new ArrayList<>();
+        when(storeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Store> stores = invocation.getArgument(0);
+            saved.addAll(stores);
+            return stores;
+        });
+        StoreImportProgress done = service.importStores(new StringReader(body), StoreImportService.Format.CSV, 1L, events::add);
+
+        assertEquals(1L, done.getImported());
+        assertEquals("맛집, 본점", saved.get(0).getStoreName());
+        assertEquals("\"유명\" 식당", saved.get(0).getDescription());
+        assertEquals(37.5, saved.get(0).getLatitude());
+        assertSame(partner, saved.get(0).getOwner());
+        assertEquals(3L, events.get(0).getLine());
+        assertEquals("위도는 숫자여야 합니다.", events.get(0).getReason());
+    }
+
+    @Test
+    public void importStores_failedBatchRetriesRowsIndividually() throws Exception {
+        when(storeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Store> stores = invocation.getArgument(0);
+            if (stores.stream().anyMatch(store -> store.getStoreName().equals("중복"))) {
+                throw new RuntimeException("constraint violation");
+            }
+            return stores;
+        });
+        String body = """
+                {"storeName":"정상","location":"서울"}
+                {"storeName":"중복","location":"서울"}
+                """;
+
+        StoreImportProgress done = service.importStores(new StringReader(body), StoreImportService.Format.NDJSON, 1L, events::add);
+
+        assertEquals(1L, done.getImported());
+        assertEquals(1L, done.getFailed());
+        assertEquals(2L, events.get(0).getLine());
+        assertEquals("매장 저장 중 오류가 발생했습니다.", events.get(0).getReason());
+        verify(storeSearchIndex, times(1)).put(any());
+    }
+
+    @Test
+    public void importStores_rejectsOverlongLineWithoutBufferingIt() throws Exception {
+        String body = "{\"storeName\":\"" + "가".repeat(StoreImportService.MAX_LINE_LENGTH) + "\",\"location\":\"서울\"}\n"
+                + "{\"storeName\":\"정상\",\"location\":\"서울\"}\n";
+
+        StoreImportProgress done = service.importStores(new StringReader(body), StoreImportService.Format.NDJSON, 1L, events::add);
+
+        assertEquals(1L, done.getImported());
+        assertEquals(1L, events.get(0).getLine());
+    }
+
+    @Test
+    public void importStores_csvWithoutRequiredColumnsStops() throws Exception {
+        StoreImportProgress done = service.importStores(new StringReader("name,address\n가게,서울\n"),
+                StoreImportService.Format.CSV, 1L, events::add);
+
+        assertEquals(0L, done.getProcessed());
+        assertEquals("CSV 첫 줄에 storeName, location 열이 필요합니다.", events.get(0).getReason());
+        verify(storeRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void validatePartner_rejectsNonPartner() {
+        when(memberRepository.findById(2L)).thenReturn(Optional.of(Member.builder().id(2L).role(Role.USER).build()));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> service.validatePartner(2L));
+        assertEquals("파트너 회원만 매장을 등록할 수 있습니다.", ex.getMessage());
+    }
+
+    private List<String> summarize(List<StoreImportProgress> events) {
+        return events.stream()
+                .map(event -> event.getLine() != null ? event.getType() + ":" + event.getLine() : event.getType())
+                .toList();
+    }
+}
@@ -0,0 +1,77 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.repository.ReservationRepository;
+import com.zerobase.reservation.repository.ReviewRepository;
+import com.zerobase.reservation.repository.StoreRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class StorePurgeServiceTest {
+
+    private final StoreRepository storeRepository = mock(StoreRepository.class);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    private final StoreDashboardCounters storeDashboardCounters = mock(StoreDashboardCounters.class);
+    private final StoreStatsCounters storeStatsCounters = mock(StoreStatsCounters.class);
+    private final StoreRatingAggregates storeRatingAggregates = mock(StoreRatingAggregates.class);
+
+    @Test
+    public void purgeDeletedStores_deletesDependentsInBatchesBeforeStore() {
+        StorePurgeService service = service(60_000);
+        when(storeRepository.findDeletedIds(anyInt())).thenReturn(List.of(1L, 2L));
+        // 매장 1: 리뷰 2묶음 반 + 예약 1묶음 미만, 매장 2: 종속 행 없음
+        when(reviewRepository.deleteByStoreId(1L, 10)).thenReturn(10, 10, 3);
+        when(reservationRepository.deleteByStoreId(1L, 10)).thenReturn(4);
+
+        assertEquals(2, service.purgeDeletedStores());
+
+        InOrder order = inOrder(reviewRepository, reservationRepository, storeRepository);
+        order.verify(reviewRepository, times(3)).deleteByStoreId(1L, 10);
+        order.verify(reservationRepository).deleteByStoreId(1L, 10);
+        order.verify(storeRepository).purgeDeleted(1L);
+        order.verify(reviewRepository).deleteByStoreId(2L, 10);
+        order.verify(reservationRepository).deleteByStoreId(2L, 10);
+        order.verify(storeRepository).purgeDeleted(2L);
+        verify(storeDashboardCounters).remove(1L);
+        verify(storeDashboardCounters).remove(2L);
+        verify(storeRatingAggregates).remove(2L);
+        verify(storeStatsCounters).remove(1L);
+    }
+
+    @Test
+    public void purgeDeletedStores_stopsAtTimeLimitAndLeavesStoreForNextRun() {
+        StorePurgeService service = service(0);
+        when(storeRepository.findDeletedIds(anyInt())).thenReturn(List.of(1L));
+
+        assertEquals(0, service.purgeDeletedStores());
+
+        verify(storeRepository, never()).purgeDeleted(anyLong());
+    }
+
+    @Test
+    public void purgeDeletedStores_stopsAfterShutdown() {
+        StorePurgeService service = service(60_000);
+        when(storeRepository.findDeletedIds(anyInt())).thenReturn(List.of(1L));
+        when(reviewRepository.deleteByStoreId(1L, 10)).thenAnswer(invocation -> {
+            service.stop();
+            return 10;
+        });
+
+        assertEquals(0, service.purgeDeletedStores());
+
+        verify(reviewRepository, times(1)).deleteByStoreId(1L, 10);
+        verify(reservationRepository, never()).deleteByStoreId(anyLong(), anyInt());
+        verify(storeRepository, never()).purgeDeleted(anyLong());
+    }
+
+    private StorePurgeService service(long maxRunMillis) {
+        return new StorePurgeService(storeRepository, reservationRepository, reviewRepository, storeDashboardCounters,
+                storeStatsCounters, storeRatingAggregates, mock(PlatformTransactionManager.class), 10, 0, maxRunMillis);
+    }
+}
@@ -0,0 +1,142 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.domain.StoreRatingStats;
+import com.zerobase.reservation.repository.ReviewRepository;
+import com.zerobase.reservation.repository.StoreRatingStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StoreRatingAggregatesTest {
+
+    private final StoreRatingStatsRepository statsRepository = mock(StoreRatingStatsRepository.class);
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    private final StoreDetailsCache storeDetailsCache = mock(StoreDetailsCache.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final StoreRatingAggregates aggregates =
+            new StoreRatingAggregates(statsRepository, reviewRepository, storeDetailsCache, jdbcTemplate);
+
+    @Test
+    public void onReview_tracksCountSumAndHistogram() {
+        aggregates.onReviewAdded(1L, 5);
+        aggregates.onReviewAdded(1L, 2);
+        aggregates.onReviewUpdated(1L, 2, 4);
+
+        StoreRatingAggregates.StoreRating rating = aggregates.get(1L);
+        assertEquals(2, rating.reviewCount());
+        assertEquals(4.5, rating.averageRating());
+        assertArrayEquals(new long[]{0, 0, 0, 1, 1}, rating.histogram());
+
+        aggregates.onReviewRemoved(1L, 5);
+        aggregates.onReviewRemoved(1L, 4);
+        assertEquals(0, aggregates.get(1L).reviewCount());
+        assertNull(aggregates.get(1L).averageRating());
+        assertArrayEquals(new long[5], aggregates.get(1L).histogram());
+        assertSame(StoreRatingAggregates.StoreRating.EMPTY, aggregates.get(2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flush_upsertsAbsoluteValuesOfChangedStores() {
+        aggregates.onReviewAdded(1L, 3);
+        aggregates.onReviewAdded(1L, 5);
+
+        assertEquals(1, aggregates.flush());
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        Object[] row = rows.getValue().get(0);
+        assertEquals(List.of(1L, 2L, 8L, 0L, 0L, 1L, 0L, 1L), Arrays.asList(row).subList(0, 8));
+
+        assertEquals(0, aggregates.flush());
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void flush_keepsStoresDirtyWhenSaveFails() {
+        aggregates.onReviewAdded(1L, 4);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("db down"));
+
+        assertThrows(RuntimeException.class, aggregates::flush);
+
+        reset(jdbcTemplate);
+        assertEquals(1, aggregates.flush());
+    }
+
+    @Test
+    public void reconcile_rebuildsFromRatingCountsAndSkipsStoresChangedDuringAggregation() {
+        aggregates.onReviewAdded(1L, 5);
+        aggregates.onReviewAdded(2L, 5);
+        when(reviewRepository.countByStoreAndRating()).thenAnswer(invocation -> {
+            // 집계 도중 매장 2에 리뷰가 추가됨
+            aggregates.onReviewAdded(2L, 1);
+            return List.of(ratingCount(1L, 5, 2), ratingCount(1L, 3, 1), ratingCount(2L, 5, 7),
+                    ratingCount(3L, 4, 1));
+        });
+
+        assertEquals(2, aggregates.reconcile());
+
+        StoreRatingAggregates.StoreRating store1 = aggregates.get(1L);
+        assertEquals(3, store1.reviewCount());
+        assertEquals(13, store1.ratingSum());
+        assertArrayEquals(new long[]{0, 0, 1, 0, 2}, store1.histogram());
+        assertEquals(2, aggregates.get(2L).reviewCount());
+        assertEquals(4.0, aggregates.get(3L).averageRating());
+        // 바로잡은 매장만 상세 캐시에서 지움
+        verify(storeDetailsCache).invalidate(1L);
+        verify(storeDetailsCache).invalidate(3L);
+        verify(storeDetailsCache, never()).invalidate(2L);
+    }
+
+    @Test
+    public void load_restoresSavedAggregatesOrRebuildsWhenEmpty() {
+        when(statsRepository.findByStoreIdGreaterThanOrderByStoreId(eq(0L), any())).thenReturn(List.of(
+                new StoreRatingStats(1L, 3, 12, 0, 0, 1, 1, 1, LocalDateTime.now())));
+        aggregates.load();
+        assertEquals(4.0, aggregates.get(1L).averageRating());
+        assertArrayEquals(new long[]{0, 0, 1, 1, 1}, aggregates.get(1L).histogram());
+        verify(reviewRepository, never()).countByStoreAndRating();
+
+        when(statsRepository.findByStoreIdGreaterThanOrderByStoreId(eq(0L), any())).thenReturn(List.of());
+        when(reviewRepository.countByStoreAndRating()).thenReturn(List.of(ratingCount(5L, 2, 2)));
+        aggregates.load();
+        assertSame(StoreRatingAggregates.StoreRating.EMPTY, aggregates.get(1L));
+        assertEquals(2, aggregates.get(5L).reviewCount());
+    }
+
+    @Test
+    public void remove_dropsAggregatesAndSavedRow() {
+        aggregates.onReviewAdded(1L, 4);
+        aggregates.remove(1L);
+
+        assertSame(StoreRatingAggregates.StoreRating.EMPTY, aggregates.get(1L));
+        verify(statsRepository).deleteById(1L);
+        assertEquals(0, aggregates.flush());
+    }
+
+    private ReviewRepository.StoreRatingCount ratingCount(Long storeId, int rating, long count) {
+        return new ReviewRepository.StoreRatingCount() {
+            @Override
+            public Long getStoreId() {
+                return storeId;
+            }
+
+            @Override
+            public Integer getRating() {
+                return rating;
+            }
+
+            @Override
+            public Long getReviewCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.dto.response.StoreResponse;
+import com.zerobase.reservation.repository.StoreRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class StoreSearchIndexTest {
+
+    private final StoreSearchIndex index = new StoreSearchIndex(mock(StoreRepository.class));
+
+    @Test
+    public void search_matchesKoreanSubstringAcrossSpacing() {
+        index.put(new StoreResponse(1L, "정갈한 한식당", "서울 강남구", "제철 재료", 1L));
+        index.put(new StoreResponse(2L, "스시 오마카세", "서울 마포구", "일식", 1L));
+
+        // "한식"은 "한식당"의 바이그램과 일치, 전각 공백은 정규화되어 단어 구분자로 처리
+        assertEquals(List.of(1L), ids(index.search("한식", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("강남　구", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("오마카세 스시", 0, 10)));
+    }
+
+    @Test
+    public void search_ranksNameAboveLocationAndDescription() {
+        index.put(new StoreResponse(1L, "카페 모음", "부산", "파스타 맛집", 1L));
+        index.put(new StoreResponse(2L, "동네 식당", "파스타 거리", "가정식", 1L));
+        index.put(new StoreResponse(3L, "파스타 하우스", "대구", "이탈리안", 1L));
+
+        assertEquals(List.of(3L, 2L, 1L), ids(index.search("파스타", 0, 10)));
+    }
+
+    @Test
+    public void put_replacesAndRemoveDropsStore() {
+        index.put(new StoreResponse(1L, "버거 하우스", "서울", "수제 버거", 1L));
+        index.put(new StoreResponse(1L, "피자 하우스", "서울", "화덕 피자", 1L));
+
+        assertEquals(0, index.search("버거", 0, 10).total());
+        assertEquals(List.of(1L), ids(index.search("피자", 0, 10)));
+
+        index.remove(1L);
+        assertEquals(0, index.search("피자", 0, 10).total());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void search_paginatesRankedResults() {
+        for (long id = 1; id <= 25; id++) {
+            index.put(new StoreResponse(id, "라멘 " + id + "호점", "서울", "라멘", 1L));
+        }
+
+        StoreSearchIndex.SearchResult second = index.search("라멘", 10, 10);
+        assertEquals(25, second.total());
+        assertEquals(10, second.items().size());
+        assertEquals(11L, second.items().get(0).getId());
+        assertEquals(5, index.search("라멘", 20, 10).items().size());
+    }
+
+    private List<Long> ids(StoreSearchIndex.SearchResult result) {
+        return result.items().stream().map(StoreResponse::getId).toList();
+    }
+}
@@ -4,6 +4,10 @@ import com.zerobase.reservation.domain.Member;
 import com.zerobase.reservation.enums.Role;
 import com.zerobase.reservation.domain.Store;
 import com.zerobase.reservation.dto.request.StoreRequest;
+import com.zerobase.reservation.dto.response.NearbyStoreResponse;
+import com.zerobase.reservation.dto.response.StoreAvailabilityResponse;
+import com.zerobase.reservation.dto.response.StoreResponse;
+import com.zerobase.reservation.dto.response.StoreSearchResponse;
 import com.zerobase.reservation.repository.MemberRepository;
 import com.zerobase.reservation.repository.StoreRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +16,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +35,36 @@ public class StoreServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private SlotInventory slotInventory;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private ReservationLifecycleService reservationLifecycleService;
+
+    @Mock
+    private StoreSearchIndex storeSearchIndex;
+
+    @Mock
+    private StoreGeoIndex storeGeoIndex;
+
+    @Mock
+    private StoreDetailsCache storeDetailsCache;
+
+    @Mock
+    private StoreAutocompleteIndex storeAutocompleteIndex;
+
+    @Mock
+    private StoreStatsCounters storeStatsCounters;
+
+    @Mock
+    private StoreRatingAggregates storeRatingAggregates;
+
+    @Mock
+    private ReviewVersions reviewVersions;
+
     @InjectMocks
     private StoreService storeService;
 
@@ -33,6 +73,8 @@ public class StoreServiceTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(storeRatingAggregates.get(anyLong())).thenReturn(StoreRatingAggregates.StoreRating.EMPTY);
+        when(reviewVersions.stamp(anyLong())).thenReturn(new ReviewVersions.Stamp(0L, 0L, 0L));
         partner = Member.builder()
                 .id(1L)
                 .email("partner@example.com")
@@ -62,6 +104,9 @@ public class StoreServiceTest {
         assertNotNull(savedStore.getId());
         assertEquals("Test Store", savedStore.getStoreName());
         verify(storeRepository, times(1)).save(any(Store.class));
+        verify(storeSearchIndex).put(argThat(indexed -> indexed.getId() == 100L));
+        verify(storeGeoIndex).put(argThat(indexed -> indexed.getId() == 100L));
+        verify(storeAutocompleteIndex).put(argThat(indexed -> indexed.getId() == 100L));
     }
 
     @Test
@@ -80,4 +125,216 @@ public class StoreServiceTest {
         });
         assertEquals("파트너 회원이 존재하지 않습니다.", thrown.getMessage());
     }
+
+    @Test
+    public void getStoreDetails_success() {
+        // given
+        when(storeRepository.findResponseById(100L)).thenReturn(
+                Optional.of(new StoreResponse(100L, "Test Store", "Location", "Description", 1L)));
+
+        // when
+        StoreResponse response = storeService.getStoreDetails(100L);
+
+        // then
+        assertEquals("Test Store", response.getStore_name());
+        assertEquals(1L, response.getOwner_id());
+        assertEquals(0L, response.getReview_count());
+        assertNull(response.getAverage_rating());
+        verify(storeRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    public void getStoreDetails_includesRatingAndReviewChangeTime() {
+        // given
+        LocalDateTime storeModifiedAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        long reviewModifiedAt = storeModifiedAt.plusHours(1).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        when(storeRepository.findResponseById(100L)).thenReturn(Optional.of(
+                new StoreResponse(100L, "Test Store", "Location", "Description", 1L, null, null, storeModifiedAt)));
+        when(storeRatingAggregates.get(100L)).thenReturn(
+                new StoreRatingAggregates.StoreRating(2, 9, new long[]{0, 0, 0, 1, 1}));
+        when(reviewVersions.stamp(100L)).thenReturn(new ReviewVersions.Stamp(0L, 1L, reviewModifiedAt));
+
+        // when
+        StoreResponse response = storeService.getStoreDetails(100L);
+
+        // then
+        assertEquals(2L, response.getReview_count());
+        assertEquals(4.5, response.getAverage_rating());
+        assertEquals(storeModifiedAt.plusHours(1), response.getModifiedAt());
+    }
+
+    @Test
+    public void getStoreDetails_notFound_throwsException() {
+        // given
+        when(storeRepository.findResponseById(100L)).thenReturn(Optional.empty());
+
+        // then
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> storeService.getStoreDetails(100L));
+        assertEquals("매장이 존재하지 않습니다.", thrown.getMessage());
+    }
+
+    @Test
+    public void updateStore_invalidatesCachedDetails() {
+        // given
+        Store store = Store.builder().id(100L).storeName("Old").location("Location").owner(partner).build();
+        StoreRequest request = new StoreRequest();
+        request.setStoreName("New");
+        request.setLocation("Location");
+        when(storeRepository.findById(100L)).thenReturn(Optional.of(store));
+        when(storeRepository.save(store)).thenReturn(store);
+
+        // when
+        storeService.updateStore(100L, request, 1L);
+
+        // then
+        verify(storeDetailsCache).invalidate(100L);
+        verify(storeSearchIndex).put(argThat(indexed -> indexed.getStore_name().equals("New")));
+    }
+
+    @Test
+    public void deleteStore_marksDeletedWithoutRemovingRow() {
+        // given
+        Store store = Store.builder().id(100L).storeName("Store").location("Location").owner(partner).build();
+        when(storeRepository.findById(100L)).thenReturn(Optional.of(store));
+
+        // when
+        storeService.deleteStore(100L, 1L);
+
+        // then
+        assertNotNull(store.getDeletedAt());
+        verify(storeRepository).save(store);
+        verify(storeRepository, never()).delete(any(Store.class));
+        verify(storeDetailsCache).invalidate(100L);
+        verify(storeSearchIndex).remove(100L);
+        verify(storeGeoIndex).remove(100L);
+        verify(storeAutocompleteIndex).remove(100L);
+        // 커밋 후 예약 상태를 바꾸는 메모리 상태에서도 매장을 지움
+        verify(slotInventory).evictStore(100L);
+        verify(waitlistService).evictStore(100L);
+        verify(reservationLifecycleService).evictStore(100L);
+    }
+
+    @Test
+    public void getCachedStoreDetails_countsEveryView() {
+        StoreDetailsCache.CachedDetails details = new StoreDetailsCache.CachedDetails(new byte[0], "\"1\"", 0L);
+        when(storeDetailsCache.get(eq(100L), any())).thenReturn(details);
+
+        assertSame(details, storeService.getCachedStoreDetails(100L));
+        storeService.getCachedStoreDetails(100L);
+
+        verify(storeStatsCounters, times(2)).recordView(100L);
+    }
+
+    @Test
+    public void autocompleteStores_returnsIndexSuggestions() {
+        // given
+        StoreResponse store = new StoreResponse(7L, "강남 파스타", "서울", "", 1L);
+        when(storeAutocompleteIndex.suggest("강나", 5)).thenReturn(List.of(store));
+
+        // when
+        List<StoreResponse> stores = storeService.autocompleteStores("강나", 5);
+
+        // then
+        assertEquals(List.of(7L), stores.stream().map(StoreResponse::getId).toList());
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> storeService.autocompleteStores("강", 21));
+        assertEquals("조회 개수는 1 이상 20 이하여야 합니다.", thrown.getMessage());
+    }
+
+    @Test
+    public void searchStores_returnsIndexedPage() {
+        // given
+        StoreResponse store = new StoreResponse(7L, "한식당", "서울", "정갈한 한식", 1L);
+        when(storeSearchIndex.search("한식", 20, 20)).thenReturn(new StoreSearchIndex.SearchResult(21, List.of(store)));
+
+        // when
+        StoreSearchResponse response = storeService.searchStores("한식", 1, 20);
+
+        // then
+        assertEquals(21, response.getTotal());
+        assertEquals(1, response.getItems().size());
+        assertEquals(7L, response.getItems().get(0).getId());
+        verifyNoInteractions(storeRepository);
+    }
+
+    @Test
+    public void searchStores_blankQuery_throwsException() {
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> storeService.searchStores(" ", 0, 20));
+        assertEquals("검색어를 입력해주세요.", thrown.getMessage());
+    }
+
+    @Test
+    public void registerStore_latitudeWithoutLongitude_throwsException() {
+        // given
+        StoreRequest request = new StoreRequest();
+        request.setStoreName("Test Store");
+        request.setLocation("Location");
+        request.setLatitude(37.5);
+
+        // then
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> storeService.registerStore(request, 1L));
+        assertEquals("위도와 경도는 함께 입력해야 합니다.", thrown.getMessage());
+        verify(storeRepository, never()).save(any(Store.class));
+    }
+
+    @Test
+    public void findNearbyStores_convertsDistanceToMeters() {
+        // given
+        StoreResponse store = new StoreResponse(7L, "근처 매장", "서울", null, 1L, 37.4980, 127.0280, null);
+        when(storeGeoIndex.nearest(37.4979, 127.0276, 10, 3.0))
+                .thenReturn(List.of(new StoreGeoIndex.Hit(store, 0.0374)));
+
+        // when
+        List<NearbyStoreResponse> stores = storeService.findNearbyStores(37.4979, 127.0276, 10, 3.0);
+
+        // then
+        assertEquals(1, stores.size());
+        assertEquals(7L, stores.get(0).getStore().getId());
+        assertEquals(37L, stores.get(0).getDistanceMeters());
+        verifyNoInteractions(storeRepository);
+    }
+
+    @Test
+    public void getAvailability_returnsFreeSlotsPerDay() {
+        // given: 30분 버킷, 3월 1일은 19:00 버킷만 마감
+        LocalDate day = LocalDate.of(2030, 3, 1);
+        int[] first = new int[48];
+        Arrays.fill(first, 4);
+        first[38] = 0;
+        int[] second = new int[48];
+        second[20] = 2;
+        when(slotInventory.getSlotMinutes()).thenReturn(30);
+        when(slotInventory.remainingSlots(100L, day)).thenReturn(first);
+        when(slotInventory.remainingSlots(100L, day.plusDays(1))).thenReturn(second);
+
+        // when
+        StoreAvailabilityResponse response = storeService.getAvailability(100L, day, day.plusDays(1));
+
+        // then
+        assertEquals(2, response.getDays().size());
+        assertEquals(47, response.getDays().get(0).getSlots().size());
+        assertTrue(response.getDays().get(0).getSlots().stream()
+                .noneMatch(slot -> slot.getTime().equals(LocalTime.of(19, 0))));
+        assertEquals(1, response.getDays().get(1).getSlots().size());
+        assertEquals(LocalTime.of(10, 0), response.getDays().get(1).getSlots().get(0).getTime());
+        assertEquals(2, response.getDays().get(1).getSlots().get(0).getRemaining());
+    }
+
+    @Test
+    public void getAvailability_rangeTooLong_throwsException() {
+        LocalDate day = LocalDate.of(2030, 3, 1);
+
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> storeService.getAvailability(100L, day, day.plusDays(31)));
+        assertEquals("조회 기간은 최대 31일입니다.", thrown.getMessage());
+    }
+
+    @Test
+    public void validateStore_missingStore_throwsException() {
+        when(storeRepository.existsById(100L)).thenReturn(true);
+        when(storeRepository.existsById(999L)).thenReturn(false);
+
+        storeService.validateStore(100L);
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> storeService.validateStore(999L));
+        assertEquals("매장이 존재하지 않습니다.", thrown.getMessage());
+    }
 }
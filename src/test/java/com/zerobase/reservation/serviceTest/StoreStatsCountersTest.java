@@ -0,0 +1,79 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.domain.StoreStats;
+import com.zerobase.reservation.repository.StoreStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StoreStatsCountersTest {
+
+    private final StoreStatsRepository statsRepository = mock(StoreStatsRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final StoreStatsCounters counters =
+            new StoreStatsCounters(statsRepository, jdbcTemplate, mock(PlatformTransactionManager.class));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flush_savesOnlyIncrementsSinceLastFlush() {
+        counters.recordView(1L);
+        counters.recordView(1L);
+        counters.recordVisit(2L);
+
+        assertEquals(2, counters.flush());
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        Object[] store1 = rows.getValue().stream().filter(row -> row[0].equals(1L)).findFirst().orElseThrow();
+        assertEquals(2L, store1[1]);
+        assertEquals(0L, store1[2]);
+
+        // 저장 이후의 증가분만 다시 저장
+        counters.recordView(1L);
+        assertEquals(1, counters.flush());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        assertEquals(1L, rows.getValue().get(0)[1]);
+
+        assertEquals(0, counters.flush());
+        assertEquals(3, counters.get(1L).viewCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flush_retriesFailedIncrementsWithoutLosingNewOnes() {
+        counters.recordView(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("db down"));
+        assertThrows(RuntimeException.class, counters::flush);
+
+        reset(jdbcTemplate);
+        counters.recordView(1L);
+        assertEquals(1, counters.flush());
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(2L, rows.getValue().get(0)[1]);
+    }
+
+    @Test
+    public void load_addsSavedTotalsToNewIncrements() {
+        when(statsRepository.findByStoreIdGreaterThanOrderByStoreId(eq(0L), any())).thenReturn(List.of(
+                new StoreStats(1L, 100L, 7L, LocalDateTime.now())));
+        counters.load();
+
+        counters.recordView(1L);
+        counters.recordVisit(1L);
+
+        assertEquals(new StoreStatsCounters.StoreStatsSnapshot(101L, 8L), counters.get(1L));
+        assertEquals(StoreStatsCounters.StoreStatsSnapshot.EMPTY, counters.get(2L));
+        // 불러온 누적값은 다시 저장하지 않음
+        counters.flush();
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) ->
+                rows.size() == 1 && rows.get(0)[1].equals(1L) && rows.get(0)[2].equals(1L)));
+    }
+}
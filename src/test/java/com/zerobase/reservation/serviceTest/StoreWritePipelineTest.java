@@ -0,0 +1,113 @@
+package com.zerobase.reservation.serviceTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class StoreWritePipelineTest {
+
+    private StoreWritePipeline pipeline;
+
+    @BeforeEach
+    public void setUp() {
+        pipeline = new StoreWritePipeline(mock(PlatformTransactionManager.class), true, 4, 1024, 32, 1000, 10_000);
+        pipeline.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Test
+    public void execute_sameStore_isSerializedWithoutLocks() throws Exception {
+        // given: 동기화 없는 카운터를 같은 매장의 작업들이 동시에 증가
+        int[] counter = new int[1];
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 2000; i++) {
+            futures.add(executor.submit(() -> pipeline.execute(7L, () -> ++counter[0])));
+        }
+        for (Future<Integer> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then: 하나의 샤드 스레드에서만 실행되므로 유실된 증가가 없음
+        assertEquals(2000, counter[0]);
+    }
+
+    @Test
+    public void execute_failedTask_doesNotAffectOthers() {
+        // when & then
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> pipeline.execute(7L, () -> {
+                    throw new RuntimeException("예약이 존재하지 않습니다.");
+                }));
+        assertEquals("예약이 존재하지 않습니다.", thrown.getMessage());
+        assertEquals("ok", pipeline.execute(7L, () -> "ok"));
+    }
+
+    @Test
+    public void execute_taskThrowingError_failsTaskAndKeepsShardAlive() {
+        // when & then: Error도 호출한 쪽에 전달되고, 같은 샤드의 다음 작업이 처리됨
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> pipeline.execute(7L, () -> {
+                    throw new StackOverflowError();
+                }));
+        assertInstanceOf(StackOverflowError.class, thrown.getCause());
+        assertEquals("ok", pipeline.execute(7L, () -> "ok"));
+    }
+
+    @Test
+    public void execute_resultTimeout_withdrawsQueuedTask() throws Exception {
+        StoreWritePipeline slow = new StoreWritePipeline(mock(PlatformTransactionManager.class), true, 1, 16, 1, 1000, 200);
+        slow.start();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean queuedTaskRan = new AtomicBoolean();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // given: 샤드 스레드가 앞선 작업에 묶여 있음
+            Future<?> blocking = executor.submit(() -> slow.execute(1L, () -> {
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+            Thread.sleep(50);
+
+            // when: 뒤에 대기한 작업의 결과를 제한 시간 안에 받지 못함
+            RuntimeException thrown = assertThrows(RuntimeException.class,
+                    () -> slow.execute(1L, () -> queuedTaskRan.getAndSet(true)));
+
+            // then: 시작되지 않은 작업은 거두어져 다시 시도를 안내하고, 이후에도 실행되지 않음
+            assertEquals("요청이 많아 잠시 후 다시 시도해주세요.", thrown.getMessage());
+            ExecutionException running = assertThrows(ExecutionException.class, blocking::get);
+            assertEquals("요청 처리 결과를 확인하지 못했습니다. 예약 내역을 확인해주세요.", running.getCause().getMessage());
+            release.countDown();
+            assertEquals("ok", slow.execute(1L, () -> "ok"));
+            assertFalse(queuedTaskRan.get());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            slow.stop();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.zerobase.reservation.serviceTest;
+
+import com.zerobase.reservation.enums.ReservationStatus;
+import com.zerobase.reservation.event.ReservationPromotedEvent;
+import com.zerobase.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class WaitlistServiceTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.now().plusDays(1).withHour(19).withMinute(0).withSecond(0).withNano(0);
+
+    private ReservationRepository reservationRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private StoreDashboardCounters storeDashboardCounters;
+    private SlotInventory slotInventory;
+    private WaitlistService waitlistService;
+
+    @BeforeEach
+    public void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        storeDashboardCounters = mock(StoreDashboardCounters.class);
+        // 시간 버킷당 정원 1명, 30분 단위
+        slotInventory = new SlotInventory(reservationRepository, 1, 30);
+        waitlistService = new WaitlistService(reservationRepository, slotInventory, eventPublisher,
+                storeDashboardCounters, mock(PlatformTransactionManager.class));
+        when(reservationRepository.promoteWaitlisted(anyLong(), any(LocalDateTime.class))).thenReturn(1);
+    }
+
+    @Test
+    public void releaseOrPromote_promotesEarliestWaiterAndKeepsSlot() {
+        // given: 정원이 찬 슬롯에 늦게 요청한 2번, 먼저 요청한 1번이 대기
+        assertTrue(slotInventory.tryAcquire(10L, SLOT));
+        waitlistService.join(2L, 10L, SLOT.plusMinutes(10), SLOT.minusDays(1));
+        waitlistService.join(1L, 10L, SLOT, SLOT.minusDays(2));
+
+        // when: 같은 시간 버킷의 예약이 거절됨
+        waitlistService.releaseOrPromote(10L, SLOT.plusMinutes(20));
+
+        // then: 먼저 요청한 1번이 승격되고 슬롯 점유는 그대로 넘어감
+        verify(reservationRepository).promoteWaitlisted(eq(1L), any(LocalDateTime.class));
+        ArgumentCaptor<ReservationPromotedEvent> event = ArgumentCaptor.forClass(ReservationPromotedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().reservationId());
+        verify(storeDashboardCounters).onStatusChanged(10L, ReservationStatus.WAITLISTED, ReservationStatus.REQUESTED);
+        assertEquals(0, slotInventory.remaining(10L, SLOT));
+        assertEquals(1, waitlistService.waiting(10L, SLOT));
+    }
+
+    @Test
+    public void releaseOrPromote_skipsStaleWaiters() {
+        // given: 1번은 이미 다른 경로로 대기 상태가 아님
+        assertTrue(slotInventory.tryAcquire(10L, SLOT));
+        waitlistService.join(1L, 10L, SLOT, SLOT.minusDays(2));
+        waitlistService.join(2L, 10L, SLOT, SLOT.minusDays(1));
+        when(reservationRepository.promoteWaitlisted(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        // when
+        waitlistService.releaseOrPromote(10L, SLOT);
+
+        // then
+        verify(reservationRepository).promoteWaitlisted(eq(2L), any(LocalDateTime.class));
+        assertEquals(0, waitlistService.waiting(10L, SLOT));
+        assertEquals(0, slotInventory.remaining(10L, SLOT));
+    }
+
+    @Test
+    public void releaseOrPromote_noWaiter_releasesSlot() {
+        // given
+        assertTrue(slotInventory.tryAcquire(10L, SLOT));
+
+        // when
+        waitlistService.releaseOrPromote(10L, SLOT);
+
+        // then
+        assertEquals(1, slotInventory.remaining(10L, SLOT));
+        verify(reservationRepository, never()).promoteWaitlisted(anyLong(), any());
+    }
+
+    @Test
+    public void evictStore_dropsQueuesAndSlotsOfDeletedStore() {
+        // given: 매장 10의 대기자와 다른 매장 20의 대기자
+        assertTrue(slotInventory.tryAcquire(10L, SLOT));
+        assertTrue(slotInventory.tryAcquire(20L, SLOT));
+        waitlistService.join(1L, 10L, SLOT, SLOT.minusDays(2));
+        waitlistService.join(2L, 20L, SLOT, SLOT.minusDays(2));
+
+        // when: 매장 10 삭제 커밋 후
+        waitlistService.evictStore(10L);
+        slotInventory.evictStore(10L);
+        waitlistService.releaseOrPromote(10L, SLOT);
+
+        // then: 삭제된 매장의 대기자는 승격되지 않고, 다른 매장은 그대로
+        verify(reservationRepository, never()).promoteWaitlisted(anyLong(), any());
+        assertEquals(0, waitlistService.waiting(10L, SLOT));
+        assertEquals(1, waitlistService.waiting(20L, SLOT));
+        assertEquals(0, slotInventory.remaining(20L, SLOT));
+    }
+
+    @Test
+    public void leave_removesWaiterFromQueue() {
+        // given
+        assertTrue(slotInventory.tryAcquire(10L, SLOT));
+        waitlistService.join(1L, 10L, SLOT, SLOT.minusDays(2));
+        waitlistService.join(2L, 10L, SLOT, SLOT.minusDays(1));
+
+        // when
+        waitlistService.leave(1L, 10L, SLOT);
+        waitlistService.releaseOrPromote(10L, SLOT);
+
+        // then
+        verify(reservationRepository, never()).promoteWaitlisted(eq(1L), any());
+        verify(reservationRepository).promoteWaitlisted(eq(2L), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void join_slotFreedMeanwhile_promotesImmediately() {
+        // given: 대기 등록 처리 중에 자리가 남
+        // when
+        waitlistService.join(1L, 10L, SLOT, SLOT.minusDays(1));
+
+        // then
+        verify(reservationRepository).promoteWaitlisted(eq(1L), any(LocalDateTime.class));
+        assertEquals(0, slotInventory.remaining(10L, SLOT));
+        assertEquals(0, waitlistService.waiting(10L, SLOT));
+    }
+}
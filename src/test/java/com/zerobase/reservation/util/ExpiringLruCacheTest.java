@@ -0,0 +1,65 @@
+package com.zerobase.reservation.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpiringLruCacheTest {
+
+    @Test
+    public void put_overMaxSize_evictsLeastRecentlyUsed() {
+        // given
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(2, 1000);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        // when
+        cache.put("c", 3);
+
+        // then
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void get_afterTtl_returnsNull() {
+        // given
+        AtomicLong now = new AtomicLong();
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, 1000, now::get);
+        cache.put("a", 1);
+
+        // when & then
+        now.set(999_000_000L);
+        assertEquals(1, cache.get("a"));
+        now.set(1_000_000_000L);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void stats_countHitsMissesAndEvictions() {
+        // given
+        AtomicLong now = new AtomicLong();
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(2, 1000, now::get);
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        // when: 적중 1, 실패 1, 크기 초과 제거 1, 만료 제거 1
+        cache.get("a");
+        cache.get("x");
+        cache.put("c", 3);
+        now.set(1_000_000_000L);
+        cache.get("a");
+        cache.remove("c");
+
+        // then
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.missCount());
+        assertEquals(2, cache.evictionCount());
+    }
+}
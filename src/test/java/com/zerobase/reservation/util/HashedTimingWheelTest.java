@@ -0,0 +1,86 @@
+package com.zerobase.reservation.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashedTimingWheelTest {
+
+    @Test
+    public void advance_firesTimersAtDeadline() {
+        // given: 틱 100ms, 버킷 8개 (한 바퀴 800ms)
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 8, 100, 0);
+        wheel.schedule(1L, 250);
+        wheel.schedule(2L, 1250); // 한 바퀴 이상 뒤, 같은 버킷
+        List<Long> fired = new ArrayList<>();
+
+        // when & then
+        wheel.advance(200, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advance(300, fired::add);
+        assertEquals(List.of(1L), fired);
+        wheel.advance(1200, fired::add);
+        assertEquals(List.of(1L), fired);
+        wheel.advance(1300, fired::add);
+        assertEquals(List.of(1L, 2L), fired);
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    public void advance_overdueTimerFiresOnNextAdvance() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 8, 100, 1000);
+        wheel.schedule(7L, 500);
+        List<Long> fired = new ArrayList<>();
+
+        wheel.advance(1000, fired::add);
+
+        assertEquals(List.of(7L), fired);
+    }
+
+    @Test
+    public void advance_afterLongPause_firesEverythingDue() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 8, 100, 0);
+        for (long i = 0; i < 20; i++) {
+            wheel.schedule(i, 100 * (i + 1));
+        }
+        List<Long> fired = new ArrayList<>();
+
+        // 휠 여러 바퀴만큼 지난 뒤 한 번에 처리
+        wheel.advance(10_000, fired::add);
+
+        assertEquals(20, fired.size());
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    public void schedule_rejectsBeyondMaxPending() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 8, 2, 0);
+
+        assertTrue(wheel.schedule(1L, 500));
+        assertTrue(wheel.schedule(2L, 500));
+        assertFalse(wheel.schedule(3L, 500));
+
+        wheel.advance(600, id -> { });
+        assertTrue(wheel.schedule(3L, 900));
+    }
+
+    @Test
+    public void cancel_removesMatchingTimersBeforeTheyFire() {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, 8, 100, 0);
+        wheel.schedule(1L, 300);
+        wheel.schedule(2L, 300);
+        wheel.advance(100, payload -> { });
+        // 아직 버킷으로 옮겨지지 않은 타이머도 취소됨
+        wheel.schedule(3L, 400);
+        wheel.cancel(payload -> payload != 2L);
+        List<Long> fired = new ArrayList<>();
+
+        wheel.advance(1000, fired::add);
+
+        assertEquals(List.of(2L), fired);
+        assertEquals(0, wheel.pending());
+    }
+}
@@ -0,0 +1,86 @@
+package com.zerobase.reservation.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongPairHashSetTest {
+
+    @Test
+    public void add_matchesHashSetAcrossResizes() {
+        LongPairHashSet set = new LongPairHashSet(0);
+        Set<List<Long>> expected = new HashSet<>();
+        Random random = new Random(1);
+
+        for (int i = 0; i < 100_000; i++) {
+            long first = 1 + random.nextInt(1000);
+            long second = random.nextInt(500);
+            assertEquals(expected.add(List.of(first, second)), set.add(first, second));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            long first = 1 + random.nextInt(1000);
+            long second = random.nextInt(500);
+            assertEquals(expected.contains(List.of(first, second)), set.contains(first, second));
+        }
+        assertEquals(expected.size(), set.size());
+    }
+
+    @Test
+    public void contains_distinguishesOrderOfPair() {
+        LongPairHashSet set = new LongPairHashSet(4);
+        set.add(7L, 9L);
+
+        assertTrue(set.contains(7L, 9L));
+        assertFalse(set.contains(9L, 7L));
+        assertFalse(set.add(7L, 9L));
+    }
+
+    @Test
+    public void add_rejectsZeroFirstValue() {
+        assertThrows(IllegalArgumentException.class, () -> new LongPairHashSet(4).add(0L, 1L));
+    }
+
+    @Test
+    public void contains_neverReportsAbsentPairsDuringConcurrentAdds() throws Exception {
+        LongPairHashSet set = new LongPairHashSet(4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int writer = 0; writer < 2; writer++) {
+            long offset = writer;
+            futures.add(executor.submit(() -> {
+                for (long i = 1; i <= 50_000; i++) {
+                    set.add(i * 2 + offset, i);
+                }
+            }));
+        }
+        for (int reader = 0; reader < 2; reader++) {
+            futures.add(executor.submit(() -> {
+                Random random = new Random();
+                for (int i = 0; i < 200_000; i++) {
+                    long first = 1 + random.nextInt(200_000);
+                    // 추가하는 쌍은 모두 (2i 또는 2i + 1, i)이므로 (first, first)는 없음
+                    assertFalse(set.contains(first, first));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(100_000, set.size());
+        for (long i = 1; i <= 50_000; i++) {
+            assertTrue(set.contains(i * 2, i));
+            assertTrue(set.contains(i * 2 + 1, i));
+        }
+    }
+}
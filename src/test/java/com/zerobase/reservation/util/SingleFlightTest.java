@@ -0,0 +1,122 @@
+package com.zerobase.reservation.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    public void execute_concurrentSameKey_runsLoaderOnce() throws Exception {
+        // given: 리더의 조회가 끝나지 않은 동안 같은 키로 여러 호출이 들어옴
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // when
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "store-1";
+        })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < callers; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                return "unexpected";
+            })));
+        }
+        while (singleFlight.followerCount() < callers - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // then
+        for (Future<String> result : results) {
+            assertEquals("store-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, singleFlight.leaderCount());
+        assertEquals(callers - 1, singleFlight.followerCount());
+        executor.shutdown();
+    }
+
+    @Test
+    public void execute_afterCompletion_loadsAgain() {
+        assertEquals("a", singleFlight.execute(1L, () -> "a"));
+        assertEquals("b", singleFlight.execute(1L, () -> "b"));
+        assertEquals(2, singleFlight.leaderCount());
+    }
+
+    @Test
+    public void execute_loaderThrows_propagatesAndAllowsRetry() {
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> singleFlight.execute(1L, () -> {
+            throw new RuntimeException("매장이 존재하지 않습니다.");
+        }));
+        assertEquals("매장이 존재하지 않습니다.", thrown.getMessage());
+        assertEquals("a", singleFlight.execute(1L, () -> "a"));
+    }
+
+    @Test
+    public void execute_loaderThrowsError_releasesFollowers() throws Exception {
+        // given: 팔로워가 기다리는 동안 리더의 조회가 Error로 끝남
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            throw new StackOverflowError();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "unexpected"));
+        while (singleFlight.followerCount() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        release.countDown();
+
+        // then: 팔로워도 같은 Error를 받고 대기에서 풀려남
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, leaderFailure.getCause());
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, followerFailure.getCause());
+        executor.shutdown();
+    }
+
+    @Test
+    public void bindTo_exposesCoalescingRatio() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        singleFlight.bindTo(meterRegistry, "test");
+        singleFlight.execute(1L, () -> "a");
+
+        assertEquals(1.0, meterRegistry.get("singleflight.calls").tag("role", "leader").functionCounter().count());
+        assertEquals(0.0, meterRegistry.get("singleflight.coalescing.ratio").gauge().value());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.zerobase.reservation.util;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class VersionedCounterTableTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final VersionedCounterTable table = new VersionedCounterTable(2, "upsert", jdbcTemplate);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flush_writesKeyCountersAndTimeInChunksOfThousand() {
+        for (long key = 1; key <= 1500; key++) {
+            table.update(key, values -> values.incrementAndGet(1));
+        }
+
+        assertEquals(1500, table.flush());
+
+        ArgumentCaptor<List<Object[]>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq("upsert"), chunks.capture());
+        assertEquals(1000, chunks.getAllValues().get(0).size());
+        assertEquals(500, chunks.getAllValues().get(1).size());
+        Object[] row = chunks.getAllValues().get(0).get(0);
+        assertEquals(4, row.length);
+        assertEquals(List.of(0L, 1L), Arrays.asList(row).subList(1, 3));
+    }
+
+    @Test
+    public void restore_isNotFlushedUntilChanged() {
+        table.restore(1L, 5L, 6L);
+
+        assertArrayEquals(new long[]{5, 6}, table.get(1L));
+        assertNull(table.get(2L));
+        assertEquals(0, table.flush());
+    }
+
+    @Test
+    public void reconcile_returnsCorrectedKeysAndZeroesKeysMissingFromAggregate() {
+        table.update(1L, values -> values.addAndGet(0, 3));
+        table.update(2L, values -> values.addAndGet(0, 2));
+        table.update(3L, values -> values.addAndGet(0, 1));
+
+        List<Long> corrected = table.reconcile(() -> {
+            // 집계 도중 키 3이 바뀜
+            table.update(3L, values -> values.incrementAndGet(0));
+            return Map.of(2L, new long[]{2, 0}, 3L, new long[]{9, 9}, 4L, new long[]{0, 7});
+        });
+
+        assertEquals(List.of(1L, 4L), corrected.stream().sorted().toList());
+        assertArrayEquals(new long[]{0, 0}, table.get(1L));
+        assertArrayEquals(new long[]{2, 0}, table.get(2L));
+        assertArrayEquals(new long[]{2, 0}, table.get(3L));
+        assertArrayEquals(new long[]{0, 7}, table.get(4L));
+    }
+}